@@ -0,0 +1,77 @@
+package com.example.leasing.benchmark;
+
+import com.example.leasing.LeasingApplication;
+import com.example.leasing.seed.BulkDataLoader;
+import com.example.leasing.seed.DatasetSpec;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Estado compartido de los benchmarks: levanta el contexto de Spring (sin servidor web)
+ * sobre un H2 en memoria propio y lo llena con el dataset sintético de BulkDataLoader.
+ *
+ * El tamaño se cambia desde la línea de comandos de JMH, por ejemplo:
+ *   -Djmh.args="-p cars=100000 -p reservations=1000000"
+ */
+@State(Scope.Benchmark)
+public class FleetState {
+
+    @Param("42")
+    public long seed;
+
+    @Param("100")
+    public int owners;
+
+    @Param("5000")
+    public int cars;
+
+    @Param("1000")
+    public int clients;
+
+    @Param("50000")
+    public int reservations;
+
+    @Param("20000")
+    public int reviews;
+
+    public ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LeasingApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:leasing_bench;DB_CLOSE_DELAY=-1",
+                        "spring.sql.init.mode=never",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.devtools.restart.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.com.example.leasing=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "logging.level.org.springframework.security=WARN",
+                        "logging.file.name=")
+                .run();
+
+        context.getBean(BulkDataLoader.class)
+                .load(new DatasetSpec(seed, owners, clients, cars, reservations, reviews));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.leasing.benchmark;
+
+import com.example.leasing.LeasingApplication;
+import com.example.leasing.dto.ClientResponse;
+import com.example.leasing.dto.CursorPage;
+import com.example.leasing.dto.ReservationResponse;
+import com.example.leasing.dto.ReviewResponse;
+import com.example.leasing.seed.BulkDataLoader;
+import com.example.leasing.seed.DatasetSpec;
+import com.example.leasing.service.ClientService;
+import com.example.leasing.service.ReservationService;
+import com.example.leasing.service.ReviewService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del logging: configuración de desarrollo (SQL + parámetros por sentencia, síncrono)
+ * contra el perfil "prod" (JSON asíncrono, solo sentencias lentas)
+ *
+ * Las lecturas son las mismas en ambos modos; lo único que cambia es la configuración de
+ * logging. Los logs van a un directorio temporal para no mezclarse con logs/.
+ *
+ *   mvn -Pbenchmark -DskipTests verify -Djmh.args="LoggingProfileBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class LoggingProfileBenchmark {
+
+    @Param({ "default", "prod" })
+    public String profile;
+
+    private static final DatasetSpec DATASET = DatasetSpec.small();
+
+    private ConfigurableApplicationContext context;
+    private ClientService clientService;
+    private ReviewService reviewService;
+    private ReservationService reservationService;
+    private Path logDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logDir = Files.createTempDirectory("leasing-logs-" + profile);
+        String logFile = logDir.resolve("prod".equals(profile) ? "leasing-app.json" : "leasing-app.log").toString();
+        context = new SpringApplicationBuilder(LeasingApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profile)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:leasing_logging_" + profile + ";DB_CLOSE_DELAY=-1",
+                        "spring.sql.init.mode=never",
+                        "spring.devtools.restart.enabled=false",
+                        "logging.file.name=" + logFile)
+                .run();
+        context.getBean(BulkDataLoader.class).load(DATASET);
+
+        clientService = context.getBean(ClientService.class);
+        reviewService = context.getBean(ReviewService.class);
+        reservationService = context.getBean(ReservationService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ClientResponse getClient() {
+        return clientService.getClient(1L + ThreadLocalRandom.current().nextInt(DATASET.clients()));
+    }
+
+    @Benchmark
+    public List<ReviewResponse> reviewsByCar() {
+        return reviewService.findByCarId(1L + ThreadLocalRandom.current().nextInt(DATASET.cars()));
+    }
+
+    @Benchmark
+    public CursorPage<ReservationResponse> reservationsByCar() {
+        return reservationService.findByCarId(1L + ThreadLocalRandom.current().nextInt(DATASET.cars()), null, 20, false);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.leasing.benchmark;
+
+import com.example.leasing.Entity.CarEntity;
+import com.example.leasing.Entity.CarStatusEnum;
+import com.example.leasing.Entity.UserEntity;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.Repository.IUserRepo;
+import com.example.leasing.dto.ClientResponse;
+import com.example.leasing.seed.SyntheticDataGenerator;
+import com.example.leasing.service.ClientService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de las queries de repositorio y caminos calientes de los services
+ * sobre la flota sintética de FleetState.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositoryBenchmark {
+
+    private ICarRepo carRepo;
+    private IUserRepo userRepo;
+    private ClientService clientService;
+    private int clients;
+
+    @Setup(Level.Trial)
+    public void setUp(FleetState fleet) {
+        carRepo = fleet.bean(ICarRepo.class);
+        userRepo = fleet.bean(IUserRepo.class);
+        clientService = fleet.bean(ClientService.class);
+        clients = fleet.clients;
+    }
+
+    @Benchmark
+    public List<CarEntity> searchCars() {
+        return carRepo.searchCars("Ford", "fo", BigDecimal.valueOf(30), BigDecimal.valueOf(150), CarStatusEnum.ACTIVE);
+    }
+
+    @Benchmark
+    public List<CarEntity> findTopRatedCars() {
+        return carRepo.findTopRatedCars();
+    }
+
+    @Benchmark
+    public List<CarEntity> findCarsWithoutActiveReservations() {
+        return carRepo.findCarsWithoutActiveReservations();
+    }
+
+    @Benchmark
+    public Optional<UserEntity> findByEmailWithRelations() {
+        int client = 1 + ThreadLocalRandom.current().nextInt(clients);
+        return userRepo.findByEmailWithRelations(SyntheticDataGenerator.clientEmail(client));
+    }
+
+    @Benchmark
+    public List<ClientResponse> clientServiceFindAll() {
+        return clientService.findAll();
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.leasing.benchmark;
+
+import com.example.leasing.LeasingApplication;
+import com.example.leasing.seed.BulkDataLoader;
+import com.example.leasing.seed.DatasetSpec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga HTTP: hilos de plataforma vs virtual threads
+ *
+ * Levanta la app completa (Tomcat en puerto aleatorio) en cada modo y dispara ráfagas de
+ * "concurrency" requests simultáneos contra endpoints de lectura que van a la base.
+ * La métrica es ráfagas por segundo; los contadores auxiliares separan respuestas 200,
+ * rechazos 503 (control de admisión) y errores.
+ *
+ *   mvn -Pbenchmark -DskipTests verify -Djmh.args="ThreadModeLoadBenchmark -p concurrency=1000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ThreadModeLoadBenchmark {
+
+    @Param({ "platform", "virtual" })
+    public String threadMode;
+
+    @Param("500")
+    public int concurrency;
+
+    private static final DatasetSpec DATASET = new DatasetSpec(DatasetSpec.DEFAULT_SEED, 100, 2_000, 2_000, 50_000, 20_000);
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private ExecutorService loadGenerator;
+    private String baseUrl;
+
+    /**
+     * Respuestas por tipo, reportadas por JMH junto al throughput
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+        public long ok;
+        public long overloaded;
+        public long errors;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ok = 0;
+            overloaded = 0;
+            errors = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(threadMode);
+        context = new SpringApplicationBuilder(LeasingApplication.class)
+                .profiles(virtual ? "virtual-threads" : "default")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:leasing_load_" + threadMode + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "spring.sql.init.mode=never",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.devtools.restart.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.com.example.leasing=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "logging.level.org.springframework.security=WARN",
+                        "logging.file.name=")
+                .run();
+        context.getBean(BulkDataLoader.class).load(DATASET);
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        // El generador de carga usa virtual threads en ambos modos: así mide al servidor, no al cliente
+        loadGenerator = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .executor(loadGenerator)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        loadGenerator.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void burst(Responses responses) {
+        List<CompletableFuture<HttpResponse<Void>>> inFlight = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + randomPath()))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        for (CompletableFuture<HttpResponse<Void>> future : inFlight) {
+            try {
+                int status = future.join().statusCode();
+                if (status == 200) {
+                    responses.ok++;
+                } else if (status == 503) {
+                    responses.overloaded++;
+                } else {
+                    responses.errors++;
+                }
+            } catch (RuntimeException ex) {
+                responses.errors++;
+            }
+        }
+    }
+
+    // Mezcla de lecturas que no se resuelven desde caché
+    private static String randomPath() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (random.nextInt(4)) {
+            case 0 -> "/api/reservations/car/" + (1 + random.nextInt(DATASET.cars())) + "?size=20";
+            case 1 -> "/api/reservations/client/" + (1 + random.nextInt(DATASET.clients())) + "?size=20";
+            case 2 -> "/api/reviews/car/" + (1 + random.nextInt(DATASET.cars()));
+            default -> "/api/clients/" + (1 + random.nextInt(DATASET.clients()));
+        };
+    }
+}
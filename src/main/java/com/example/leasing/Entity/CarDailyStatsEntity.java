@@ -0,0 +1,93 @@
+package com.example.leasing.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Rollup diario de un auto: ingresos, minutos reservados y reservas que empiezan ese día
+ *
+ * Solo cuenta reservas CONFIRMED. Se mantiene de forma incremental desde
+ * OwnerAnalyticsService (al confirmar o cancelar) y se puede reconstruir completo
+ * con OwnerAnalyticsService.rebuildAll(). Los tableros de owners leen solo esta tabla.
+ */
+@Entity
+@Table(name = "car_daily_stats", indexes = { // Creados por la migración V5 (db/migration)
+        @Index(name = "idx_car_daily_stats_owner_date", columnList = "owner_id, stat_date, car_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CarDailyStatsEntity implements Persistable<CarDailyStatsEntity.Key> {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "booked_minutes", nullable = false)
+    private int bookedMinutes;
+
+    @Column(nullable = false)
+    private int reservations;
+
+    // Clave asignada: sin esto, save() haría un SELECT previo (igual que CarRatingSummaryEntity)
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    /**
+     * Clave compuesta (auto, día)
+     */
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "car_id")
+        private Long carId;
+
+        @Column(name = "stat_date")
+        private LocalDate statDate;
+    }
+
+    @Override
+    public Key getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    public static CarDailyStatsEntity empty(Long carId, LocalDate day, Long ownerId) {
+        return CarDailyStatsEntity.builder().key(new Key(carId, day)).ownerId(ownerId).build();
+    }
+
+    /**
+     * Suma (sign = 1) o resta (sign = -1) la parte de una reserva que cae en este día
+     */
+    public void apply(BigDecimal dayRevenue, int minutes, int starts, int sign) {
+        revenue = sign > 0 ? revenue.add(dayRevenue) : revenue.subtract(dayRevenue);
+        bookedMinutes += minutes * sign;
+        reservations += starts * sign;
+    }
+}
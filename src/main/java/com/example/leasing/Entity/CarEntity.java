@@ -1,22 +1,40 @@
 package com.example.leasing.Entity;
 
+import com.example.leasing.event.CarEntityListener;
+import com.example.leasing.event.ChangeLogEntityListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "cars")
+@Table(name = "cars", indexes = { // Creados por la migración V2 (db/migration)
+        @Index(name = "idx_cars_owner", columnList = "owner_id, id"),
+        @Index(name = "idx_cars_status", columnList = "status, id"),
+        @Index(name = "idx_cars_price", columnList = "price_per_day, id"),
+        @Index(name = "idx_cars_brand", columnList = "brand, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Caché de 2do nivel de Hibernate
+@EntityListeners({CarEntityListener.class, ChangeLogEntityListener.class}) // CarChangedEvent (índices en memoria) y change feed
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class CarEntity {
+    // Secuencia con pool de 50 IDs: Hibernate no necesita un round-trip por insert
+    // (con IDENTITY no puede agrupar inserts en batch)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cars_seq")
+    @SequenceGenerator(name = "cars_seq", sequenceName = "cars_seq", allocationSize = 50)
     private Long id;
     
     private String brand;
@@ -29,6 +47,21 @@ public class CarEntity {
     @Enumerated(EnumType.STRING)
     private CarStatusEnum status;
 
+    // Versión optimista: BookingService la incrementa en cada reserva nueva,
+    // así dos reservas concurrentes del mismo auto (incluso en distintos nodos) no
+    // pueden commitear ambas sin ver la otra
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    // Último cambio en el change feed: los escribe ChangeLogService al commit (JDBC),
+    // Hibernate nunca los incluye en sus INSERT/UPDATE
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(insertable = false, updatable = false)
+    private Long changeSeq;
+
     // Relación Many-to-One: Muchos autos pertenecen a un Owner
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
@@ -36,6 +69,7 @@ public class CarEntity {
     private OwnerEntity owner;
 
     // Relación One-to-Many: Un auto tiene muchas reviews
+    @JsonIgnore
     @OneToMany(mappedBy = "car", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference(value = "car-reviews") // Evita loop infinito en JSON
     @ToString.Exclude // Evita loops en toString de Lombok
@@ -43,6 +77,7 @@ public class CarEntity {
     private List<ReviewEntity> reviews = new ArrayList<>();
 
     // Relación One-to-Many: Un auto tiene muchas reservas
+    @JsonIgnore
     @OneToMany(mappedBy = "car", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference(value = "car-reservations") // Evita loop infinito en JSON
     @ToString.Exclude // Evita loops en toString de Lombok
@@ -0,0 +1,54 @@
+package com.example.leasing.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Importación masiva de autos (CarImportService)
+ *
+ * El archivo subido queda en spoolFile hasta que la importación termina, así una
+ * importación FAILED se puede retomar. rowsProcessed es el checkpoint: todas las filas
+ * del archivo hasta ese número ya están commiteadas (importadas o rechazadas).
+ */
+@Entity
+@Table(name = "car_import_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CarImportJobEntity {
+
+    // IDENTITY: un insert por importación, no hace falta agrupar
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CarImportStatusEnum status;
+
+    @Column(nullable = false)
+    private String format;
+
+    @Column(name = "spool_file", nullable = false)
+    private String spoolFile;
+
+    @Column(name = "rows_processed", nullable = false)
+    private long rowsProcessed;
+
+    @Column(nullable = false)
+    private long imported;
+
+    @Column(nullable = false)
+    private long rejected;
+
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
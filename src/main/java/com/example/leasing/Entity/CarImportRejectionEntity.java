@@ -0,0 +1,42 @@
+package com.example.leasing.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+
+/**
+ * Fila rechazada de una importación de autos, con el motivo
+ * Las escribe CarImportService con JDBC en lote; desde JPA solo se leen
+ */
+@Entity
+@Immutable
+@Table(name = "car_import_rejections")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarImportRejectionEntity {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(nullable = false)
+    private String reason;
+
+    /**
+     * Clave compuesta (importación, fila del archivo)
+     */
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "job_id")
+        private Long jobId;
+
+        @Column(name = "source_row")
+        private Long sourceRow;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.leasing.Entity;
+
+import lombok.Getter;
+
+@Getter
+public enum CarImportStatusEnum {
+    RUNNING("RUNNING"),
+    COMPLETED("COMPLETED"),
+    FAILED("FAILED");
+
+    private final String status;
+
+    CarImportStatusEnum(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.leasing.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Resumen desnormalizado de las reviews de un auto
+ *
+ * Se mantiene de forma incremental desde ReviewService (alta, edición y baja de reviews)
+ * y se puede reconstruir completo con RatingSummaryService.rebuildAll().
+ * Evita agrupar toda la tabla reviews para calcular promedios o el top de autos.
+ */
+@Entity
+@Table(name = "car_rating_summaries", indexes = {
+        @Index(name = "idx_rating_summary_average", columnList = "average_rating, car_id"),
+        @Index(name = "idx_rating_summary_count", columnList = "review_count, car_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CarRatingSummaryEntity implements Persistable<Long> {
+
+    // Mismo ID que el auto (un resumen por auto)
+    @Id
+    @Column(name = "car_id")
+    private Long carId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    // Se guarda (en lugar de calcularse) para poder ordenar e indexar por promedio
+    @Column(name = "average_rating", nullable = false)
+    private double averageRating;
+
+    // Histograma: cantidad de reviews de 1 a 5 estrellas
+    @Column(name = "stars_1", nullable = false)
+    private long stars1;
+    @Column(name = "stars_2", nullable = false)
+    private long stars2;
+    @Column(name = "stars_3", nullable = false)
+    private long stars3;
+    @Column(name = "stars_4", nullable = false)
+    private long stars4;
+    @Column(name = "stars_5", nullable = false)
+    private long stars5;
+
+    // El ID es asignado (no generado): sin esto, save() haría un SELECT previo por cada fila
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @Override
+    public Long getId() {
+        return carId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    public static CarRatingSummaryEntity empty(Long carId) {
+        return CarRatingSummaryEntity.builder().carId(carId).build();
+    }
+
+    /**
+     * Suma una review con el rating dado (1-5)
+     */
+    public void add(int rating) {
+        adjust(rating, 1);
+    }
+
+    /**
+     * Resta una review con el rating dado (1-5)
+     */
+    public void remove(int rating) {
+        adjust(rating, -1);
+    }
+
+    /**
+     * Histograma como array: posición 0 = 1 estrella ... posición 4 = 5 estrellas
+     */
+    public long[] histogram() {
+        return new long[] { stars1, stars2, stars3, stars4, stars5 };
+    }
+
+    private void adjust(int rating, int delta) {
+        switch (rating) {
+            case 1 -> stars1 += delta;
+            case 2 -> stars2 += delta;
+            case 3 -> stars3 += delta;
+            case 4 -> stars4 += delta;
+            case 5 -> stars5 += delta;
+            default -> throw new IllegalArgumentException("Rating fuera de rango: " + rating);
+        }
+        reviewCount += delta;
+        ratingSum += (long) rating * delta;
+        averageRating = reviewCount > 0 ? (double) ratingSum / reviewCount : 0.0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.leasing.Entity;
+
+import lombok.Getter;
+
+/**
+ * Entidades que publican sus cambios en el change feed (change_log)
+ * table: tabla donde ChangeLogService escribe updated_at / change_seq
+ */
+@Getter
+public enum ChangeEntityTypeEnum {
+    CAR("cars", CarEntity.class),
+    RESERVATION("reservations", ReservationEntity.class),
+    REVIEW("reviews", ReviewEntity.class);
+
+    private final String table;
+    private final Class<?> entityClass;
+
+    ChangeEntityTypeEnum(String table, Class<?> entityClass) {
+        this.table = table;
+        this.entityClass = entityClass;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.leasing.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro del change feed: una entidad cambiada en una transacción commiteada
+ * Los escribe ChangeLogService con JDBC antes del commit; desde JPA solo se leen
+ */
+@Entity
+@Immutable
+@Table(name = "change_log", indexes = { // Creado por la migración V8 (db/migration)
+        @Index(name = "idx_change_log_type_seq", columnList = "entity_type, seq")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogEntity {
+
+    // Número de cambio: creciente en orden de commit (ver change_log_head en V8)
+    @Id
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeEntityTypeEnum entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeOperationEnum operation;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+}
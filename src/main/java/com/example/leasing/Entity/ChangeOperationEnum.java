@@ -0,0 +1,15 @@
+package com.example.leasing.Entity;
+
+import lombok.Getter;
+
+@Getter
+public enum ChangeOperationEnum {
+    UPSERT("UPSERT"), // Alta o modificación: el estado actual se lee de la entidad
+    DELETE("DELETE");
+
+    private final String operation;
+
+    ChangeOperationEnum(String operation) {
+        this.operation = operation;
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,13 +17,20 @@ import java.util.List;
 @Builder
 public class ClientEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clients_seq")
+    @SequenceGenerator(name = "clients_seq", sequenceName = "clients_seq", allocationSize = 50)
     private Long id;
     
     private String firstName;
     private String lastName;
     private String phone;
 
+    // Versión optimista: la incrementan Hibernate y el UPDATE en lote de ClientService,
+    // que solo pisa la fila si nadie la cambió desde que la leyó
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     // Relación One-to-Many: Un cliente tiene muchas reviews
     @JsonIgnore
     @OneToMany(mappedBy = "client", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -1,21 +1,27 @@
 package com.example.leasing.Entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "owners")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Caché de 2do nivel de Hibernate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class OwnerEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "owners_seq")
+    @SequenceGenerator(name = "owners_seq", sequenceName = "owners_seq", allocationSize = 50)
     private Long id;
     
     private String firstName;
@@ -25,6 +31,7 @@ public class OwnerEntity {
     private String bankAccount;
 
     // Relación One-to-Many: Un owner tiene muchos autos
+    @JsonIgnore
     @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference(value = "owner-cars") // Evita loop infinito en JSON
     @ToString.Exclude // Evita loops en toString de Lombok
@@ -0,0 +1,52 @@
+package com.example.leasing.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Reserva archivada (tabla fría reservations_archive)
+ *
+ * ReservationArchiveService mueve acá las reservas CONFIRMED o CANCELED que terminaron
+ * antes del horizonte de archivo. Mismo ID que tenía en reservations; no se modifica más.
+ * Auto y cliente quedan solo como ID (sin relaciones ni FKs).
+ */
+@Entity
+@Immutable
+@Table(name = "reservations_archive", indexes = { // Creados por la migración V4 (db/migration)
+        @Index(name = "idx_reservations_archive_car_start", columnList = "car_id, start_date, id"),
+        @Index(name = "idx_reservations_archive_client_start", columnList = "client_id, start_date, id"),
+        @Index(name = "idx_reservations_archive_status_end", columnList = "status, end_date, car_id, start_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationArchiveEntity {
+
+    @Id
+    private Long id;
+
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+
+    private BigDecimal totalPrice;
+
+    private LocalDateTime createdAt;
+
+    @Enumerated(EnumType.STRING)
+    private ReservationStatusEnum status;
+
+    @Column(name = "car_id")
+    private Long carId;
+
+    @Column(name = "client_id")
+    private Long clientId;
+
+    // Cuándo se movió desde reservations
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
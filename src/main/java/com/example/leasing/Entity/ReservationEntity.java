@@ -1,22 +1,32 @@
 package com.example.leasing.Entity;
 
+import com.example.leasing.event.ChangeLogEntityListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = { // Creados por la migración V2 (db/migration)
+        @Index(name = "idx_reservations_car_status_end", columnList = "car_id, status, end_date, start_date"),
+        @Index(name = "idx_reservations_car_start", columnList = "car_id, start_date, id"),
+        @Index(name = "idx_reservations_client_start", columnList = "client_id, start_date, id"),
+        @Index(name = "idx_reservations_status_end", columnList = "status, end_date, car_id, start_date"),
+        @Index(name = "idx_reservations_status_created", columnList = "status, created_at, id") // V3
+})
+@EntityListeners(ChangeLogEntityListener.class) // Change feed
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class ReservationEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
     
     // Fechas con hora (LocalDateTime) para inicio y fin de reserva
@@ -32,6 +42,19 @@ public class ReservationEntity {
     @Enumerated(EnumType.STRING)
     private ReservationStatusEnum status;
 
+    // Versión optimista: evita que confirmar y cancelar en paralelo se pisen
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    // Último cambio en el change feed: los escribe ChangeLogService al commit (JDBC),
+    // Hibernate nunca los incluye en sus INSERT/UPDATE
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(insertable = false, updatable = false)
+    private Long changeSeq;
+
     // Relación Many-to-One: Muchas reservas pertenecen a un auto
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "car_id")
@@ -54,7 +77,8 @@ public class ReservationEntity {
         if (startDate != null && endDate != null) {
             long hours = ChronoUnit.HOURS.between(startDate, endDate);
             // Redondea hacia arriba: cualquier fracción de día cuenta como día completo
-            return (long) Math.ceil(hours / 24.0);
+            // (división entera, sin pasar por double)
+            return Math.ceilDiv(hours, 24);
         }
         return 0;
     }
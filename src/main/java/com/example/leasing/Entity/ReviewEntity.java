@@ -1,26 +1,44 @@
 package com.example.leasing.Entity;
 
+import com.example.leasing.event.ChangeLogEntityListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = { // Creados por la migración V2 (db/migration)
+        @Index(name = "idx_reviews_car_created", columnList = "car_id, created_at, id"),
+        @Index(name = "idx_reviews_client", columnList = "client_id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Caché de 2do nivel de Hibernate
+@EntityListeners(ChangeLogEntityListener.class) // Change feed
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class ReviewEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reviews_seq")
+    @SequenceGenerator(name = "reviews_seq", sequenceName = "reviews_seq", allocationSize = 50)
     private Long id;
     
     private Integer rating; // 1-5 estrellas
     private String comment;
     private LocalDateTime createdAt;
 
+    // Último cambio en el change feed: los escribe ChangeLogService al commit (JDBC),
+    // Hibernate nunca los incluye en sus INSERT/UPDATE
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(insertable = false, updatable = false)
+    private Long changeSeq;
+
     // Relación Many-to-One: Muchas reviews pertenecen a un auto
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "car_id")
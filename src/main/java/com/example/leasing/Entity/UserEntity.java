@@ -1,18 +1,21 @@
 package com.example.leasing.Entity;
 
+import com.example.leasing.event.UserEntityListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserEntityListener.class) // Invalida el caché de principals
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class UserEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true, nullable = false)
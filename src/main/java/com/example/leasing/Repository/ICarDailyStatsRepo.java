@@ -0,0 +1,73 @@
+package com.example.leasing.Repository;
+
+import com.example.leasing.Entity.CarDailyStatsEntity;
+import com.example.leasing.dto.CarStatsView;
+import com.example.leasing.dto.DailyStatsView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ICarDailyStatsRepo extends JpaRepository<CarDailyStatsEntity, CarDailyStatsEntity.Key> {
+
+    // Bloquea la fila del día: confirmaciones concurrentes del mismo auto se serializan
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CarDailyStatsEntity s WHERE s.key.carId = :carId AND s.key.statDate = :day")
+    Optional<CarDailyStatsEntity> findForUpdate(@Param("carId") Long carId, @Param("day") LocalDate day);
+
+    // ==========================================
+    // TABLEROS - rangos [from, to) sobre la PK (car_id, stat_date) o (owner_id, stat_date, car_id)
+    // ==========================================
+
+    @Query("SELECT new com.example.leasing.dto.CarStatsView(s.key.carId, SUM(s.revenue), " +
+           "SUM(s.bookedMinutes), SUM(s.reservations)) " +
+           "FROM CarDailyStatsEntity s WHERE s.ownerId = :ownerId " +
+           "AND s.key.statDate >= :from AND s.key.statDate < :to " +
+           "GROUP BY s.key.carId")
+    List<CarStatsView> sumByCarForOwner(
+        @Param("ownerId") Long ownerId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+
+    @Query("SELECT new com.example.leasing.dto.DailyStatsView(s.key.statDate, SUM(s.revenue), " +
+           "SUM(s.bookedMinutes), SUM(s.reservations)) " +
+           "FROM CarDailyStatsEntity s WHERE s.ownerId = :ownerId " +
+           "AND s.key.statDate >= :from AND s.key.statDate < :to " +
+           "GROUP BY s.key.statDate")
+    List<DailyStatsView> sumByDayForOwner(
+        @Param("ownerId") Long ownerId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+
+    @Query("SELECT new com.example.leasing.dto.DailyStatsView(s.key.statDate, s.revenue, " +
+           "CAST(s.bookedMinutes AS Long), CAST(s.reservations AS Long)) " +
+           "FROM CarDailyStatsEntity s WHERE s.key.carId = :carId " +
+           "AND s.key.statDate >= :from AND s.key.statDate < :to")
+    List<DailyStatsView> findDaysForCar(
+        @Param("carId") Long carId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+
+    // ==========================================
+    // BACKFILL - por tandas de autos, sobre la PK (car_id, stat_date)
+    // ==========================================
+
+    @Query("SELECT s.key FROM CarDailyStatsEntity s WHERE s.key.carId IN :carIds")
+    List<CarDailyStatsEntity.Key> findKeysByCarIds(@Param("carIds") Collection<Long> carIds);
+
+    // Mismo orden que onReservationStatusChanged (auto, día): los locks no se cruzan
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CarDailyStatsEntity s WHERE s.key.carId IN :carIds ORDER BY s.key.carId, s.key.statDate")
+    List<CarDailyStatsEntity> findAllForUpdate(@Param("carIds") Collection<Long> carIds);
+}
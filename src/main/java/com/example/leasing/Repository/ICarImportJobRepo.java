@@ -0,0 +1,49 @@
+package com.example.leasing.Repository;
+
+import com.example.leasing.Entity.CarImportJobEntity;
+import com.example.leasing.Entity.CarImportStatusEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ICarImportJobRepo extends JpaRepository<CarImportJobEntity, Long> {
+
+    // Checkpoint de un lote, en la misma transacción que sus inserts
+    // Condicionado al checkpoint anterior: si otro proceso avanzó la importación, no actualiza nada
+    @Modifying
+    @Query("UPDATE CarImportJobEntity j SET j.rowsProcessed = :rowsProcessed, " +
+           "j.imported = j.imported + :imported, j.rejected = j.rejected + :rejected, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.rowsProcessed = :expected AND j.status = com.example.leasing.Entity.CarImportStatusEnum.RUNNING")
+    int advance(
+        @Param("id") Long id,
+        @Param("expected") long expected,
+        @Param("rowsProcessed") long rowsProcessed,
+        @Param("imported") long imported,
+        @Param("rejected") long rejected,
+        @Param("now") LocalDateTime now
+    );
+
+    // Cambio de estado condicionado al estado actual (retomar dos veces no lanza dos procesos)
+    @Modifying
+    @Query("UPDATE CarImportJobEntity j SET j.status = :to, j.error = :error, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = :from")
+    int transition(
+        @Param("id") Long id,
+        @Param("from") CarImportStatusEnum from,
+        @Param("to") CarImportStatusEnum to,
+        @Param("error") String error,
+        @Param("now") LocalDateTime now
+    );
+
+    // Al arrancar: las que quedaron RUNNING se cortaron con el nodo anterior
+    @Modifying
+    @Query("UPDATE CarImportJobEntity j SET j.status = com.example.leasing.Entity.CarImportStatusEnum.FAILED, " +
+           "j.error = :error, j.updatedAt = :now " +
+           "WHERE j.status = com.example.leasing.Entity.CarImportStatusEnum.RUNNING")
+    int failRunning(@Param("error") String error, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,25 @@
+package com.example.leasing.Repository;
+
+import com.example.leasing.Entity.CarImportRejectionEntity;
+import com.example.leasing.dto.ImportRejectionResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ICarImportRejectionRepo extends JpaRepository<CarImportRejectionEntity, CarImportRejectionEntity.Key> {
+
+    // Reporte de rechazos por keyset sobre la PK (job_id, source_row)
+    @Query("SELECT new com.example.leasing.dto.ImportRejectionResponse(r.key.sourceRow, r.reason) " +
+           "FROM CarImportRejectionEntity r WHERE r.key.jobId = :jobId AND r.key.sourceRow > :afterRow " +
+           "ORDER BY r.key.sourceRow")
+    List<ImportRejectionResponse> findByJobAfter(
+        @Param("jobId") Long jobId,
+        @Param("afterRow") long afterRow,
+        Pageable limit
+    );
+}
@@ -0,0 +1,31 @@
+package com.example.leasing.Repository;
+
+import com.example.leasing.Entity.CarRatingSummaryEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ICarRatingSummaryRepo extends JpaRepository<CarRatingSummaryEntity, Long> {
+
+    // Bloquea la fila del resumen: las reviews concurrentes del mismo auto se serializan
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CarRatingSummaryEntity s WHERE s.carId = :carId")
+    Optional<CarRatingSummaryEntity> findForUpdate(@Param("carId") Long carId);
+
+    // Resúmenes existentes de una tanda de autos (sin lock)
+    @Query("SELECT s.carId FROM CarRatingSummaryEntity s WHERE s.carId IN :carIds")
+    List<Long> findExistingIds(@Param("carIds") Collection<Long> carIds);
+
+    // Lock de los resúmenes de una tanda, en orden de carId (mismo orden que las altas masivas)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CarRatingSummaryEntity s WHERE s.carId IN :carIds ORDER BY s.carId")
+    List<CarRatingSummaryEntity> findAllForUpdate(@Param("carIds") Collection<Long> carIds);
+}
@@ -2,13 +2,27 @@ package com.example.leasing.Repository;
 
 import com.example.leasing.Entity.CarEntity;
 import com.example.leasing.Entity.CarStatusEnum;
+import com.example.leasing.dto.CarPriceView;
+import com.example.leasing.dto.CarResponse;
+import com.example.leasing.dto.RatedCarView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ICarRepo extends JpaRepository<CarEntity, Long> {
@@ -17,6 +31,7 @@ public interface ICarRepo extends JpaRepository<CarEntity, Long> {
     List<CarEntity> findByBrand(String brand);
     
     // Buscar por modelo (parcial, case-insensitive)
+    // Sin límite: para listados findByModelContainingAfter, para recorrer todo streamByModelContaining
     List<CarEntity> findByModelContainingIgnoreCase(String model);
     
     // Buscar por estado del auto
@@ -27,6 +42,7 @@ public interface ICarRepo extends JpaRepository<CarEntity, Long> {
     List<CarEntity> findAvailableCars();
     
     // Buscar por marca O modelo (búsqueda flexible)
+    // NOTA: LIKE '%term%' recorre toda la tabla; el buscador usa CarSearchService (índice en memoria)
     @Query("SELECT c FROM CarEntity c WHERE " +
            "LOWER(c.brand) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(c.model) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
@@ -44,14 +60,53 @@ public interface ICarRepo extends JpaRepository<CarEntity, Long> {
     List<CarEntity> findByOwnerId(@Param("ownerId") Long ownerId);
     
     // Buscar autos mejor valorados (promedio de rating >= 4)
+    // Lee el resumen desnormalizado (car_rating_summaries), no agrupa la tabla reviews
+    // Sin límite: para listados findTopRatedCarsAfter, para recorrer todo streamTopRatedCars
     @Query("SELECT c FROM CarEntity c " +
-           "LEFT JOIN c.reviews r " +
-           "GROUP BY c.id " +
-           "HAVING AVG(r.rating) >= 4 " +
-           "ORDER BY AVG(r.rating) DESC")
+           "JOIN CarRatingSummaryEntity s ON s.carId = c.id " +
+           "WHERE s.averageRating >= 4 " +
+           "ORDER BY s.averageRating DESC, c.id")
     List<CarEntity> findTopRatedCars();
     
+    // Carga el auto para reservar: al commitear incrementa su versión (UPDATE ... WHERE version = ?)
+    // Si otra transacción reservó el mismo auto en paralelo, falla con OptimisticLockException
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT c FROM CarEntity c WHERE c.id = :id")
+    Optional<CarEntity> findByIdForBooking(@Param("id") Long id);
+    
+    // De los IDs recibidos, cuáles existen (validación de altas masivas en una sola query)
+    @Query("SELECT c.id FROM CarEntity c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    // Estado actual de varios autos en una query (payloads del change feed)
+    @Query("SELECT new com.example.leasing.dto.CarResponse(c.id, c.brand, c.model, c.color, c.descripcion, " +
+           "c.pricePerDay, c.photoUrl, c.status, c.owner.id) FROM CarEntity c WHERE c.id IN :ids")
+    List<CarResponse> findResponsesByIds(@Param("ids") Collection<Long> ids);
+    
+    // IDs de los autos de un owner (vistas de ocupación)
+    @Query("SELECT c.id FROM CarEntity c WHERE c.owner.id = :ownerId ORDER BY c.id")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
+    
+    // Owner de un auto sin cargar la entidad (rollups de analíticas)
+    @Query("SELECT c.owner.id FROM CarEntity c WHERE c.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+    
+    // IDs de autos por keyset (jobs de reparación que recorren la flota por tandas)
+    @Query("SELECT c.id FROM CarEntity c WHERE c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Pageable limit);
+    
+    // Precio por día de todos los autos (carga de la tabla de precios de PricingService)
+    @Query("SELECT new com.example.leasing.dto.CarPriceView(c.id, c.pricePerDay) FROM CarEntity c")
+    List<CarPriceView> findAllPrices();
+    
+    // IDs de autos ACTIVE (para cargar el índice de disponibilidad)
+    @Query("SELECT c.id FROM CarEntity c WHERE c.status = 'ACTIVE'")
+    List<Long> findAvailableCarIds();
+    
     // Buscar autos sin reservas activas (disponibles para reservar)
+    // NOTA: para rangos de fechas usar AvailabilityService, que no consulta la BD
+    // Sin límite: para listados findCarsWithoutActiveReservationsAfter, para recorrer todo
+    // streamCarsWithoutActiveReservations
     @Query("SELECT c FROM CarEntity c WHERE c.id NOT IN (" +
            "SELECT r.car.id FROM ReservationEntity r " +
            "WHERE r.status = 'CONFIRMED' AND r.endDate >= CURRENT_DATE)")
@@ -71,4 +126,198 @@ public interface ICarRepo extends JpaRepository<CarEntity, Long> {
         @Param("maxPrice") BigDecimal maxPrice,
         @Param("status") CarStatusEnum status
     );
+
+    // ==========================================
+    // PAGINACIÓN POR KEYSET
+    // ==========================================
+    // Cada variante recibe la posición de la última fila de la página anterior
+    // (clave de orden + id) y un Pageable solo para el LIMIT (PageRequest.ofSize).
+    // No usa OFFSET: el costo de cada página no crece con la profundidad.
+    // "clave >= x AND (clave > x OR id > y)" equivale a "(clave > x OR (clave = x AND id > y))"
+    // pero la primera condición es un rango sobre el índice (clave, id): no hay que recorrer la tabla.
+    // Los órdenes por precio dejan afuera los autos sin precio por día (NULL no cumple ningún
+    // rango y no se puede cotizar ni reservar): la condición IS NOT NULL está escrita a propósito.
+
+    @Query("SELECT c FROM CarEntity c WHERE c.brand = :brand AND c.id > :afterId ORDER BY c.id")
+    List<CarEntity> findByBrandAfter(
+        @Param("brand") String brand,
+        @Param("afterId") long afterId,
+        Pageable limit
+    );
+
+    @Query("SELECT c FROM CarEntity c WHERE " +
+           "LOWER(c.model) LIKE LOWER(CONCAT('%', :model, '%')) AND c.id > :afterId ORDER BY c.id")
+    List<CarEntity> findByModelContainingAfter(
+        @Param("model") String model,
+        @Param("afterId") long afterId,
+        Pageable limit
+    );
+
+    @Query("SELECT c FROM CarEntity c WHERE c.status = :status AND c.id > :afterId ORDER BY c.id")
+    List<CarEntity> findByStatusAfter(
+        @Param("status") CarStatusEnum status,
+        @Param("afterId") long afterId,
+        Pageable limit
+    );
+
+    @Query("SELECT c FROM CarEntity c WHERE c.status = 'ACTIVE' AND c.id > :afterId ORDER BY c.id")
+    List<CarEntity> findAvailableCarsAfter(@Param("afterId") long afterId, Pageable limit);
+
+    @Query("SELECT c FROM CarEntity c WHERE (" +
+           "LOWER(c.brand) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(c.model) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
+           "AND c.id > :afterId ORDER BY c.id")
+    List<CarEntity> searchByBrandOrModelAfter(
+        @Param("searchTerm") String searchTerm,
+        @Param("afterId") long afterId,
+        Pageable limit
+    );
+
+    // Orden (pricePerDay, id)
+    @Query("SELECT c FROM CarEntity c WHERE c.pricePerDay IS NOT NULL AND " +
+           "c.pricePerDay BETWEEN :minPrice AND :maxPrice AND " +
+           "c.pricePerDay >= :afterPrice AND (c.pricePerDay > :afterPrice OR c.id > :afterId) " +
+           "ORDER BY c.pricePerDay, c.id")
+    List<CarEntity> findByPriceRangeAfter(
+        @Param("minPrice") BigDecimal minPrice,
+        @Param("maxPrice") BigDecimal maxPrice,
+        @Param("afterPrice") BigDecimal afterPrice,
+        @Param("afterId") long afterId,
+        Pageable limit
+    );
+
+    @Query("SELECT c FROM CarEntity c WHERE c.owner.id = :ownerId AND c.id > :afterId ORDER BY c.id")
+    List<CarEntity> findByOwnerIdAfter(
+        @Param("ownerId") Long ownerId,
+        @Param("afterId") long afterId,
+        Pageable limit
+    );
+
+    // Orden (averageRating DESC, id): el cursor lleva el promedio de la última fila
+    @Query("SELECT new com.example.leasing.dto.RatedCarView(c, s.averageRating, s.reviewCount) " +
+           "FROM CarEntity c JOIN CarRatingSummaryEntity s ON s.carId = c.id " +
+           "WHERE s.averageRating >= :minRating AND " +
+           "s.averageRating <= :afterRating AND (s.averageRating < :afterRating OR c.id > :afterId) " +
+           "ORDER BY s.averageRating DESC, c.id")
+    List<RatedCarView> findTopRatedCarsAfter(
+        @Param("minRating") double minRating,
+        @Param("afterRating") double afterRating,
+        @Param("afterId") long afterId,
+        Pageable limit
+    );
+
+    // Orden (reviewCount DESC, id): autos con más reviews
+    @Query("SELECT new com.example.leasing.dto.RatedCarView(c, s.averageRating, s.reviewCount) " +
+           "FROM CarEntity c JOIN CarRatingSummaryEntity s ON s.carId = c.id " +
+           "WHERE s.averageRating >= :minRating AND " +
+           "s.reviewCount <= :afterCount AND (s.reviewCount < :afterCount OR c.id > :afterId) " +
+           "ORDER BY s.reviewCount DESC, c.id")
+    List<RatedCarView> findMostReviewedCarsAfter(
+        @Param("minRating") double minRating,
+        @Param("afterCount") long afterCount,
+        @Param("afterId") long afterId,
+        Pageable limit
+    );
+
+    @Query("SELECT c FROM CarEntity c WHERE c.id NOT IN (" +
+           "SELECT r.car.id FROM ReservationEntity r " +
+           "WHERE r.status = 'CONFIRMED' AND r.endDate >= CURRENT_DATE) " +
+           "AND c.id > :afterId ORDER BY c.id")
+    List<CarEntity> findCarsWithoutActiveReservationsAfter(@Param("afterId") long afterId, Pageable limit);
+
+    // Orden (pricePerDay, id)
+    @Query("SELECT c FROM CarEntity c WHERE " +
+           "(:brand IS NULL OR LOWER(c.brand) = LOWER(:brand)) AND " +
+           "(:model IS NULL OR LOWER(c.model) LIKE LOWER(CONCAT('%', :model, '%'))) AND " +
+           "(:minPrice IS NULL OR c.pricePerDay >= :minPrice) AND " +
+           "(:maxPrice IS NULL OR c.pricePerDay <= :maxPrice) AND " +
+           "(:status IS NULL OR c.status = :status) AND " +
+           "c.pricePerDay IS NOT NULL AND " +
+           "c.pricePerDay >= :afterPrice AND (c.pricePerDay > :afterPrice OR c.id > :afterId) " +
+           "ORDER BY c.pricePerDay, c.id")
+    List<CarEntity> searchCarsAfter(
+        @Param("brand") String brand,
+        @Param("model") String model,
+        @Param("minPrice") BigDecimal minPrice,
+        @Param("maxPrice") BigDecimal maxPrice,
+        @Param("status") CarStatusEnum status,
+        @Param("afterPrice") BigDecimal afterPrice,
+        @Param("afterId") long afterId,
+        Pageable limit
+    );
+
+    // ==========================================
+    // STREAMING (exportaciones)
+    // ==========================================
+    // Deben consumirse dentro de una transacción y cerrarse (try-with-resources).
+    // El fetch size evita traer todo el resultado al heap de una vez.
+    // En MySQL requiere useCursorFetch=true en la URL JDBC.
+
+    // Exportación completa: sin poblar el caché de 2do nivel (lo llenaría de autos que nadie pidió)
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT c FROM CarEntity c ORDER BY c.id")
+    Stream<CarEntity> streamAll();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM CarEntity c WHERE c.brand = :brand ORDER BY c.id")
+    Stream<CarEntity> streamByBrand(@Param("brand") String brand);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM CarEntity c WHERE c.status = :status ORDER BY c.id")
+    Stream<CarEntity> streamByStatus(@Param("status") CarStatusEnum status);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM CarEntity c WHERE " +
+           "LOWER(c.brand) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(c.model) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ORDER BY c.id")
+    Stream<CarEntity> streamByBrandOrModel(@Param("searchTerm") String searchTerm);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM CarEntity c WHERE c.pricePerDay BETWEEN :minPrice AND :maxPrice " +
+           "ORDER BY c.pricePerDay, c.id")
+    Stream<CarEntity> streamByPriceRange(
+        @Param("minPrice") BigDecimal minPrice,
+        @Param("maxPrice") BigDecimal maxPrice
+    );
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM CarEntity c WHERE c.owner.id = :ownerId ORDER BY c.id")
+    Stream<CarEntity> streamByOwnerId(@Param("ownerId") Long ownerId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM CarEntity c WHERE LOWER(c.model) LIKE LOWER(CONCAT('%', :model, '%')) ORDER BY c.id")
+    Stream<CarEntity> streamByModelContaining(@Param("model") String model);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.leasing.dto.RatedCarView(c, s.averageRating, s.reviewCount) " +
+           "FROM CarEntity c JOIN CarRatingSummaryEntity s ON s.carId = c.id " +
+           "WHERE s.averageRating >= :minRating " +
+           "ORDER BY s.averageRating DESC, c.id")
+    Stream<RatedCarView> streamTopRatedCars(@Param("minRating") double minRating);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM CarEntity c WHERE c.id NOT IN (" +
+           "SELECT r.car.id FROM ReservationEntity r " +
+           "WHERE r.status = 'CONFIRMED' AND r.endDate >= CURRENT_DATE) " +
+           "ORDER BY c.id")
+    Stream<CarEntity> streamCarsWithoutActiveReservations();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM CarEntity c WHERE " +
+           "(:brand IS NULL OR LOWER(c.brand) = LOWER(:brand)) AND " +
+           "(:model IS NULL OR LOWER(c.model) LIKE LOWER(CONCAT('%', :model, '%'))) AND " +
+           "(:minPrice IS NULL OR c.pricePerDay >= :minPrice) AND " +
+           "(:maxPrice IS NULL OR c.pricePerDay <= :maxPrice) AND " +
+           "(:status IS NULL OR c.status = :status) " +
+           "ORDER BY c.pricePerDay, c.id")
+    Stream<CarEntity> streamSearchCars(
+        @Param("brand") String brand,
+        @Param("model") String model,
+        @Param("minPrice") BigDecimal minPrice,
+        @Param("maxPrice") BigDecimal maxPrice,
+        @Param("status") CarStatusEnum status
+    );
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.example.leasing.Repository;
+
+import com.example.leasing.Entity.ChangeEntityTypeEnum;
+import com.example.leasing.Entity.ChangeLogEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Change feed (change_log): las filas las escribe ChangeLogService con JDBC
+ */
+@Repository
+public interface IChangeLogRepo extends JpaRepository<ChangeLogEntity, Long> {
+
+    // Cambios después de un número, en orden (recorre la PK desde "after")
+    @Query("SELECT c FROM ChangeLogEntity c WHERE c.seq > :after ORDER BY c.seq")
+    List<ChangeLogEntity> findAfter(@Param("after") long after, Pageable limit);
+
+    // Igual, solo de algunos tipos de entidad
+    @Query("SELECT c FROM ChangeLogEntity c WHERE c.seq > :after AND c.entityType IN :types ORDER BY c.seq")
+    List<ChangeLogEntity> findAfterByTypes(
+        @Param("after") long after,
+        @Param("types") Collection<ChangeEntityTypeEnum> types,
+        Pageable limit
+    );
+
+    // ==========================================
+    // RETENCIÓN (ChangeLogService.purge)
+    // ==========================================
+
+    // Lote de los más viejos que cutoff: empieza en lo ya borrado y corta en el primero más nuevo
+    @Query("SELECT c.seq FROM ChangeLogEntity c WHERE c.seq > :purged AND c.changedAt < :cutoff ORDER BY c.seq")
+    List<Long> findSeqsChangedBefore(
+        @Param("purged") long purged,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable limit
+    );
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntity c WHERE c.seq > :after AND c.seq <= :upTo")
+    int deleteRange(@Param("after") long after, @Param("upTo") long upTo);
+}
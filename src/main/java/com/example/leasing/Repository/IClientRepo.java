@@ -1,9 +1,35 @@
 package com.example.leasing.Repository;
 
 import com.example.leasing.Entity.ClientEntity;
+import com.example.leasing.dto.ClientResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface IClientRepo extends JpaRepository<ClientEntity, Long> {
+
+    // Vistas para la API: proyección por constructor, así no se carga el OneToOne inverso
+    // con UserEntity (que Hibernate no puede dejar lazy y cuesta una query por cliente)
+    @Query("SELECT new com.example.leasing.dto.ClientResponse(c.id, c.firstName, c.lastName, c.phone, c.version) " +
+           "FROM ClientEntity c WHERE c.id = :id")
+    Optional<ClientResponse> findResponseById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.leasing.dto.ClientResponse(c.id, c.firstName, c.lastName, c.phone, c.version) " +
+           "FROM ClientEntity c ORDER BY c.id")
+    List<ClientResponse> findAllResponses();
+
+    // Multi-get: un solo IN para todo el lote (el orden lo arma ClientService)
+    @Query("SELECT new com.example.leasing.dto.ClientResponse(c.id, c.firstName, c.lastName, c.phone, c.version) " +
+           "FROM ClientEntity c WHERE c.id IN :ids")
+    List<ClientResponse> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    // De los IDs recibidos, cuáles existen (validación de altas masivas en una sola query)
+    @Query("SELECT c.id FROM ClientEntity c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
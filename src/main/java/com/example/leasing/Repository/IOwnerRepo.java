@@ -2,10 +2,18 @@ package com.example.leasing.Repository;
 
 import com.example.leasing.Entity.OwnerEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface IOwnerRepo extends JpaRepository<OwnerEntity, Long> {
+
+    // De los IDs recibidos, cuáles existen (owners de una importación de autos, una query por lote)
+    @Query("SELECT o.id FROM OwnerEntity o WHERE o.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
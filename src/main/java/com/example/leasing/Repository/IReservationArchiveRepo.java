@@ -0,0 +1,91 @@
+package com.example.leasing.Repository;
+
+import com.example.leasing.Entity.ReservationArchiveEntity;
+import com.example.leasing.Entity.ReservationStatusEnum;
+import com.example.leasing.dto.ReservationResponse;
+import com.example.leasing.dto.ReservationRevenueView;
+import com.example.leasing.dto.ReservationSlotView;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+/**
+ * Histórico de reservas (reservations_archive), solo lectura
+ * Las filas las escribe IReservationRepo.copyToArchive
+ */
+@Repository
+public interface IReservationArchiveRepo extends JpaRepository<ReservationArchiveEntity, Long> {
+
+    @Query("SELECT new com.example.leasing.dto.ReservationResponse(r.id, r.carId, r.clientId, r.startDate, r.endDate, " +
+           "r.totalPrice, r.status, r.createdAt) " +
+           "FROM ReservationArchiveEntity r WHERE r.id = :id")
+    Optional<ReservationResponse> findResponseById(@Param("id") Long id);
+
+    // Reservas en un estado que terminan desde "since" (carga del calendario de ocupación)
+    @Query("SELECT new com.example.leasing.dto.ReservationSlotView(r.id, r.carId, r.startDate, r.endDate) " +
+           "FROM ReservationArchiveEntity r WHERE r.status = :status AND r.endDate >= :since")
+    List<ReservationSlotView> findSlotsByStatusEndingSince(
+        @Param("status") ReservationStatusEnum status,
+        @Param("since") LocalDateTime since
+    );
+
+    // Reservas de una tanda de autos en un estado, con su owner (recalcular los rollups de analíticas)
+    // JOIN por ID: el archivo no tiene relación con cars; las de autos borrados quedan afuera
+    @Query("SELECT new com.example.leasing.dto.ReservationRevenueView(r.carId, c.owner.id, r.startDate, r.endDate, " +
+           "r.totalPrice) FROM ReservationArchiveEntity r JOIN CarEntity c ON c.id = r.carId " +
+           "WHERE r.carId IN :carIds AND r.status = :status")
+    List<ReservationRevenueView> findRevenueByCarIds(
+        @Param("carIds") Collection<Long> carIds,
+        @Param("status") ReservationStatusEnum status
+    );
+
+    // ==========================================
+    // PAGINACIÓN POR KEYSET - orden (startDate, id), igual que IReservationRepo
+    // ==========================================
+
+    @Query("SELECT new com.example.leasing.dto.ReservationResponse(r.id, r.carId, r.clientId, r.startDate, r.endDate, " +
+           "r.totalPrice, r.status, r.createdAt) " +
+           "FROM ReservationArchiveEntity r WHERE r.carId = :carId AND " +
+           "r.startDate >= :afterDate AND (r.startDate > :afterDate OR r.id > :afterId) " +
+           "ORDER BY r.startDate, r.id")
+    List<ReservationResponse> findByCarIdAfter(
+        @Param("carId") Long carId,
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") long afterId,
+        Pageable limit
+    );
+
+    @Query("SELECT new com.example.leasing.dto.ReservationResponse(r.id, r.carId, r.clientId, r.startDate, r.endDate, " +
+           "r.totalPrice, r.status, r.createdAt) " +
+           "FROM ReservationArchiveEntity r WHERE r.clientId = :clientId AND " +
+           "r.startDate >= :afterDate AND (r.startDate > :afterDate OR r.id > :afterId) " +
+           "ORDER BY r.startDate, r.id")
+    List<ReservationResponse> findByClientIdAfter(
+        @Param("clientId") Long clientId,
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") long afterId,
+        Pageable limit
+    );
+
+    // ==========================================
+    // STREAMING (exportaciones) - proyección: no quedan entidades en el contexto
+    // ==========================================
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.leasing.dto.ReservationResponse(r.id, r.carId, r.clientId, r.startDate, r.endDate, " +
+           "r.totalPrice, r.status, r.createdAt) " +
+           "FROM ReservationArchiveEntity r ORDER BY r.id")
+    Stream<ReservationResponse> streamAllResponses();
+}
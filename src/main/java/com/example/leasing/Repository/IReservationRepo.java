@@ -2,17 +2,192 @@ package com.example.leasing.Repository;
 
 import com.example.leasing.Entity.ReservationEntity;
 import com.example.leasing.Entity.ReservationStatusEnum;
+import com.example.leasing.dto.ReservationResponse;
+import com.example.leasing.dto.ReservationRevenueView;
+import com.example.leasing.dto.ReservationSlotView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface IReservationRepo extends JpaRepository<ReservationEntity, Long> {
 
+    // Todas las queries de este repo ven solo la tabla caliente (reservas vigentes o recientes);
+    // las archivadas están en IReservationArchiveRepo
+
     List<ReservationEntity> findByCarId(Long carId);
 
     List<ReservationEntity> findByClientId(Long clientId);
 
     List<ReservationEntity> findByStatus(ReservationStatusEnum status);
-}
\ No newline at end of file
+
+    // ¿Hay alguna reserva PENDING o CONFIRMED del auto que se solape con [start, end)?
+    @Query("SELECT COUNT(r) > 0 FROM ReservationEntity r WHERE r.car.id = :carId " +
+           "AND r.status IN ('PENDING', 'CONFIRMED') " +
+           "AND r.startDate < :end AND r.endDate > :start")
+    boolean existsOverlapping(
+        @Param("carId") Long carId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+
+    // Fechas de las reservas en un estado dado, sin cargar entidades (para índices en memoria)
+    @Query("SELECT new com.example.leasing.dto.ReservationSlotView(r.id, r.car.id, r.startDate, r.endDate) " +
+           "FROM ReservationEntity r WHERE r.status = :status")
+    List<ReservationSlotView> findSlotsByStatus(@Param("status") ReservationStatusEnum status);
+
+    // Reservas de una tanda de autos en un estado, con su owner (recalcular los rollups de analíticas)
+    @Query("SELECT new com.example.leasing.dto.ReservationRevenueView(r.car.id, c.owner.id, r.startDate, r.endDate, " +
+           "r.totalPrice) FROM ReservationEntity r JOIN r.car c WHERE r.car.id IN :carIds AND r.status = :status")
+    List<ReservationRevenueView> findRevenueByCarIds(
+        @Param("carIds") Collection<Long> carIds,
+        @Param("status") ReservationStatusEnum status
+    );
+
+    // Reservas de un auto en un estado que se solapan con [start, end) (recalcular el calendario de ocupación)
+    @Query("SELECT new com.example.leasing.dto.ReservationSlotView(r.id, r.car.id, r.startDate, r.endDate) " +
+           "FROM ReservationEntity r WHERE r.car.id = :carId AND r.status = :status " +
+           "AND r.startDate < :end AND r.endDate > :start")
+    List<ReservationSlotView> findSlotsOverlapping(
+        @Param("carId") Long carId,
+        @Param("status") ReservationStatusEnum status,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+
+    // Vista para la API en una sola query (sin cargar la entidad ni sus relaciones)
+    @Query("SELECT new com.example.leasing.dto.ReservationResponse(r.id, r.car.id, r.client.id, r.startDate, r.endDate, " +
+           "r.totalPrice, r.status, r.createdAt) " +
+           "FROM ReservationEntity r WHERE r.id = :id")
+    Optional<ReservationResponse> findResponseById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.leasing.dto.ReservationResponse(r.id, r.car.id, r.client.id, r.startDate, r.endDate, " +
+           "r.totalPrice, r.status, r.createdAt) " +
+           "FROM ReservationEntity r WHERE r.id IN :ids")
+    List<ReservationResponse> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    // ==========================================
+    // PAGINACIÓN POR KEYSET - orden (startDate, id)
+    // ==========================================
+    // Rango sobre los índices (car_id, start_date, id) / (client_id, start_date, id), ver ICarRepo
+
+    @Query("SELECT new com.example.leasing.dto.ReservationResponse(r.id, r.car.id, r.client.id, r.startDate, r.endDate, " +
+           "r.totalPrice, r.status, r.createdAt) " +
+           "FROM ReservationEntity r WHERE r.car.id = :carId AND " +
+           "r.startDate >= :afterDate AND (r.startDate > :afterDate OR r.id > :afterId) " +
+           "ORDER BY r.startDate, r.id")
+    List<ReservationResponse> findByCarIdAfter(
+        @Param("carId") Long carId,
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") long afterId,
+        Pageable limit
+    );
+
+    @Query("SELECT new com.example.leasing.dto.ReservationResponse(r.id, r.car.id, r.client.id, r.startDate, r.endDate, " +
+           "r.totalPrice, r.status, r.createdAt) " +
+           "FROM ReservationEntity r WHERE r.client.id = :clientId AND " +
+           "r.startDate >= :afterDate AND (r.startDate > :afterDate OR r.id > :afterId) " +
+           "ORDER BY r.startDate, r.id")
+    List<ReservationResponse> findByClientIdAfter(
+        @Param("clientId") Long clientId,
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") long afterId,
+        Pageable limit
+    );
+
+    // ==========================================
+    // VENCIMIENTO DE PENDING (ReservationExpiryService)
+    // ==========================================
+
+    // Lote de reservas en un estado creadas antes de cutoff, las más viejas primero
+    // Recorre el índice (status, created_at, id)
+    @Query("SELECT r.id FROM ReservationEntity r WHERE r.status = :status AND r.createdAt < :cutoff " +
+           "ORDER BY r.createdAt, r.id")
+    List<Long> findIdsByStatusCreatedBefore(
+        @Param("status") ReservationStatusEnum status,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable limit
+    );
+
+    // Bloquea (por PK) las del lote que siguen en el estado: las que se confirmaron o
+    // cancelaron después del SELECT de IDs quedan afuera, y el resto no cambia hasta el UPDATE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.leasing.dto.ReservationResponse(r.id, r.car.id, r.client.id, r.startDate, r.endDate, " +
+           "r.totalPrice, r.status, r.createdAt) " +
+           "FROM ReservationEntity r WHERE r.id IN :ids AND r.status = :status ORDER BY r.id")
+    List<ReservationResponse> lockResponsesByIdsAndStatus(
+        @Param("ids") Collection<Long> ids,
+        @Param("status") ReservationStatusEnum status
+    );
+
+    // UPDATE masivo, sin cargar entidades. Repite la condición de estado: si alguna se
+    // confirmó entre el SELECT y el UPDATE, no se toca. Sube la versión para que un
+    // confirm() que ya la tenía cargada falle por lock optimista en lugar de pisarla.
+    @Modifying
+    @Query("UPDATE ReservationEntity r SET r.status = :newStatus, r.version = r.version + 1 " +
+           "WHERE r.id IN :ids AND r.status = :expectedStatus")
+    int updateStatusByIds(
+        @Param("ids") Collection<Long> ids,
+        @Param("expectedStatus") ReservationStatusEnum expectedStatus,
+        @Param("newStatus") ReservationStatusEnum newStatus
+    );
+
+    // ==========================================
+    // ARCHIVO (ReservationArchiveService)
+    // ==========================================
+
+    // Lote de reservas en un estado que terminaron antes de cutoff, por el índice
+    // (status, end_date, ...). FOR UPDATE: nadie las modifica entre la copia y el DELETE.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r.id FROM ReservationEntity r WHERE r.status = :status AND r.endDate < :cutoff " +
+           "ORDER BY r.endDate")
+    List<Long> lockIdsByStatusEndedBefore(
+        @Param("status") ReservationStatusEnum status,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable limit
+    );
+
+    // INSERT ... SELECT dentro de la base: las filas no pasan por la aplicación
+    @Modifying
+    @Query(value = "INSERT INTO reservations_archive " +
+                   "(id, start_date, end_date, total_price, created_at, status, car_id, client_id, archived_at) " +
+                   "SELECT id, start_date, end_date, total_price, created_at, status, car_id, client_id, :archivedAt " +
+                   "FROM reservations WHERE id IN (:ids)",
+           nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query("DELETE FROM ReservationEntity r WHERE r.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    // ==========================================
+    // STREAMING (exportaciones)
+    // ==========================================
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r FROM ReservationEntity r ORDER BY r.id")
+    Stream<ReservationEntity> streamAll();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r FROM ReservationEntity r WHERE r.car.id = :carId ORDER BY r.startDate, r.id")
+    Stream<ReservationEntity> streamByCarId(@Param("carId") Long carId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r FROM ReservationEntity r WHERE r.client.id = :clientId ORDER BY r.startDate, r.id")
+    Stream<ReservationEntity> streamByClientId(@Param("clientId") Long clientId);
+}
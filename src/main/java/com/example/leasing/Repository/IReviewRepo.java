@@ -1,10 +1,22 @@
 package com.example.leasing.Repository;
 
 import com.example.leasing.Entity.ReviewEntity;
+import com.example.leasing.dto.RatingAggregateView;
+import com.example.leasing.dto.ReviewResponse;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface IReviewRepo extends JpaRepository<ReviewEntity, Long> {
@@ -12,4 +24,40 @@ public interface IReviewRepo extends JpaRepository<ReviewEntity, Long> {
     List<ReviewEntity> findByCarId(Long carId);
 
     List<ReviewEntity> findByClientId(Long clientId);
-}
\ No newline at end of file
+
+    // Vistas para la API en una sola query (sin cargar entidades)
+    @Query("SELECT new com.example.leasing.dto.ReviewResponse(r.id, r.car.id, r.client.id, r.rating, r.comment, r.createdAt) " +
+           "FROM ReviewEntity r WHERE r.id = :id")
+    Optional<ReviewResponse> findResponseById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.leasing.dto.ReviewResponse(r.id, r.car.id, r.client.id, r.rating, r.comment, r.createdAt) " +
+           "FROM ReviewEntity r WHERE r.id IN :ids")
+    List<ReviewResponse> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.leasing.dto.ReviewResponse(r.id, r.car.id, r.client.id, r.rating, r.comment, r.createdAt) " +
+           "FROM ReviewEntity r WHERE r.car.id = :carId ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewResponse> findResponsesByCarId(@Param("carId") Long carId);
+
+    // Agregado de una tanda de autos (solo para reparar car_rating_summaries)
+    @Query("SELECT new com.example.leasing.dto.RatingAggregateView(r.car.id, COUNT(r), SUM(r.rating), " +
+           "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END)) " +
+           "FROM ReviewEntity r WHERE r.car.id IN :carIds AND r.rating BETWEEN 1 AND 5 GROUP BY r.car.id")
+    List<RatingAggregateView> aggregateRatingsByCarIds(@Param("carIds") Collection<Long> carIds);
+
+    // ==========================================
+    // STREAMING (exportaciones)
+    // ==========================================
+    // Se consume dentro de una transacción y se cierra (try-with-resources).
+    // CacheMode IGNORE: una exportación completa no debe llenar el caché de segundo nivel.
+
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT r FROM ReviewEntity r ORDER BY r.id")
+    Stream<ReviewEntity> streamAll();
+}
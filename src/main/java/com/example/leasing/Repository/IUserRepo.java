@@ -1,6 +1,8 @@
 package com.example.leasing.Repository;
 
 import com.example.leasing.Entity.UserEntity;
+import com.example.leasing.dto.ClientResponse;
+import com.example.leasing.dto.UserPrincipal;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,4 +22,15 @@ public interface IUserRepo extends JpaRepository<UserEntity, Long> {
 
     @Query("SELECT u FROM UserEntity u LEFT JOIN FETCH u.client LEFT JOIN FETCH u.owner WHERE u.email = :email")
     Optional<UserEntity> findByEmailWithRelations(@Param("email") String email);
+
+    // Cliente del usuario (login por email) en una sola query con JOIN
+    @Query("SELECT new com.example.leasing.dto.ClientResponse(c.id, c.firstName, c.lastName, c.phone, c.version) " +
+           "FROM UserEntity u JOIN u.client c WHERE u.email = :email")
+    Optional<ClientResponse> findClientResponseByEmail(@Param("email") String email);
+
+    // Usuario, rol e IDs de client/owner en una sola query, sin cargar entidades
+    // (client_id y owner_id son columnas de users: no hace falta JOIN)
+    @Query("SELECT new com.example.leasing.dto.UserPrincipal(u.id, u.email, u.role, u.client.id, u.owner.id) " +
+           "FROM UserEntity u WHERE u.email = :email")
+    Optional<UserPrincipal> findPrincipalByEmail(@Param("email") String email);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.example.leasing.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita el near-cache (@Cacheable) de Spring
+ * Los cachés, su tamaño y TTL se definen en application.properties (spring.cache.*)
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Nombres de los cachés del catálogo de autos
+    public static final String CARS = "cars";
+    public static final String AVAILABLE_CARS = "availableCars";
+    public static final String CARS_BY_OWNER = "carsByOwner";
+}
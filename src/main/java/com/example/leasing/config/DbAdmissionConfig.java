@@ -0,0 +1,60 @@
+package com.example.leasing.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Activa el control de admisión a la base de datos (leasing.db.admission.enabled=true)
+ * Pensado para el modo virtual threads (perfil "virtual-threads"): envuelve el DataSource
+ * en un AdmissionControlledDataSource con tantos permisos como el pool de Hikari.
+ * Publica permisos libres, cola de espera y rechazos como métricas leasing.db.admission.*
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "leasing.db.admission", name = "enabled", havingValue = "true")
+public class DbAdmissionConfig {
+
+    // static: los BeanPostProcessor se crean antes que el resto de la configuración
+    @Bean
+    static BeanPostProcessor admissionControlledDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionControlledDataSource)) {
+                    int permits = environment.getProperty("leasing.db.admission.permits", Integer.class,
+                            environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                    Duration timeout = environment.getProperty("leasing.db.admission.timeout", Duration.class,
+                            Duration.ofSeconds(2));
+                    return new AdmissionControlledDataSource(dataSource, permits, timeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder dbAdmissionMetrics(DataSource dataSource) throws SQLException {
+        // unwrap: el DataSource puede estar envuelto además por otro decorador (ver SlowQueryLogConfig)
+        AdmissionControlledDataSource admission = dataSource.unwrap(AdmissionControlledDataSource.class);
+        return registry -> {
+            Gauge.builder("leasing.db.admission.permits.available", admission, AdmissionControlledDataSource::getAvailablePermits)
+                    .description("Permisos de conexión libres")
+                    .register(registry);
+            Gauge.builder("leasing.db.admission.queue", admission, AdmissionControlledDataSource::getQueueLength)
+                    .description("Hilos esperando un permiso de conexión")
+                    .register(registry);
+            FunctionCounter.builder("leasing.db.admission.rejected", admission, AdmissionControlledDataSource::getRejectedCount)
+                    .description("Pedidos rechazados por timeout de admisión (503)")
+                    .register(registry);
+        };
+    }
+}
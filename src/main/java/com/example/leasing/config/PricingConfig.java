@@ -0,0 +1,62 @@
+package com.example.leasing.config;
+
+import com.example.leasing.pricing.BillingMode;
+import com.example.leasing.pricing.LongStayDiscountRule;
+import com.example.leasing.pricing.PricingEngine;
+import com.example.leasing.pricing.PricingRule;
+import com.example.leasing.pricing.SeasonSurchargeRule;
+import com.example.leasing.pricing.WeekendSurchargeRule;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.MonthDay;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Motor de precios y sus reglas (leasing.pricing.*)
+ *
+ * Cada regla es un bean PricingRule: las de acá se activan por properties y cualquier
+ * otro bean PricingRule del contexto se suma al motor. Sin reglas y con billing=DAYS
+ * el precio es pricePerDay × días, como siempre.
+ */
+@Configuration
+public class PricingConfig {
+
+    @Bean
+    public PricingEngine pricingEngine(@Value("${leasing.pricing.billing:DAYS}") BillingMode billingMode,
+                                       ObjectProvider<PricingRule> rules) {
+        return new PricingEngine(billingMode, rules.orderedStream().toList());
+    }
+
+    @Bean
+    @ConditionalOnExpression("${leasing.pricing.weekend-surcharge-bp:0} != 0")
+    public WeekendSurchargeRule weekendSurchargeRule(@Value("${leasing.pricing.weekend-surcharge-bp}") int bp) {
+        return new WeekendSurchargeRule(bp);
+    }
+
+    @Bean
+    @ConditionalOnExpression("${leasing.pricing.high-season.surcharge-bp:0} != 0")
+    public SeasonSurchargeRule highSeasonSurchargeRule(@Value("${leasing.pricing.high-season.from}") String from,
+                                                       @Value("${leasing.pricing.high-season.to}") String to,
+                                                       @Value("${leasing.pricing.high-season.surcharge-bp}") int bp) {
+        return new SeasonSurchargeRule(MonthDay.parse("--" + from), MonthDay.parse("--" + to), bp);
+    }
+
+    /**
+     * Escalones "días:bp" separados por coma, ej. 7:500,28:1500
+     */
+    @Bean
+    @ConditionalOnExpression("!'${leasing.pricing.long-stay-discounts:}'.isBlank()")
+    public LongStayDiscountRule longStayDiscountRule(@Value("${leasing.pricing.long-stay-discounts}") String tiers) {
+        Map<Long, Integer> parsed = new LinkedHashMap<>();
+        for (String tier : tiers.split(",")) {
+            String[] parts = tier.trim().split(":");
+            parsed.put(Long.parseLong(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return new LongStayDiscountRule(parsed);
+    }
+}
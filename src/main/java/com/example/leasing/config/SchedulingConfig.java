@@ -0,0 +1,18 @@
+package com.example.leasing.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (@Scheduled)
+ * Ejemplo: reconstrucción nocturna de los resúmenes de rating
+ *
+ * leasing.scheduling.enabled=false las apaga (los tests las llaman a mano: un job que corre
+ * en paralelo ensucia los contadores de SQL y los datos que el test espera)
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "leasing.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
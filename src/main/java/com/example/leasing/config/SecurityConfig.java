@@ -24,6 +24,9 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/h2-console/**").permitAll() // Permite acceso a H2 Console
                 .requestMatchers("/api/**").permitAll() // Permite todos los endpoints API por ahora
+                // Solo existen en el puerto de management (management.server.*), que no es el de la API
+                // y escucha en la red interna: ahí entra el scrape de Prometheus sin credenciales
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 .anyRequest().authenticated()
             )
             .headers(headers -> headers
@@ -0,0 +1,48 @@
+package com.example.leasing.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Activa el log de sentencias lentas (leasing.sql.slow-query.enabled=true, perfil "prod")
+ * Envuelve el DataSource en un SlowQueryLoggingDataSource con el umbral de
+ * leasing.sql.slow-query.threshold y publica el total como leasing.sql.slow.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "leasing.sql.slow-query", name = "enabled", havingValue = "true")
+public class SlowQueryLogConfig {
+
+    // static: los BeanPostProcessor se crean antes que el resto de la configuración
+    @Bean
+    static BeanPostProcessor slowQueryLoggingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryLoggingDataSource)) {
+                    Duration threshold = environment.getProperty("leasing.sql.slow-query.threshold", Duration.class,
+                            Duration.ofMillis(200));
+                    return new SlowQueryLoggingDataSource(dataSource, threshold);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder slowQueryMetrics(DataSource dataSource) throws SQLException {
+        SlowQueryLoggingDataSource slowQueries = dataSource.unwrap(SlowQueryLoggingDataSource.class);
+        return registry -> FunctionCounter
+                .builder("leasing.sql.slow", slowQueries, SlowQueryLoggingDataSource::getSlowCount)
+                .description("Sentencias SQL por encima del umbral de leasing.sql.slow-query.threshold")
+                .register(registry);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.leasing.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DataSource que loguea solo las sentencias lentas, con sus parámetros
+ *
+ * Reemplaza en producción a org.hibernate.SQL=DEBUG + BasicBinder=TRACE, que formatean y
+ * escriben cada sentencia en el hilo del request. Acá el costo por sentencia es un
+ * nanoTime() y guardar los parámetros en un mapa; solo se loguea (logger "leasing.sql.slow")
+ * lo que supera el umbral.
+ */
+@Slf4j(topic = "leasing.sql.slow")
+public class SlowQueryLoggingDataSource extends DelegatingDataSource {
+
+    private static final int MAX_PARAM_LENGTH = 100;
+
+    private final long thresholdNanos;
+    private final AtomicLong slowCount = new AtomicLong();
+
+    public SlowQueryLoggingDataSource(DataSource target, Duration threshold) {
+        super(target);
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timingStatements(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timingStatements(super.getConnection(username, password));
+    }
+
+    /**
+     * Cantidad de sentencias que superaron el umbral desde el arranque
+     */
+    public long getSlowCount() {
+        return slowCount.get();
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    /**
+     * Proxy de la conexión: los statements que crea quedan cronometrados
+     */
+    private Connection timingStatements(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    if (isUnwrapOf(method, args, proxy)) {
+                        return "unwrap".equals(method.getName()) ? proxy : true;
+                    }
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "prepareStatement" -> timed((Statement) result, PreparedStatement.class, (String) args[0]);
+                        case "prepareCall" -> timed((Statement) result, CallableStatement.class, (String) args[0]);
+                        case "createStatement" -> timed((Statement) result, Statement.class, null);
+                        default -> result;
+                    };
+                });
+    }
+
+    /**
+     * Proxy del statement: guarda los parámetros (setXxx) y mide los execute*
+     * El SQL de un Statement simple llega como argumento del execute
+     */
+    private Object timed(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        Map<Integer, Object> params = new TreeMap<>();
+        int[] batched = { 0 };
+        return Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (isUnwrapOf(method, args, proxy)) {
+                        return "unwrap".equals(name) ? proxy : true;
+                    }
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        params.put(index, args[1]);
+                    } else if ("clearParameters".equals(name)) {
+                        params.clear();
+                    } else if ("addBatch".equals(name)) {
+                        batched[0]++;
+                    } else if ("clearBatch".equals(name)) {
+                        batched[0] = 0;
+                    }
+                    if (!name.startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        long elapsed = System.nanoTime() - start;
+                        if (elapsed >= thresholdNanos) {
+                            String sql = preparedSql != null ? preparedSql
+                                    : args != null && args.length > 0 ? String.valueOf(args[0]) : "?";
+                            logSlow(elapsed, sql, params, batched[0]);
+                        }
+                        if ("executeBatch".equals(name)) {
+                            batched[0] = 0;
+                        }
+                    }
+                });
+    }
+
+    private void logSlow(long elapsedNanos, String sql, Map<Integer, Object> params, int batched) {
+        slowCount.incrementAndGet();
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        StringBuilder values = new StringBuilder();
+        params.forEach((index, value) -> {
+            String text = String.valueOf(value);
+            if (text.length() > MAX_PARAM_LENGTH) {
+                text = text.substring(0, MAX_PARAM_LENGTH) + "...";
+            }
+            values.append(values.isEmpty() ? "" : ", ").append(index).append('=').append(text);
+        });
+        if (batched > 0) {
+            log.warn("Sentencia lenta ({} ms, lote de {}): {} [último: {}]",
+                    elapsedNanos / 1_000_000, batched, sql, values);
+        } else {
+            log.warn("Sentencia lenta ({} ms): {} [{}]", elapsedNanos / 1_000_000, sql, values);
+        }
+    }
+
+    private static boolean isUnwrapOf(Method method, Object[] args, Object proxy) {
+        return ("unwrap".equals(method.getName()) || "isWrapperFor".equals(method.getName()))
+                && ((Class<?>) args[0]).isInstance(proxy);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
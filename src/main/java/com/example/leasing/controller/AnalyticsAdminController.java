@@ -0,0 +1,34 @@
+package com.example.leasing.controller;
+
+import com.example.leasing.dto.AnalyticsBackfillResponse;
+import com.example.leasing.service.OwnerAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller de administración de los rollups de analíticas
+ *
+ * TODO: Proteger con OAuth2 - Solo ADMIN
+ */
+@RestController
+@RequestMapping("/api/admin/analytics")
+@RequiredArgsConstructor
+public class AnalyticsAdminController {
+
+    private final OwnerAnalyticsService analyticsService;
+
+    /**
+     * POST /api/admin/analytics/backfill
+     * Recalcula car_daily_stats desde las reservas (tras una carga por SQL o para reparar)
+     * Responde al terminar; 409 si ya hay uno en curso
+     */
+    @PostMapping("/backfill")
+    public ResponseEntity<AnalyticsBackfillResponse> backfill() {
+        long start = System.nanoTime();
+        int rows = analyticsService.rebuildAll();
+        return ResponseEntity.ok(new AnalyticsBackfillResponse(rows, (System.nanoTime() - start) / 1_000_000));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.leasing.controller;
+
+import com.example.leasing.dto.OwnerRevenueReport;
+import com.example.leasing.dto.RevenueSeriesResponse;
+import com.example.leasing.service.OwnerAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+/**
+ * Controller de analíticas para owners (ingresos y ocupación desde los rollups diarios)
+ *
+ * TODO: Proteger con OAuth2 - Solo el propio owner
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final OwnerAnalyticsService analyticsService;
+
+    /**
+     * GET /api/analytics/owner/{ownerId}?month=2026-03
+     * Ingresos, reservas y ocupación del mes de cada auto del owner, con los totales
+     */
+    @GetMapping("/owner/{ownerId}")
+    public ResponseEntity<OwnerRevenueReport> getOwnerMonth(
+            @PathVariable Long ownerId,
+            @RequestParam YearMonth month) {
+        return ResponseEntity.ok(analyticsService.getOwnerMonth(ownerId, month));
+    }
+
+    /**
+     * GET /api/analytics/owner/{ownerId}/monthly?year=2026
+     * Serie mensual del año sumando todos los autos del owner
+     */
+    @GetMapping("/owner/{ownerId}/monthly")
+    public ResponseEntity<RevenueSeriesResponse> getOwnerYear(
+            @PathVariable Long ownerId,
+            @RequestParam int year) {
+        return ResponseEntity.ok(analyticsService.getOwnerYear(ownerId, year));
+    }
+
+    /**
+     * GET /api/analytics/car/{carId}/monthly?year=2026
+     * Serie mensual del año de un auto
+     */
+    @GetMapping("/car/{carId}/monthly")
+    public ResponseEntity<RevenueSeriesResponse> getCarYear(
+            @PathVariable Long carId,
+            @RequestParam int year) {
+        return ResponseEntity.ok(analyticsService.getCarYear(carId, year));
+    }
+}
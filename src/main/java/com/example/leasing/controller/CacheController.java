@@ -0,0 +1,33 @@
+package com.example.leasing.controller;
+
+import com.example.leasing.dto.CacheStatsResponse;
+import com.example.leasing.service.CatalogCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller de administración del caché
+ *
+ * TODO: Proteger con OAuth2 - Solo ADMIN
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CatalogCacheService catalogCacheService;
+
+    /**
+     * GET /api/admin/cache
+     * Hits, misses y evictions del near-cache y del caché de 2do nivel
+     */
+    @GetMapping
+    public ResponseEntity<List<CacheStatsResponse>> getStats() {
+        return ResponseEntity.ok(catalogCacheService.getStats());
+    }
+}
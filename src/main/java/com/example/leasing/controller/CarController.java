@@ -0,0 +1,272 @@
+package com.example.leasing.controller;
+
+import com.example.leasing.Entity.CarStatusEnum;
+import com.example.leasing.dto.AvailableCarsResponse;
+import com.example.leasing.dto.CarMonthCalendarResponse;
+import com.example.leasing.dto.CarResponse;
+import com.example.leasing.dto.CarSearchHit;
+import com.example.leasing.dto.CursorPage;
+import com.example.leasing.dto.FreeWindowResponse;
+import com.example.leasing.dto.OccupancyResponse;
+import com.example.leasing.dto.QuoteResponse;
+import com.example.leasing.dto.RatedCarResponse;
+import com.example.leasing.dto.RatingSummaryResponse;
+import com.example.leasing.service.AvailabilityService;
+import com.example.leasing.service.CarSearchService;
+import com.example.leasing.service.CarService;
+import com.example.leasing.service.OccupancyService;
+import com.example.leasing.service.PricingService;
+import com.example.leasing.service.RatingSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Controller para Car
+ *
+ * TODO: Agregar seguridad OAuth2/JWT
+ */
+@RestController
+@RequestMapping("/api/cars")
+@RequiredArgsConstructor
+public class CarController {
+
+    private final CarService carService;
+    private final CarSearchService carSearchService;
+    private final AvailabilityService availabilityService;
+    private final RatingSummaryService ratingSummaryService;
+    private final OccupancyService occupancyService;
+    private final PricingService pricingService;
+
+    // ==========================================
+    // LISTADOS PAGINADOS
+    // ==========================================
+    // Todos aceptan ?cursor=...&size=... y devuelven { items, nextCursor }.
+    // nextCursor null = no hay más páginas.
+
+    /**
+     * GET /api/cars/{id}
+     * Obtiene un auto por ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<CarResponse> getById(@PathVariable Long id) {
+        return ResponseEntity.ok(carService.getCar(id));
+    }
+
+    /**
+     * GET /api/cars?brand=Ford&model=foc&minPrice=10&maxPrice=100&status=ACTIVE
+     * Búsqueda combinada, todos los filtros son opcionales. Ordenado por precio.
+     */
+    @GetMapping
+    public ResponseEntity<CursorPage<CarResponse>> search(
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) String model,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) CarStatusEnum status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(carService.searchCars(brand, model, minPrice, maxPrice, status, cursor, size));
+    }
+
+    /**
+     * GET /api/cars/search?term=mustang rojo&limit=20
+     * Búsqueda libre rankeada por marca, modelo, color y descripción
+     * Tolera prefijos, substrings y errores de tipeo ("mustnag")
+     *
+     * Se responde desde el índice en memoria (CarSearchService), sin consultar la BD
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<CarSearchHit>> searchByTerm(
+            @RequestParam String term,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(carSearchService.search(term, limit));
+    }
+
+    /**
+     * GET /api/cars/typeahead?q=mus
+     * Sugerencias para el buscador mientras el usuario escribe
+     */
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<CarSearchHit>> typeahead(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(carSearchService.typeahead(q, limit));
+    }
+
+    /**
+     * GET /api/cars/price-range?minPrice=10&maxPrice=100
+     */
+    @GetMapping("/price-range")
+    public ResponseEntity<CursorPage<CarResponse>> getByPriceRange(
+            @RequestParam BigDecimal minPrice,
+            @RequestParam BigDecimal maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(carService.findByPriceRange(minPrice, maxPrice, cursor, size));
+    }
+
+    /**
+     * GET /api/cars/active
+     * Autos en estado ACTIVE
+     */
+    @GetMapping("/active")
+    public ResponseEntity<CursorPage<CarResponse>> getActive(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(carService.findAvailableCars(cursor, size));
+    }
+
+    /**
+     * GET /api/cars/owner/{ownerId}
+     * Autos de un owner
+     */
+    @GetMapping("/owner/{ownerId}")
+    public ResponseEntity<CursorPage<CarResponse>> getByOwner(
+            @PathVariable Long ownerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(carService.findByOwnerId(ownerId, cursor, size));
+    }
+
+    /**
+     * GET /api/cars/top-rated?sort=average|count
+     * Autos con rating promedio >= 4, de mayor a menor promedio (o cantidad de reviews)
+     */
+    @GetMapping("/top-rated")
+    public ResponseEntity<CursorPage<RatedCarResponse>> getTopRated(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(carService.findTopRatedCars(sort, cursor, size));
+    }
+
+    /**
+     * GET /api/cars/{id}/rating
+     * Cantidad de reviews, promedio e histograma de 1 a 5 estrellas
+     */
+    @GetMapping("/{id}/rating")
+    public ResponseEntity<RatingSummaryResponse> getRating(@PathVariable Long id) {
+        return ResponseEntity.ok(ratingSummaryService.getSummary(id));
+    }
+
+    // ==========================================
+    // DISPONIBILIDAD
+    // ==========================================
+
+    /**
+     * GET /api/cars/available?from=2026-01-16T10:00&to=2026-01-19T09:00
+     * IDs de autos ACTIVE libres en todo el rango [from, to)
+     *
+     * Se responde desde memoria (AvailabilityService), sin consultar la BD
+     */
+    @GetMapping("/available")
+    public ResponseEntity<AvailableCarsResponse> getAvailable(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<Long> carIds = availabilityService.findAvailableCarIds(from, to);
+        return ResponseEntity.ok(new AvailableCarsResponse(from, to, carIds.size(), carIds));
+    }
+
+    /**
+     * GET /api/cars/{id}/available?from=...&to=...
+     * Indica si un auto puntual está libre en el rango
+     */
+    @GetMapping("/{id}/available")
+    public ResponseEntity<Boolean> isAvailable(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(availabilityService.isAvailable(id, from, to));
+    }
+
+    // ==========================================
+    // COTIZACIONES
+    // ==========================================
+    // Se responden desde memoria (PricingService), sin consultar la BD
+
+    /**
+     * GET /api/cars/{id}/quote?from=2026-01-16T10:00&to=2026-01-19T09:00
+     * Precio total del rango con las reglas de precio vigentes
+     */
+    @GetMapping("/{id}/quote")
+    public ResponseEntity<QuoteResponse> getQuote(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(pricingService.quote(id, from, to));
+    }
+
+    /**
+     * GET /api/cars/quotes?from=...&to=...&carIds=1,2,3
+     * Cotización de varios autos para el mismo rango (máx. 5000)
+     * Sin carIds cotiza los autos disponibles en el rango
+     */
+    @GetMapping("/quotes")
+    public ResponseEntity<List<QuoteResponse>> getQuotes(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) List<Long> carIds) {
+        return ResponseEntity.ok(carIds == null
+                ? pricingService.quoteAvailable(from, to)
+                : pricingService.quoteAll(carIds, from, to));
+    }
+
+    // ==========================================
+    // CALENDARIO DE OCUPACIÓN
+    // ==========================================
+    // Se responde desde memoria (OccupancyService), sin recorrer las reservas
+
+    /**
+     * GET /api/cars/{id}/calendar?month=2026-03
+     * Días del mes con sus horas reservadas (reservas confirmadas) y si están libres
+     */
+    @GetMapping("/{id}/calendar")
+    public ResponseEntity<CarMonthCalendarResponse> getCalendar(
+            @PathVariable Long id,
+            @RequestParam YearMonth month) {
+        return ResponseEntity.ok(occupancyService.getMonth(id, month));
+    }
+
+    /**
+     * GET /api/cars/{id}/occupancy?from=2026-03-01&to=2026-04-01
+     * Porcentaje de horas ocupadas en los días [from, to)
+     */
+    @GetMapping("/{id}/occupancy")
+    public ResponseEntity<OccupancyResponse> getOccupancy(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(occupancyService.getOccupancy(id, from, to));
+    }
+
+    /**
+     * GET /api/cars/{id}/free-window?days=5&from=2026-03-01
+     * Primera ventana de días seguidos sin reservas (from por defecto: hoy)
+     */
+    @GetMapping("/{id}/free-window")
+    public ResponseEntity<FreeWindowResponse> getFreeWindow(
+            @PathVariable Long id,
+            @RequestParam int days,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from) {
+        return ResponseEntity.ok(occupancyService.findFirstFreeWindow(id, from, days));
+    }
+
+    /**
+     * GET /api/cars/owner/{ownerId}/occupancy?month=2026-03
+     * Ocupación del mes de cada auto de un owner
+     */
+    @GetMapping("/owner/{ownerId}/occupancy")
+    public ResponseEntity<List<OccupancyResponse>> getOwnerOccupancy(
+            @PathVariable Long ownerId,
+            @RequestParam YearMonth month) {
+        return ResponseEntity.ok(occupancyService.getOwnerOccupancy(ownerId, month));
+    }
+}
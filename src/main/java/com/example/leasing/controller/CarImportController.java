@@ -0,0 +1,72 @@
+package com.example.leasing.controller;
+
+import com.example.leasing.dto.CarImportJobResponse;
+import com.example.leasing.dto.CursorPage;
+import com.example.leasing.dto.ImportRejectionResponse;
+import com.example.leasing.service.CarImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Controller de importaciones masivas de autos (alta de flotas de owners nuevos)
+ *
+ * FLUJO DE TRABAJO:
+ * 1. POST /api/imports/cars?format=csv con el archivo como body → 202 con el ID del job
+ * 2. GET /api/imports/cars/{id} hasta que el status sea COMPLETED o FAILED
+ * 3. GET /api/imports/cars/{id}/rejections → filas rechazadas y el motivo
+ * 4. Si quedó FAILED: POST /api/imports/cars/{id}/resume sigue desde el último lote commiteado
+ *
+ * TODO: Proteger con OAuth2 - Solo ADMIN / integraciones
+ */
+@RestController
+@RequestMapping("/api/imports/cars")
+@RequiredArgsConstructor
+public class CarImportController {
+
+    private final CarImportService carImportService;
+
+    /**
+     * POST /api/imports/cars?format=csv
+     * Body: el archivo tal cual (text/csv o application/x-ndjson), sin multipart
+     */
+    @PostMapping
+    public ResponseEntity<CarImportJobResponse> start(
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body) throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(carImportService.start(format, body));
+    }
+
+    /**
+     * GET /api/imports/cars/{id}
+     * Estado y avance (filas procesadas, importadas y rechazadas)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<CarImportJobResponse> getJob(@PathVariable Long id) {
+        return ResponseEntity.ok(carImportService.getJob(id));
+    }
+
+    /**
+     * GET /api/imports/cars/{id}/rejections?cursor=...&size=100
+     */
+    @GetMapping("/{id}/rejections")
+    public ResponseEntity<CursorPage<ImportRejectionResponse>> getRejections(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(carImportService.getRejections(id, cursor, size));
+    }
+
+    /**
+     * POST /api/imports/cars/{id}/resume
+     * Retoma una importación FAILED desde su último checkpoint
+     */
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<CarImportJobResponse> resume(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(carImportService.resume(id));
+    }
+}
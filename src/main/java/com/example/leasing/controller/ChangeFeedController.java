@@ -0,0 +1,49 @@
+package com.example.leasing.controller;
+
+import com.example.leasing.Entity.ChangeEntityTypeEnum;
+import com.example.leasing.dto.ChangeFeedHead;
+import com.example.leasing.dto.ChangeFeedPage;
+import com.example.leasing.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+/**
+ * Controller del change feed (sincronización incremental de autos, reservas y reviews)
+ *
+ * FLUJO DE TRABAJO:
+ * 1. GET /api/changes/head → guardar lastSeq, después hacer la carga completa
+ * 2. GET /api/changes?after={lastSeq} → aplicar los cambios en orden y guardar next
+ * 3. Si hasMore, pedir de nuevo enseguida; si no, volver a preguntar en unos segundos
+ * 4. Si resyncRequired, el log ya no tiene esos cambios: volver a 1
+ *
+ * TODO: Proteger con OAuth2 - filtrar por owner / cliente
+ */
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    /**
+     * GET /api/changes?after=0&size=100&types=CAR,RESERVATION
+     */
+    @GetMapping
+    public ResponseEntity<ChangeFeedPage> getChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Set<ChangeEntityTypeEnum> types) {
+        return ResponseEntity.ok(changeFeedService.getChanges(after, size, types));
+    }
+
+    /**
+     * GET /api/changes/head
+     */
+    @GetMapping("/head")
+    public ResponseEntity<ChangeFeedHead> getHead() {
+        return ResponseEntity.ok(changeFeedService.head());
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.leasing.controller;
 
 import com.example.leasing.Entity.ClientEntity;
+import com.example.leasing.dto.BatchResponse;
+import com.example.leasing.dto.ClientBatchResponse;
+import com.example.leasing.dto.ClientResponse;
 import com.example.leasing.service.ClientService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -40,7 +43,7 @@ public class ClientController {
      * TODO: Proteger con OAuth2 - Solo usuarios autenticados
      */
     @GetMapping("/by-email/{email}")
-    public ResponseEntity<ClientEntity> getByEmail(@PathVariable String email) {
+    public ResponseEntity<ClientResponse> getByEmail(@PathVariable String email) {
         return ResponseEntity.ok(clientService.getClientByEmail(email));
     }
 
@@ -55,8 +58,8 @@ public class ClientController {
      * TODO: Proteger con OAuth2 - Solo el propio cliente o admin
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ClientEntity> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(clientService.findById(id));
+    public ResponseEntity<ClientResponse> getById(@PathVariable Long id) {
+        return ResponseEntity.ok(clientService.getClient(id));
     }
 
     /**
@@ -66,7 +69,7 @@ public class ClientController {
      * TODO: Proteger con OAuth2 - Solo ADMIN
      */
     @GetMapping
-    public ResponseEntity<List<ClientEntity>> getAll() {
+    public ResponseEntity<List<ClientResponse>> getAll() {
         return ResponseEntity.ok(clientService.findAll());
     }
 
@@ -78,8 +81,8 @@ public class ClientController {
      * TODO: Proteger con OAuth2 - Solo durante registro
      */
     @PostMapping
-    public ResponseEntity<ClientEntity> create(@RequestBody ClientEntity client) {
-        ClientEntity created = clientService.save(client);
+    public ResponseEntity<ClientResponse> create(@RequestBody ClientEntity client) {
+        ClientResponse created = clientService.save(client);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
@@ -90,7 +93,7 @@ public class ClientController {
      * TODO: Proteger con OAuth2 - Solo el propio cliente
      */
     @PutMapping("/{id}")
-    public ResponseEntity<ClientEntity> update(
+    public ResponseEntity<ClientResponse> update(
             @PathVariable Long id,
             @RequestBody ClientEntity client) {
         return ResponseEntity.ok(clientService.update(id, client));
@@ -107,4 +110,42 @@ public class ClientController {
         clientService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
+
+    // ==========================================
+    // OPERACIONES EN LOTE (máx. 1000 clientes por request)
+    // ==========================================
+
+    /**
+     * GET /api/clients/batch?ids=1,2,3
+     * Varios clients en una sola query, en el orden pedido; los IDs inexistentes van en missingIds
+     *
+     * TODO: Proteger con OAuth2 - Solo ADMIN / integraciones
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<ClientBatchResponse> getByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(clientService.getClients(ids));
+    }
+
+    /**
+     * POST /api/clients/bulk
+     * Body: lista de clients. Resultado por ítem: los inválidos no frenan al resto.
+     *
+     * TODO: Proteger con OAuth2 - Solo ADMIN / integraciones
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BatchResponse<ClientResponse>> createAll(@RequestBody List<ClientEntity> clients) {
+        return ResponseEntity.ok(clientService.createAll(clients));
+    }
+
+    /**
+     * PATCH /api/clients/bulk
+     * Body: lista de clients con su id y los campos a cambiar (solo los no nulos).
+     * Resultado por ítem: los inexistentes o inválidos no frenan al resto.
+     *
+     * TODO: Proteger con OAuth2 - Solo ADMIN / integraciones
+     */
+    @PatchMapping("/bulk")
+    public ResponseEntity<BatchResponse<ClientResponse>> updateAll(@RequestBody List<ClientEntity> changes) {
+        return ResponseEntity.ok(clientService.updateAll(changes));
+    }
 }
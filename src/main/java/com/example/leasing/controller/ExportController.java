@@ -0,0 +1,141 @@
+package com.example.leasing.controller;
+
+import com.example.leasing.export.ExportFormat;
+import com.example.leasing.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Controller de exportaciones completas (NDJSON o CSV)
+ *
+ * Las filas se escriben directo al output stream de la respuesta a medida que se leen,
+ * así la memoria no depende del tamaño de la exportación. Si el cliente manda
+ * Accept-Encoding: gzip la respuesta sale comprimida (curl --compressed).
+ *
+ * TODO: Proteger con OAuth2 - Solo ADMIN / integraciones
+ */
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportService exportService;
+
+    /**
+     * GET /api/exports/cars?format=csv
+     */
+    @GetMapping("/cars")
+    public void exportCars(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        export("cars", format, acceptEncoding, response, exportService::exportCars);
+    }
+
+    /**
+     * GET /api/exports/reservations?format=csv&includeArchived=true
+     */
+    @GetMapping("/reservations")
+    public void exportReservations(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        export("reservations", format, acceptEncoding, response,
+                (exportFormat, out) -> exportService.exportReservations(exportFormat, includeArchived, out));
+    }
+
+    /**
+     * GET /api/exports/reviews?format=csv
+     */
+    @GetMapping("/reviews")
+    public void exportReviews(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        export("reviews", format, acceptEncoding, response, exportService::exportReviews);
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    @FunctionalInterface
+    private interface Exporter {
+        long export(ExportFormat format, OutputStream out) throws IOException;
+    }
+
+    private static void export(String name, String format, String acceptEncoding,
+                               HttpServletResponse response, Exporter exporter) throws IOException {
+        // Se valida antes de escribir nada: un formato inválido todavía puede responder 400
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + "." + exportFormat.extension() + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream body = response.getOutputStream();
+        if (gzip) {
+            GZIPOutputStream compressed = new GZIPOutputStream(body, BUFFER_SIZE);
+            exporter.export(exportFormat, new BufferedOutputStream(compressed, BUFFER_SIZE));
+            compressed.finish();
+        } else {
+            exporter.export(exportFormat, new BufferedOutputStream(body, BUFFER_SIZE));
+        }
+        body.flush();
+    }
+
+    /**
+     * Accept-Encoding admite gzip: "gzip" (o "x-gzip") o "*" con q > 0
+     * "gzip;q=0" lo rechaza explícitamente, aunque también venga "*"
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        boolean any = false;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = quality(parts) > 0;
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == Boolean.TRUE || accepted;
+            } else if (coding.equals("*")) {
+                any = accepted;
+            }
+        }
+        return gzip != null ? gzip : any;
+    }
+
+    // Valor de q (1 si no viene; 0 si no se puede leer)
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim().toLowerCase(Locale.ROOT);
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException invalid) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
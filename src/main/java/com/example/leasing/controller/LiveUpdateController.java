@@ -0,0 +1,38 @@
+package com.example.leasing.controller;
+
+import com.example.leasing.service.LiveUpdateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+/**
+ * Controller de suscripciones en vivo (SSE): disponibilidad de autos y reservas de clientes
+ *
+ * FLUJO DE TRABAJO:
+ * 1. GET /api/live?cars=12,15&clients=3 → esperar el evento "ready"
+ * 2. Cargar la página (auto, calendario, reservas): lo que cambie después llega por la conexión
+ * 3. Aplicar "car-status", "car-slot" y "reservation" a medida que llegan
+ * 4. Con "resync" o si la conexión se corta, volver a 1
+ *
+ * TODO: Proteger con OAuth2 - un cliente solo puede suscribirse a sus propias reservas
+ */
+@RestController
+@RequestMapping("/api/live")
+@RequiredArgsConstructor
+public class LiveUpdateController {
+
+    private final LiveUpdateService liveUpdateService;
+
+    /**
+     * GET /api/live?cars=12,15&clients=3
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @RequestParam(required = false) Set<Long> cars,
+            @RequestParam(required = false) Set<Long> clients) {
+        return liveUpdateService.subscribe(cars, clients);
+    }
+}
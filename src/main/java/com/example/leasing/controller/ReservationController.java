@@ -0,0 +1,113 @@
+package com.example.leasing.controller;
+
+import com.example.leasing.dto.BookingRequest;
+import com.example.leasing.dto.CursorPage;
+import com.example.leasing.dto.ReservationResponse;
+import com.example.leasing.service.BookingService;
+import com.example.leasing.service.ReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller para Reservation
+ *
+ * TODO: Agregar seguridad OAuth2/JWT
+ */
+@RestController
+@RequestMapping("/api/reservations")
+@RequiredArgsConstructor
+public class ReservationController {
+
+    private final ReservationService reservationService;
+    private final BookingService bookingService;
+
+    /**
+     * POST /api/reservations
+     * Reserva un auto (queda PENDING). 409 si el rango se solapa con otra reserva.
+     *
+     * TODO: Proteger con OAuth2 - Solo clientes
+     */
+    @PostMapping
+    public ResponseEntity<ReservationResponse> book(@RequestBody BookingRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(ReservationResponse.from(bookingService.book(request)));
+    }
+
+    /**
+     * POST /api/reservations/bulk
+     * Body: lista de BookingRequest (máx. 500). Todo o nada: si una falla no se crea ninguna.
+     *
+     * TODO: Proteger con OAuth2 - Solo clientes
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<ReservationResponse>> bookAll(@RequestBody List<BookingRequest> requests) {
+        List<ReservationResponse> created = bookingService.bookAll(requests).stream()
+                .map(ReservationResponse::from)
+                .toList();
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    /**
+     * GET /api/reservations/{id}
+     * Obtiene una reserva por ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ReservationResponse> getById(@PathVariable Long id) {
+        return ResponseEntity.ok(reservationService.getReservation(id));
+    }
+
+    /**
+     * GET /api/reservations/car/{carId}?cursor=...&size=20&includeArchived=false
+     * Reservas de un auto, paginadas (usar nextCursor para la página siguiente)
+     * Por defecto solo las vigentes; includeArchived=true suma el histórico archivado
+     */
+    @GetMapping("/car/{carId}")
+    public ResponseEntity<CursorPage<ReservationResponse>> getByCar(
+            @PathVariable Long carId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(reservationService.findByCarId(carId, cursor, size, includeArchived));
+    }
+
+    /**
+     * GET /api/reservations/client/{clientId}?cursor=...&size=20&includeArchived=false
+     * Reservas de un cliente, paginadas (usar nextCursor para la página siguiente)
+     * Por defecto solo las vigentes; includeArchived=true suma el histórico archivado
+     *
+     * TODO: Proteger con OAuth2 - Solo el propio cliente
+     */
+    @GetMapping("/client/{clientId}")
+    public ResponseEntity<CursorPage<ReservationResponse>> getByClient(
+            @PathVariable Long clientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(reservationService.findByClientId(clientId, cursor, size, includeArchived));
+    }
+
+    /**
+     * PATCH /api/reservations/{id}/confirm
+     * Confirma una reserva PENDING
+     *
+     * TODO: Proteger con OAuth2 - Solo el owner del auto
+     */
+    @PatchMapping("/{id}/confirm")
+    public ResponseEntity<ReservationResponse> confirm(@PathVariable Long id) {
+        return ResponseEntity.ok(reservationService.confirm(id));
+    }
+
+    /**
+     * PATCH /api/reservations/{id}/cancel
+     * Cancela una reserva PENDING o CONFIRMED
+     *
+     * TODO: Proteger con OAuth2 - Solo el cliente o el owner del auto
+     */
+    @PatchMapping("/{id}/cancel")
+    public ResponseEntity<ReservationResponse> cancel(@PathVariable Long id) {
+        return ResponseEntity.ok(reservationService.cancel(id));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.leasing.controller;
+
+import com.example.leasing.dto.ReviewRequest;
+import com.example.leasing.dto.ReviewResponse;
+import com.example.leasing.service.ReviewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller para Review
+ *
+ * TODO: Agregar seguridad OAuth2/JWT
+ */
+@RestController
+@RequestMapping("/api/reviews")
+@RequiredArgsConstructor
+public class ReviewController {
+
+    private final ReviewService reviewService;
+
+    /**
+     * GET /api/reviews/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ReviewResponse> getById(@PathVariable Long id) {
+        return ResponseEntity.ok(reviewService.getReview(id));
+    }
+
+    /**
+     * GET /api/reviews/car/{carId}
+     * Reviews de un auto
+     */
+    @GetMapping("/car/{carId}")
+    public ResponseEntity<List<ReviewResponse>> getByCar(@PathVariable Long carId) {
+        return ResponseEntity.ok(reviewService.findByCarId(carId));
+    }
+
+    /**
+     * POST /api/reviews
+     * Body: { "carId": 1, "clientId": 2, "rating": 5, "comment": "..." }
+     *
+     * TODO: Proteger con OAuth2 - Solo clientes que alquilaron el auto
+     */
+    @PostMapping
+    public ResponseEntity<ReviewResponse> create(@RequestBody ReviewRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(reviewService.create(request));
+    }
+
+    /**
+     * POST /api/reviews/bulk
+     * Body: lista de ReviewRequest (máx. 500). Todo o nada: si una falla no se crea ninguna.
+     *
+     * TODO: Proteger con OAuth2 - Solo clientes que alquilaron el auto
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<ReviewResponse>> createAll(@RequestBody List<ReviewRequest> requests) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(reviewService.createAll(requests));
+    }
+
+    /**
+     * PUT /api/reviews/{id}
+     * Edita rating y/o comentario
+     *
+     * TODO: Proteger con OAuth2 - Solo el autor de la review
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<ReviewResponse> update(@PathVariable Long id, @RequestBody ReviewRequest request) {
+        return ResponseEntity.ok(reviewService.update(id, request));
+    }
+
+    /**
+     * DELETE /api/reviews/{id}
+     *
+     * TODO: Proteger con OAuth2 - Solo el autor o ADMIN
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        reviewService.deleteById(id);
+        return ResponseEntity.noContent().build();
+    }
+}
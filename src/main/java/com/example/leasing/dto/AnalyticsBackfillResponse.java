@@ -0,0 +1,11 @@
+package com.example.leasing.dto;
+
+/**
+ * Resultado de un backfill de rollups de analíticas
+ * rows = filas (auto, día) recalculadas
+ */
+public record AnalyticsBackfillResponse(
+        int rows,
+        long elapsedMs
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.leasing.dto;
+
+/**
+ * Resultado de una corrida de archivo de reservas
+ */
+public record ArchiveRunReport(
+        int archived,
+        int batches,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.leasing.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Respuesta de búsqueda de autos disponibles en un rango de fechas
+ */
+public record AvailableCarsResponse(
+        LocalDateTime from,
+        LocalDateTime to,
+        int count,
+        List<Long> carIds
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.leasing.dto;
+
+/**
+ * Resultado de un ítem de una operación en lote
+ * index es la posición en el request; si falló, value es null y error tiene el motivo
+ */
+public record BatchItemResult<T>(int index, Long id, T value, String error) {
+
+    public static <T> BatchItemResult<T> ok(int index, Long id, T value) {
+        return new BatchItemResult<>(index, id, value, null);
+    }
+
+    public static <T> BatchItemResult<T> failed(int index, Long id, String error) {
+        return new BatchItemResult<>(index, id, null, error);
+    }
+}
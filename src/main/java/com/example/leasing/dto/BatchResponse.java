@@ -0,0 +1,15 @@
+package com.example.leasing.dto;
+
+import java.util.List;
+
+/**
+ * Respuesta de una operación en lote: un resultado por ítem, en el orden del request
+ * Los ítems que fallan no cancelan a los demás
+ */
+public record BatchResponse<T>(int succeeded, int failed, List<BatchItemResult<T>> items) {
+
+    public static <T> BatchResponse<T> of(List<BatchItemResult<T>> items) {
+        int failed = (int) items.stream().filter(item -> item.error() != null).count();
+        return new BatchResponse<>(items.size() - failed, failed, items);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.leasing.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Body para reservar un auto
+ * Body: { "carId": 1, "clientId": 2, "startDate": "2026-02-06T10:00", "endDate": "2026-02-09T09:00" }
+ */
+public record BookingRequest(
+        Long carId,
+        Long clientId,
+        LocalDateTime startDate,
+        LocalDateTime endDate
+) {
+}
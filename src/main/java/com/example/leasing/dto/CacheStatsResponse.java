@@ -0,0 +1,17 @@
+package com.example.leasing.dto;
+
+/**
+ * Contadores de un caché
+ * tier = "near" (Caffeine en memoria) o "l2" (caché de segundo nivel de Hibernate)
+ * evictions = -1 cuando el nivel no lo informa
+ */
+public record CacheStatsResponse(
+        String name,
+        String tier,
+        long size,
+        long hits,
+        long misses,
+        long evictions,
+        double hitRate
+) {
+}
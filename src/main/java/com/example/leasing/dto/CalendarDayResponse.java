@@ -0,0 +1,13 @@
+package com.example.leasing.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Un día del calendario de un auto: horas ocupadas por reservas confirmadas (0 a 24)
+ */
+public record CalendarDayResponse(
+        LocalDate date,
+        int bookedHours,
+        boolean free
+) {
+}
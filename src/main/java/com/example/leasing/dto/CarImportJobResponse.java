@@ -0,0 +1,27 @@
+package com.example.leasing.dto;
+
+import com.example.leasing.Entity.CarImportJobEntity;
+import com.example.leasing.Entity.CarImportStatusEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado de una importación de autos (sin la ruta del archivo en disco)
+ */
+public record CarImportJobResponse(
+        Long id,
+        CarImportStatusEnum status,
+        String format,
+        long rowsProcessed,
+        long imported,
+        long rejected,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+
+    public static CarImportJobResponse from(CarImportJobEntity job) {
+        return new CarImportJobResponse(job.getId(), job.getStatus(), job.getFormat(), job.getRowsProcessed(),
+                job.getImported(), job.getRejected(), job.getError(), job.getCreatedAt(), job.getUpdatedAt());
+    }
+}
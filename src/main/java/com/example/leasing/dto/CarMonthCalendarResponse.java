@@ -0,0 +1,15 @@
+package com.example.leasing.dto;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Calendario mensual de un auto, día por día
+ */
+public record CarMonthCalendarResponse(
+        Long carId,
+        YearMonth month,
+        int freeDays,
+        List<CalendarDayResponse> days
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.leasing.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Precio por día de un auto, sin cargar la entidad (tabla de precios de PricingService)
+ */
+public record CarPriceView(Long carId, BigDecimal pricePerDay) {
+}
@@ -0,0 +1,36 @@
+package com.example.leasing.dto;
+
+import com.example.leasing.Entity.CarEntity;
+import com.example.leasing.Entity.CarStatusEnum;
+
+import java.math.BigDecimal;
+
+/**
+ * Vista de un auto para la API (sin colecciones lazy de reviews/reservas)
+ */
+public record CarResponse(
+        Long id,
+        String brand,
+        String model,
+        String color,
+        String descripcion,
+        BigDecimal pricePerDay,
+        String photoUrl,
+        CarStatusEnum status,
+        Long ownerId
+) {
+
+    public static CarResponse from(CarEntity car) {
+        return new CarResponse(
+                car.getId(),
+                car.getBrand(),
+                car.getModel(),
+                car.getColor(),
+                car.getDescripcion(),
+                car.getPricePerDay(),
+                car.getPhotoUrl(),
+                car.getStatus(),
+                car.getOwner() != null ? car.getOwner().getId() : null
+        );
+    }
+}
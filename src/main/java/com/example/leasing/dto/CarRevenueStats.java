@@ -0,0 +1,15 @@
+package com.example.leasing.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Ingresos y ocupación de un auto en un período
+ */
+public record CarRevenueStats(
+        Long carId,
+        BigDecimal revenue,
+        long reservations,
+        double bookedHours,
+        double occupancyPercent
+) {
+}
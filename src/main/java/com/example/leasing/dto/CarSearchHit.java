@@ -0,0 +1,14 @@
+package com.example.leasing.dto;
+
+/**
+ * Resultado de búsqueda de texto / typeahead
+ * Sale directo del índice en memoria (no consulta la BD)
+ */
+public record CarSearchHit(
+        Long id,
+        String brand,
+        String model,
+        String color,
+        double score
+) {
+}
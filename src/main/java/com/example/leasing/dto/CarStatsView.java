@@ -0,0 +1,14 @@
+package com.example.leasing.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Suma de los rollups diarios de un auto en un rango de días
+ */
+public record CarStatsView(
+        Long carId,
+        BigDecimal revenue,
+        Long bookedMinutes,
+        Long reservations
+) {
+}
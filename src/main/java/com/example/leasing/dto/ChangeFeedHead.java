@@ -0,0 +1,11 @@
+package com.example.leasing.dto;
+
+/**
+ * Posición del change feed (change_log_head)
+ *
+ * @param lastSeq   último número de cambio commiteado: un cliente nuevo lo guarda antes de
+ *                  la carga completa y después pide los cambios "after" ese número
+ * @param purgedSeq los cambios hasta este número ya se borraron por retención
+ */
+public record ChangeFeedHead(long lastSeq, long purgedSeq) {
+}
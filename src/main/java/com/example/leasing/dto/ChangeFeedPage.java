@@ -0,0 +1,14 @@
+package com.example.leasing.dto;
+
+import java.util.List;
+
+/**
+ * Página del change feed
+ *
+ * @param next           número a mandar como "after" en el próximo pedido
+ * @param hasMore        hay más cambios ya commiteados después de next (pedir de nuevo sin esperar)
+ * @param resyncRequired "after" es anterior a lo que conserva el log: hace falta una carga completa
+ *                       y seguir desde next
+ */
+public record ChangeFeedPage(List<ChangeResponse> changes, long next, boolean hasMore, boolean resyncRequired) {
+}
@@ -0,0 +1,21 @@
+package com.example.leasing.dto;
+
+import com.example.leasing.Entity.ChangeEntityTypeEnum;
+import com.example.leasing.Entity.ChangeOperationEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Un cambio del change feed
+ * data: estado actual de la entidad (CarResponse, ReservationResponse o ReviewResponse);
+ * null si es un DELETE o si la fila ya no está (borrada o archivada después)
+ */
+public record ChangeResponse(
+        long seq,
+        ChangeEntityTypeEnum type,
+        Long id,
+        ChangeOperationEnum operation,
+        LocalDateTime changedAt,
+        Object data
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.leasing.dto;
+
+import java.util.List;
+
+/**
+ * Multi-get de clientes: los encontrados en el orden pedido y los IDs que no existen
+ */
+public record ClientBatchResponse(List<ClientResponse> clients, List<Long> missingIds) {
+}
@@ -0,0 +1,22 @@
+package com.example.leasing.dto;
+
+import com.example.leasing.Entity.ClientEntity;
+
+/**
+ * Vista de un cliente para la API (sin reviews, reservas ni usuario)
+ * Las consultas la arman con una proyección por constructor (ver IClientRepo)
+ * version es la que hay que mandar de vuelta en PATCH /api/clients/bulk
+ */
+public record ClientResponse(
+        Long id,
+        String firstName,
+        String lastName,
+        String phone,
+        Long version
+) {
+
+    public static ClientResponse from(ClientEntity client) {
+        return new ClientResponse(client.getId(), client.getFirstName(), client.getLastName(), client.getPhone(),
+                client.getVersion());
+    }
+}
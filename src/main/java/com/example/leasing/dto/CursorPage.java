@@ -0,0 +1,24 @@
+package com.example.leasing.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados paginada por keyset
+ * nextCursor es null cuando no hay más resultados
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Arma la página a partir de rows pedidas con tamaño size + 1:
+     * la fila extra solo sirve para saber si hay una página siguiente.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size,
+                                          Function<E, T> mapper,
+                                          Function<E, String> cursorOf) {
+        boolean hasMore = rows.size() > size;
+        List<E> pageRows = hasMore ? rows.subList(0, size) : rows;
+        String next = hasMore ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), next);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.leasing.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Suma de los rollups de un día (todos los autos de un owner, o uno solo)
+ */
+public record DailyStatsView(
+        LocalDate day,
+        BigDecimal revenue,
+        Long bookedMinutes,
+        Long reservations
+) {
+}
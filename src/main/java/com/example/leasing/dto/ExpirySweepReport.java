@@ -0,0 +1,11 @@
+package com.example.leasing.dto;
+
+/**
+ * Resultado de un barrido de reservas PENDING vencidas
+ */
+public record ExpirySweepReport(
+        int expired,
+        int batches,
+        long elapsedMillis
+) {
+}
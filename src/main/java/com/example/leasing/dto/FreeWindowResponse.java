@@ -0,0 +1,15 @@
+package com.example.leasing.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Primera ventana de días seguidos libres de un auto: [start, end)
+ * start y end son null si no hay ninguna dentro del calendario
+ */
+public record FreeWindowResponse(
+        Long carId,
+        int days,
+        LocalDate start,
+        LocalDate end
+) {
+}
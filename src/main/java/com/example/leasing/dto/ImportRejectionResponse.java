@@ -0,0 +1,7 @@
+package com.example.leasing.dto;
+
+/**
+ * Fila rechazada de una importación: número de fila del archivo (sin contar el encabezado) y motivo
+ */
+public record ImportRejectionResponse(long row, String reason) {
+}
@@ -0,0 +1,104 @@
+package com.example.leasing.dto;
+
+import com.example.leasing.exception.BusinessValidationException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Cursor opaco para paginación por keyset sobre (clave de orden, id)
+ *
+ * El token que viaja al frontend es "clave|id" en Base64 URL-safe. La primera página
+ * no lleva cursor: en ese caso se usan valores "centinela" que quedan antes que
+ * cualquier fila real, así las queries no necesitan ramas "IS NULL".
+ *
+ * Las claves de orden no pueden ser NULL: "precio > x" nunca es verdadero para un auto
+ * sin precio, así que los listados por precio los excluyen explícitamente (IS NOT NULL).
+ */
+public record KeysetCursor(String key, long id) {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Antes de cualquier precio real (los NULL quedan fuera de los listados por precio)
+    private static final BigDecimal FIRST_PRICE = BigDecimal.valueOf(-1);
+    private static final LocalDateTime FIRST_DATE = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final double FIRST_RATING = Double.MAX_VALUE;
+    private static final long FIRST_COUNT = Long.MAX_VALUE;
+
+    /**
+     * Codifica la posición de la última fila devuelta
+     */
+    public static String encode(Object key, Long id) {
+        String raw = (key == null ? "" : key.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token recibido del cliente (null o vacío = primera página)
+     * @throws BusinessValidationException si el token está corrupto
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new KeysetCursor(raw.substring(0, sep), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException ex) {
+            throw new BusinessValidationException("Cursor de paginación inválido");
+        }
+    }
+
+    /**
+     * Normaliza el tamaño de página pedido (default 20, máximo 100)
+     */
+    public static int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    // ==========================================
+    // POSICIÓN (con centinela para la primera página)
+    // ==========================================
+
+    public static long idAfter(KeysetCursor cursor) {
+        return cursor == null ? 0L : cursor.id();
+    }
+
+    public static BigDecimal priceAfter(KeysetCursor cursor) {
+        return cursor == null ? FIRST_PRICE : cursor.parse(BigDecimal::new);
+    }
+
+    public static LocalDateTime dateAfter(KeysetCursor cursor) {
+        return cursor == null ? FIRST_DATE : cursor.parse(LocalDateTime::parse);
+    }
+
+    /**
+     * Para listados en orden descendente de rating
+     */
+    public static double ratingAfter(KeysetCursor cursor) {
+        return cursor == null ? FIRST_RATING : cursor.parse(Double::parseDouble);
+    }
+
+    /**
+     * Para listados en orden descendente de cantidad
+     */
+    public static long countAfter(KeysetCursor cursor) {
+        return cursor == null ? FIRST_COUNT : cursor.parse(Long::parseLong);
+    }
+
+    private <T> T parse(Function<String, T> parser) {
+        try {
+            return parser.apply(key);
+        } catch (RuntimeException ex) {
+            throw new BusinessValidationException("Cursor de paginación inválido");
+        }
+    }
+}
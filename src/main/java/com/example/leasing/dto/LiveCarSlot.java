@@ -0,0 +1,12 @@
+package com.example.leasing.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento SSE "car-slot": una franja del auto se ocupó (busy) o se liberó
+ * Solo cuando cambia la disponibilidad para reservar: una reserva nueva (PENDING) ocupa,
+ * una PENDING o CONFIRMED que se cancela o vence libera; confirmar no cambia nada.
+ * No lleva el cliente (lo ven todos los suscriptos al auto).
+ */
+public record LiveCarSlot(Long carId, Long reservationId, LocalDateTime startDate, LocalDateTime endDate, boolean busy) {
+}
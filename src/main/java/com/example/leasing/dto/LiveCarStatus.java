@@ -0,0 +1,10 @@
+package com.example.leasing.dto;
+
+import com.example.leasing.Entity.CarStatusEnum;
+
+/**
+ * Evento SSE "car-status": el auto cambió (status null = se eliminó)
+ * bookable: ACTIVE, se puede reservar
+ */
+public record LiveCarStatus(Long carId, CarStatusEnum status, boolean bookable) {
+}
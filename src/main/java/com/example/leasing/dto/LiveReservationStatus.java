@@ -0,0 +1,18 @@
+package com.example.leasing.dto;
+
+import com.example.leasing.Entity.ReservationStatusEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento SSE "reservation": una reserva del cliente se creó (previousStatus null) o cambió de estado
+ */
+public record LiveReservationStatus(
+        Long reservationId,
+        Long carId,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        ReservationStatusEnum previousStatus,
+        ReservationStatusEnum status
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.leasing.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Ingresos y ocupación de un mes (de un auto o de todos los autos de un owner)
+ */
+public record MonthRevenueStats(
+        YearMonth month,
+        BigDecimal revenue,
+        long reservations,
+        double bookedHours,
+        double occupancyPercent
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.leasing.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Ocupación de un auto en los días [from, to): horas reservadas sobre horas totales
+ */
+public record OccupancyResponse(
+        Long carId,
+        LocalDate from,
+        LocalDate to,
+        long bookedHours,
+        long totalHours,
+        double occupancyPercent
+) {
+}
@@ -0,0 +1,18 @@
+package com.example.leasing.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Tablero mensual de un owner: totales y el detalle por auto
+ */
+public record OwnerRevenueReport(
+        Long ownerId,
+        YearMonth month,
+        BigDecimal revenue,
+        long reservations,
+        double occupancyPercent,
+        List<CarRevenueStats> cars
+) {
+}
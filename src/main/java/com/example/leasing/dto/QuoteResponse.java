@@ -0,0 +1,17 @@
+package com.example.leasing.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Cotización de un auto para el rango [from, to) con las reglas de precio vigentes
+ */
+public record QuoteResponse(
+        Long carId,
+        LocalDateTime from,
+        LocalDateTime to,
+        long billedDays,
+        long billedHours,
+        BigDecimal totalPrice
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.leasing.dto;
+
+/**
+ * Auto del listado "mejor valorados" con su promedio y cantidad de reviews
+ */
+public record RatedCarResponse(
+        CarResponse car,
+        double averageRating,
+        long reviewCount
+) {
+
+    public static RatedCarResponse from(RatedCarView view) {
+        return new RatedCarResponse(CarResponse.from(view.car()), view.averageRating(), view.reviewCount());
+    }
+}
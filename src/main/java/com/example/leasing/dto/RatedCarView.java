@@ -0,0 +1,9 @@
+package com.example.leasing.dto;
+
+import com.example.leasing.Entity.CarEntity;
+
+/**
+ * Auto junto con su rating (resultado de findTopRatedCars*)
+ */
+public record RatedCarView(CarEntity car, Double averageRating, Long reviewCount) {
+}
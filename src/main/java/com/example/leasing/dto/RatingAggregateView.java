@@ -0,0 +1,17 @@
+package com.example.leasing.dto;
+
+/**
+ * Agregado de reviews de un auto calculado por la base de datos
+ * (solo lo usa la reconstrucción completa de los resúmenes de rating)
+ */
+public record RatingAggregateView(
+        Long carId,
+        Long reviewCount,
+        Long ratingSum,
+        Long stars1,
+        Long stars2,
+        Long stars3,
+        Long stars4,
+        Long stars5
+) {
+}
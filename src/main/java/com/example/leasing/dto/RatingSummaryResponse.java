@@ -0,0 +1,19 @@
+package com.example.leasing.dto;
+
+import com.example.leasing.Entity.CarRatingSummaryEntity;
+
+/**
+ * Rating de un auto: cantidad de reviews, promedio e histograma (1 a 5 estrellas)
+ */
+public record RatingSummaryResponse(
+        Long carId,
+        long reviewCount,
+        double averageRating,
+        long[] histogram
+) {
+
+    public static RatingSummaryResponse from(CarRatingSummaryEntity summary) {
+        return new RatingSummaryResponse(summary.getCarId(), summary.getReviewCount(),
+                summary.getAverageRating(), summary.histogram());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.leasing.dto;
+
+import com.example.leasing.Entity.ReservationEntity;
+import com.example.leasing.Entity.ReservationStatusEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Vista de una reserva para la API
+ * Auto y cliente van solo por ID (car_id / client_id son columnas de reservations: sin JOIN)
+ */
+public record ReservationResponse(
+        Long id,
+        Long carId,
+        Long clientId,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        BigDecimal totalPrice,
+        ReservationStatusEnum status,
+        LocalDateTime createdAt
+) {
+
+    // getId() de un proxy lazy no dispara ninguna query
+    public static ReservationResponse from(ReservationEntity reservation) {
+        return new ReservationResponse(
+                reservation.getId(),
+                reservation.getCar() != null ? reservation.getCar().getId() : null,
+                reservation.getClient() != null ? reservation.getClient().getId() : null,
+                reservation.getStartDate(),
+                reservation.getEndDate(),
+                reservation.getTotalPrice(),
+                reservation.getStatus(),
+                reservation.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.leasing.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Datos de una reserva para recalcular los rollups de analíticas (sin cargar entidades)
+ */
+public record ReservationRevenueView(
+        Long carId,
+        Long ownerId,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        BigDecimal totalPrice
+) {
+}
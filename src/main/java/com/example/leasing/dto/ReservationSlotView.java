@@ -0,0 +1,15 @@
+package com.example.leasing.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección liviana de una reserva: solo lo necesario para ubicarla en el calendario
+ * de un auto (sin cargar la entidad completa ni sus relaciones)
+ */
+public record ReservationSlotView(
+        Long reservationId,
+        Long carId,
+        LocalDateTime startDate,
+        LocalDateTime endDate
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.leasing.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Serie mensual de un año (de un auto o de un owner)
+ */
+public record RevenueSeriesResponse(
+        Long id,
+        int year,
+        BigDecimal revenue,
+        List<MonthRevenueStats> months
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.leasing.dto;
+
+/**
+ * Body para crear o editar una review
+ * En la edición solo se usan rating y comment
+ */
+public record ReviewRequest(
+        Long carId,
+        Long clientId,
+        Integer rating,
+        String comment
+) {
+}
@@ -0,0 +1,29 @@
+package com.example.leasing.dto;
+
+import com.example.leasing.Entity.ReviewEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vista de una review para la API (auto y cliente solo por ID)
+ */
+public record ReviewResponse(
+        Long id,
+        Long carId,
+        Long clientId,
+        Integer rating,
+        String comment,
+        LocalDateTime createdAt
+) {
+
+    public static ReviewResponse from(ReviewEntity review) {
+        return new ReviewResponse(
+                review.getId(),
+                review.getCar() != null ? review.getCar().getId() : null,
+                review.getClient() != null ? review.getClient().getId() : null,
+                review.getRating(),
+                review.getComment(),
+                review.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.leasing.dto;
+
+import com.example.leasing.Entity.UserRoleEnum;
+
+/**
+ * Identidad resuelta de un usuario autenticado
+ * Solo IDs y rol: se arma con una única query y se puede cachear sin riesgo
+ * (no contiene entidades ni la contraseña)
+ */
+public record UserPrincipal(
+        Long userId,
+        String email,
+        UserRoleEnum role,
+        Long clientId,
+        Long ownerId
+) {
+}
@@ -0,0 +1,49 @@
+package com.example.leasing.event;
+
+import com.example.leasing.Entity.CarEntity;
+import com.example.leasing.Entity.CarStatusEnum;
+
+import java.math.BigDecimal;
+
+/**
+ * Evento publicado por CarEntityListener cada vez que un auto se inserta, actualiza o
+ * elimina (por cualquier camino: service, cascada desde Owner, etc.).
+ *
+ * Lleva una copia de los campos para que los índices en memoria no tengan que tocar
+ * la entidad (que puede estar detached cuando se procesa el evento).
+ */
+public record CarChangedEvent(
+        Long carId,
+        boolean deleted,
+        String brand,
+        String model,
+        String color,
+        String descripcion,
+        BigDecimal pricePerDay,
+        CarStatusEnum status,
+        Long ownerId
+) {
+
+    public static CarChangedEvent saved(CarEntity car) {
+        return new CarChangedEvent(
+                car.getId(),
+                false,
+                car.getBrand(),
+                car.getModel(),
+                car.getColor(),
+                car.getDescripcion(),
+                car.getPricePerDay(),
+                car.getStatus(),
+                car.getOwner() != null ? car.getOwner().getId() : null
+        );
+    }
+
+    public static CarChangedEvent deleted(CarEntity car) {
+        return new CarChangedEvent(car.getId(), true, null, null, null, null, null, null,
+                car.getOwner() != null ? car.getOwner().getId() : null);
+    }
+
+    public boolean isActive() {
+        return !deleted && status == CarStatusEnum.ACTIVE;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.leasing.event;
+
+import com.example.leasing.Entity.CarEntity;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de CarEntity
+ * Traduce cada escritura de Hibernate en un CarChangedEvent de Spring.
+ * Los consumidores usan @TransactionalEventListener para aplicarlo solo si hay commit.
+ *
+ * Es un bean de Spring: Spring Boot configura Hibernate para instanciar los
+ * listeners desde el contexto (SpringBeanContainer).
+ */
+@Component
+@RequiredArgsConstructor
+public class CarEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void afterSave(CarEntity car) {
+        eventPublisher.publishEvent(CarChangedEvent.saved(car));
+    }
+
+    @PostRemove
+    public void afterRemove(CarEntity car) {
+        eventPublisher.publishEvent(CarChangedEvent.deleted(car));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.leasing.event;
+
+import java.util.List;
+
+/**
+ * Evento publicado por CarImportService una vez por lote importado (no uno por auto)
+ *
+ * Los inserts JDBC no pasan por CarEntityListener: el lote lleva una copia de cada auto
+ * (como CarChangedEvent.saved) y los índices en memoria lo aplican de una sola vez al commit.
+ */
+public record CarsImportedEvent(List<CarChangedEvent> cars) {
+}
@@ -0,0 +1,54 @@
+package com.example.leasing.event;
+
+import com.example.leasing.Entity.CarEntity;
+import com.example.leasing.Entity.ChangeEntityTypeEnum;
+import com.example.leasing.Entity.ChangeOperationEnum;
+import com.example.leasing.Entity.ReservationEntity;
+import com.example.leasing.Entity.ReviewEntity;
+import com.example.leasing.service.ChangeLogService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de las entidades del change feed (autos, reservas y reviews)
+ * Anota cada escritura de Hibernate en ChangeLogService, que la vuelca a change_log
+ * dentro de la misma transacción, justo antes del commit.
+ *
+ * Los incrementos de versión sin cambios de datos (OPTIMISTIC_FORCE_INCREMENT al
+ * reservar) no disparan callbacks: reservar no es un cambio del auto.
+ */
+@Component
+public class ChangeLogEntityListener {
+
+    private final ChangeLogService changeLogService;
+
+    // @Lazy: Hibernate instancia los listeners mientras arma el EntityManagerFactory,
+    // y ChangeLogService depende de él
+    public ChangeLogEntityListener(@Lazy ChangeLogService changeLogService) {
+        this.changeLogService = changeLogService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void afterSave(Object entity) {
+        record(entity, ChangeOperationEnum.UPSERT);
+    }
+
+    @PostRemove
+    public void afterRemove(Object entity) {
+        record(entity, ChangeOperationEnum.DELETE);
+    }
+
+    private void record(Object entity, ChangeOperationEnum operation) {
+        switch (entity) {
+            case CarEntity car -> changeLogService.record(ChangeEntityTypeEnum.CAR, car.getId(), operation);
+            case ReservationEntity reservation ->
+                    changeLogService.record(ChangeEntityTypeEnum.RESERVATION, reservation.getId(), operation);
+            case ReviewEntity review -> changeLogService.record(ChangeEntityTypeEnum.REVIEW, review.getId(), operation);
+            default -> throw new IllegalArgumentException("Entidad sin change feed: " + entity.getClass().getName());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.leasing.event;
+
+import com.example.leasing.Entity.ReservationEntity;
+import com.example.leasing.Entity.ReservationStatusEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado por ReservationService cada vez que una reserva cambia de estado
+ * (o se crea). Lleva una copia de los datos necesarios para que los índices en memoria
+ * se actualicen sin volver a consultar la base de datos.
+ *
+ * previousStatus es null cuando la reserva es nueva.
+ */
+public record ReservationStatusChangedEvent(
+        Long reservationId,
+        Long carId,
+        Long clientId,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        BigDecimal totalPrice,
+        ReservationStatusEnum previousStatus,
+        ReservationStatusEnum newStatus
+) {
+
+    public static ReservationStatusChangedEvent of(ReservationEntity reservation, ReservationStatusEnum previousStatus) {
+        return new ReservationStatusChangedEvent(
+                reservation.getId(),
+                reservation.getCar() != null ? reservation.getCar().getId() : null,
+                reservation.getClient() != null ? reservation.getClient().getId() : null,
+                reservation.getStartDate(),
+                reservation.getEndDate(),
+                reservation.getTotalPrice(),
+                previousStatus,
+                reservation.getStatus()
+        );
+    }
+
+    public boolean isConfirmed() {
+        return newStatus == ReservationStatusEnum.CONFIRMED;
+    }
+
+    public boolean wasConfirmed() {
+        return previousStatus == ReservationStatusEnum.CONFIRMED;
+    }
+
+    // Ocupa la franja para nuevas reservas: PENDING o CONFIRMED (igual que IReservationRepo.existsOverlapping)
+    public boolean holdsSlot() {
+        return holds(newStatus);
+    }
+
+    public boolean heldSlot() {
+        return holds(previousStatus);
+    }
+
+    private static boolean holds(ReservationStatusEnum status) {
+        return status == ReservationStatusEnum.PENDING || status == ReservationStatusEnum.CONFIRMED;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.leasing.event;
+
+/**
+ * Evento publicado por UserEntityListener cuando un usuario se actualiza o elimina
+ * (cambio de contraseña, rol, email, etc.)
+ */
+public record UserChangedEvent(Long userId, String email) {
+}
@@ -1,5 +1,8 @@
 package com.example.leasing.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -13,10 +16,14 @@ import java.time.LocalDateTime;
  * Captura todas las excepciones lanzadas en los controllers y devuelve respuestas consistentes
  * 
  * @RestControllerAdvice hace que esta clase maneje excepciones de todos los @RestController
+ * Cada excepción manejada suma al contador leasing.api.exceptions (por tipo y status)
  */
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     /**
      * Maneja excepciones cuando un recurso no se encuentra (404)
      * Ejemplo: buscar un auto por ID que no existe
@@ -26,6 +33,7 @@ public class GlobalExceptionHandler {
             ResourceNotFoundException ex, 
             WebRequest request) {
         
+        countException(ex, HttpStatus.NOT_FOUND);
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.NOT_FOUND.value())
@@ -46,6 +54,7 @@ public class GlobalExceptionHandler {
             BusinessValidationException ex, 
             WebRequest request) {
         
+        countException(ex, HttpStatus.BAD_REQUEST);
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.BAD_REQUEST.value())
@@ -66,6 +75,7 @@ public class GlobalExceptionHandler {
             UnavailableResourceException ex, 
             WebRequest request) {
         
+        countException(ex, HttpStatus.CONFLICT);
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.CONFLICT.value())
@@ -77,6 +87,29 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Maneja la sobrecarga temporal (503 + Retry-After)
+     * Ejemplo: modo virtual threads con todos los permisos de base de datos ocupados
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(
+            ServiceOverloadedException ex, 
+            WebRequest request) {
+        
+        countException(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Servicio saturado")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
     /**
      * Maneja cualquier excepción no capturada específicamente (500)
      * Último recurso para evitar que el servidor devuelva stack traces al cliente
@@ -86,6 +119,16 @@ public class GlobalExceptionHandler {
             Exception ex, 
             WebRequest request) {
         
+        // Spring envuelve los errores al pedir conexión (CannotCreateTransactionException, etc.)
+        Throwable cause = ex.getCause();
+        while (cause != null) {
+            if (cause instanceof ServiceOverloadedException overloaded) {
+                return handleServiceOverloadedException(overloaded, request);
+            }
+            cause = cause.getCause();
+        }
+        
+        countException(ex, HttpStatus.INTERNAL_SERVER_ERROR);
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
@@ -99,4 +142,11 @@ public class GlobalExceptionHandler {
         
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    private void countException(Exception ex, HttpStatus status) {
+        meterRegistry.counter("leasing.api.exceptions",
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(status.value()))
+                .increment();
+    }
 }
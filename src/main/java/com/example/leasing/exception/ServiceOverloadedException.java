@@ -0,0 +1,11 @@
+package com.example.leasing.exception;
+
+/**
+ * Excepción personalizada para sobrecarga temporal
+ * Se lanza cuando no hay capacidad de base de datos disponible a tiempo (el cliente puede reintentar)
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
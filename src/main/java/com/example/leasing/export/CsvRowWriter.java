@@ -0,0 +1,80 @@
+package com.example.leasing.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSV (RFC 4180) en UTF-8: encabezado con los componentes del record y una línea por fila
+ * Los campos con coma, comillas o saltos de línea van entre comillas; null es un campo vacío
+ */
+final class CsvRowWriter<T extends Record> implements RowWriter<T> {
+
+    private final Writer writer;
+    private final Method[] accessors;
+
+    CsvRowWriter(Class<T> type, OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RecordComponent[] components = type.getRecordComponents();
+        this.accessors = new Method[components.length];
+        String[] header = new String[components.length];
+        for (int i = 0; i < components.length; i++) {
+            accessors[i] = components[i].getAccessor();
+            header[i] = components[i].getName();
+        }
+        try {
+            writeLine(header);
+        } catch (IOException ex) {
+            throw new IllegalStateException("No se pudo escribir el encabezado CSV", ex);
+        }
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        Object[] values = new Object[accessors.length];
+        for (int i = 0; i < accessors.length; i++) {
+            try {
+                values[i] = accessors[i].invoke(row);
+            } catch (IllegalAccessException | InvocationTargetException ex) {
+                throw new IllegalStateException("No se pudo leer " + accessors[i].getName(), ex);
+            }
+        }
+        writeLine(values);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal number ? number.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
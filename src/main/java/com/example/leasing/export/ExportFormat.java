@@ -0,0 +1,53 @@
+package com.example.leasing.export;
+
+import com.example.leasing.exception.BusinessValidationException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.OutputStream;
+
+/**
+ * Formatos de exportación: una fila por línea, así el archivo se escribe a medida que se lee
+ */
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Writer de filas del tipo dado sobre out (el CSV escribe el encabezado al crearse)
+     */
+    public <T extends Record> RowWriter<T> writer(Class<T> type, OutputStream out, ObjectMapper objectMapper) {
+        return switch (this) {
+            case NDJSON -> new NdjsonRowWriter<>(out, objectMapper);
+            case CSV -> new CsvRowWriter<>(type, out);
+        };
+    }
+
+    /**
+     * @throws BusinessValidationException si el formato no es ndjson ni csv
+     */
+    public static ExportFormat parse(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BusinessValidationException("Formato inválido: usar 'ndjson' o 'csv'");
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.leasing.export;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Un objeto JSON por línea (https://github.com/ndjson/ndjson-spec)
+ * Usa el ObjectMapper de la app: fechas y enums salen igual que en el resto de la API
+ */
+final class NdjsonRowWriter<T> implements RowWriter<T> {
+
+    private final OutputStream out;
+    private final ObjectMapper objectMapper;
+
+    NdjsonRowWriter(OutputStream out, ObjectMapper objectMapper) {
+        this.out = out;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(row));
+        out.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.leasing.export;
+
+import java.io.IOException;
+
+/**
+ * Escribe filas de una exportación directo al stream de salida, sin acumularlas
+ */
+public interface RowWriter<T> {
+
+    void write(T row) throws IOException;
+
+    /**
+     * Vacía lo que quede en buffer (no cierra el stream: es de la respuesta HTTP)
+     */
+    void flush() throws IOException;
+}
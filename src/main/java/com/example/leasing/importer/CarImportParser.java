@@ -0,0 +1,15 @@
+package com.example.leasing.importer;
+
+import java.io.IOException;
+
+/**
+ * Lee un archivo de importación de a una fila, sin cargarlo en memoria
+ */
+public interface CarImportParser {
+
+    /**
+     * Siguiente fila, o null al final del archivo
+     * Una fila mal formada no corta la lectura: vuelve con error y sigue la próxima
+     */
+    CarImportRow next() throws IOException;
+}
@@ -0,0 +1,22 @@
+package com.example.leasing.importer;
+
+import java.util.Map;
+
+/**
+ * Fila leída del archivo, todavía sin validar
+ *
+ * @param row    número de fila de datos (1 = primera fila después del encabezado)
+ * @param fields valores por nombre de columna, en minúsculas
+ * @param error  motivo si la fila no se pudo leer (JSON inválido, columnas de más); si no, null
+ */
+public record CarImportRow(long row, Map<String, String> fields, String error) {
+
+    public static CarImportRow malformed(long row, String error) {
+        return new CarImportRow(row, Map.of(), error);
+    }
+
+    public String field(String name) {
+        String value = fields.get(name);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
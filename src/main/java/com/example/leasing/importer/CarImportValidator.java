@@ -0,0 +1,120 @@
+package com.example.leasing.importer;
+
+import com.example.leasing.Entity.CarStatusEnum;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Validación de una fila de importación de autos
+ *
+ * Sin estado ni acceso a la base: CarImportService valida las filas de un lote en paralelo.
+ * Que el owner exista se verifica después, con una sola query por lote.
+ *
+ * Columnas: brand y model obligatorias; pricePerDay obligatorio, mayor a 0 y con hasta
+ * dos decimales; ownerId obligatorio; status opcional (ACTIVE por defecto); color,
+ * descripcion y photoUrl opcionales. Textos de hasta 255 caracteres (columnas VARCHAR(255)).
+ */
+public final class CarImportValidator {
+
+    private static final int MAX_TEXT = 255;
+    private static final BigDecimal MAX_PRICE = new BigDecimal("1000000000");
+
+    /**
+     * Auto listo para insertar
+     */
+    public record ValidCar(
+            long row,
+            String brand,
+            String model,
+            String color,
+            String descripcion,
+            BigDecimal pricePerDay,
+            String photoUrl,
+            CarStatusEnum status,
+            long ownerId
+    ) {
+    }
+
+    /**
+     * Resultado de validar una fila: car si es válida, rejection con el motivo si no
+     */
+    public record Result(long row, ValidCar car, String rejection) {
+
+        static Result rejected(long row, String rejection) {
+            return new Result(row, null, rejection);
+        }
+    }
+
+    public Result validate(CarImportRow row) {
+        if (row.error() != null) {
+            return Result.rejected(row.row(), row.error());
+        }
+        String brand = row.field("brand");
+        String model = row.field("model");
+        if (brand == null) {
+            return Result.rejected(row.row(), "La marca es obligatoria");
+        }
+        if (model == null) {
+            return Result.rejected(row.row(), "El modelo es obligatorio");
+        }
+        String color = row.field("color");
+        String descripcion = row.field("descripcion");
+        String photoUrl = row.field("photourl");
+        for (String text : new String[]{brand, model, color, descripcion, photoUrl}) {
+            if (text != null && text.length() > MAX_TEXT) {
+                return Result.rejected(row.row(), "Los textos no pueden superar " + MAX_TEXT + " caracteres");
+            }
+        }
+
+        BigDecimal price;
+        try {
+            price = parsePrice(row.field("priceperday"));
+        } catch (IllegalArgumentException ex) {
+            return Result.rejected(row.row(), ex.getMessage());
+        }
+
+        CarStatusEnum status = CarStatusEnum.ACTIVE;
+        String statusText = row.field("status");
+        if (statusText != null) {
+            try {
+                status = CarStatusEnum.valueOf(statusText.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                return Result.rejected(row.row(), "Estado inválido: " + statusText);
+            }
+        }
+
+        String ownerText = row.field("ownerid");
+        if (ownerText == null) {
+            return Result.rejected(row.row(), "El owner es obligatorio");
+        }
+        long ownerId;
+        try {
+            ownerId = Long.parseLong(ownerText);
+        } catch (NumberFormatException ex) {
+            return Result.rejected(row.row(), "Owner inválido: " + ownerText);
+        }
+
+        return new Result(row.row(), new ValidCar(row.row(), brand, model, color, descripcion, price, photoUrl,
+                status, ownerId), null);
+    }
+
+    private static BigDecimal parsePrice(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("El precio por día es obligatorio");
+        }
+        BigDecimal price;
+        try {
+            price = new BigDecimal(text);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Precio inválido: " + text);
+        }
+        if (price.signum() <= 0 || price.compareTo(MAX_PRICE) >= 0) {
+            throw new IllegalArgumentException("El precio por día debe ser mayor a 0 y menor a " + MAX_PRICE);
+        }
+        if (price.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException("El precio por día admite hasta dos decimales");
+        }
+        return price.setScale(2);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.leasing.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV (RFC 4180) con encabezado: comillas dobles para campos con comas o saltos de línea,
+ * "" para una comilla dentro de un campo. Acepta fin de línea LF o CRLF.
+ * Las columnas se buscan por nombre (sin importar mayúsculas ni el orden); las que no
+ * usa la importación se ignoran, así un CSV de /api/exports/cars se puede volver a importar.
+ */
+final class CsvCarImportParser implements CarImportParser {
+
+    private static final int END_OF_FILE = -1;
+
+    private final BufferedReader reader;
+    private String[] header;
+    private long row;
+
+    CsvCarImportParser(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public CarImportRow next() throws IOException {
+        if (header == null) {
+            List<String> names = readRecord();
+            if (names == null) {
+                return null;
+            }
+            // Sin el BOM que agrega Excel al guardar en UTF-8
+            header = names.stream()
+                    .map(name -> name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT))
+                    .toArray(String[]::new);
+        }
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.getFirst().isEmpty()); // Línea en blanco
+        row++;
+
+        if (values.size() > header.length) {
+            return CarImportRow.malformed(row, "La fila tiene " + values.size() + " columnas y el encabezado " + header.length);
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            fields.put(header[i], values.get(i));
+        }
+        return new CarImportRow(row, fields, null);
+    }
+
+    /**
+     * Lee un registro completo (puede ocupar varias líneas si tiene campos entre comillas)
+     * Devuelve null al final del archivo
+     */
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == END_OF_FILE) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == END_OF_FILE) {
+                    throw new IOException("CSV inválido: comillas sin cerrar en la fila " + (row + 1));
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == END_OF_FILE) {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        values.add(field.toString());
+        return values;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.leasing.importer;
+
+import com.example.leasing.exception.BusinessValidationException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+
+/**
+ * Formatos de importación, los mismos que produce ExportController (una fila por línea)
+ */
+public enum ImportFormat {
+
+    CSV("csv"),
+    NDJSON("ndjson");
+
+    private final String extension;
+
+    ImportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Parser que lee de a una fila (el CSV lee el encabezado en la primera llamada)
+     */
+    public CarImportParser parser(BufferedReader reader, ObjectMapper objectMapper) {
+        return switch (this) {
+            case CSV -> new CsvCarImportParser(reader);
+            case NDJSON -> new NdjsonCarImportParser(reader, objectMapper);
+        };
+    }
+
+    /**
+     * @throws BusinessValidationException si el formato no es csv ni ndjson
+     */
+    public static ImportFormat parse(String value) {
+        for (ImportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BusinessValidationException("Formato inválido: usar 'csv' o 'ndjson'");
+    }
+}
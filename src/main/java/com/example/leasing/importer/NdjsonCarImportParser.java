@@ -0,0 +1,59 @@
+package com.example.leasing.importer;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Un objeto JSON por línea; las líneas en blanco se saltean (y no cuentan como fila)
+ * Los decimales se leen como BigDecimal: un precio no pasa por double
+ */
+final class NdjsonCarImportParser implements CarImportParser {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long row;
+
+    NdjsonCarImportParser(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectReader = objectMapper.readerFor(Map.class)
+                .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    }
+
+    @Override
+    public CarImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        row++;
+
+        Map<?, ?> object;
+        try {
+            object = objectReader.readValue(line);
+        } catch (JacksonException ex) {
+            return CarImportRow.malformed(row, "JSON inválido: " + ex.getOriginalMessage());
+        }
+        Map<String, String> fields = new HashMap<>();
+        object.forEach((key, value) -> fields.put(String.valueOf(key).toLowerCase(Locale.ROOT), text(value)));
+        return new CarImportRow(row, fields, null);
+    }
+
+    private static String text(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof BigDecimal number ? number.toPlainString() : value.toString();
+    }
+}
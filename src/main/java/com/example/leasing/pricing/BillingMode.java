@@ -0,0 +1,17 @@
+package com.example.leasing.pricing;
+
+/**
+ * Cómo se convierte la duración de una reserva en tiempo facturable
+ */
+public enum BillingMode {
+    /**
+     * Días completos: horas enteras de la reserva / 24, redondeando hacia arriba
+     * (igual que ReservationEntity.getDaysReserved). El día i cae en la fecha de inicio + i.
+     */
+    DAYS,
+    /**
+     * Horas: minutos / 60 redondeando hacia arriba, cada hora a 1/24 del precio por día.
+     * Cada hora cae en la fecha en la que empieza.
+     */
+    HOURS
+}
@@ -0,0 +1,29 @@
+package com.example.leasing.pricing;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Descuento por estadía larga: escalones "desde N días facturados, X bp"
+ * Ej. {7: 500, 28: 1500} = 5% desde una semana y 15% desde cuatro semanas
+ */
+public final class LongStayDiscountRule implements PricingRule {
+
+    private final NavigableMap<Long, Integer> tiers;
+
+    public LongStayDiscountRule(Map<Long, Integer> tiers) {
+        this.tiers = new TreeMap<>(tiers);
+    }
+
+    @Override
+    public int discountBp(long billedDays) {
+        Map.Entry<Long, Integer> tier = tiers.floorEntry(billedDays);
+        return tier != null ? tier.getValue() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "LongStayDiscountRule" + tiers;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.leasing.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Motor de cotización en centavos (long), sin BigDecimal ni double por cotización
+ *
+ * Cotizar se parte en dos pasos:
+ * 1. prepare(desde, hasta): recorre las fechas del rango una sola vez y lo reduce a un
+ *    "peso" entero = Σ horas facturadas de cada fecha × (10000 + recargos en bp de esa fecha),
+ *    más el descuento por estadía. No depende del auto.
+ * 2. RangeQuote.priceMinor(precio por día): precio × peso / (24 × 10000) redondeado a
+ *    centavos (HALF_UP), y después el descuento (HALF_UP). Dos multiplicaciones y dos
+ *    divisiones enteras, sin objetos nuevos: un rango se cotiza para miles de autos
+ *    con RangeQuote.pricesMinor sobre arrays.
+ *
+ * Da exactamente lo mismo que hacer la cuenta con BigDecimal (ver ReferencePricing en
+ * los tests). Con BillingMode.DAYS y sin reglas es pricePerDay × getDaysReserved(),
+ * el precio de siempre.
+ *
+ * Límites: multiplyExact falla con ArithmeticException antes de desbordar
+ * (del orden de 10^7 por día durante años, muy lejos de los valores reales).
+ */
+public final class PricingEngine {
+
+    public static final int BASIS_POINTS = 10_000;
+    private static final long HOURS_PER_DAY = 24;
+    private static final long MINUTES_PER_HOUR = 60;
+    private static final long WEIGHT_SCALE = HOURS_PER_DAY * BASIS_POINTS;
+
+    private final BillingMode billingMode;
+    private final PricingRule[] rules;
+
+    public PricingEngine(BillingMode billingMode, List<? extends PricingRule> rules) {
+        this.billingMode = billingMode;
+        this.rules = rules.toArray(new PricingRule[0]);
+    }
+
+    /**
+     * Días completos y sin reglas: el precio de siempre
+     */
+    public static PricingEngine standard() {
+        return new PricingEngine(BillingMode.DAYS, List.of());
+    }
+
+    public BillingMode billingMode() {
+        return billingMode;
+    }
+
+    /**
+     * Reduce el rango [start, end) a lo que hace falta para cotizar cualquier auto
+     * Un rango vacío o invertido factura 0 horas
+     */
+    public RangeQuote prepare(LocalDateTime start, LocalDateTime end) {
+        long billedHours = 0;
+        long weight = 0;
+        if (start.isBefore(end)) {
+            LocalDate date = start.toLocalDate();
+            if (billingMode == BillingMode.DAYS) {
+                long days = Math.ceilDiv(ChronoUnit.HOURS.between(start, end), HOURS_PER_DAY);
+                for (long i = 0; i < days; i++, date = date.plusDays(1)) {
+                    weight = Math.addExact(weight, HOURS_PER_DAY * rateBp(date));
+                }
+                billedHours = days * HOURS_PER_DAY;
+            } else {
+                billedHours = Math.ceilDiv(ChronoUnit.MINUTES.between(start, end), MINUTES_PER_HOUR);
+                // La hora k empieza en start + k horas: cae en "date" si k < minutos hasta la medianoche / 60
+                long done = 0;
+                while (done < billedHours) {
+                    long untilMidnight = ChronoUnit.MINUTES.between(start, date.plusDays(1).atStartOfDay());
+                    long upTo = Math.min(billedHours, Math.ceilDiv(untilMidnight, MINUTES_PER_HOUR));
+                    weight = Math.addExact(weight, (upTo - done) * rateBp(date));
+                    done = upTo;
+                    date = date.plusDays(1);
+                }
+            }
+        }
+        long billedDays = Math.ceilDiv(billedHours, HOURS_PER_DAY);
+        return new RangeQuote(billedHours, billedDays, weight, discountBp(billedDays));
+    }
+
+    /**
+     * Cotización de un solo auto (prepare + priceMinor)
+     */
+    public long quoteMinor(long pricePerDayMinor, LocalDateTime start, LocalDateTime end) {
+        return prepare(start, end).priceMinor(pricePerDayMinor);
+    }
+
+    /**
+     * Rango ya preparado: cotiza cualquier precio por día sin recorrer fechas ni crear objetos
+     *
+     * @param weight Σ horas × tarifa en bp de cada fecha (ver PricingEngine)
+     */
+    public record RangeQuote(long billedHours, long billedDays, long weight, int discountBp) {
+
+        public long priceMinor(long pricePerDayMinor) {
+            long base = divideHalfUp(Math.multiplyExact(pricePerDayMinor, weight), WEIGHT_SCALE);
+            if (discountBp == 0) {
+                return base;
+            }
+            return divideHalfUp(Math.multiplyExact(base, BASIS_POINTS - discountBp), BASIS_POINTS);
+        }
+
+        /**
+         * Cotiza count precios de una vez: out[i] = priceMinor(pricesPerDayMinor[i])
+         */
+        public void pricesMinor(long[] pricesPerDayMinor, long[] out, int count) {
+            for (int i = 0; i < count; i++) {
+                out[i] = priceMinor(pricesPerDayMinor[i]);
+            }
+        }
+    }
+
+    // ==========================================
+    // CONVERSIÓN (solo en los bordes: entrada y salida de la API / base de datos)
+    // ==========================================
+
+    /**
+     * Precio a centavos (redondeando HALF_UP si trae más de dos decimales)
+     */
+    public static long toMinor(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromMinor(long minor) {
+        return BigDecimal.valueOf(minor, 2);
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    // Tarifa de una fecha en bp: 10000 + recargos (nunca negativa)
+    private long rateBp(LocalDate date) {
+        long rate = BASIS_POINTS;
+        for (PricingRule rule : rules) {
+            rate += rule.surchargeBp(date);
+        }
+        return Math.max(rate, 0);
+    }
+
+    // El mayor descuento de las reglas, entre 0 y 100%
+    private int discountBp(long billedDays) {
+        int discount = 0;
+        for (PricingRule rule : rules) {
+            discount = Math.max(discount, rule.discountBp(billedDays));
+        }
+        return Math.min(discount, BASIS_POINTS);
+    }
+
+    // División entera redondeando a la mitad hacia afuera del cero (igual que RoundingMode.HALF_UP)
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.leasing.pricing;
+
+import java.time.LocalDate;
+
+/**
+ * Regla de precio enchufable en PricingEngine
+ *
+ * Trabaja en puntos básicos (1 bp = 0,01%) y enteros, para que el motor no necesite
+ * BigDecimal ni double. Los recargos de todas las reglas se suman entre sí; de los
+ * descuentos se aplica el mayor.
+ */
+public interface PricingRule {
+
+    /**
+     * Recargo (o descuento, si es negativo) para el tiempo facturado en la fecha dada
+     */
+    default int surchargeBp(LocalDate date) {
+        return 0;
+    }
+
+    /**
+     * Descuento sobre el total según la cantidad de días facturados
+     */
+    default int discountBp(long billedDays) {
+        return 0;
+    }
+}
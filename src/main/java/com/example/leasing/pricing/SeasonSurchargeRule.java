@@ -0,0 +1,20 @@
+package com.example.leasing.pricing;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+
+/**
+ * Recargo de temporada entre dos fechas del año, ambas incluidas
+ * Si from es posterior a to la temporada cruza el fin de año (ej. 15/12 a 01/03)
+ */
+public record SeasonSurchargeRule(MonthDay from, MonthDay to, int bp) implements PricingRule {
+
+    @Override
+    public int surchargeBp(LocalDate date) {
+        MonthDay day = MonthDay.from(date);
+        boolean inSeason = from.isAfter(to)
+                ? !day.isBefore(from) || !day.isAfter(to)
+                : !day.isBefore(from) && !day.isAfter(to);
+        return inSeason ? bp : 0;
+    }
+}
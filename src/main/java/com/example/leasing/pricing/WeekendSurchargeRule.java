@@ -0,0 +1,16 @@
+package com.example.leasing.pricing;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Recargo para sábados y domingos
+ */
+public record WeekendSurchargeRule(int bp) implements PricingRule {
+
+    @Override
+    public int surchargeBp(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY ? bp : 0;
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.leasing.seed;
+
+import com.example.leasing.Entity.CarEntity;
+import com.example.leasing.Entity.ClientEntity;
+import com.example.leasing.Entity.OwnerEntity;
+import com.example.leasing.Entity.ReservationEntity;
+import com.example.leasing.Entity.ReviewEntity;
+import com.example.leasing.Entity.UserEntity;
+import com.example.leasing.service.AvailabilityService;
+import com.example.leasing.service.CarSearchService;
+import com.example.leasing.service.OccupancyService;
+import com.example.leasing.service.OwnerAnalyticsService;
+import com.example.leasing.service.PricingService;
+import com.example.leasing.service.RatingSummaryService;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carga masiva de un dataset sintético con inserts JDBC en lote
+ *
+ * Evita el save() de JPA fila por fila (dirty checking, eventos, un round-trip por fila):
+ * millones de reservas cargan en segundos. Se usa desde tests (@Autowired), desde los
+ * benchmarks de JMH y desde el perfil "seed" (SeedRunner).
+ *
+ * Los IDs salen del generador de cada entidad (secuencia con pooled-lo, igual que los
+ * save() de JPA): las tablas pueden tener datos previos y la app puede seguir
+ * insertando por JPA sin chocar con los IDs cargados, en H2 y en MySQL. El generador
+ * referencia filas por número (1..N); acá se traducen al ID que recibió cada una.
+ *
+ * No escribe en el change feed: un dataset cargado es punto de partida, los clientes lo
+ * leen con una carga completa.
+ */
+@Slf4j
+@Component
+public class BulkDataLoader {
+
+    public static final String DEFAULT_PASSWORD = "password";
+    private static final int BATCH_SIZE = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final RatingSummaryService ratingSummaryService;
+    private final AvailabilityService availabilityService;
+    private final CarSearchService carSearchService;
+    private final OccupancyService occupancyService;
+    private final OwnerAnalyticsService ownerAnalyticsService;
+    private final PricingService pricingService;
+
+    public BulkDataLoader(JdbcTemplate jdbcTemplate,
+                          EntityManager entityManager,
+                          PlatformTransactionManager transactionManager,
+                          PasswordEncoder passwordEncoder,
+                          RatingSummaryService ratingSummaryService,
+                          AvailabilityService availabilityService,
+                          CarSearchService carSearchService,
+                          OccupancyService occupancyService,
+                          OwnerAnalyticsService ownerAnalyticsService,
+                          PricingService pricingService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.ratingSummaryService = ratingSummaryService;
+        this.availabilityService = availabilityService;
+        this.carSearchService = carSearchService;
+        this.occupancyService = occupancyService;
+        this.ownerAnalyticsService = ownerAnalyticsService;
+        this.pricingService = pricingService;
+    }
+
+    /**
+     * Inserta el dataset y reconstruye los datos derivados (resúmenes de rating e índices
+     * en memoria), que no se enteran de los inserts JDBC
+     */
+    public LoadReport load(DatasetSpec spec) {
+        long start = System.nanoTime();
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(spec);
+        // ID asignado a cada fila de las tablas referenciadas (índice = número de fila - 1)
+        long[] ownerIds = new long[spec.owners()];
+        long[] clientIds = new long[spec.clients()];
+        long[] carIds = new long[spec.cars()];
+        // Un solo hash para todos: BCrypt por fila tardaría minutos
+        String passwordHash = passwordEncoder.encode(DEFAULT_PASSWORD);
+
+        int owners = insert("INSERT INTO owners (id, first_name, last_name, descripcion, bank_account, photo_url) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", OwnerEntity.class, ownerIds, generator::owners);
+        int clients = insert("INSERT INTO clients (id, first_name, last_name, phone) VALUES (?, ?, ?, ?)",
+                ClientEntity.class, clientIds, generator::clients);
+        int users = insert("INSERT INTO users (id, email, password, role, client_id, owner_id) VALUES (?, ?, ?, ?, ?, ?)",
+                UserEntity.class, null, sink -> generator.users(0, 0, passwordHash, sink),
+                new Reference(3, clientIds), new Reference(4, ownerIds));
+
+        BigDecimal[][] prices = new BigDecimal[1][];
+        int cars = insert("INSERT INTO cars (id, brand, model, color, descripcion, photo_url, price_per_day, status, owner_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", CarEntity.class, carIds,
+                sink -> prices[0] = generator.cars(0, sink), new Reference(7, ownerIds));
+        int reservations = insert("INSERT INTO reservations (id, created_at, start_date, end_date, status, total_price, car_id, client_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", ReservationEntity.class, null,
+                sink -> generator.reservations(0, 0, prices[0], sink),
+                new Reference(5, carIds), new Reference(6, clientIds));
+        int reviews = insert("INSERT INTO reviews (id, comment, rating, created_at, car_id, client_id) VALUES (?, ?, ?, ?, ?, ?)",
+                ReviewEntity.class, null, sink -> generator.reviews(0, 0, sink),
+                new Reference(3, carIds), new Reference(4, clientIds));
+
+        refreshDerivedData();
+
+        LoadReport report = new LoadReport(owners, clients, users, cars, reservations, reviews,
+                (System.nanoTime() - start) / 1_000_000);
+        log.info("Dataset sintético cargado (seed {}): {} filas en {} ms ({} filas/s)",
+                spec.seed(), report.totalRows(), report.elapsedMillis(), report.rowsPerSecond());
+        return report;
+    }
+
+    /**
+     * Recalcula todo lo que se mantiene por eventos de JPA / services
+     */
+    public void refreshDerivedData() {
+        ratingSummaryService.rebuildAll();
+        availabilityService.rebuild();
+        carSearchService.rebuild();
+        occupancyService.rebuild();
+        ownerAnalyticsService.rebuildAll();
+        pricingService.rebuild();
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    /**
+     * Columna de una fila del generador que referencia otra tabla por número de fila (1..N)
+     * @param ids IDs asignados a la tabla referenciada
+     */
+    private record Reference(int column, long[] ids) {
+    }
+
+    /**
+     * Junta las filas del generador en lotes de BATCH_SIZE y las manda con batchUpdate
+     * Cada fila recibe como primer parámetro un ID del generador de la entidad (se guarda
+     * en assigned si otras tablas la referencian) y sus referencias ya traducidas
+     */
+    private int insert(String sql, Class<?> entity, long[] assigned, Consumer<Consumer<Object[]>> generator,
+                       Reference... references) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        int[] total = { 0 };
+        generator.accept(row -> {
+            Object[] withId = new Object[row.length + 1];
+            System.arraycopy(row, 0, withId, 1, row.length);
+            for (Reference reference : references) {
+                Object number = row[reference.column()];
+                if (number != null) {
+                    withId[reference.column() + 1] = reference.ids()[(int) ((Number) number).longValue() - 1];
+                }
+            }
+            batch.add(withId);
+            if (batch.size() == BATCH_SIZE) {
+                total[0] += flush(sql, entity, assigned, total[0], batch);
+            }
+        });
+        if (!batch.isEmpty()) {
+            total[0] += flush(sql, entity, assigned, total[0], batch);
+        }
+        return total[0];
+    }
+
+    private int flush(String sql, Class<?> entity, long[] assigned, int offset, List<Object[]> batch) {
+        long[] ids = allocateIds(entity, batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i)[0] = ids[i];
+            if (assigned != null) {
+                assigned[offset + i] = ids[i];
+            }
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+        int inserted = batch.size();
+        batch.clear();
+        return inserted;
+    }
+
+    /**
+     * IDs del generador de la entidad: el mismo optimizador pooled-lo que los save() de JPA
+     * (una lectura de la secuencia cada allocationSize IDs), así no se pisan ni con otros
+     * procesos; en MySQL la secuencia es una tabla y funciona igual
+     */
+    private long[] allocateIds(Class<?> entity, int count) {
+        return transactionTemplate.execute(status -> {
+            SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+            IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                    .getEntityDescriptor(entity).getGenerator();
+            long[] ids = new long[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = ((Number) generator.generate(session, null)).longValue();
+            }
+            return ids;
+        });
+    }
+}
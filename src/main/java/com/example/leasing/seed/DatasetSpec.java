@@ -0,0 +1,51 @@
+package com.example.leasing.seed;
+
+/**
+ * Tamaño y semilla de un dataset sintético
+ * Misma semilla + mismos tamaños = exactamente los mismos datos
+ */
+public record DatasetSpec(
+        long seed,
+        int owners,
+        int clients,
+        int cars,
+        int reservations,
+        int reviews
+) {
+
+    public static final long DEFAULT_SEED = 42L;
+
+    public DatasetSpec {
+        if (owners <= 0 || clients <= 0 || cars <= 0) {
+            throw new IllegalArgumentException("El dataset necesita al menos un owner, un cliente y un auto");
+        }
+        if (reservations < 0 || reviews < 0) {
+            throw new IllegalArgumentException("Las cantidades no pueden ser negativas");
+        }
+    }
+
+    /**
+     * Dataset chico para tests de integración
+     */
+    public static DatasetSpec small() {
+        return new DatasetSpec(DEFAULT_SEED, 20, 200, 500, 5_000, 2_000);
+    }
+
+    /**
+     * Dataset de referencia para benchmarks
+     */
+    public static DatasetSpec medium() {
+        return new DatasetSpec(DEFAULT_SEED, 500, 20_000, 10_000, 200_000, 100_000);
+    }
+
+    /**
+     * Dataset grande para pruebas de escala (millones de reservas)
+     */
+    public static DatasetSpec large() {
+        return new DatasetSpec(DEFAULT_SEED, 5_000, 200_000, 100_000, 2_000_000, 1_000_000);
+    }
+
+    public DatasetSpec withSeed(long newSeed) {
+        return new DatasetSpec(newSeed, owners, clients, cars, reservations, reviews);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.leasing.seed;
+
+/**
+ * Resultado de una carga masiva: filas insertadas y tiempo total
+ */
+public record LoadReport(
+        int owners,
+        int clients,
+        int users,
+        int cars,
+        int reservations,
+        int reviews,
+        long elapsedMillis
+) {
+
+    public long totalRows() {
+        return (long) owners + clients + users + cars + reservations + reviews;
+    }
+
+    public long rowsPerSecond() {
+        return elapsedMillis == 0 ? totalRows() : totalRows() * 1000 / elapsedMillis;
+    }
+}
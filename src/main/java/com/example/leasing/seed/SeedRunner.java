@@ -0,0 +1,46 @@
+package com.example.leasing.seed;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carga un dataset sintético al arrancar con el perfil "seed"
+ *
+ * Ejemplo (2 millones de reservas):
+ *   mvn spring-boot:run -Dspring-boot.run.profiles=seed \
+ *       -Dspring-boot.run.arguments="--leasing.seed.reservations=2000000 --leasing.seed.cars=100000"
+ */
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+public class SeedRunner implements ApplicationRunner {
+
+    private final BulkDataLoader loader;
+
+    @Value("${leasing.seed.seed:42}")
+    private long seed;
+
+    @Value("${leasing.seed.owners:500}")
+    private int owners;
+
+    @Value("${leasing.seed.clients:20000}")
+    private int clients;
+
+    @Value("${leasing.seed.cars:10000}")
+    private int cars;
+
+    @Value("${leasing.seed.reservations:200000}")
+    private int reservations;
+
+    @Value("${leasing.seed.reviews:100000}")
+    private int reviews;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        loader.load(new DatasetSpec(seed, owners, clients, cars, reservations, reviews));
+    }
+}
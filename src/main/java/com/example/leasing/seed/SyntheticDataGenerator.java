@@ -0,0 +1,317 @@
+package com.example.leasing.seed;
+
+import com.example.leasing.Entity.CarStatusEnum;
+import com.example.leasing.Entity.ReservationStatusEnum;
+import com.example.leasing.Entity.UserRoleEnum;
+import com.example.leasing.service.BookingService;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Generador determinístico de datos sintéticos con distribuciones "realistas"
+ *
+ * - Marcas con popularidad desigual (Toyota y Ford aparecen mucho más que Hyundai)
+ * - Tamaño de flota por owner y demanda por auto con distribución Zipf: pocos autos
+ *   concentran muchas reservas y reviews, la mayoría tiene pocas
+ * - Calendarios por auto: las reservas CONFIRMED y PENDING de un mismo auto nunca se
+ *   solapan (igual que con BookingService), las CANCELED sí pisan reservas existentes
+ * - Ratings sesgados hacia arriba, con autos "buenos" y "malos"
+ *
+ * No guarda filas en memoria: cada fila se entrega al consumer apenas se genera
+ * (solo mantiene arrays de tamaño cars para precios, calendario y popularidad).
+ * Los IDs de las filas referenciadas se calculan como base + número de fila (1..N)
+ * (BulkDataLoader pasa base 0 y traduce cada número al ID que asignó).
+ */
+public class SyntheticDataGenerator {
+
+    public static final String EMAIL_DOMAIN = "seed.leasing";
+
+    private static final String[] BRANDS = {
+            "Toyota", "Ford", "Chevrolet", "Volkswagen", "Fiat", "Renault", "Peugeot", "Honda", "Nissan", "Hyundai" };
+    private static final int[] BRAND_WEIGHTS = { 18, 14, 12, 11, 10, 9, 8, 7, 6, 5 };
+    private static final String[][] MODELS = {
+            { "Corolla", "Etios", "Hilux", "Yaris", "RAV4" },
+            { "Focus", "Fiesta", "Ranger", "EcoSport", "Mustang" },
+            { "Onix", "Cruze", "Tracker", "S10", "Spin" },
+            { "Gol", "Golf", "Polo", "Amarok", "Vento" },
+            { "Cronos", "Argo", "Toro", "Mobi", "Strada" },
+            { "Kangoo", "Sandero", "Logan", "Duster", "Kwid" },
+            { "208", "2008", "3008", "Partner", "408" },
+            { "Civic", "Fit", "HR-V", "CR-V", "City" },
+            { "Versa", "Sentra", "Kicks", "Frontier", "March" },
+            { "HB20", "Tucson", "Creta", "i30", "Santa Fe" } };
+    // Precio base por día (en la moneda de la app) de cada marca
+    private static final int[] BRAND_BASE_PRICE = { 55, 50, 45, 48, 38, 40, 47, 60, 46, 44 };
+    private static final String[] COLORS = { "White", "Black", "Gray", "Silver", "Red", "Blue", "Green" };
+    private static final int[] COLOR_WEIGHTS = { 30, 22, 18, 14, 8, 6, 2 };
+    private static final String[] ADJECTIVES = {
+            "Economic", "Comfortable", "Spacious", "Sporty", "Reliable", "Compact", "Family", "Powerful" };
+    private static final String[] FIRST_NAMES = {
+            "Juan", "María", "Carlos", "Lucía", "Martín", "Sofía", "Diego", "Valentina", "Pedro", "Camila",
+            "John", "Emma", "Liam", "Olivia", "Noah", "Ava" };
+    private static final String[] LAST_NAMES = {
+            "González", "Rodríguez", "Fernández", "López", "Martínez", "García", "Pérez", "Sánchez",
+            "Romero", "Díaz", "Smith", "Johnson", "Brown", "Doe" };
+    private static final String[] COMMENTS = {
+            "Excelente auto, muy recomendable", "Todo bien, volvería a alquilar", "Cumplió con lo esperado",
+            "Algo sucio al retirarlo", "El dueño respondió rápido", "Consumo de combustible muy bajo",
+            "Tuvo un problema mecánico", "Muy cómodo para viajes largos" };
+
+    // Estados de reserva: 70% CONFIRMED, 15% PENDING, 15% CANCELED
+    private static final int CONFIRMED_PCT = 70;
+    private static final int PENDING_PCT = 15;
+    // Ratings base: 1..5 estrellas
+    private static final int[] RATING_WEIGHTS = { 6, 8, 16, 32, 38 };
+    // Exponente de Zipf para la demanda por auto y la flota por owner
+    private static final double DEMAND_SKEW = 1.0;
+    private static final double FLEET_SKEW = 0.8;
+    // Horizonte: las reservas empiezan 1 año atrás y avanzan por auto
+    private static final int HISTORY_DAYS = 365;
+    private static final int MEAN_GAP_HOURS = 36;
+
+    private final DatasetSpec spec;
+    private final LocalDateTime origin;
+
+    public SyntheticDataGenerator(DatasetSpec spec) {
+        this(spec, LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).minusDays(HISTORY_DAYS));
+    }
+
+    /**
+     * @param origin fecha desde la que arrancan los calendarios (fija = datos idénticos entre corridas)
+     */
+    public SyntheticDataGenerator(DatasetSpec spec, LocalDateTime origin) {
+        this.spec = spec;
+        this.origin = origin;
+    }
+
+    // ==========================================
+    // PERSONAS
+    // ==========================================
+
+    /**
+     * (first_name, last_name, descripcion, bank_account, photo_url)
+     */
+    public void owners(Consumer<Object[]> sink) {
+        SplittableRandom random = random(1);
+        for (int i = 1; i <= spec.owners(); i++) {
+            sink.accept(new Object[] {
+                    pick(random, FIRST_NAMES), pick(random, LAST_NAMES),
+                    "Owner sintético #" + i,
+                    "BANK-" + (100_000 + i),
+                    null });
+        }
+    }
+
+    /**
+     * (first_name, last_name, phone)
+     */
+    public void clients(Consumer<Object[]> sink) {
+        SplittableRandom random = random(2);
+        for (int i = 1; i <= spec.clients(); i++) {
+            sink.accept(new Object[] {
+                    pick(random, FIRST_NAMES), pick(random, LAST_NAMES),
+                    "555-" + (1_000_000 + random.nextInt(9_000_000)) });
+        }
+    }
+
+    /**
+     * Un usuario por cliente y uno por owner:
+     * (email, password, role, client_id, owner_id)
+     */
+    public void users(long clientBase, long ownerBase, String passwordHash, Consumer<Object[]> sink) {
+        for (int i = 1; i <= spec.clients(); i++) {
+            sink.accept(new Object[] { clientEmail(i), passwordHash, UserRoleEnum.CLIENT.name(), clientBase + i, null });
+        }
+        for (int i = 1; i <= spec.owners(); i++) {
+            sink.accept(new Object[] { ownerEmail(i), passwordHash, UserRoleEnum.OWNER.name(), null, ownerBase + i });
+        }
+    }
+
+    public static String clientEmail(int n) {
+        return "client" + n + "@" + EMAIL_DOMAIN;
+    }
+
+    public static String ownerEmail(int n) {
+        return "owner" + n + "@" + EMAIL_DOMAIN;
+    }
+
+    // ==========================================
+    // AUTOS
+    // ==========================================
+
+    /**
+     * (brand, model, color, descripcion, photo_url, price_per_day, status, owner_id)
+     * Devuelve los precios por día (índice = número de auto - 1), que necesitan las reservas
+     */
+    public BigDecimal[] cars(long ownerBase, Consumer<Object[]> sink) {
+        SplittableRandom random = random(3);
+        ZipfSampler ownerFleet = new ZipfSampler(spec.owners(), FLEET_SKEW, random(4));
+        BigDecimal[] prices = new BigDecimal[spec.cars()];
+        for (int i = 0; i < spec.cars(); i++) {
+            int brand = weighted(random, BRAND_WEIGHTS);
+            String model = MODELS[brand][random.nextInt(MODELS[brand].length)];
+            // Base de la marca ±30%, redondeado a 50 centavos
+            double factor = 0.7 + random.nextDouble() * 0.6;
+            BigDecimal price = BigDecimal.valueOf(Math.round(BRAND_BASE_PRICE[brand] * factor * 2) / 2.0)
+                    .setScale(2, RoundingMode.HALF_UP);
+            prices[i] = price;
+            int roll = random.nextInt(100);
+            CarStatusEnum status = roll < 88 ? CarStatusEnum.ACTIVE
+                    : roll < 95 ? CarStatusEnum.IN_MAINTENANCE
+                    : CarStatusEnum.INACTIVE;
+            sink.accept(new Object[] {
+                    BRANDS[brand], model, COLORS[weighted(random, COLOR_WEIGHTS)],
+                    pick(random, ADJECTIVES) + " " + BRANDS[brand] + " " + model,
+                    null, price, status.name(), ownerBase + 1 + ownerFleet.next() });
+        }
+        return prices;
+    }
+
+    // ==========================================
+    // RESERVAS Y REVIEWS
+    // ==========================================
+
+    /**
+     * (created_at, start_date, end_date, status, total_price, car_id, client_id)
+     * @param prices precios devueltos por cars()
+     */
+    public void reservations(long carBase, long clientBase, BigDecimal[] prices, Consumer<Object[]> sink) {
+        SplittableRandom random = random(5);
+        ZipfSampler demand = new ZipfSampler(spec.cars(), DEMAND_SKEW, random(6));
+        // Próxima hora libre de cada auto (desde origin)
+        long[] nextFree = new long[spec.cars()];
+        for (int car = 0; car < nextFree.length; car++) {
+            nextFree[car] = random.nextInt(24 * 10);
+        }
+
+        for (int i = 0; i < spec.reservations(); i++) {
+            int car = demand.next();
+            long hours = 4 + random.nextInt(24 * 7);
+            int roll = random.nextInt(100);
+            ReservationStatusEnum status = roll < CONFIRMED_PCT ? ReservationStatusEnum.CONFIRMED
+                    : roll < CONFIRMED_PCT + PENDING_PCT ? ReservationStatusEnum.PENDING
+                    : ReservationStatusEnum.CANCELED;
+
+            long startHour;
+            if (status == ReservationStatusEnum.CANCELED) {
+                // Pisa el calendario existente: fue rechazada o cancelada
+                startHour = Math.max(0, nextFree[car] - random.nextInt(24 * 5));
+            } else {
+                startHour = nextFree[car] + exponential(random, MEAN_GAP_HOURS);
+                nextFree[car] = startHour + hours;
+            }
+            LocalDateTime start = origin.plusHours(startHour);
+            LocalDateTime end = start.plusHours(hours);
+            LocalDateTime createdAt = start.minusHours(1 + random.nextInt(24 * 30));
+            long days = (long) Math.ceil(hours / 24.0);
+
+            sink.accept(new Object[] {
+                    Timestamp.valueOf(createdAt), Timestamp.valueOf(start), Timestamp.valueOf(end),
+                    status.name(), BookingService.calculateTotalPrice(prices[car], days),
+                    carBase + 1 + car, clientBase + 1 + random.nextInt(spec.clients()) });
+        }
+    }
+
+    /**
+     * (comment, rating, created_at, car_id, client_id)
+     * La cantidad de reviews por auto sigue la misma demanda que las reservas
+     */
+    public void reviews(long carBase, long clientBase, Consumer<Object[]> sink) {
+        SplittableRandom random = random(7);
+        ZipfSampler demand = new ZipfSampler(spec.cars(), DEMAND_SKEW, random(6));
+        // Calidad de cada auto: -1 (malo), 0 o +1 (bueno), desplaza el rating base
+        byte[] bias = new byte[spec.cars()];
+        for (int car = 0; car < bias.length; car++) {
+            int roll = random.nextInt(10);
+            bias[car] = (byte) (roll < 2 ? -1 : roll < 8 ? 0 : 1);
+        }
+
+        for (int i = 0; i < spec.reviews(); i++) {
+            int car = demand.next();
+            int rating = Math.clamp(1 + weighted(random, RATING_WEIGHTS) + bias[car], 1, 5);
+            LocalDateTime createdAt = origin.plusMinutes(random.nextLong(HISTORY_DAYS * 24L * 60));
+            sink.accept(new Object[] {
+                    pick(random, COMMENTS), rating, Timestamp.valueOf(createdAt),
+                    carBase + 1 + car, clientBase + 1 + random.nextInt(spec.clients()) });
+        }
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    // Un generador independiente por tabla: cambiar la cantidad de reviews no altera los autos
+    private SplittableRandom random(int stream) {
+        return new SplittableRandom(spec.seed() * 31 + stream);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int weighted(SplittableRandom random, int[] weights) {
+        int total = Arrays.stream(weights).sum();
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static long exponential(SplittableRandom random, double mean) {
+        return (long) (-Math.log(1 - random.nextDouble()) * mean);
+    }
+
+    /**
+     * Muestreo Zipf por CDF acumulada + búsqueda binaria
+     * El ranking de popularidad se mezcla con una permutación para que el auto más
+     * pedido no sea siempre el de ID 1.
+     */
+    private static final class ZipfSampler {
+
+        private final double[] cdf;
+        private final int[] rankToIndex;
+        private final SplittableRandom random;
+
+        ZipfSampler(int size, double skew, SplittableRandom random) {
+            this.random = random;
+            this.cdf = new double[size];
+            double sum = 0;
+            for (int rank = 0; rank < size; rank++) {
+                sum += 1.0 / Math.pow(rank + 1, skew);
+                cdf[rank] = sum;
+            }
+            for (int rank = 0; rank < size; rank++) {
+                cdf[rank] /= sum;
+            }
+            rankToIndex = new int[size];
+            for (int i = 0; i < size; i++) {
+                rankToIndex[i] = i;
+            }
+            for (int i = size - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = rankToIndex[i];
+                rankToIndex[i] = rankToIndex[j];
+                rankToIndex[j] = tmp;
+            }
+        }
+
+        int next() {
+            int rank = Arrays.binarySearch(cdf, random.nextDouble());
+            if (rank < 0) {
+                rank = -rank - 1;
+            }
+            return rankToIndex[Math.min(rank, cdf.length - 1)];
+        }
+    }
+}
@@ -4,44 +4,97 @@ import com.example.leasing.Entity.ClientEntity;
 import com.example.leasing.Entity.OwnerEntity;
 import com.example.leasing.Entity.UserEntity;
 import com.example.leasing.Entity.UserRoleEnum;
+import com.example.leasing.Repository.IClientRepo;
+import com.example.leasing.Repository.IOwnerRepo;
 import com.example.leasing.Repository.IUserRepo;
+import com.example.leasing.dto.UserPrincipal;
 import com.example.leasing.exception.BusinessValidationException;
 import com.example.leasing.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Service de autenticación
+ *
+ * La identidad (rol e IDs) sale de PrincipalService (una query + caché);
+ * acá solo se carga la entidad Client/Owner cuando realmente se necesita.
+ */
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final IUserRepo userRepo;
+    private final IClientRepo clientRepo;
+    private final IOwnerRepo ownerRepo;
+    private final PrincipalService principalService;
+    private final PasswordEncoder passwordEncoder;
 
     @Transactional(readOnly = true)
     public ClientEntity getClientByEmail(String email) {
-        UserEntity user = userRepo.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User con email " + email + " no encontrado"));
+        UserPrincipal principal = principalService.resolve(email);
 
-        if (user.getRole() != UserRoleEnum.CLIENT) {
+        if (principal.role() != UserRoleEnum.CLIENT) {
             throw new BusinessValidationException("User is not a client");
         }
+        if (principal.clientId() == null) {
+            throw new ResourceNotFoundException("Client para user con email " + email + " no encontrado");
+        }
 
-        ClientEntity client = user.getClient();
-        if (client == null) throw new ResourceNotFoundException("Client para user con email " + email + " no encontrado");
-        return client;
+        return clientRepo.findById(principal.clientId())
+                .orElseThrow(() -> new ResourceNotFoundException("Client para user con email " + email + " no encontrado"));
     }
 
     @Transactional(readOnly = true)
     public OwnerEntity getOwnerByEmail(String email) {
-        UserEntity user = userRepo.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User con email " + email + " no encontrado"));
+        UserPrincipal principal = principalService.resolve(email);
 
-        if (user.getRole() != UserRoleEnum.OWNER) {
+        if (principal.role() != UserRoleEnum.OWNER) {
             throw new BusinessValidationException("User is not an owner");
         }
+        if (principal.ownerId() == null) {
+            throw new ResourceNotFoundException("Owner para user con email " + email + " no encontrado");
+        }
+
+        return ownerRepo.findById(principal.ownerId())
+                .orElseThrow(() -> new ResourceNotFoundException("Owner para user con email " + email + " no encontrado"));
+    }
+
+    // ==========================================
+    // CAMBIOS DE CREDENCIALES
+    // ==========================================
+    // UserEntityListener publica el UserChangedEvent que invalida el caché de principals
+
+    /**
+     * Cambia la contraseña de un usuario (se guarda encriptada con BCrypt)
+     * @throws BusinessValidationException si la contraseña está vacía
+     */
+    @Transactional
+    public void changePassword(String email, String newPassword) {
+        if (newPassword == null || newPassword.isBlank()) {
+            throw new BusinessValidationException("La contraseña es obligatoria");
+        }
+        UserEntity user = findUser(email);
+        user.setPassword(passwordEncoder.encode(newPassword));
+        userRepo.save(user);
+    }
 
-        OwnerEntity owner = user.getOwner();
-        if (owner == null) throw new ResourceNotFoundException("Owner para user con email " + email + " no encontrado");
-        return owner;
+    /**
+     * Cambia el rol de un usuario
+     */
+    @Transactional
+    public void changeRole(String email, UserRoleEnum role) {
+        if (role == null) {
+            throw new BusinessValidationException("El rol es obligatorio");
+        }
+        UserEntity user = findUser(email);
+        user.setRole(role);
+        userRepo.save(user);
+    }
+
+    private UserEntity findUser(String email) {
+        return userRepo.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User con email " + email + " no encontrado"));
     }
-}
\ No newline at end of file
+}
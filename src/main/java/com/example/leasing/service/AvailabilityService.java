@@ -0,0 +1,128 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.ReservationStatusEnum;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.Repository.IReservationRepo;
+import com.example.leasing.event.CarChangedEvent;
+import com.example.leasing.event.CarsImportedEvent;
+import com.example.leasing.event.ReservationStatusChangedEvent;
+import com.example.leasing.exception.BusinessValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service de disponibilidad de autos por rango de fechas
+ *
+ * Responde desde CarAvailabilityIndex (memoria), sin consultar la base de datos.
+ * - Al arrancar carga los autos ACTIVE y las reservas CONFIRMED
+ * - Después se mantiene con los eventos de ReservationService, de CarEntityListener y de
+ *   CarImportService (un CarsImportedEvent por lote), solo tras el commit
+ * - Un rebuild arma un índice nuevo y lo publica entero (SwappableIndex): las consultas
+ *   nunca ven uno a medio cargar y los eventos que llegan mientras tanto no se pierden
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+
+    private final ICarRepo carRepo;
+    private final IReservationRepo reservationRepo;
+    private final SwappableIndex<CarAvailabilityIndex> index = new SwappableIndex<>(new CarAvailabilityIndex());
+
+    // ==========================================
+    // CONSULTAS
+    // ==========================================
+
+    /**
+     * IDs de autos ACTIVE sin reservas confirmadas que se solapen con [from, to)
+     * @throws BusinessValidationException si el rango es inválido
+     */
+    public List<Long> findAvailableCarIds(LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        return index.current().findFreeCars(from, to);
+    }
+
+    /**
+     * Indica si un auto puntual está libre en [from, to)
+     */
+    public boolean isAvailable(Long carId, LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        CarAvailabilityIndex current = index.current();
+        return current.isActive(carId) && current.isFree(carId, from, to);
+    }
+
+    // ==========================================
+    // MANTENIMIENTO DEL ÍNDICE
+    // ==========================================
+
+    /**
+     * Reconstruye el índice completo desde la base de datos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        int replayed = index.rebuild(() -> {
+            CarAvailabilityIndex fresh = new CarAvailabilityIndex();
+            fresh.rebuild(carRepo.findAvailableCarIds(), reservationRepo.findSlotsByStatus(ReservationStatusEnum.CONFIRMED));
+            return fresh;
+        });
+        CarAvailabilityIndex loaded = index.current();
+        log.info("Índice de disponibilidad cargado: {} autos activos, {} reservas confirmadas, {} cambios durante la carga "
+                        + "en {} ms",
+                loaded.activeCarCount(), loaded.bookingCount(), replayed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Aplica un cambio de estado de reserva una vez confirmada la transacción
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationStatusChanged(ReservationStatusChangedEvent event) {
+        if (event.carId() == null) {
+            return;
+        }
+        if (event.isConfirmed()) {
+            index.apply(current -> current.book(event.carId(), event.reservationId(), event.startDate(), event.endDate()));
+        } else if (event.wasConfirmed()) {
+            index.apply(current -> current.release(event.carId(), event.reservationId()));
+        }
+    }
+
+    /**
+     * Mantiene el conjunto de autos reservables (status ACTIVE) al día
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        if (event.deleted()) {
+            index.apply(current -> current.removeCar(event.carId()));
+        } else {
+            index.apply(current -> current.setCarActive(event.carId(), event.isActive()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsImported(CarsImportedEvent event) {
+        index.apply(current -> event.cars().forEach(car -> current.setCarActive(car.carId(), car.isActive())));
+    }
+
+    // ==========================================
+    // VALIDACIONES PRIVADAS
+    // ==========================================
+
+    private void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new BusinessValidationException("Las fechas desde y hasta son obligatorias");
+        }
+        if (!from.isBefore(to)) {
+            throw new BusinessValidationException("La fecha desde debe ser anterior a la fecha hasta");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.leasing.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Locks en franjas (striped) por auto
+ *
+ * Un array fijo de locks indexado por hash del carId: las reservas del mismo auto
+ * se serializan y las de autos distintos casi nunca comparten lock (256 franjas).
+ * La memoria no crece con la flota, a diferencia de un lock por auto.
+ */
+@Component
+public class BookingLocks {
+
+    private static final int STRIPES = 256; // potencia de 2
+
+    private final Lock[] locks = new Lock[STRIPES];
+
+    public BookingLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock forCar(Long carId) {
+        return locks[stripe(carId)];
+    }
+
+    /**
+     * Locks de varios autos, sin repetir y ordenados por franja
+     * Tomarlos siempre en este orden evita deadlocks entre reservas masivas concurrentes
+     */
+    public List<Lock> forCars(Collection<Long> carIds) {
+        return carIds.stream()
+                .map(BookingLocks::stripe)
+                .distinct()
+                .sorted()
+                .map(stripe -> locks[stripe])
+                .toList();
+    }
+
+    private static int stripe(Long carId) {
+        int hash = Long.hashCode(carId);
+        // Mezcla los bits altos para que IDs consecutivos no caigan siempre en franjas vecinas
+        hash ^= (hash >>> 16);
+        return hash & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.CarEntity;
+import com.example.leasing.Entity.CarStatusEnum;
+import com.example.leasing.Entity.ReservationEntity;
+import com.example.leasing.Entity.ReservationStatusEnum;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.Repository.IClientRepo;
+import com.example.leasing.Repository.IReservationRepo;
+import com.example.leasing.dto.BookingRequest;
+import com.example.leasing.event.ReservationStatusChangedEvent;
+import com.example.leasing.exception.BusinessValidationException;
+import com.example.leasing.exception.ResourceNotFoundException;
+import com.example.leasing.exception.UnavailableResourceException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Motor de reservas
+ *
+ * Garantiza que no existan dos reservas PENDING/CONFIRMED solapadas del mismo auto:
+ * 1. Lock en memoria por auto (BookingLocks), tomado FUERA de la transacción y liberado
+ *    después del commit: dentro del nodo, las reservas de un mismo auto son secuenciales
+ *    y las de autos distintos corren en paralelo.
+ * 2. Dentro de la transacción: chequeo de solapamiento + incremento forzado de la versión
+ *    del auto. Si otro nodo reservó el mismo auto a la vez, el UPDATE de versión falla y
+ *    la transacción se revierte (guardia a nivel base de datos).
+ *
+ * El precio total lo calcula PricingService con las reglas de precio vigentes
+ * (sin reglas: pricePerDay × días reservados, redondeando hacia arriba).
+ */
+@Service
+public class BookingService {
+
+    public static final int MAX_BULK_SIZE = 500;
+
+    private final ICarRepo carRepo;
+    private final IClientRepo clientRepo;
+    private final IReservationRepo reservationRepo;
+    private final BookingLocks bookingLocks;
+    private final PricingService pricingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingService(ICarRepo carRepo,
+                          IClientRepo clientRepo,
+                          IReservationRepo reservationRepo,
+                          BookingLocks bookingLocks,
+                          PricingService pricingService,
+                          ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager) {
+        this.carRepo = carRepo;
+        this.clientRepo = clientRepo;
+        this.reservationRepo = reservationRepo;
+        this.bookingLocks = bookingLocks;
+        this.pricingService = pricingService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Crea una reserva PENDING si el auto está libre en [startDate, endDate)
+     * @throws BusinessValidationException si las fechas son inválidas o el auto no está ACTIVE
+     * @throws ResourceNotFoundException si el auto o el cliente no existen
+     * @throws UnavailableResourceException si el rango se solapa con otra reserva
+     */
+    public ReservationEntity book(BookingRequest request) {
+        validateRequest(request);
+
+        Lock lock = bookingLocks.forCar(request.carId());
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> bookInTransaction(request));
+        } catch (OptimisticLockingFailureException ex) {
+            throw new UnavailableResourceException(
+                    "El auto " + request.carId() + " fue reservado en paralelo, intente nuevamente");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReservationEntity bookInTransaction(BookingRequest request) {
+        CarEntity car = carRepo.findByIdForBooking(request.carId())
+                .orElseThrow(() -> new ResourceNotFoundException("Car", request.carId()));
+        if (car.getStatus() != CarStatusEnum.ACTIVE) {
+            throw new BusinessValidationException("El auto " + car.getId() + " no está disponible para reservar");
+        }
+        if (!clientRepo.existsById(request.clientId())) {
+            throw new ResourceNotFoundException("Client", request.clientId());
+        }
+        if (reservationRepo.existsOverlapping(car.getId(), request.startDate(), request.endDate())) {
+            throw new UnavailableResourceException(
+                    "El auto " + car.getId() + " ya está reservado en ese rango de fechas");
+        }
+
+        ReservationEntity reservation = ReservationEntity.builder()
+                .car(car)
+                .client(clientRepo.getReferenceById(request.clientId()))
+                .startDate(request.startDate())
+                .endDate(request.endDate())
+                .status(ReservationStatusEnum.PENDING)
+                .build();
+        reservation.setTotalPrice(pricingService.totalPrice(car.getPricePerDay(), request.startDate(), request.endDate()));
+
+        ReservationEntity saved = reservationRepo.save(reservation);
+        eventPublisher.publishEvent(ReservationStatusChangedEvent.of(saved, null));
+        return saved;
+    }
+
+    /**
+     * Alta masiva de reservas PENDING (todo o nada)
+     * Toma los locks de todos los autos involucrados (en orden fijo), valida los rangos
+     * contra la base y entre sí, y guarda todo con inserts en batch.
+     * @throws BusinessValidationException si la lista está vacía, es muy grande o alguna reserva es inválida
+     * @throws ResourceNotFoundException si algún auto o cliente no existe
+     * @throws UnavailableResourceException si algún rango se solapa con otra reserva (o con otra del mismo lote)
+     */
+    public List<ReservationEntity> bookAll(List<BookingRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BusinessValidationException("La lista de reservas está vacía");
+        }
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new BusinessValidationException("Máximo " + MAX_BULK_SIZE + " reservas por request");
+        }
+        requests.forEach(this::validateRequest);
+        validateNoOverlapWithinBatch(requests);
+
+        List<Lock> locks = bookingLocks.forCars(requests.stream().map(BookingRequest::carId).toList());
+        locks.forEach(Lock::lock);
+        try {
+            return transactionTemplate.execute(status -> bookAllInTransaction(requests));
+        } catch (OptimisticLockingFailureException ex) {
+            throw new UnavailableResourceException("Alguno de los autos fue reservado en paralelo, intente nuevamente");
+        } finally {
+            locks.reversed().forEach(Lock::unlock);
+        }
+    }
+
+    private List<ReservationEntity> bookAllInTransaction(List<BookingRequest> requests) {
+        // Un SELECT (con incremento de versión) por auto distinto, no por reserva
+        Map<Long, CarEntity> cars = new HashMap<>();
+        for (BookingRequest request : requests) {
+            if (!cars.containsKey(request.carId())) {
+                CarEntity car = carRepo.findByIdForBooking(request.carId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Car", request.carId()));
+                if (car.getStatus() != CarStatusEnum.ACTIVE) {
+                    throw new BusinessValidationException("El auto " + car.getId() + " no está disponible para reservar");
+                }
+                cars.put(car.getId(), car);
+            }
+        }
+        Set<Long> clientIds = requests.stream().map(BookingRequest::clientId).collect(Collectors.toSet());
+        clientIds.removeAll(clientRepo.findExistingIds(clientIds));
+        if (!clientIds.isEmpty()) {
+            throw new ResourceNotFoundException("Client", clientIds.iterator().next());
+        }
+
+        List<ReservationEntity> reservations = new ArrayList<>(requests.size());
+        for (BookingRequest request : requests) {
+            CarEntity car = cars.get(request.carId());
+            if (reservationRepo.existsOverlapping(car.getId(), request.startDate(), request.endDate())) {
+                throw new UnavailableResourceException(
+                        "El auto " + car.getId() + " ya está reservado en ese rango de fechas");
+            }
+            ReservationEntity reservation = ReservationEntity.builder()
+                    .car(car)
+                    .client(clientRepo.getReferenceById(request.clientId()))
+                    .startDate(request.startDate())
+                    .endDate(request.endDate())
+                    .status(ReservationStatusEnum.PENDING)
+                    .build();
+            reservation.setTotalPrice(pricingService.totalPrice(car.getPricePerDay(), request.startDate(), request.endDate()));
+            reservations.add(reservation);
+        }
+
+        List<ReservationEntity> saved = reservationRepo.saveAll(reservations);
+        saved.forEach(reservation -> eventPublisher.publishEvent(ReservationStatusChangedEvent.of(reservation, null)));
+        return saved;
+    }
+
+    /**
+     * pricePerDay × días (los días ya vienen redondeados hacia arriba), sin reglas de precio
+     * Lo usa la carga masiva; las reservas nuevas pasan por PricingService
+     */
+    public static BigDecimal calculateTotalPrice(BigDecimal pricePerDay, long days) {
+        if (pricePerDay == null) {
+            throw new BusinessValidationException("El auto no tiene precio por día");
+        }
+        return pricePerDay.multiply(BigDecimal.valueOf(days));
+    }
+
+    // ==========================================
+    // VALIDACIONES PRIVADAS
+    // ==========================================
+
+    /**
+     * Dos reservas del mismo lote para el mismo auto tampoco pueden solaparse
+     */
+    private void validateNoOverlapWithinBatch(List<BookingRequest> requests) {
+        Map<Long, List<BookingRequest>> byCar = requests.stream()
+                .collect(Collectors.groupingBy(BookingRequest::carId));
+        for (List<BookingRequest> sameCar : byCar.values()) {
+            List<BookingRequest> sorted = sameCar.stream()
+                    .sorted(Comparator.comparing(BookingRequest::startDate))
+                    .toList();
+            for (int i = 1; i < sorted.size(); i++) {
+                if (sorted.get(i).startDate().isBefore(sorted.get(i - 1).endDate())) {
+                    throw new UnavailableResourceException(
+                            "El lote tiene reservas solapadas para el auto " + sorted.get(i).carId());
+                }
+            }
+        }
+    }
+
+    private void validateRequest(BookingRequest request) {
+        if (request.carId() == null) {
+            throw new BusinessValidationException("El auto es obligatorio");
+        }
+        if (request.clientId() == null) {
+            throw new BusinessValidationException("El cliente es obligatorio");
+        }
+        if (request.startDate() == null || request.endDate() == null) {
+            throw new BusinessValidationException("Las fechas de inicio y fin son obligatorias");
+        }
+        if (!request.startDate().isBefore(request.endDate())) {
+            throw new BusinessValidationException("La fecha de inicio debe ser anterior a la fecha de fin");
+        }
+        if (request.startDate().isBefore(LocalDateTime.now())) {
+            throw new BusinessValidationException("No se puede reservar en el pasado");
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.leasing.service;
+
+import com.example.leasing.dto.ReservationSlotView;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice en memoria de disponibilidad por auto
+ *
+ * Por cada auto guarda los intervalos reservados ordenados por inicio, junto con el
+ * máximo "fin" acumulado hasta cada posición. Con eso, saber si [desde, hasta) choca con
+ * alguna reserva es una búsqueda binaria: se toma el último intervalo que empieza antes
+ * de "hasta" y se mira si el máximo fin acumulado supera "desde".
+ *
+ * Los intervalos son semiabiertos [inicio, fin): una reserva que termina a las 10:00 no
+ * choca con otra que empieza a las 10:00.
+ *
+ * Cada auto tiene un snapshot inmutable que se reemplaza entero en cada cambio
+ * (copy-on-write), así las lecturas nunca bloquean.
+ */
+public class CarAvailabilityIndex {
+
+    private final Map<Long, Slots> slotsByCar = new ConcurrentHashMap<>();
+    private final Set<Long> activeCars = ConcurrentHashMap.newKeySet();
+
+    // ==========================================
+    // ESCRITURA
+    // ==========================================
+
+    /**
+     * Carga masiva: reemplaza todo el contenido del índice
+     * Agrupa por auto y ordena una sola vez en lugar de insertar de a una. Las lecturas
+     * concurrentes verían el índice vacío a mitad de la carga: AvailabilityService la hace
+     * sobre un índice nuevo y lo publica al terminar (SwappableIndex).
+     */
+    public void rebuild(Collection<Long> activeCarIds, Collection<ReservationSlotView> bookings) {
+        Map<Long, List<ReservationSlotView>> byCar = new HashMap<>();
+        for (ReservationSlotView slot : bookings) {
+            byCar.computeIfAbsent(slot.carId(), id -> new ArrayList<>()).add(slot);
+        }
+        clear();
+        activeCars.addAll(activeCarIds);
+        byCar.forEach((carId, list) -> slotsByCar.put(carId, Slots.of(list)));
+    }
+
+    /**
+     * Marca un auto como ACTIVE (reservable) o no
+     */
+    public void setCarActive(Long carId, boolean active) {
+        if (active) {
+            activeCars.add(carId);
+        } else {
+            activeCars.remove(carId);
+        }
+    }
+
+    /**
+     * Registra una reserva confirmada. Si ya estaba registrada, actualiza sus fechas.
+     */
+    public void book(Long carId, Long reservationId, LocalDateTime start, LocalDateTime end) {
+        long from = toMinutes(start);
+        long to = toMinutes(end);
+        slotsByCar.compute(carId, (id, current) -> {
+            Slots base = current == null ? Slots.EMPTY : current.without(reservationId);
+            return base.with(reservationId, from, to);
+        });
+    }
+
+    /**
+     * Quita una reserva (cancelada o eliminada) del índice
+     */
+    public void release(Long carId, Long reservationId) {
+        slotsByCar.computeIfPresent(carId, (id, current) -> {
+            Slots next = current.without(reservationId);
+            return next.size() == 0 ? null : next;
+        });
+    }
+
+    /**
+     * Elimina un auto y todas sus reservas del índice
+     */
+    public void removeCar(Long carId) {
+        activeCars.remove(carId);
+        slotsByCar.remove(carId);
+    }
+
+    public void clear() {
+        activeCars.clear();
+        slotsByCar.clear();
+    }
+
+    // ==========================================
+    // LECTURA
+    // ==========================================
+
+    /**
+     * Indica si el auto no tiene reservas confirmadas que se solapen con [from, to)
+     * No considera el estado del auto
+     */
+    public boolean isFree(Long carId, LocalDateTime from, LocalDateTime to) {
+        Slots slots = slotsByCar.get(carId);
+        return slots == null || !slots.overlaps(toMinutes(from), toMinutes(to));
+    }
+
+    /**
+     * Devuelve los IDs (ordenados) de los autos ACTIVE libres en todo el rango [from, to)
+     */
+    public List<Long> findFreeCars(LocalDateTime from, LocalDateTime to) {
+        long start = toMinutes(from);
+        long end = toMinutes(to);
+        List<Long> result = new ArrayList<>();
+        for (Long carId : activeCars) {
+            Slots slots = slotsByCar.get(carId);
+            if (slots == null || !slots.overlaps(start, end)) {
+                result.add(carId);
+            }
+        }
+        result.sort(null);
+        return result;
+    }
+
+    public boolean isActive(Long carId) {
+        return activeCars.contains(carId);
+    }
+
+    public int activeCarCount() {
+        return activeCars.size();
+    }
+
+    public int bookingCount() {
+        return slotsByCar.values().stream().mapToInt(Slots::size).sum();
+    }
+
+    public int bookingCount(Long carId) {
+        Slots slots = slotsByCar.get(carId);
+        return slots == null ? 0 : slots.size();
+    }
+
+    private static long toMinutes(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    // ==========================================
+    // SNAPSHOT INMUTABLE POR AUTO
+    // ==========================================
+
+    /**
+     * Intervalos de un auto ordenados por inicio (en minutos desde epoch).
+     * maxEnds[i] = max(ends[0..i]), lo que permite detectar solapamientos aunque
+     * existan reservas superpuestas entre sí.
+     */
+    private static final class Slots {
+
+        static final Slots EMPTY = new Slots(new long[0], new long[0], new long[0], new long[0]);
+
+        private final long[] ids;
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnds;
+
+        private Slots(long[] ids, long[] starts, long[] ends, long[] maxEnds) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = maxEnds;
+        }
+
+        static Slots of(List<ReservationSlotView> bookings) {
+            List<ReservationSlotView> sorted = new ArrayList<>(bookings);
+            sorted.sort(Comparator.comparing(ReservationSlotView::startDate));
+            int n = sorted.size();
+            long[] ids = new long[n];
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            for (int i = 0; i < n; i++) {
+                ReservationSlotView slot = sorted.get(i);
+                ids[i] = slot.reservationId();
+                starts[i] = toMinutes(slot.startDate());
+                ends[i] = toMinutes(slot.endDate());
+            }
+            return new Slots(ids, starts, ends, maxEndsOf(ends));
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        boolean overlaps(long from, long to) {
+            // Último intervalo con inicio < to
+            int idx = lastStartBefore(to);
+            return idx >= 0 && maxEnds[idx] > from;
+        }
+
+        private int lastStartBefore(long to) {
+            int low = 0;
+            int high = starts.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < to) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+
+        Slots with(long id, long start, long end) {
+            int n = ids.length;
+            int pos = lastStartBefore(start + 1) + 1;
+            long[] newIds = new long[n + 1];
+            long[] newStarts = new long[n + 1];
+            long[] newEnds = new long[n + 1];
+            System.arraycopy(ids, 0, newIds, 0, pos);
+            System.arraycopy(starts, 0, newStarts, 0, pos);
+            System.arraycopy(ends, 0, newEnds, 0, pos);
+            newIds[pos] = id;
+            newStarts[pos] = start;
+            newEnds[pos] = end;
+            System.arraycopy(ids, pos, newIds, pos + 1, n - pos);
+            System.arraycopy(starts, pos, newStarts, pos + 1, n - pos);
+            System.arraycopy(ends, pos, newEnds, pos + 1, n - pos);
+            return new Slots(newIds, newStarts, newEnds, maxEndsOf(newEnds));
+        }
+
+        Slots without(long id) {
+            int pos = -1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    pos = i;
+                    break;
+                }
+            }
+            if (pos < 0) {
+                return this;
+            }
+            int n = ids.length - 1;
+            long[] newIds = new long[n];
+            long[] newStarts = new long[n];
+            long[] newEnds = new long[n];
+            System.arraycopy(ids, 0, newIds, 0, pos);
+            System.arraycopy(starts, 0, newStarts, 0, pos);
+            System.arraycopy(ends, 0, newEnds, 0, pos);
+            System.arraycopy(ids, pos + 1, newIds, pos, n - pos);
+            System.arraycopy(starts, pos + 1, newStarts, pos, n - pos);
+            System.arraycopy(ends, pos + 1, newEnds, pos, n - pos);
+            return new Slots(newIds, newStarts, newEnds, maxEndsOf(newEnds));
+        }
+
+        private static long[] maxEndsOf(long[] ends) {
+            long[] result = Arrays.copyOf(ends, ends.length);
+            for (int i = 1; i < result.length; i++) {
+                result[i] = Math.max(result[i], result[i - 1]);
+            }
+            return result;
+        }
+    }
+}
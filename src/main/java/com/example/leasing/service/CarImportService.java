@@ -0,0 +1,411 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.CarEntity;
+import com.example.leasing.Entity.CarImportJobEntity;
+import com.example.leasing.Entity.CarImportStatusEnum;
+import com.example.leasing.Entity.ChangeEntityTypeEnum;
+import com.example.leasing.Entity.ChangeOperationEnum;
+import com.example.leasing.Repository.ICarImportJobRepo;
+import com.example.leasing.Repository.ICarImportRejectionRepo;
+import com.example.leasing.Repository.IOwnerRepo;
+import com.example.leasing.dto.CarImportJobResponse;
+import com.example.leasing.dto.CursorPage;
+import com.example.leasing.dto.ImportRejectionResponse;
+import com.example.leasing.dto.KeysetCursor;
+import com.example.leasing.event.CarChangedEvent;
+import com.example.leasing.event.CarsImportedEvent;
+import com.example.leasing.exception.BusinessValidationException;
+import com.example.leasing.exception.ResourceNotFoundException;
+import com.example.leasing.exception.UnavailableResourceException;
+import com.example.leasing.importer.CarImportParser;
+import com.example.leasing.importer.CarImportRow;
+import com.example.leasing.importer.CarImportValidator;
+import com.example.leasing.importer.ImportFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Importación masiva de autos desde CSV o NDJSON (alta de flotas de owners nuevos)
+ *
+ * El archivo subido se guarda en leasing.imports.dir y se procesa en segundo plano,
+ * una importación a la vez, en lotes de leasing.imports.batch-size filas:
+ * 1. Lectura en streaming: nunca hay más de un lote en memoria
+ * 2. Validación de las filas del lote en paralelo (CarImportValidator no tiene estado)
+ * 3. Owners resueltos con una query IN por lote (y recordados para los lotes siguientes)
+ * 4. Una transacción por lote, en el orden del archivo: inserts JDBC en batch de autos y
+ *    rechazos, más el checkpoint (rowsProcessed) del job
+ *
+ * Si algo falla, el job queda FAILED con todo lo anterior al último checkpoint commiteado:
+ * retomarlo relee el archivo y saltea esas filas, así ninguna se importa dos veces.
+ *
+ * Los inserts JDBC no pasan por los listeners JPA: el service publica un CarsImportedEvent
+ * por lote dentro de su transacción, y los índices en memoria lo aplican de una vez al commit
+ * (un lock y una entrada por lote, no miles); también anota los autos en el change feed
+ * (ChangeLogService).
+ */
+@Slf4j
+@Service
+public class CarImportService {
+
+    private static final int MAX_ERROR_LENGTH = 1_000;
+    private static final int MAX_REASON_LENGTH = 500;
+    private static final String INSERT_CAR_SQL = "INSERT INTO cars " +
+            "(id, brand, model, color, descripcion, photo_url, price_per_day, status, version, owner_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+    private static final String INSERT_REJECTION_SQL =
+            "INSERT INTO car_import_rejections (job_id, source_row, reason) VALUES (?, ?, ?)";
+
+    private final ICarImportJobRepo jobRepo;
+    private final ICarImportRejectionRepo rejectionRepo;
+    private final IOwnerRepo ownerRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeLogService changeLogService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Path spoolDir;
+    private final int batchSize;
+    private final CarImportValidator validator = new CarImportValidator();
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("car-import-", 0).factory());
+    private final Counter importedCounter;
+    private final Counter rejectedCounter;
+    private final Timer batchTimer;
+
+    public CarImportService(ICarImportJobRepo jobRepo,
+                            ICarImportRejectionRepo rejectionRepo,
+                            IOwnerRepo ownerRepo,
+                            JdbcTemplate jdbcTemplate,
+                            EntityManager entityManager,
+                            ApplicationEventPublisher eventPublisher,
+                            ChangeLogService changeLogService,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${leasing.imports.dir:${java.io.tmpdir}/leasing-imports}") Path spoolDir,
+                            @Value("${leasing.imports.batch-size:5000}") int batchSize) {
+        this.jobRepo = jobRepo;
+        this.rejectionRepo = rejectionRepo;
+        this.ownerRepo = ownerRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.changeLogService = changeLogService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.spoolDir = spoolDir;
+        this.batchSize = batchSize;
+        this.importedCounter = Counter.builder("leasing.imports.cars")
+                .description("Filas de importaciones de autos, por resultado")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("leasing.imports.cars")
+                .description("Filas de importaciones de autos, por resultado")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("leasing.imports.batch")
+                .description("Duración de cada lote de una importación de autos (validación y escritura)")
+                .register(meterRegistry);
+    }
+
+    // ==========================================
+    // JOBS
+    // ==========================================
+
+    /**
+     * Guarda el archivo y arranca la importación en segundo plano
+     * @throws BusinessValidationException si el formato es inválido
+     */
+    public CarImportJobResponse start(String format, InputStream body) throws IOException {
+        ImportFormat importFormat = ImportFormat.parse(format);
+        Files.createDirectories(spoolDir);
+        Path spool = Files.createTempFile(spoolDir, "cars-", "." + importFormat.extension());
+        try {
+            Files.copy(body, spool, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            Files.deleteIfExists(spool);
+            throw ex;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        CarImportJobEntity job = jobRepo.save(CarImportJobEntity.builder()
+                .status(CarImportStatusEnum.RUNNING)
+                .format(importFormat.name())
+                .spoolFile(spool.toString())
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        log.info("Importación de autos {} recibida: {} bytes", job.getId(), Files.size(spool));
+        executor.execute(() -> run(job.getId()));
+        return CarImportJobResponse.from(job);
+    }
+
+    /**
+     * Retoma una importación FAILED desde su último checkpoint
+     * @throws ResourceNotFoundException si no existe
+     * @throws BusinessValidationException si no está FAILED
+     * @throws UnavailableResourceException si otro request la retomó al mismo tiempo
+     */
+    public CarImportJobResponse resume(Long id) {
+        CarImportJobEntity job = findJob(id);
+        if (job.getStatus() != CarImportStatusEnum.FAILED) {
+            throw new BusinessValidationException("Solo se puede retomar una importación FAILED");
+        }
+        if (!transition(id, CarImportStatusEnum.FAILED, CarImportStatusEnum.RUNNING, null)) {
+            throw new UnavailableResourceException("La importación " + id + " ya se está retomando");
+        }
+        log.info("Importación de autos {} retomada desde la fila {}", id, job.getRowsProcessed());
+        executor.execute(() -> run(id));
+        return CarImportJobResponse.from(findJob(id));
+    }
+
+    /**
+     * @throws ResourceNotFoundException si no existe
+     */
+    public CarImportJobResponse getJob(Long id) {
+        return CarImportJobResponse.from(findJob(id));
+    }
+
+    /**
+     * Reporte de filas rechazadas, por número de fila (paginado por keyset)
+     * @throws ResourceNotFoundException si la importación no existe
+     */
+    public CursorPage<ImportRejectionResponse> getRejections(Long id, String cursor, Integer size) {
+        findJob(id);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<ImportRejectionResponse> rows = rejectionRepo.findByJobAfter(id, KeysetCursor.idAfter(after),
+                PageRequest.ofSize(pageSize + 1));
+        return CursorPage.of(rows, pageSize, Function.identity(), row -> KeysetCursor.encode(null, row.row()));
+    }
+
+    /**
+     * Al arrancar: las importaciones que quedaron RUNNING se cortaron con el proceso anterior
+     * Quedan FAILED para retomarlas (asume un solo nodo procesando importaciones)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterrupted() {
+        Integer interrupted = transactionTemplate.execute(status ->
+                jobRepo.failRunning("Interrumpida por un reinicio: se puede retomar", LocalDateTime.now()));
+        if (interrupted != null && interrupted > 0) {
+            log.warn("Importaciones de autos interrumpidas por el reinicio: {}", interrupted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ==========================================
+    // PROCESAMIENTO
+    // ==========================================
+
+    private void run(long jobId) {
+        long start = System.nanoTime();
+        CarImportJobEntity job = findJob(jobId);
+        Path spool = Path.of(job.getSpoolFile());
+        long checkpoint = job.getRowsProcessed();
+        try (BufferedReader reader = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+            CarImportParser parser = ImportFormat.valueOf(job.getFormat()).parser(reader, objectMapper);
+            Set<Long> knownOwners = new HashSet<>();
+            List<CarImportRow> batch = new ArrayList<>(batchSize);
+            CarImportRow row;
+            while ((row = parser.next()) != null) {
+                if (row.row() <= checkpoint) {
+                    continue; // Commiteada antes de la falla
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    checkpoint = writeBatch(jobId, checkpoint, batch, knownOwners);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                checkpoint = writeBatch(jobId, checkpoint, batch, knownOwners);
+            }
+            transition(jobId, CarImportStatusEnum.RUNNING, CarImportStatusEnum.COMPLETED, null);
+        } catch (Exception ex) {
+            log.error("Importación de autos {} fallida después de la fila {}", jobId, checkpoint, ex);
+            transition(jobId, CarImportStatusEnum.RUNNING, CarImportStatusEnum.FAILED, truncate(
+                    ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName(), MAX_ERROR_LENGTH));
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException ex) {
+            log.warn("No se pudo borrar el archivo de la importación {}: {}", jobId, spool, ex);
+        }
+        CarImportJobEntity done = findJob(jobId);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Importación de autos {} terminada: {} filas ({} importadas, {} rechazadas) en {} ms ({} filas/s)",
+                jobId, done.getRowsProcessed(), done.getImported(), done.getRejected(), elapsedMillis,
+                elapsedMillis > 0 ? (checkpoint - job.getRowsProcessed()) * 1000 / elapsedMillis : 0);
+    }
+
+    /**
+     * Valida y escribe un lote en su propia transacción
+     * @return el nuevo checkpoint (última fila del lote)
+     */
+    private long writeBatch(long jobId, long checkpoint, List<CarImportRow> rows, Set<Long> knownOwners) {
+        return batchTimer.record(() -> {
+            List<CarImportValidator.Result> results = rows.parallelStream().map(validator::validate).toList();
+            resolveOwners(results, knownOwners);
+
+            List<CarImportValidator.ValidCar> cars = new ArrayList<>(results.size());
+            List<Object[]> rejections = new ArrayList<>();
+            for (CarImportValidator.Result result : results) {
+                if (result.car() == null) {
+                    rejections.add(rejection(jobId, result.row(), result.rejection()));
+                } else if (!knownOwners.contains(result.car().ownerId())) {
+                    rejections.add(rejection(jobId, result.row(), "El owner " + result.car().ownerId() + " no existe"));
+                } else {
+                    cars.add(result.car());
+                }
+            }
+
+            long last = rows.getLast().row();
+            transactionTemplate.executeWithoutResult(status -> {
+                long[] ids = allocateCarIds(cars.size());
+                insertCars(cars, ids);
+                if (!rejections.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_REJECTION_SQL, rejections);
+                }
+                if (jobRepo.advance(jobId, checkpoint, last, cars.size(), rejections.size(), LocalDateTime.now()) == 0) {
+                    throw new IllegalStateException("La importación " + jobId + " cambió de estado en otro proceso");
+                }
+                if (!cars.isEmpty()) {
+                    List<CarChangedEvent> imported = new ArrayList<>(cars.size());
+                    for (int i = 0; i < cars.size(); i++) {
+                        imported.add(changedEvent(cars.get(i), ids[i]));
+                    }
+                    eventPublisher.publishEvent(new CarsImportedEvent(imported));
+                }
+                changeLogService.recordAll(ChangeEntityTypeEnum.CAR, Arrays.stream(ids).boxed().toList(),
+                        ChangeOperationEnum.UPSERT);
+            });
+            importedCounter.increment(cars.size());
+            rejectedCounter.increment(rejections.size());
+            return last;
+        });
+    }
+
+    // Owners del lote que todavía no se vieron: una query IN para todos
+    private void resolveOwners(List<CarImportValidator.Result> results, Set<Long> knownOwners) {
+        Set<Long> unknown = new HashSet<>();
+        for (CarImportValidator.Result result : results) {
+            if (result.car() != null && !knownOwners.contains(result.car().ownerId())) {
+                unknown.add(result.car().ownerId());
+            }
+        }
+        if (!unknown.isEmpty()) {
+            knownOwners.addAll(ownerRepo.findExistingIds(unknown));
+        }
+    }
+
+    /**
+     * IDs del generador de CarEntity (secuencia cars_seq con pooled-lo): el mismo optimizador
+     * que los save() de JPA, así no se pisan; en MySQL la secuencia es una tabla y funciona igual
+     */
+    private long[] allocateCarIds(int count) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(CarEntity.class).getGenerator();
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = ((Number) generator.generate(session, null)).longValue();
+        }
+        return ids;
+    }
+
+    private void insertCars(List<CarImportValidator.ValidCar> cars, long[] ids) {
+        if (cars.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_CAR_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                CarImportValidator.ValidCar car = cars.get(i);
+                ps.setLong(1, ids[i]);
+                ps.setString(2, car.brand());
+                ps.setString(3, car.model());
+                ps.setString(4, car.color());
+                ps.setString(5, car.descripcion());
+                ps.setString(6, car.photoUrl());
+                ps.setBigDecimal(7, car.pricePerDay());
+                ps.setString(8, car.status().name());
+                ps.setLong(9, car.ownerId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return cars.size();
+            }
+        });
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    private CarImportJobEntity findJob(Long id) {
+        return jobRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Import", id));
+    }
+
+    private boolean transition(Long id, CarImportStatusEnum from, CarImportStatusEnum to, String error) {
+        Integer updated = transactionTemplate.execute(status ->
+                jobRepo.transition(id, from, to, error, LocalDateTime.now()));
+        return updated != null && updated > 0;
+    }
+
+    private static Object[] rejection(long jobId, long row, String reason) {
+        return new Object[]{jobId, row, truncate(reason, MAX_REASON_LENGTH)};
+    }
+
+    private static CarChangedEvent changedEvent(CarImportValidator.ValidCar car, long id) {
+        return new CarChangedEvent(id, false, car.brand(), car.model(), car.color(), car.descripcion(),
+                car.pricePerDay(), car.status(), car.ownerId());
+    }
+
+    private static String truncate(String text, int max) {
+        return text.length() <= max ? text : text.substring(0, max);
+    }
+}
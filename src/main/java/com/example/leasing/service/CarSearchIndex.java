@@ -0,0 +1,43 @@
+package com.example.leasing.service;
+
+import com.example.leasing.dto.CarSearchHit;
+
+import java.util.List;
+
+/**
+ * Índice de búsqueda de texto sobre autos (marca, modelo, color y descripción)
+ *
+ * Interfaz para poder cambiar la implementación (trigramas en memoria hoy,
+ * un motor externo mañana) sin tocar CarSearchService.
+ */
+public interface CarSearchIndex {
+
+    /**
+     * Agrega o reemplaza el documento de un auto
+     */
+    void index(Long carId, String brand, String model, String color, String descripcion);
+
+    /**
+     * Quita un auto del índice
+     */
+    void remove(Long carId);
+
+    /**
+     * Vacía el índice
+     */
+    void clear();
+
+    /**
+     * Índice vacío de la misma implementación: CarSearchService lo llena aparte en un
+     * rebuild y después reemplaza al que está atendiendo
+     */
+    CarSearchIndex newEmpty();
+
+    /**
+     * Búsqueda rankeada: cada palabra de la consulta debe coincidir (exacta, prefijo,
+     * substring o con error de tipeo) en alguno de los campos.
+     */
+    List<CarSearchHit> search(String query, int limit);
+
+    int size();
+}
@@ -0,0 +1,111 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.CarEntity;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.dto.CarSearchHit;
+import com.example.leasing.event.CarChangedEvent;
+import com.example.leasing.event.CarsImportedEvent;
+import com.example.leasing.exception.BusinessValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Service de búsqueda de texto sobre autos
+ *
+ * Reemplaza los LIKE '%term%' (que obligan a recorrer toda la tabla) por el
+ * CarSearchIndex en memoria:
+ * - Al arrancar indexa todos los autos
+ * - Después se mantiene con los CarChangedEvent (solo tras el commit)
+ * - Un rebuild llena un índice nuevo (CarSearchIndex.newEmpty) y lo publica entero
+ *   (SwappableIndex): las búsquedas no ven resultados vacíos mientras tanto
+ */
+@Slf4j
+@Service
+public class CarSearchService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    public static final int TYPEAHEAD_LIMIT = 8;
+
+    private final ICarRepo carRepo;
+    private final SwappableIndex<CarSearchIndex> searchIndex;
+
+    public CarSearchService(ICarRepo carRepo, CarSearchIndex searchIndex) {
+        this.carRepo = carRepo;
+        this.searchIndex = new SwappableIndex<>(searchIndex);
+    }
+
+    // ==========================================
+    // CONSULTAS
+    // ==========================================
+
+    /**
+     * Búsqueda rankeada por marca, modelo, color y descripción
+     * @throws BusinessValidationException si el término está vacío
+     */
+    public List<CarSearchHit> search(String term, Integer limit) {
+        if (term == null || term.isBlank()) {
+            throw new BusinessValidationException("El término de búsqueda es obligatorio");
+        }
+        int max = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return searchIndex.current().search(term, max);
+    }
+
+    /**
+     * Sugerencias mientras el usuario escribe (pocas y rápidas)
+     * Un texto vacío devuelve una lista vacía en lugar de error
+     */
+    public List<CarSearchHit> typeahead(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        int max = limit == null || limit <= 0 ? TYPEAHEAD_LIMIT : Math.min(limit, MAX_LIMIT);
+        return searchIndex.current().search(prefix, max);
+    }
+
+    // ==========================================
+    // MANTENIMIENTO DEL ÍNDICE
+    // ==========================================
+
+    /**
+     * Reconstruye el índice completo recorriendo la tabla de autos en streaming
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        int replayed = searchIndex.rebuild(() -> {
+            CarSearchIndex fresh = searchIndex.current().newEmpty();
+            try (Stream<CarEntity> cars = carRepo.streamAll()) {
+                cars.forEach(car -> fresh.index(car.getId(), car.getBrand(), car.getModel(),
+                        car.getColor(), car.getDescripcion()));
+            }
+            return fresh;
+        });
+        log.info("Índice de búsqueda cargado: {} autos, {} cambios durante la carga, en {} ms",
+                searchIndex.current().size(), replayed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        if (event.deleted()) {
+            searchIndex.apply(index -> index.remove(event.carId()));
+        } else {
+            searchIndex.apply(index -> index.index(event.carId(), event.brand(), event.model(), event.color(),
+                    event.descripcion()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsImported(CarsImportedEvent event) {
+        searchIndex.apply(index -> event.cars().forEach(car ->
+                index.index(car.carId(), car.brand(), car.model(), car.color(), car.descripcion())));
+    }
+}
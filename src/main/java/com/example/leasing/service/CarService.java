@@ -0,0 +1,216 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.CarEntity;
+import com.example.leasing.Entity.CarStatusEnum;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.config.CacheConfig;
+import com.example.leasing.dto.CarResponse;
+import com.example.leasing.dto.CursorPage;
+import com.example.leasing.dto.KeysetCursor;
+import com.example.leasing.dto.RatedCarResponse;
+import com.example.leasing.dto.RatedCarView;
+import com.example.leasing.exception.BusinessValidationException;
+import com.example.leasing.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Service para lógica de negocio de Car
+ *
+ * Los listados se devuelven paginados por keyset (CursorPage + nextCursor):
+ * nunca se carga la tabla completa en memoria.
+ */
+@Service
+@RequiredArgsConstructor
+public class CarService {
+
+    // Promedio mínimo para aparecer en "mejor valorados"
+    private static final double TOP_RATED_MIN = 4.0;
+
+    private final ICarRepo carRepo;
+
+    // ==========================================
+    // CRUD BÁSICO (por ID)
+    // ==========================================
+
+    /**
+     * Busca un Car por ID
+     * @throws ResourceNotFoundException si no existe
+     */
+    @Transactional(readOnly = true)
+    public CarEntity findById(Long id) {
+        return carRepo.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Car", id));
+    }
+
+    /**
+     * Detalle de un auto para la API (near-cache, se invalida con CarChangedEvent)
+     * @throws ResourceNotFoundException si no existe
+     */
+    @Cacheable(cacheNames = CacheConfig.CARS, key = "#id")
+    @Transactional(readOnly = true)
+    public CarResponse getCar(Long id) {
+        return CarResponse.from(findById(id));
+    }
+
+    // ==========================================
+    // LISTADOS PAGINADOS (keyset)
+    // ==========================================
+
+    /**
+     * Búsqueda combinada (marca, modelo, rango de precio, estado) ordenada por precio
+     * Los autos sin precio por día no aparecen (no se pueden cotizar ni reservar)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CarResponse> searchCars(String brand, String model,
+                                              BigDecimal minPrice, BigDecimal maxPrice,
+                                              CarStatusEnum status,
+                                              String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<CarEntity> rows = carRepo.searchCarsAfter(
+                blankToNull(brand), blankToNull(model), minPrice, maxPrice, status,
+                KeysetCursor.priceAfter(after), KeysetCursor.idAfter(after), limit(pageSize));
+        return byPrice(rows, pageSize);
+    }
+
+    /**
+     * Autos filtrados por rango de precio, ordenados por precio
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CarResponse> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice,
+                                                    String cursor, Integer size) {
+        if (minPrice == null || maxPrice == null || minPrice.compareTo(maxPrice) > 0) {
+            throw new BusinessValidationException("Rango de precios inválido");
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<CarEntity> rows = carRepo.findByPriceRangeAfter(
+                minPrice, maxPrice, KeysetCursor.priceAfter(after), KeysetCursor.idAfter(after), limit(pageSize));
+        return byPrice(rows, pageSize);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.AVAILABLE_CARS, key = "#cursor + ':' + #size")
+    @Transactional(readOnly = true)
+    public CursorPage<CarResponse> findAvailableCars(String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        return byId(carRepo.findAvailableCarsAfter(KeysetCursor.idAfter(after), limit(pageSize)), pageSize);
+    }
+
+    // La clave empieza con el ownerId: CatalogCacheService invalida por owner
+    @Cacheable(cacheNames = CacheConfig.CARS_BY_OWNER, key = "#ownerId + ':' + #cursor + ':' + #size")
+    @Transactional(readOnly = true)
+    public CursorPage<CarResponse> findByOwnerId(Long ownerId, String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        return byId(carRepo.findByOwnerIdAfter(ownerId, KeysetCursor.idAfter(after), limit(pageSize)), pageSize);
+    }
+
+    /**
+     * Autos con rating promedio >= 4 (desde el resumen desnormalizado)
+     * sort = "average" (default, mayor promedio primero) o "count" (más reviews primero)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<RatedCarResponse> findTopRatedCars(String sort, String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        if ("count".equalsIgnoreCase(sort)) {
+            List<RatedCarView> rows = carRepo.findMostReviewedCarsAfter(TOP_RATED_MIN,
+                    KeysetCursor.countAfter(after), KeysetCursor.idAfter(after), limit(pageSize));
+            return CursorPage.of(rows, pageSize, RatedCarResponse::from,
+                    row -> KeysetCursor.encode(row.reviewCount(), row.car().getId()));
+        }
+        if (sort != null && !sort.isBlank() && !"average".equalsIgnoreCase(sort)) {
+            throw new BusinessValidationException("Orden inválido: usar 'average' o 'count'");
+        }
+        List<RatedCarView> rows = carRepo.findTopRatedCarsAfter(TOP_RATED_MIN,
+                KeysetCursor.ratingAfter(after), KeysetCursor.idAfter(after), limit(pageSize));
+        return CursorPage.of(rows, pageSize, RatedCarResponse::from,
+                row -> KeysetCursor.encode(row.averageRating(), row.car().getId()));
+    }
+
+    // ==========================================
+    // STREAMING (exportaciones)
+    // ==========================================
+
+    /**
+     * Recorre el resultado de la búsqueda combinada fila por fila, sin armar listas
+     * El consumer se ejecuta dentro de la transacción (puede tocar relaciones lazy)
+     */
+    @Transactional(readOnly = true)
+    public void forEachSearchResult(String brand, String model,
+                                    BigDecimal minPrice, BigDecimal maxPrice,
+                                    CarStatusEnum status,
+                                    Consumer<CarEntity> consumer) {
+        try (Stream<CarEntity> cars = carRepo.streamSearchCars(
+                blankToNull(brand), blankToNull(model), minPrice, maxPrice, status)) {
+            cars.forEach(consumer);
+        }
+    }
+
+    /**
+     * Recorre los autos cuyo modelo contiene el texto, en orden de id
+     */
+    @Transactional(readOnly = true)
+    public void forEachByModel(String model, Consumer<CarEntity> consumer) {
+        if (model == null || model.isBlank()) {
+            throw new BusinessValidationException("El modelo es obligatorio");
+        }
+        try (Stream<CarEntity> cars = carRepo.streamByModelContaining(model.trim())) {
+            cars.forEach(consumer);
+        }
+    }
+
+    /**
+     * Recorre los autos con rating promedio >= 4, mayor promedio primero
+     */
+    @Transactional(readOnly = true)
+    public void forEachTopRatedCar(Consumer<RatedCarView> consumer) {
+        try (Stream<RatedCarView> cars = carRepo.streamTopRatedCars(TOP_RATED_MIN)) {
+            cars.forEach(consumer);
+        }
+    }
+
+    /**
+     * Recorre los autos sin reservas confirmadas vigentes, en orden de id
+     */
+    @Transactional(readOnly = true)
+    public void forEachCarWithoutActiveReservations(Consumer<CarEntity> consumer) {
+        try (Stream<CarEntity> cars = carRepo.streamCarsWithoutActiveReservations()) {
+            cars.forEach(consumer);
+        }
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    // Se pide una fila de más para saber si existe la página siguiente
+    private static Pageable limit(int pageSize) {
+        return PageRequest.ofSize(pageSize + 1);
+    }
+
+    private static CursorPage<CarResponse> byId(List<CarEntity> rows, int pageSize) {
+        return CursorPage.of(rows, pageSize, CarResponse::from,
+                car -> KeysetCursor.encode(null, car.getId()));
+    }
+
+    private static CursorPage<CarResponse> byPrice(List<CarEntity> rows, int pageSize) {
+        return CursorPage.of(rows, pageSize, CarResponse::from,
+                car -> KeysetCursor.encode(car.getPricePerDay(), car.getId()));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
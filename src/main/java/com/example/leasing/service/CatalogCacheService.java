@@ -0,0 +1,121 @@
+package com.example.leasing.service;
+
+import com.example.leasing.config.CacheConfig;
+import com.example.leasing.dto.CacheStatsResponse;
+import com.example.leasing.dto.CarResponse;
+import com.example.leasing.dto.CursorPage;
+import com.example.leasing.event.CarChangedEvent;
+import com.example.leasing.event.CarsImportedEvent;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service del caché del catálogo de autos (dos niveles)
+ *
+ * - Invalida el near-cache de forma precisa cuando un auto cambia (tras el commit):
+ *   el detalle de ese auto, las páginas de autos ACTIVE y solo las páginas por owner
+ *   que son del owner del auto o que contenían al auto (por si cambió de owner).
+ * - El 2do nivel de Hibernate se invalida solo (Hibernate lo mantiene en cada escritura).
+ * - Expone hits/misses/evictions de ambos niveles.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogCacheService {
+
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // ==========================================
+    // INVALIDACIÓN
+    // ==========================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        Cache cars = cacheManager.getCache(CacheConfig.CARS);
+        if (cars != null) {
+            cars.evict(event.carId());
+        }
+
+        // Cualquier cambio puede mover un auto dentro o fuera del listado de ACTIVE
+        Cache available = cacheManager.getCache(CacheConfig.AVAILABLE_CARS);
+        if (available != null) {
+            available.clear();
+        }
+
+        if (cacheManager.getCache(CacheConfig.CARS_BY_OWNER) instanceof CaffeineCache byOwner) {
+            byOwner.getNativeCache().asMap().entrySet().removeIf(entry ->
+                    isOwnerKey(entry.getKey(), event.ownerId()) || containsCar(entry.getValue(), event.carId()));
+        }
+    }
+
+    /**
+     * Lote de autos nuevos: no pueden estar en el detalle ni en páginas cacheadas, solo
+     * cambian el listado de ACTIVE y las páginas de sus owners (un recorrido por lote)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsImported(CarsImportedEvent event) {
+        Cache available = cacheManager.getCache(CacheConfig.AVAILABLE_CARS);
+        if (available != null) {
+            available.clear();
+        }
+
+        Set<Long> owners = new HashSet<>();
+        event.cars().forEach(car -> owners.add(car.ownerId()));
+        if (cacheManager.getCache(CacheConfig.CARS_BY_OWNER) instanceof CaffeineCache byOwner) {
+            byOwner.getNativeCache().asMap().keySet().removeIf(key ->
+                    owners.stream().anyMatch(ownerId -> isOwnerKey(key, ownerId)));
+        }
+    }
+
+    private static boolean isOwnerKey(Object key, Long ownerId) {
+        return ownerId != null && key instanceof String k && k.startsWith(ownerId + ":");
+    }
+
+    private static boolean containsCar(Object value, Long carId) {
+        return value instanceof CursorPage<?> page && page.items().stream()
+                .anyMatch(item -> item instanceof CarResponse car && carId.equals(car.id()));
+    }
+
+    // ==========================================
+    // ESTADÍSTICAS
+    // ==========================================
+
+    public List<CacheStatsResponse> getStats() {
+        List<CacheStatsResponse> result = new ArrayList<>();
+
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                CacheStats stats = cache.getNativeCache().stats();
+                result.add(new CacheStatsResponse(name, "near", cache.getNativeCache().estimatedSize(),
+                        stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.hitRate()));
+            }
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (statistics.isStatisticsEnabled()) {
+            for (String region : statistics.getSecondLevelCacheRegionNames()) {
+                CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+                long hits = stats.getHitCount();
+                long misses = stats.getMissCount();
+                double hitRate = hits + misses == 0 ? 1.0 : (double) hits / (hits + misses);
+                result.add(new CacheStatsResponse(region, "l2", stats.getElementCountInMemory(),
+                        hits, misses, -1, hitRate));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.ChangeEntityTypeEnum;
+import com.example.leasing.Entity.ChangeLogEntity;
+import com.example.leasing.Entity.ChangeOperationEnum;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.Repository.IChangeLogRepo;
+import com.example.leasing.Repository.IReservationRepo;
+import com.example.leasing.Repository.IReviewRepo;
+import com.example.leasing.dto.ChangeFeedHead;
+import com.example.leasing.dto.ChangeFeedPage;
+import com.example.leasing.dto.ChangeResponse;
+import com.example.leasing.exception.BusinessValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lectura del change feed: "qué cambió después del número X"
+ *
+ * Sincronización incremental para apps y réplicas, en lugar de releer listas completas:
+ * 1. Al empezar: head() → guardar lastSeq y hacer una carga completa
+ * 2. Después, cada tanto: getChanges(after = último next) y aplicar los cambios en orden
+ * 3. Si la respuesta trae resyncRequired, volver a 1
+ *
+ * Cada cambio viene con el estado actual de la entidad (una query IN por tipo, no una por
+ * cambio): la respuesta es proporcional a lo que cambió, no al tamaño del catálogo.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1_000;
+
+    private final ChangeLogService changeLogService;
+    private final IChangeLogRepo changeLogRepo;
+    private final ICarRepo carRepo;
+    private final IReservationRepo reservationRepo;
+    private final IReviewRepo reviewRepo;
+
+    public ChangeFeedHead head() {
+        return changeLogService.head();
+    }
+
+    /**
+     * Cambios con número mayor que after, en orden, de los tipos pedidos (vacío = todos)
+     * @throws BusinessValidationException si after es negativo
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedPage getChanges(long after, Integer size, Set<ChangeEntityTypeEnum> types) {
+        if (after < 0) {
+            throw new BusinessValidationException("El número de cambio no puede ser negativo");
+        }
+        // Todo lo que está hasta head ya está commiteado (ver ChangeLogService)
+        ChangeFeedHead head = changeLogService.head();
+        if (after < head.purgedSeq()) {
+            return new ChangeFeedPage(List.of(), head.lastSeq(), false, true);
+        }
+
+        int limit = pageSize(size);
+        List<ChangeLogEntity> rows = types == null || types.isEmpty() || types.size() == ChangeEntityTypeEnum.values().length
+                ? changeLogRepo.findAfter(after, PageRequest.ofSize(limit + 1))
+                : changeLogRepo.findAfterByTypes(after, types, PageRequest.ofSize(limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<ChangeLogEntity> page = hasMore ? rows.subList(0, limit) : rows;
+
+        Map<ChangeEntityTypeEnum, Map<Long, Object>> current = loadCurrent(page);
+        List<ChangeResponse> changes = new ArrayList<>(page.size());
+        for (ChangeLogEntity row : page) {
+            Object data = row.getOperation() == ChangeOperationEnum.DELETE ? null
+                    : current.getOrDefault(row.getEntityType(), Map.of()).get(row.getEntityId());
+            changes.add(new ChangeResponse(row.getSeq(), row.getEntityType(), row.getEntityId(),
+                    row.getOperation(), row.getChangedAt(), data));
+        }
+
+        // Sin más páginas, el cliente puede saltar hasta head: no hay nada suyo en el medio
+        long next = page.isEmpty() ? after : page.getLast().getSeq();
+        if (!hasMore) {
+            next = Math.max(next, head.lastSeq());
+        }
+        return new ChangeFeedPage(changes, next, hasMore, false);
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    private static int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    // Estado actual de las entidades de la página: una query IN por tipo
+    private Map<ChangeEntityTypeEnum, Map<Long, Object>> loadCurrent(List<ChangeLogEntity> page) {
+        Map<ChangeEntityTypeEnum, Set<Long>> ids = new EnumMap<>(ChangeEntityTypeEnum.class);
+        for (ChangeLogEntity row : page) {
+            if (row.getOperation() == ChangeOperationEnum.UPSERT) {
+                ids.computeIfAbsent(row.getEntityType(), type -> new HashSet<>()).add(row.getEntityId());
+            }
+        }
+        Map<ChangeEntityTypeEnum, Map<Long, Object>> current = new EnumMap<>(ChangeEntityTypeEnum.class);
+        ids.forEach((type, typeIds) -> {
+            Map<Long, Object> byId = new HashMap<>();
+            switch (type) {
+                case CAR -> carRepo.findResponsesByIds(typeIds).forEach(car -> byId.put(car.id(), car));
+                case RESERVATION -> reservationRepo.findResponsesByIds(typeIds)
+                        .forEach(reservation -> byId.put(reservation.id(), reservation));
+                case REVIEW -> reviewRepo.findResponsesByIds(typeIds).forEach(review -> byId.put(review.id(), review));
+            }
+            current.put(type, byId);
+        });
+        return current;
+    }
+}
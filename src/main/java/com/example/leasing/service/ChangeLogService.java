@@ -0,0 +1,284 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.ChangeEntityTypeEnum;
+import com.example.leasing.Entity.ChangeOperationEnum;
+import com.example.leasing.Repository.IChangeLogRepo;
+import com.example.leasing.dto.ChangeFeedHead;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Synchronization;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Change feed: registra los cambios de autos, reservas y reviews en change_log (outbox)
+ *
+ * Durante la transacción los cambios solo se anotan en memoria: los de JPA por
+ * ChangeLogEntityListener, los de escrituras JDBC / UPDATE masivos llamando a recordAll.
+ * Una entidad cambiada varias veces en la transacción cuenta una vez, con la última operación.
+ * Justo antes del commit, después del último flush de Hibernate:
+ * 1. UPDATE de change_log_head: reserva un número por entidad cambiada
+ * 2. INSERT en batch en change_log
+ * 3. UPDATE en batch de updated_at / change_seq de las filas cambiadas
+ * Todo en la transacción del cambio: si hace rollback no queda registro, si commitea sí.
+ *
+ * El lock de la fila de change_log_head dura hasta el commit, así los números se vuelven
+ * visibles en orden de commit (un lector que ve el 11 ya ve el 10). Las transacciones que
+ * escriben solo se ordenan en ese último tramo, y como lo toman después de sus propios
+ * locks de fila no pueden quedar esperándose en círculo.
+ *
+ * Después del commit se sacan del caché de 2do nivel las entidades cambiadas, para que no
+ * queden con updated_at / change_seq viejos.
+ */
+@Slf4j
+@Service
+public class ChangeLogService {
+
+    private static final String HEAD_SQL = "SELECT last_seq, purged_seq FROM change_log_head WHERE id = 1";
+    private static final String ADVANCE_HEAD_SQL = "UPDATE change_log_head SET last_seq = last_seq + ? WHERE id = 1";
+    private static final String LAST_SEQ_SQL = "SELECT last_seq FROM change_log_head WHERE id = 1";
+    private static final String PURGED_SQL = "UPDATE change_log_head SET purged_seq = GREATEST(purged_seq, ?) WHERE id = 1";
+    private static final String INSERT_SQL =
+            "INSERT INTO change_log (seq, entity_type, entity_id, operation, changed_at) VALUES (?, ?, ?, ?, ?)";
+
+    // Entidades con @Cache (caché de 2do nivel de Hibernate)
+    private static final Set<ChangeEntityTypeEnum> CACHED = EnumSet.of(ChangeEntityTypeEnum.CAR, ChangeEntityTypeEnum.REVIEW);
+
+    // Clave de los cambios pendientes de la transacción en TransactionSynchronizationManager
+    private final Object resourceKey = new Object();
+
+    private final IChangeLogRepo changeLogRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int purgeBatchSize;
+    private final Counter recordedCounter;
+    private final Counter purgedCounter;
+
+    public ChangeLogService(IChangeLogRepo changeLogRepo,
+                            JdbcTemplate jdbcTemplate,
+                            EntityManager entityManager,
+                            EntityManagerFactory entityManagerFactory,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${leasing.changes.retention:7d}") Duration retention,
+                            @Value("${leasing.changes.purge-batch-size:5000}") int purgeBatchSize) {
+        this.changeLogRepo = changeLogRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.purgeBatchSize = purgeBatchSize;
+        this.recordedCounter = Counter.builder("leasing.changes.recorded")
+                .description("Cambios escritos en change_log")
+                .register(meterRegistry);
+        this.purgedCounter = Counter.builder("leasing.changes.purged")
+                .description("Cambios borrados de change_log por retención")
+                .register(meterRegistry);
+    }
+
+    // ==========================================
+    // REGISTRO (dentro de la transacción del cambio)
+    // ==========================================
+
+    /**
+     * Anota el cambio de una entidad; se escribe en change_log al commitear la transacción actual
+     * @throws IllegalStateException si no hay una transacción activa
+     */
+    public void record(ChangeEntityTypeEnum type, Long id, ChangeOperationEnum operation) {
+        pendingChanges().put(new EntityKey(type, id), operation);
+    }
+
+    /**
+     * Igual que record, para escrituras masivas (JDBC o UPDATE por IDs)
+     */
+    public void recordAll(ChangeEntityTypeEnum type, Collection<Long> ids, ChangeOperationEnum operation) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<EntityKey, ChangeOperationEnum> pending = pendingChanges();
+        for (Long id : ids) {
+            pending.put(new EntityKey(type, id), operation);
+        }
+    }
+
+    /**
+     * Último número commiteado y hasta dónde se borró el log (lectura sin lock)
+     */
+    public ChangeFeedHead head() {
+        return jdbcTemplate.queryForObject(HEAD_SQL,
+                (rs, rowNum) -> new ChangeFeedHead(rs.getLong("last_seq"), rs.getLong("purged_seq")));
+    }
+
+    // ==========================================
+    // RETENCIÓN
+    // ==========================================
+
+    @Scheduled(cron = "${leasing.changes.purge-cron:0 0 5 * * *}")
+    public void scheduledPurge() {
+        long purged = purge(LocalDateTime.now().minus(retention));
+        log.info("Change feed: {} cambios anteriores a {} borrados", purged, retention);
+    }
+
+    /**
+     * Borra los cambios anteriores a cutoff, en lotes (una transacción por lote)
+     * Un cliente que pida cambios desde un número ya borrado recibe resyncRequired
+     * @return cuántos borró
+     */
+    public long purge(LocalDateTime cutoff) {
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> purgeBatch(cutoff));
+            purged += deleted;
+        } while (deleted > 0);
+        purgedCounter.increment(purged);
+        return purged;
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    private record EntityKey(ChangeEntityTypeEnum type, Long id) {
+    }
+
+    /**
+     * Cambios pendientes de la transacción actual. La primera vez se registra en Hibernate
+     * (escribir antes del commit) y en Spring (caché al commitear, suspensión y limpieza).
+     */
+    @SuppressWarnings("unchecked")
+    private Map<EntityKey, ChangeOperationEnum> pendingChanges() {
+        Map<EntityKey, ChangeOperationEnum> pending =
+                (Map<EntityKey, ChangeOperationEnum>) TransactionSynchronizationManager.getResource(resourceKey);
+        if (pending != null) {
+            return pending;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Los cambios del change feed se registran dentro de una transacción");
+        }
+        Map<EntityKey, ChangeOperationEnum> changes = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(resourceKey, changes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(resourceKey);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(resourceKey, changes);
+            }
+
+            @Override
+            public void afterCommit() {
+                evictCached(changes);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+            }
+        });
+        // Hibernate llama a beforeCompletion después de su último flush: ya se anotaron todos
+        // los cambios y ya tomó sus locks de fila (incluidos los OPTIMISTIC_FORCE_INCREMENT)
+        entityManager.unwrap(Session.class).getTransaction().registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                write(changes);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+            }
+        });
+        return changes;
+    }
+
+    private void write(Map<EntityKey, ChangeOperationEnum> changes) {
+        Map<ChangeEntityTypeEnum, List<Long>> upserted = new EnumMap<>(ChangeEntityTypeEnum.class);
+        changes.forEach((key, operation) -> {
+            if (operation == ChangeOperationEnum.UPSERT) {
+                upserted.computeIfAbsent(key.type(), type -> new ArrayList<>()).add(key.id());
+            }
+        });
+        // Primero los locks de las filas a actualizar (casi siempre ya son de esta transacción;
+        // no en un UPDATE masivo que no tocó alguna), recién después el de change_log_head
+        upserted.forEach(this::lockRows);
+
+        int count = changes.size();
+        jdbcTemplate.update(ADVANCE_HEAD_SQL, count);
+        long seq = jdbcTemplate.queryForObject(LAST_SEQ_SQL, Long.class) - count;
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> rows = new ArrayList<>(count);
+        Map<ChangeEntityTypeEnum, List<Object[]>> updates = new EnumMap<>(ChangeEntityTypeEnum.class);
+        for (Map.Entry<EntityKey, ChangeOperationEnum> change : changes.entrySet()) {
+            seq++;
+            EntityKey key = change.getKey();
+            rows.add(new Object[]{seq, key.type().name(), key.id(), change.getValue().name(), now});
+            if (change.getValue() == ChangeOperationEnum.UPSERT) {
+                updates.computeIfAbsent(key.type(), type -> new ArrayList<>()).add(new Object[]{now, seq, key.id()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        updates.forEach((type, args) -> jdbcTemplate.batchUpdate(
+                "UPDATE " + type.getTable() + " SET updated_at = ?, change_seq = ? WHERE id = ?", args));
+        recordedCounter.increment(count);
+    }
+
+    private void lockRows(ChangeEntityTypeEnum type, List<Long> ids) {
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.queryForList("SELECT id FROM " + type.getTable() + " WHERE id IN (" + placeholders + ") FOR UPDATE",
+                Long.class, ids.toArray());
+    }
+
+    private void evictCached(Map<EntityKey, ChangeOperationEnum> changes) {
+        Cache cache = entityManagerFactory.getCache();
+        for (EntityKey key : changes.keySet()) {
+            if (CACHED.contains(key.type())) {
+                cache.evict(key.type().getEntityClass(), key.id());
+            }
+        }
+    }
+
+    // Borra primero y mueve purged_seq al final: el lock de change_log_head dura lo mínimo
+    private int purgeBatch(LocalDateTime cutoff) {
+        long purgedSeq = head().purgedSeq();
+        List<Long> seqs = changeLogRepo.findSeqsChangedBefore(purgedSeq, cutoff, PageRequest.ofSize(purgeBatchSize));
+        if (seqs.isEmpty()) {
+            return 0;
+        }
+        long upTo = seqs.getLast();
+        int deleted = changeLogRepo.deleteRange(purgedSeq, upTo);
+        jdbcTemplate.update(PURGED_SQL, upTo);
+        return deleted;
+    }
+}
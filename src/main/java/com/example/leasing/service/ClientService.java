@@ -1,16 +1,26 @@
 package com.example.leasing.service;
 
 import com.example.leasing.Entity.ClientEntity;
-import com.example.leasing.Entity.UserEntity;
 import com.example.leasing.Repository.IClientRepo;
 import com.example.leasing.Repository.IUserRepo;
+import com.example.leasing.dto.BatchItemResult;
+import com.example.leasing.dto.BatchResponse;
+import com.example.leasing.dto.ClientBatchResponse;
+import com.example.leasing.dto.ClientResponse;
 import com.example.leasing.exception.BusinessValidationException;
 import com.example.leasing.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Service para lógica de negocio de Client
@@ -24,8 +34,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ClientService {
 
+    public static final int MAX_BATCH_SIZE = 1_000;
+    private static final String UPDATE_SQL = "UPDATE clients SET first_name = ?, last_name = ?, phone = ?, " +
+            "version = version + 1 WHERE id = ? AND version = ?";
+
     private final IClientRepo clientRepo;
     private final IUserRepo userRepo;
+    private final JdbcTemplate jdbcTemplate;
 
     // ==========================================
     // BÚSQUEDA POR EMAIL
@@ -36,9 +51,8 @@ public class ClientService {
      * @throws ResourceNotFoundException si no existe
      */
     @Transactional(readOnly = true)
-    public ClientEntity getClientByEmail(String email) {
-        return userRepo.findByEmailWithClient(email)
-                .map(UserEntity::getClient)
+    public ClientResponse getClientByEmail(String email) {
+        return userRepo.findClientResponseByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Client with email " + email));
     }
 
@@ -57,11 +71,21 @@ public class ClientService {
     }
 
     /**
-     * Obtiene todos los Clients
+     * Detalle de un Client para la API (proyección, una sola query)
+     * @throws ResourceNotFoundException si no existe
      */
     @Transactional(readOnly = true)
-    public List<ClientEntity> findAll() {
-        return clientRepo.findAll();
+    public ClientResponse getClient(Long id) {
+        return clientRepo.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Client", id));
+    }
+
+    /**
+     * Obtiene todos los Clients (proyección: una sola query, sin N+1 por el usuario)
+     */
+    @Transactional(readOnly = true)
+    public List<ClientResponse> findAll() {
+        return clientRepo.findAllResponses();
     }
 
     /**
@@ -69,9 +93,9 @@ public class ClientService {
      * @throws BusinessValidationException si los datos son inválidos
      */
     @Transactional
-    public ClientEntity save(ClientEntity client) {
+    public ClientResponse save(ClientEntity client) {
         validateClient(client);
-        return clientRepo.save(client);
+        return ClientResponse.from(clientRepo.save(client));
     }
 
     /**
@@ -79,7 +103,7 @@ public class ClientService {
      * Solo actualiza campos no nulos
      */
     @Transactional
-    public ClientEntity update(Long id, ClientEntity updatedData) {
+    public ClientResponse update(Long id, ClientEntity updatedData) {
         ClientEntity existing = findById(id);
         
         // Actualiza solo campos no nulos
@@ -93,7 +117,7 @@ public class ClientService {
             existing.setPhone(updatedData.getPhone());
         }
         
-        return clientRepo.save(existing);
+        return ClientResponse.from(clientRepo.save(existing));
     }
 
     /**
@@ -107,10 +131,178 @@ public class ClientService {
         clientRepo.deleteById(id);
     }
 
+    // ==========================================
+    // OPERACIONES EN LOTE (sincronizaciones del front office y de partners)
+    // ==========================================
+
+    /**
+     * Multi-get: una sola query IN para todos los IDs
+     * Devuelve los clientes en el orden pedido (sin repetir) y aparte los IDs que no existen
+     * @throws BusinessValidationException si la lista está vacía o es muy grande
+     */
+    @Transactional(readOnly = true)
+    public ClientBatchResponse getClients(List<Long> ids) {
+        requireBatchSize(ids);
+        Set<Long> requested = new LinkedHashSet<>();
+        ids.stream().filter(Objects::nonNull).forEach(requested::add);
+
+        Map<Long, ClientResponse> found = new HashMap<>();
+        clientRepo.findResponsesByIds(requested).forEach(client -> found.put(client.id(), client));
+
+        List<ClientResponse> clients = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            ClientResponse client = found.get(id);
+            if (client != null) {
+                clients.add(client);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new ClientBatchResponse(clients, missingIds);
+    }
+
+    /**
+     * Alta en lote, con resultado por ítem
+     * - Cada cliente se valida con validateClient; los inválidos se informan y no frenan al resto
+     * - Los válidos se insertan en batch (IDs por secuencia, hibernate.jdbc.batch_size)
+     * @throws BusinessValidationException si la lista está vacía o es muy grande
+     */
+    @Transactional
+    public BatchResponse<ClientResponse> createAll(List<ClientEntity> clients) {
+        requireBatchSize(clients);
+        List<BatchItemResult<ClientResponse>> results = new ArrayList<>(clients.size());
+        List<ClientEntity> valid = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < clients.size(); i++) {
+            ClientEntity client = clients.get(i);
+            String error = validationError(client);
+            results.add(error == null ? null : BatchItemResult.failed(i, null, error));
+            if (error == null) {
+                client.setId(null); // Siempre es un alta: el ID lo da la secuencia
+                valid.add(client);
+                validIndexes.add(i);
+            }
+        }
+
+        List<ClientEntity> saved = clientRepo.saveAll(valid);
+        for (int k = 0; k < saved.size(); k++) {
+            int index = validIndexes.get(k);
+            ClientEntity client = saved.get(k);
+            results.set(index, BatchItemResult.ok(index, client.getId(), ClientResponse.from(client)));
+        }
+        return BatchResponse.of(results);
+    }
+
+    /**
+     * Actualización parcial en lote (igual que update: solo campos no nulos ni vacíos)
+     * - Los clientes actuales se leen con una query IN (proyección: sin el OneToOne con el usuario,
+     *   que cargando entidades costaría una query por cliente)
+     * - Cada cliente ya combinado se valida con validateClient; los que fallan o no existen
+     *   se informan y no frenan al resto
+     * - Los cambios salen en un solo batch JDBC de UPDATEs con control optimista
+     *   (WHERE version = ?): la versión es la que manda el cliente o, si no manda ninguna, la
+     *   leída en la query IN. Un UPDATE que no toca ninguna fila es un conflicto: otra
+     *   operación cambió el cliente en el medio, y el ítem se informa como fallido
+     * @throws BusinessValidationException si la lista está vacía o es muy grande
+     */
+    @Transactional
+    public BatchResponse<ClientResponse> updateAll(List<ClientEntity> changes) {
+        requireBatchSize(changes);
+        Set<Long> ids = new LinkedHashSet<>();
+        changes.stream().filter(Objects::nonNull).map(ClientEntity::getId).filter(Objects::nonNull).forEach(ids::add);
+        Map<Long, ClientResponse> current = new HashMap<>();
+        clientRepo.findResponsesByIds(ids).forEach(client -> current.put(client.id(), client));
+
+        List<BatchItemResult<ClientResponse>> results = new ArrayList<>(changes.size());
+        List<Object[]> rows = new ArrayList<>();
+        List<Integer> rowIndexes = new ArrayList<>();
+        for (int i = 0; i < changes.size(); i++) {
+            ClientEntity change = changes.get(i);
+            Long id = change != null ? change.getId() : null;
+            if (id == null) {
+                results.add(BatchItemResult.failed(i, null, "El ID del cliente es obligatorio"));
+                continue;
+            }
+            ClientResponse existing = current.get(id);
+            if (existing == null) {
+                results.add(BatchItemResult.failed(i, id, "Client con ID " + id + " no encontrado"));
+                continue;
+            }
+            if (change.getVersion() != null && !change.getVersion().equals(existing.version())) {
+                results.add(BatchItemResult.failed(i, id, conflictMessage(id)));
+                continue;
+            }
+            ClientEntity merged = ClientEntity.builder()
+                    .id(id)
+                    .firstName(valueOrCurrent(change.getFirstName(), existing.firstName()))
+                    .lastName(valueOrCurrent(change.getLastName(), existing.lastName()))
+                    .phone(valueOrCurrent(change.getPhone(), existing.phone()))
+                    .version(existing.version() + 1)
+                    .build();
+            String error = validationError(merged);
+            if (error != null) {
+                results.add(BatchItemResult.failed(i, id, error));
+                continue;
+            }
+            // Si el mismo ID viene dos veces, el segundo cambio se combina sobre el primero
+            ClientResponse updated = ClientResponse.from(merged);
+            current.put(id, updated);
+            rows.add(new Object[]{merged.getFirstName(), merged.getLastName(), merged.getPhone(), id, existing.version()});
+            rowIndexes.add(i);
+            results.add(BatchItemResult.ok(i, id, updated));
+        }
+
+        if (!rows.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+            for (int k = 0; k < counts.length; k++) {
+                // 0 = la versión ya no era esa (SUCCESS_NO_INFO, si el driver no informa, cuenta como ok)
+                if (counts[k] == 0) {
+                    int index = rowIndexes.get(k);
+                    results.set(index, BatchItemResult.failed(index, results.get(index).id(),
+                            conflictMessage(results.get(index).id())));
+                }
+            }
+        }
+        return BatchResponse.of(results);
+    }
+
     // ==========================================
     // VALIDACIONES PRIVADAS
     // ==========================================
 
+    private static String conflictMessage(Long id) {
+        return "Client con ID " + id + " fue modificado por otra operación, vuelva a leerlo";
+    }
+
+    private static void requireBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BusinessValidationException("La lista de clientes está vacía");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new BusinessValidationException("Máximo " + MAX_BATCH_SIZE + " clientes por request");
+        }
+    }
+
+    /**
+     * validateClient para lotes: el motivo del rechazo en vez de la excepción (null si es válido)
+     */
+    private String validationError(ClientEntity client) {
+        if (client == null) {
+            return "El cliente es obligatorio";
+        }
+        try {
+            validateClient(client);
+            return null;
+        } catch (BusinessValidationException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    private static String valueOrCurrent(String value, String current) {
+        return value != null && !value.isEmpty() ? value : current;
+    }
+
     /**
      * Valida que un Client tenga datos completos
      */
@@ -0,0 +1,79 @@
+package com.example.leasing.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Alta de filas de contadores (resumen de rating, rollup diario) que después se
+ * actualizan con SELECT ... FOR UPDATE
+ *
+ * Buscar la fila y hacer save() si no está no alcanza: dos transacciones que crean la
+ * misma fila a la vez no la ven, y la segunda falla por clave duplicada. Acá la
+ * segunda espera el commit de la primera y sigue. El SQL depende de la base, como las
+ * migraciones (db/migration/{vendor}):
+ * - MySQL: INSERT ... ON DUPLICATE KEY UPDATE (lock exclusivo, sin el deadlock del
+ *   INSERT que falla con lock compartido y después pide FOR UPDATE)
+ * - H2: INSERT, ignorando la clave duplicada (el error no invalida la transacción)
+ */
+@Component
+@RequiredArgsConstructor
+class CounterRows {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean mysql;
+
+    /**
+     * Inserta la fila si no existe; no falla si otra transacción la creó (o la está creando)
+     * @param insertSql INSERT INTO tabla (...) VALUES (...) con la PK completa
+     * @param keyColumn una columna de la PK (para el UPDATE sin cambios de MySQL)
+     */
+    void insertIfAbsent(String insertSql, String keyColumn, Object... args) {
+        if (isMySql()) {
+            jdbcTemplate.update(insertSql + " ON DUPLICATE KEY UPDATE " + keyColumn + " = " + keyColumn, args);
+            return;
+        }
+        try {
+            jdbcTemplate.update(insertSql, args);
+        } catch (DuplicateKeyException alreadyCreated) {
+            // La creó otra transacción: alcanza con que exista
+        }
+    }
+
+    /**
+     * Igual que insertIfAbsent, en un batch JDBC (backfill de muchas filas)
+     * En H2 un duplicado hace fallar el batch: se repite fila por fila ignorando los que ya
+     * estén (según el driver llega como BatchUpdateException, por eso el catch más amplio)
+     */
+    void insertAllIfAbsent(String insertSql, String keyColumn, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (isMySql()) {
+            jdbcTemplate.batchUpdate(insertSql + " ON DUPLICATE KEY UPDATE " + keyColumn + " = " + keyColumn, rows);
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(insertSql, rows);
+        } catch (DataIntegrityViolationException alreadyCreated) {
+            rows.forEach(args -> insertIfAbsent(insertSql, keyColumn, args));
+        }
+    }
+
+    private boolean isMySql() {
+        Boolean result = mysql;
+        if (result == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            result = product != null && product.toLowerCase(Locale.ROOT).matches(".*(mysql|mariadb).*");
+            mysql = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.CarEntity;
+import com.example.leasing.Entity.ReservationEntity;
+import com.example.leasing.Entity.ReviewEntity;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.Repository.IReservationArchiveRepo;
+import com.example.leasing.Repository.IReservationRepo;
+import com.example.leasing.Repository.IReviewRepo;
+import com.example.leasing.dto.CarResponse;
+import com.example.leasing.dto.ReservationResponse;
+import com.example.leasing.dto.ReviewResponse;
+import com.example.leasing.export.ExportFormat;
+import com.example.leasing.export.RowWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Service de exportaciones (NDJSON / CSV) para los procesos nocturnos de contabilidad
+ *
+ * Memoria constante sin importar la cantidad de filas:
+ * - Lee con los streams de los repositorios (cursor forward-only con fetch size 500)
+ * - Cada fila se escribe directo al stream de salida, sin armar listas
+ * - Cada CLEAR_EVERY filas vacía el contexto de persistencia (si no, retiene todas las
+ *   entidades leídas hasta el final de la transacción)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    // Igual al fetch size de los streams: se libera lo de cada tanda antes de leer la siguiente
+    private static final int CLEAR_EVERY = 500;
+
+    private final ICarRepo carRepo;
+    private final IReservationRepo reservationRepo;
+    private final IReservationArchiveRepo archiveRepo;
+    private final IReviewRepo reviewRepo;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Todos los autos, por ID
+     * @return cantidad de filas escritas
+     */
+    @Transactional(readOnly = true)
+    public long exportCars(ExportFormat format, OutputStream out) throws IOException {
+        RowWriter<CarResponse> writer = format.writer(CarResponse.class, out, objectMapper);
+        try (Stream<CarEntity> cars = carRepo.streamAll()) {
+            return finish("cars", writer, copy(cars, CarResponse::from, writer));
+        }
+    }
+
+    /**
+     * Todas las reservas, por ID; con includeArchived suma después las de reservations_archive
+     * @return cantidad de filas escritas
+     */
+    @Transactional(readOnly = true)
+    public long exportReservations(ExportFormat format, boolean includeArchived, OutputStream out) throws IOException {
+        RowWriter<ReservationResponse> writer = format.writer(ReservationResponse.class, out, objectMapper);
+        long rows;
+        try (Stream<ReservationEntity> reservations = reservationRepo.streamAll()) {
+            rows = copy(reservations, ReservationResponse::from, writer);
+        }
+        if (includeArchived) {
+            try (Stream<ReservationResponse> archived = archiveRepo.streamAllResponses()) {
+                rows += copy(archived, Function.identity(), writer);
+            }
+        }
+        return finish("reservations", writer, rows);
+    }
+
+    /**
+     * Todas las reviews, por ID
+     * @return cantidad de filas escritas
+     */
+    @Transactional(readOnly = true)
+    public long exportReviews(ExportFormat format, OutputStream out) throws IOException {
+        RowWriter<ReviewResponse> writer = format.writer(ReviewResponse.class, out, objectMapper);
+        try (Stream<ReviewEntity> reviews = reviewRepo.streamAll()) {
+            return finish("reviews", writer, copy(reviews, ReviewResponse::from, writer));
+        }
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    private <E, T> long copy(Stream<E> rows, Function<E, T> mapper, RowWriter<T> writer) throws IOException {
+        long count = 0;
+        Iterator<E> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            writer.write(mapper.apply(iterator.next()));
+            if (++count % CLEAR_EVERY == 0) {
+                entityManager.clear();
+            }
+        }
+        return count;
+    }
+
+    private static long finish(String name, RowWriter<?> writer, long rows) throws IOException {
+        writer.flush();
+        log.info("Exportación de {}: {} filas", name, rows);
+        return rows;
+    }
+}
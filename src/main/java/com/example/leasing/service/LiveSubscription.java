@@ -0,0 +1,151 @@
+package com.example.leasing.service;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Una conexión SSE suscripta a autos y/o clientes (ver LiveUpdateService)
+ *
+ * Los eventos no se escriben en el hilo que los produce: se encolan acá y un virtual
+ * thread los manda. Mientras hay un envío en curso, un evento con la misma clave (mismo
+ * auto, misma reserva) reemplaza al pendiente: a un cliente lento le llega el último
+ * estado, no toda la historia. Si igual se juntan más de maxPending claves distintas, la
+ * conexión se cierra con un evento "resync" y el cliente recarga la página.
+ */
+final class LiveSubscription {
+
+    static final LiveEvent HEARTBEAT = new LiveEvent("heartbeat", null, null);
+
+    /**
+     * @param key clave de coalescencia (ej. "car:12"): el pendiente con la misma clave se reemplaza
+     * @param name nombre del evento SSE (null = comentario, solo para mantener viva la conexión)
+     */
+    record LiveEvent(String key, String name, Object data) {
+    }
+
+    private final SseEmitter emitter;
+    private final Set<Long> carIds;
+    private final Set<Long> clientIds;
+    private final int maxPending;
+    private final Lock lock = new ReentrantLock();
+    private Map<String, LiveEvent> pending = new LinkedHashMap<>();
+    private boolean draining;
+    private boolean overflowed;
+    private boolean closed;
+
+    LiveSubscription(SseEmitter emitter, Set<Long> carIds, Set<Long> clientIds, int maxPending) {
+        this.emitter = emitter;
+        this.carIds = carIds;
+        this.clientIds = clientIds;
+        this.maxPending = maxPending;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    Set<Long> carIds() {
+        return carIds;
+    }
+
+    Set<Long> clientIds() {
+        return clientIds;
+    }
+
+    /**
+     * Encola un evento (no bloquea ni escribe en la conexión)
+     * @return true si hay que programar drain(): no había un envío en curso
+     */
+    boolean offer(LiveEvent event) {
+        lock.lock();
+        try {
+            if (closed || overflowed) {
+                return false;
+            }
+            pending.put(event.key(), event);
+            if (pending.size() > maxPending) {
+                overflowed = true;
+                pending.clear();
+            }
+            if (draining) {
+                return false;
+            }
+            draining = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Manda lo pendiente hasta vaciar la cola (lo que llega mientras tanto también)
+     * @return cuántos eventos mandó
+     */
+    int drain() {
+        int sent = 0;
+        while (true) {
+            Collection<LiveEvent> batch;
+            boolean overflow;
+            lock.lock();
+            try {
+                if (closed || (!overflowed && pending.isEmpty())) {
+                    draining = false;
+                    return sent;
+                }
+                overflow = overflowed;
+                batch = pending.values();
+                pending = new LinkedHashMap<>();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                if (overflow) {
+                    emitter.send(SseEmitter.event().name("resync").data("Demasiados eventos pendientes"));
+                    close();
+                    emitter.complete();
+                    return sent;
+                }
+                for (LiveEvent event : batch) {
+                    emitter.send(event.name() == null
+                            ? SseEmitter.event().comment(event.key())
+                            : SseEmitter.event().name(event.name()).data(event.data(), MediaType.APPLICATION_JSON));
+                    sent++;
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Conexión cortada o ya completada: el contenedor avisa al emitter (onError / onCompletion)
+                close();
+                return sent;
+            }
+        }
+    }
+
+    boolean isOverflowed() {
+        lock.lock();
+        try {
+            return overflowed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deja de aceptar eventos (la conexión terminó)
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.leasing.service;
+
+import com.example.leasing.dto.LiveCarSlot;
+import com.example.leasing.dto.LiveCarStatus;
+import com.example.leasing.dto.LiveReservationStatus;
+import com.example.leasing.event.CarChangedEvent;
+import com.example.leasing.event.CarsImportedEvent;
+import com.example.leasing.event.ReservationStatusChangedEvent;
+import com.example.leasing.exception.BusinessValidationException;
+import com.example.leasing.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Suscripciones en vivo (SSE): disponibilidad de autos y estado de reservas de clientes
+ *
+ * En lugar de recargar la página del auto para ver si sigue libre, el cliente abre
+ * GET /api/live?cars=... y recibe los cambios a medida que se commitean:
+ * - "car-status": el auto cambió de estado o se eliminó
+ * - "car-slot": una franja del auto se ocupó o se liberó (reserva nueva, o que se cancela o vence)
+ * - "reservation": una reserva de un cliente suscripto se creó o cambió de estado
+ *
+ * Los eventos salen de los mismos CarChangedEvent / ReservationStatusChangedEvent que
+ * mantienen los índices en memoria (solo tras el commit). El hilo que commitea solo busca
+ * las suscripciones en los índices por auto y por cliente y encola; el envío lo hace un
+ * virtual thread por conexión con algo pendiente (ver LiveSubscription: coalescencia por
+ * clave y corte con "resync" si un cliente no da abasto).
+ *
+ * Una suscripción ociosa no ocupa ningún hilo (servlet asíncrono): solo el emitter, sus
+ * IDs y un lugar en los índices. Un comentario cada leasing.live.heartbeat mantiene viva
+ * la conexión a través de proxies y detecta las que se cortaron.
+ *
+ * Una franja está ocupada mientras la reserva está PENDING o CONFIRMED, igual que al
+ * reservar (existsOverlapping): confirmar no la cambia, cancelar o vencer la libera.
+ * ReservationExpiryService publica un evento por cada PENDING que vence.
+ */
+@Service
+public class LiveUpdateService {
+
+    public static final int MAX_CARS_PER_CONNECTION = 100;
+    public static final int MAX_CLIENTS_PER_CONNECTION = 10;
+
+    private final Map<Long, Set<LiveSubscription>> byCar = new ConcurrentHashMap<>();
+    private final Map<Long, Set<LiveSubscription>> byClient = new ConcurrentHashMap<>();
+    private final Set<LiveSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("live-sse-", 0).factory());
+    private final Duration timeout;
+    private final int maxConnections;
+    private final int maxPending;
+    private final Counter sentCounter;
+    private final Counter overflowCounter;
+
+    public LiveUpdateService(MeterRegistry meterRegistry,
+                             @Value("${leasing.live.timeout:30m}") Duration timeout,
+                             @Value("${leasing.live.max-connections:40000}") int maxConnections,
+                             @Value("${leasing.live.max-pending:256}") int maxPending) {
+        this.timeout = timeout;
+        this.maxConnections = maxConnections;
+        this.maxPending = maxPending;
+        Gauge.builder("leasing.live.connections", subscriptions, Set::size)
+                .description("Conexiones SSE abiertas")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("leasing.live.events")
+                .description("Eventos SSE enviados")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("leasing.live.overflows")
+                .description("Conexiones SSE cerradas por acumular demasiados eventos pendientes")
+                .register(meterRegistry);
+    }
+
+    // ==========================================
+    // SUSCRIPCIONES
+    // ==========================================
+
+    /**
+     * Abre una suscripción a los autos y clientes indicados (al menos uno)
+     * El primer evento es "ready": desde ahí no se pierde ningún cambio
+     * @throws BusinessValidationException si no hay IDs o son demasiados
+     * @throws ServiceOverloadedException si el nodo ya tiene leasing.live.max-connections abiertas
+     */
+    public SseEmitter subscribe(Set<Long> carIds, Set<Long> clientIds) {
+        Set<Long> cars = carIds == null ? Set.of() : Set.copyOf(carIds);
+        Set<Long> clients = clientIds == null ? Set.of() : Set.copyOf(clientIds);
+        if (cars.isEmpty() && clients.isEmpty()) {
+            throw new BusinessValidationException("Indicar al menos un auto (cars) o un cliente (clients)");
+        }
+        if (cars.size() > MAX_CARS_PER_CONNECTION || clients.size() > MAX_CLIENTS_PER_CONNECTION) {
+            throw new BusinessValidationException("Máximo " + MAX_CARS_PER_CONNECTION + " autos y "
+                    + MAX_CLIENTS_PER_CONNECTION + " clientes por suscripción");
+        }
+        if (subscriptions.size() >= maxConnections) {
+            throw new ServiceOverloadedException("Demasiadas suscripciones en vivo, intente nuevamente en unos segundos");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        LiveSubscription subscription = new LiveSubscription(emitter, cars, clients, maxPending);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(ex -> unsubscribe(subscription));
+
+        subscriptions.add(subscription);
+        cars.forEach(carId -> addTo(byCar, carId, subscription));
+        clients.forEach(clientId -> addTo(byClient, clientId, subscription));
+        offer(subscription, new LiveSubscription.LiveEvent("ready", "ready", Map.of("cars", cars, "clients", clients)));
+        return emitter;
+    }
+
+    /**
+     * Comentario periódico: mantiene viva la conexión y descubre las cortadas
+     */
+    @Scheduled(fixedRateString = "${leasing.live.heartbeat:25s}", initialDelayString = "${leasing.live.heartbeat:25s}")
+    public void heartbeat() {
+        subscriptions.forEach(subscription -> offer(subscription, LiveSubscription.HEARTBEAT));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.forEach(subscription -> {
+            subscription.close();
+            subscription.emitter().complete();
+        });
+        senders.shutdownNow();
+    }
+
+    // ==========================================
+    // EVENTOS (solo tras el commit)
+    // ==========================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationStatusChanged(ReservationStatusChangedEvent event) {
+        if (event.holdsSlot() != event.heldSlot()) {
+            publish(byCar, event.carId(), new LiveSubscription.LiveEvent("slot:" + event.reservationId(), "car-slot",
+                    new LiveCarSlot(event.carId(), event.reservationId(), event.startDate(), event.endDate(),
+                            event.holdsSlot())));
+        }
+        publish(byClient, event.clientId(), new LiveSubscription.LiveEvent("reservation:" + event.reservationId(),
+                "reservation", new LiveReservationStatus(event.reservationId(), event.carId(), event.startDate(),
+                        event.endDate(), event.previousStatus(), event.newStatus())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        publish(byCar, event.carId(), new LiveSubscription.LiveEvent("car:" + event.carId(), "car-status",
+                new LiveCarStatus(event.carId(), event.status(), event.isActive())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsImported(CarsImportedEvent event) {
+        if (byCar.isEmpty()) {
+            return;
+        }
+        event.cars().forEach(this::onCarChanged);
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    private void publish(Map<Long, Set<LiveSubscription>> index, Long id, LiveSubscription.LiveEvent event) {
+        if (id == null) {
+            return;
+        }
+        Set<LiveSubscription> targets = index.get(id);
+        if (targets != null) {
+            targets.forEach(subscription -> offer(subscription, event));
+        }
+    }
+
+    private void offer(LiveSubscription subscription, LiveSubscription.LiveEvent event) {
+        if (subscription.offer(event)) {
+            senders.execute(() -> {
+                sentCounter.increment(subscription.drain());
+                if (subscription.isOverflowed()) {
+                    overflowCounter.increment();
+                }
+            });
+        }
+    }
+
+    private void unsubscribe(LiveSubscription subscription) {
+        if (!subscriptions.remove(subscription)) {
+            return;
+        }
+        subscription.close();
+        subscription.carIds().forEach(carId -> removeFrom(byCar, carId, subscription));
+        subscription.clientIds().forEach(clientId -> removeFrom(byClient, clientId, subscription));
+    }
+
+    // compute: agregar y sacar el último de un ID no se pisan
+    private static void addTo(Map<Long, Set<LiveSubscription>> index, Long id, LiveSubscription subscription) {
+        index.compute(id, (key, set) -> {
+            Set<LiveSubscription> target = set == null ? ConcurrentHashMap.newKeySet() : set;
+            target.add(subscription);
+            return target;
+        });
+    }
+
+    private static void removeFrom(Map<Long, Set<LiveSubscription>> index, Long id, LiveSubscription subscription) {
+        index.computeIfPresent(id, (key, set) -> {
+            set.remove(subscription);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
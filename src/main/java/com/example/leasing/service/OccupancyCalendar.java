@@ -0,0 +1,237 @@
+package com.example.leasing.service;
+
+import com.example.leasing.dto.ReservationSlotView;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calendario de ocupación en memoria: un bit por hora por auto
+ *
+ * Cada auto tiene un bitmap por año (long[138] = 8784 horas, ~1,1 KB): el bit h está en 1
+ * si alguna reserva confirmada ocupa esa hora del año. Una reserva marca todas las horas
+ * que toca, redondeando hacia afuera (10:30 a 12:15 ocupa las horas 10, 11 y 12).
+ * Los autos sin reservas en un año no ocupan memoria para ese año.
+ *
+ * Solo guarda los años de la ventana [firstYear, lastYear]; lo que cae afuera se ignora.
+ * Los bitmaps publicados no se modifican: cada cambio copia el del año afectado
+ * (copy-on-write, igual que CarAvailabilityIndex), así las lecturas nunca bloquean.
+ */
+public class OccupancyCalendar {
+
+    public static final int HOURS_PER_DAY = 24;
+    private static final int WORDS_PER_YEAR = (366 * HOURS_PER_DAY + 63) / 64;
+
+    private final Map<CarYear, long[]> bitmaps = new ConcurrentHashMap<>();
+    private final int firstYear;
+    private final int lastYear;
+
+    public OccupancyCalendar(int firstYear, int lastYear) {
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+    }
+
+    // ==========================================
+    // ESCRITURA
+    // ==========================================
+
+    /**
+     * Carga masiva: arma todos los bitmaps aparte y después reemplaza el contenido
+     */
+    public void rebuild(Collection<ReservationSlotView> bookings) {
+        Map<CarYear, long[]> fresh = new HashMap<>();
+        for (ReservationSlotView slot : bookings) {
+            forEachYear(slot.startDate(), slot.endDate(), (year, from, to) -> setBits(
+                    fresh.computeIfAbsent(new CarYear(slot.carId(), year), key -> new long[WORDS_PER_YEAR]),
+                    from, to, true));
+        }
+        bitmaps.clear();
+        bitmaps.putAll(fresh);
+    }
+
+    /**
+     * Marca como ocupadas las horas de [start, end)
+     */
+    public void occupy(Long carId, LocalDateTime start, LocalDateTime end) {
+        forEachYear(start, end, (year, from, to) -> bitmaps.compute(new CarYear(carId, year), (key, current) -> {
+            long[] next = current == null ? new long[WORDS_PER_YEAR] : current.clone();
+            setBits(next, from, to, true);
+            return next;
+        }));
+    }
+
+    /**
+     * Libera las horas de [start, end), aunque otra reserva comparta alguna de ellas
+     * (el que llama vuelve a marcar las reservas vecinas, ver OccupancyService)
+     */
+    public void free(Long carId, LocalDateTime start, LocalDateTime end) {
+        forEachYear(start, end, (year, from, to) -> bitmaps.computeIfPresent(new CarYear(carId, year), (key, current) -> {
+            long[] next = current.clone();
+            setBits(next, from, to, false);
+            return isEmpty(next) ? null : next;
+        }));
+    }
+
+    public void removeCar(Long carId) {
+        bitmaps.keySet().removeIf(key -> key.carId() == carId);
+    }
+
+    public void clear() {
+        bitmaps.clear();
+    }
+
+    // ==========================================
+    // LECTURA
+    // ==========================================
+
+    /**
+     * Horas ocupadas de un día (0 a 24)
+     */
+    public int bookedHours(Long carId, LocalDate day) {
+        return (int) bookedHours(carId, day, day.plusDays(1));
+    }
+
+    /**
+     * Horas ocupadas en los días [from, to)
+     */
+    public long bookedHours(Long carId, LocalDate from, LocalDate to) {
+        long[] total = { 0 };
+        forEachYear(from.atStartOfDay(), to.atStartOfDay(), (year, fromBit, toBit) -> {
+            long[] bits = bitmaps.get(new CarYear(carId, year));
+            if (bits != null) {
+                total[0] += countBits(bits, fromBit, toBit);
+            }
+        });
+        return total[0];
+    }
+
+    /**
+     * Primer día desde "from" en el que empiezan "days" días seguidos sin ninguna hora
+     * ocupada, sin pasar de "until" (exclusivo). null si no hay ninguna ventana.
+     */
+    public LocalDate firstFreeWindow(Long carId, LocalDate from, int days, LocalDate until) {
+        int run = 0;
+        for (LocalDate day = from; day.isBefore(until); day = day.plusDays(1)) {
+            if (bookedHours(carId, day) == 0) {
+                if (++run == days) {
+                    return day.minusDays(days - 1L);
+                }
+            } else {
+                run = 0;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Indica si el día está dentro de los años que guarda el calendario
+     */
+    public boolean covers(LocalDate day) {
+        return day.getYear() >= firstYear && day.getYear() <= lastYear;
+    }
+
+    public LocalDate firstDay() {
+        return LocalDate.of(firstYear, 1, 1);
+    }
+
+    /**
+     * Primer día después de la ventana (exclusivo)
+     */
+    public LocalDate endDay() {
+        return LocalDate.of(lastYear + 1, 1, 1);
+    }
+
+    /**
+     * Memoria de los bitmaps (sin contar las claves del mapa)
+     */
+    public long bitmapBytes() {
+        return (long) bitmaps.size() * WORDS_PER_YEAR * Long.BYTES;
+    }
+
+    public int bitmapCount() {
+        return bitmaps.size();
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    private record CarYear(long carId, int year) {
+    }
+
+    @FunctionalInterface
+    private interface YearSegment {
+        void accept(int year, int fromBit, int toBit);
+    }
+
+    /**
+     * Parte [start, end) en tramos por año (horas redondeadas hacia afuera) y recorta a la
+     * ventana. Cada tramo llega como bits [fromBit, toBit) del bitmap de ese año.
+     */
+    private void forEachYear(LocalDateTime start, LocalDateTime end, YearSegment segment) {
+        long fromHour = Math.floorDiv(start.toEpochSecond(ZoneOffset.UTC), 3600);
+        long toHour = Math.floorDiv(end.toEpochSecond(ZoneOffset.UTC) + 3599, 3600);
+        int first = Math.max(start.getYear(), firstYear);
+        int last = Math.min(end.getYear(), lastYear);
+        for (int year = first; year <= last; year++) {
+            long yearStart = LocalDate.of(year, 1, 1).toEpochDay() * HOURS_PER_DAY;
+            long yearEnd = LocalDate.of(year + 1, 1, 1).toEpochDay() * HOURS_PER_DAY;
+            long from = Math.max(fromHour, yearStart);
+            long to = Math.min(toHour, yearEnd);
+            if (from < to) {
+                segment.accept(year, (int) (from - yearStart), (int) (to - yearStart));
+            }
+        }
+    }
+
+    private static void setBits(long[] words, int from, int to, boolean value) {
+        if (from >= to) {
+            return;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        for (int i = first; i <= last; i++) {
+            long mask = wordMask(i, first, last, from, to);
+            words[i] = value ? words[i] | mask : words[i] & ~mask;
+        }
+    }
+
+    private static int countBits(long[] words, int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        int count = 0;
+        for (int i = first; i <= last; i++) {
+            count += Long.bitCount(words[i] & wordMask(i, first, last, from, to));
+        }
+        return count;
+    }
+
+    // Bits de la palabra i que caen en [from, to) (mismo truco de máscaras que java.util.BitSet)
+    private static long wordMask(int i, int first, int last, int from, int to) {
+        long mask = -1L;
+        if (i == first) {
+            mask &= -1L << from;
+        }
+        if (i == last) {
+            mask &= -1L >>> -to;
+        }
+        return mask;
+    }
+
+    private static boolean isEmpty(long[] words) {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.ReservationStatusEnum;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.Repository.IOwnerRepo;
+import com.example.leasing.Repository.IReservationArchiveRepo;
+import com.example.leasing.Repository.IReservationRepo;
+import com.example.leasing.dto.CalendarDayResponse;
+import com.example.leasing.dto.CarMonthCalendarResponse;
+import com.example.leasing.dto.FreeWindowResponse;
+import com.example.leasing.dto.OccupancyResponse;
+import com.example.leasing.dto.ReservationSlotView;
+import com.example.leasing.event.CarChangedEvent;
+import com.example.leasing.event.ReservationStatusChangedEvent;
+import com.example.leasing.exception.BusinessValidationException;
+import com.example.leasing.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service del calendario de ocupación por auto (vista de owners y calendario de clientes)
+ *
+ * Responde desde OccupancyCalendar (memoria), sin recorrer la tabla de reservas.
+ * - Al arrancar carga las reservas CONFIRMED de la ventana de años configurada
+ *   (también las archivadas: archivar no cambia la ocupación de meses pasados)
+ * - Después se mantiene con ReservationStatusChangedEvent (solo tras el commit)
+ * - Cuando cambia el año, la ventana se corre: se reconstruye (rollOver, todos los días)
+ *
+ * El rebuild arma un calendario nuevo y lo publica entero (SwappableIndex): los cambios
+ * que llegan mientras tanto se aplican al publicado y se reaplican al nuevo antes del cambio.
+ */
+@Slf4j
+@Service
+public class OccupancyService {
+
+    public static final int MAX_WINDOW_DAYS = 90;
+
+    private final ICarRepo carRepo;
+    private final IOwnerRepo ownerRepo;
+    private final IReservationRepo reservationRepo;
+    private final IReservationArchiveRepo archiveRepo;
+    private final int yearsBack;
+    private final int yearsAhead;
+    private final SwappableIndex<OccupancyCalendar> calendar;
+
+    public OccupancyService(ICarRepo carRepo, IOwnerRepo ownerRepo, IReservationRepo reservationRepo,
+                            IReservationArchiveRepo archiveRepo,
+                            @Value("${leasing.occupancy.years-back:1}") int yearsBack,
+                            @Value("${leasing.occupancy.years-ahead:1}") int yearsAhead) {
+        this.carRepo = carRepo;
+        this.ownerRepo = ownerRepo;
+        this.reservationRepo = reservationRepo;
+        this.archiveRepo = archiveRepo;
+        this.yearsBack = yearsBack;
+        this.yearsAhead = yearsAhead;
+        this.calendar = new SwappableIndex<>(newCalendar());
+    }
+
+    // ==========================================
+    // CONSULTAS
+    // ==========================================
+
+    /**
+     * Calendario de un mes, día por día (horas ocupadas y si el día está libre)
+     * @throws ResourceNotFoundException si el auto no existe
+     * @throws BusinessValidationException si el mes cae fuera del calendario
+     */
+    public CarMonthCalendarResponse getMonth(Long carId, YearMonth month) {
+        requireCar(carId);
+        OccupancyCalendar current = calendar.current();
+        requireCovered(current, month.atDay(1), month.atEndOfMonth());
+
+        List<CalendarDayResponse> days = new ArrayList<>(month.lengthOfMonth());
+        int freeDays = 0;
+        for (LocalDate day = month.atDay(1); !day.isAfter(month.atEndOfMonth()); day = day.plusDays(1)) {
+            int booked = current.bookedHours(carId, day);
+            if (booked == 0) {
+                freeDays++;
+            }
+            days.add(new CalendarDayResponse(day, booked, booked == 0));
+        }
+        return new CarMonthCalendarResponse(carId, month, freeDays, days);
+    }
+
+    /**
+     * Porcentaje de horas ocupadas de un auto en los días [from, to)
+     */
+    public OccupancyResponse getOccupancy(Long carId, LocalDate from, LocalDate to) {
+        requireCar(carId);
+        OccupancyCalendar current = calendar.current();
+        validateRange(current, from, to);
+        return occupancyOf(current, carId, from, to);
+    }
+
+    /**
+     * Ocupación de cada auto de un owner en un mes
+     */
+    public List<OccupancyResponse> getOwnerOccupancy(Long ownerId, YearMonth month) {
+        if (!ownerRepo.existsById(ownerId)) {
+            throw new ResourceNotFoundException("Owner", ownerId);
+        }
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        OccupancyCalendar current = calendar.current();
+        requireCovered(current, from, to.minusDays(1));
+        return carRepo.findIdsByOwnerId(ownerId).stream()
+                .map(carId -> occupancyOf(current, carId, from, to))
+                .toList();
+    }
+
+    /**
+     * Primera ventana de "days" días seguidos libres a partir de "from" (hoy si es null)
+     */
+    public FreeWindowResponse findFirstFreeWindow(Long carId, LocalDate from, int days) {
+        requireCar(carId);
+        if (days < 1 || days > MAX_WINDOW_DAYS) {
+            throw new BusinessValidationException("La cantidad de días debe estar entre 1 y " + MAX_WINDOW_DAYS);
+        }
+        OccupancyCalendar current = calendar.current();
+        LocalDate start = from != null ? from : LocalDate.now();
+        requireCovered(current, start, start);
+
+        LocalDate found = current.firstFreeWindow(carId, start, days, current.endDay());
+        return found == null
+                ? new FreeWindowResponse(carId, days, null, null)
+                : new FreeWindowResponse(carId, days, found, found.plusDays(days));
+    }
+
+    // ==========================================
+    // MANTENIMIENTO DEL CALENDARIO
+    // ==========================================
+
+    /**
+     * Reconstruye el calendario completo desde la base de datos
+     * La ventana de años se vuelve a calcular desde la fecha actual
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<ReservationSlotView> bookings = new ArrayList<>();
+        int replayed = calendar.rebuild(() -> {
+            OccupancyCalendar fresh = newCalendar();
+            bookings.addAll(reservationRepo.findSlotsByStatus(ReservationStatusEnum.CONFIRMED));
+            bookings.addAll(archiveRepo.findSlotsByStatusEndingSince(ReservationStatusEnum.CONFIRMED,
+                    fresh.firstDay().atStartOfDay()));
+            fresh.rebuild(bookings);
+            return fresh;
+        });
+        OccupancyCalendar loaded = calendar.current();
+        log.info("Calendario de ocupación cargado ({} a {}): {} reservas confirmadas, {} cambios durante la carga, "
+                        + "{} bitmaps ({} KB) en {} ms",
+                loaded.firstDay().getYear(), loaded.endDay().getYear() - 1, bookings.size(), replayed,
+                loaded.bitmapCount(), loaded.bitmapBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Corre la ventana de años cuando cambia el año (si no, las reservas posteriores a la
+     * ventana vieja se ignorarían y sus meses darían 400)
+     */
+    @Scheduled(cron = "${leasing.occupancy.rollover-cron:0 5 0 * * *}")
+    @Transactional(readOnly = true) // rebuild() se llama desde acá, sin pasar por el proxy
+    public void rollOver() {
+        int year = LocalDate.now().getYear();
+        if (calendar.current().firstDay().getYear() != year - yearsBack) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Aplica un cambio de estado de reserva una vez confirmada la transacción
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationStatusChanged(ReservationStatusChangedEvent event) {
+        if (event.carId() == null || event.startDate() == null || event.endDate() == null) {
+            return;
+        }
+        if (event.isConfirmed()) {
+            calendar.apply(current -> current.occupy(event.carId(), event.startDate(), event.endDate()));
+        } else if (event.wasConfirmed()) {
+            // Las horas de borde pueden ser compartidas con otra reserva confirmada
+            LocalDateTime from = event.startDate().truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime to = event.endDate().truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            List<ReservationSlotView> neighbours = reservationRepo.findSlotsOverlapping(
+                    event.carId(), ReservationStatusEnum.CONFIRMED, from, to);
+            calendar.apply(current -> {
+                current.free(event.carId(), event.startDate(), event.endDate());
+                for (ReservationSlotView other : neighbours) {
+                    current.occupy(other.carId(), other.startDate(), other.endDate());
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        if (event.deleted()) {
+            calendar.apply(current -> current.removeCar(event.carId()));
+        }
+    }
+
+    // ==========================================
+    // VALIDACIONES / HELPERS PRIVADOS
+    // ==========================================
+
+    private OccupancyCalendar newCalendar() {
+        int year = LocalDate.now().getYear();
+        return new OccupancyCalendar(year - yearsBack, year + yearsAhead);
+    }
+
+    private static OccupancyResponse occupancyOf(OccupancyCalendar current, Long carId, LocalDate from, LocalDate to) {
+        long booked = current.bookedHours(carId, from, to);
+        long total = ChronoUnit.DAYS.between(from, to) * OccupancyCalendar.HOURS_PER_DAY;
+        double percent = Math.round(booked * 10_000.0 / total) / 100.0;
+        return new OccupancyResponse(carId, from, to, booked, total, percent);
+    }
+
+    private void requireCar(Long carId) {
+        if (!carRepo.existsById(carId)) {
+            throw new ResourceNotFoundException("Car", carId);
+        }
+    }
+
+    private static void validateRange(OccupancyCalendar current, LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new BusinessValidationException("Las fechas desde y hasta son obligatorias");
+        }
+        if (!from.isBefore(to)) {
+            throw new BusinessValidationException("La fecha desde debe ser anterior a la fecha hasta");
+        }
+        requireCovered(current, from, to.minusDays(1));
+    }
+
+    private static void requireCovered(OccupancyCalendar current, LocalDate first, LocalDate last) {
+        if (!current.covers(first) || !current.covers(last)) {
+            throw new BusinessValidationException("El calendario cubre del " + current.firstDay()
+                    + " al " + current.endDay().minusDays(1));
+        }
+    }
+}
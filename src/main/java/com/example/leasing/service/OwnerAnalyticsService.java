@@ -0,0 +1,374 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.CarDailyStatsEntity;
+import com.example.leasing.Entity.ReservationStatusEnum;
+import com.example.leasing.Repository.ICarDailyStatsRepo;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.Repository.IOwnerRepo;
+import com.example.leasing.Repository.IReservationArchiveRepo;
+import com.example.leasing.Repository.IReservationRepo;
+import com.example.leasing.dto.CarRevenueStats;
+import com.example.leasing.dto.CarStatsView;
+import com.example.leasing.dto.DailyStatsView;
+import com.example.leasing.dto.MonthRevenueStats;
+import com.example.leasing.dto.OwnerRevenueReport;
+import com.example.leasing.dto.ReservationRevenueView;
+import com.example.leasing.dto.RevenueSeriesResponse;
+import com.example.leasing.event.ReservationStatusChangedEvent;
+import com.example.leasing.exception.ResourceNotFoundException;
+import com.example.leasing.exception.UnavailableResourceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Analíticas de owners: ingresos por auto y por mes, y tasa de ocupación
+ *
+ * Los tableros leen solo car_daily_stats (un rollup por auto y día): el costo depende
+ * del rango pedido y de la cantidad de autos, no de los años de reservas.
+ * - Confirmar suma la reserva y cancelar una CONFIRMED la resta, en la misma transacción
+ *   del cambio de estado (@EventListener síncrono, no después del commit)
+ * - rebuildAll() recalcula por tandas de autos desde reservations + reservations_archive
+ *   (job nocturno, POST /api/admin/analytics/backfill y al final de la carga masiva); los
+ *   rollups de data.sql se insertan en el mismo script
+ *
+ * Cada reserva se reparte por día según los minutos que caen en cada uno; el ingreso se
+ * reparte en la misma proporción y el último día se lleva el redondeo, así la suma de los
+ * días es exactamente totalPrice y cancelar resta lo mismo que sumó confirmar.
+ */
+@Slf4j
+@Service
+public class OwnerAnalyticsService {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int REBUILD_BATCH_SIZE = 50;
+    private static final String INSERT_SQL = "INSERT INTO car_daily_stats " +
+            "(car_id, stat_date, owner_id, revenue, booked_minutes, reservations) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_EMPTY_SQL = "INSERT INTO car_daily_stats " +
+            "(car_id, stat_date, owner_id, revenue, booked_minutes, reservations) VALUES (?, ?, ?, 0, 0, 0)";
+
+    private final ICarDailyStatsRepo statsRepo;
+    private final ICarRepo carRepo;
+    private final IOwnerRepo ownerRepo;
+    private final IReservationRepo reservationRepo;
+    private final IReservationArchiveRepo archiveRepo;
+    private final CounterRows counterRows;
+    private final TransactionTemplate transactionTemplate;
+    private final Lock rebuildLock = new ReentrantLock();
+
+    public OwnerAnalyticsService(ICarDailyStatsRepo statsRepo,
+                                 ICarRepo carRepo,
+                                 IOwnerRepo ownerRepo,
+                                 IReservationRepo reservationRepo,
+                                 IReservationArchiveRepo archiveRepo,
+                                 CounterRows counterRows,
+                                 PlatformTransactionManager transactionManager) {
+        this.statsRepo = statsRepo;
+        this.carRepo = carRepo;
+        this.ownerRepo = ownerRepo;
+        this.reservationRepo = reservationRepo;
+        this.archiveRepo = archiveRepo;
+        this.counterRows = counterRows;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ==========================================
+    // TABLEROS
+    // ==========================================
+
+    /**
+     * Ingresos y ocupación de cada auto del owner en un mes, con los totales
+     * @throws ResourceNotFoundException si el owner no existe
+     */
+    @Transactional(readOnly = true)
+    public OwnerRevenueReport getOwnerMonth(Long ownerId, YearMonth month) {
+        requireOwner(ownerId);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        long capacity = (long) month.lengthOfMonth() * MINUTES_PER_DAY;
+
+        Map<Long, CarStatsView> byCar = statsRepo.sumByCarForOwner(ownerId, from, to).stream()
+                .collect(Collectors.toMap(CarStatsView::carId, Function.identity()));
+        List<CarRevenueStats> cars = new ArrayList<>();
+        BigDecimal revenue = BigDecimal.ZERO;
+        long reservations = 0;
+        long minutes = 0;
+        for (Long carId : carRepo.findIdsByOwnerId(ownerId)) {
+            CarStatsView stats = byCar.get(carId);
+            BigDecimal carRevenue = stats != null ? stats.revenue() : BigDecimal.ZERO;
+            long carReservations = stats != null ? stats.reservations() : 0;
+            long carMinutes = stats != null ? stats.bookedMinutes() : 0;
+            cars.add(new CarRevenueStats(carId, carRevenue, carReservations, hours(carMinutes), percent(carMinutes, capacity)));
+            revenue = revenue.add(carRevenue);
+            reservations += carReservations;
+            minutes += carMinutes;
+        }
+        return new OwnerRevenueReport(ownerId, month, revenue, reservations,
+                percent(minutes, capacity * Math.max(cars.size(), 1)), cars);
+    }
+
+    /**
+     * Serie mensual de un año sumando todos los autos del owner
+     * @throws ResourceNotFoundException si el owner no existe
+     */
+    @Transactional(readOnly = true)
+    public RevenueSeriesResponse getOwnerYear(Long ownerId, int year) {
+        requireOwner(ownerId);
+        int cars = Math.max(carRepo.findIdsByOwnerId(ownerId).size(), 1);
+        List<DailyStatsView> days = statsRepo.sumByDayForOwner(ownerId,
+                LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1));
+        return series(ownerId, year, days, cars);
+    }
+
+    /**
+     * Serie mensual de un año de un auto
+     * @throws ResourceNotFoundException si el auto no existe
+     */
+    @Transactional(readOnly = true)
+    public RevenueSeriesResponse getCarYear(Long carId, int year) {
+        if (!carRepo.existsById(carId)) {
+            throw new ResourceNotFoundException("Car", carId);
+        }
+        List<DailyStatsView> days = statsRepo.findDaysForCar(carId,
+                LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1));
+        return series(carId, year, days, 1);
+    }
+
+    // ==========================================
+    // ACTUALIZACIÓN INCREMENTAL
+    // ==========================================
+
+    /**
+     * Suma o resta una reserva que entra o sale de CONFIRMED
+     * Corre dentro de la transacción de ReservationService: si el rollup falla, el cambio
+     * de estado tampoco se guarda
+     */
+    @EventListener
+    @Transactional
+    public void onReservationStatusChanged(ReservationStatusChangedEvent event) {
+        int sign = event.isConfirmed() ? 1 : event.wasConfirmed() ? -1 : 0;
+        if (sign == 0 || event.carId() == null || event.startDate() == null || event.endDate() == null) {
+            return;
+        }
+        Long ownerId = carRepo.findOwnerIdById(event.carId()).orElse(null);
+        splitByDay(event.startDate(), event.endDate(), event.totalPrice(), (day, revenue, minutes, starts) -> {
+            CarDailyStatsEntity stats = lockOrCreate(event.carId(), day, ownerId);
+            stats.apply(revenue, minutes, starts, sign);
+            statsRepo.save(stats);
+        });
+    }
+
+    /**
+     * Toma el lock de la fila del día (o la crea si es la primera reserva del auto ese día)
+     * Igual que RatingSummaryService: la consulta previa no bloquea (FOR UPDATE sobre una
+     * fila inexistente toma un gap lock en MySQL y dos altas del mismo día se bloquean entre sí)
+     */
+    private CarDailyStatsEntity lockOrCreate(Long carId, LocalDate day, Long ownerId) {
+        if (!statsRepo.existsById(new CarDailyStatsEntity.Key(carId, day))) {
+            counterRows.insertIfAbsent(INSERT_EMPTY_SQL, "car_id", carId, Date.valueOf(day), ownerId);
+        }
+        return statsRepo.findForUpdate(carId, day)
+                .orElseThrow(() -> new IllegalStateException("Rollup sin crear para el auto " + carId + " el " + day));
+    }
+
+    // ==========================================
+    // BACKFILL
+    // ==========================================
+
+    /**
+     * Recalcula los rollups desde las reservas CONFIRMED (vigentes y archivadas), por tandas de autos
+     * Cada tanda es una transacción corta con las filas de sus autos bloqueadas (FOR UPDATE),
+     * así que se serializa con onReservationStatusChanged: ninguna confirmación se pierde
+     * @return cantidad de filas (auto, día) recalculadas
+     * @throws UnavailableResourceException si ya hay un backfill en curso en este nodo
+     */
+    @Scheduled(cron = "${leasing.analytics.backfill-cron:0 30 4 * * *}")
+    public int rebuildAll() {
+        if (!rebuildLock.tryLock()) {
+            throw new UnavailableResourceException("Ya hay un backfill de analíticas en curso");
+        }
+        try {
+            long start = System.nanoTime();
+            int rows = 0;
+            long afterId = 0;
+            List<Long> carIds;
+            do {
+                carIds = carRepo.findIdsAfter(afterId, PageRequest.ofSize(REBUILD_BATCH_SIZE));
+                if (carIds.isEmpty()) {
+                    break;
+                }
+                List<Long> batch = carIds;
+                transactionTemplate.executeWithoutResult(status -> createMissing(batch));
+                Integer rebuilt = transactionTemplate.execute(status -> recompute(batch));
+                rows += rebuilt != null ? rebuilt : 0;
+                afterId = carIds.getLast();
+            } while (carIds.size() == REBUILD_BATCH_SIZE);
+            log.info("Rollups de analíticas reconstruidos: {} filas (auto, día) en {} ms",
+                    rows, (System.nanoTime() - start) / 1_000_000);
+            return rows;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Crea las filas (auto, día) que faltan de la tanda, ya con sus valores
+     * (transacción aparte: en MySQL la lectura de recompute() tiene que empezar después del lock)
+     */
+    private void createMissing(List<Long> carIds) {
+        Map<CarDailyStatsEntity.Key, CarDailyStatsEntity> rollups = aggregate(carIds);
+        statsRepo.findKeysByCarIds(carIds).forEach(rollups::remove);
+        List<Object[]> rows = rollups.values().stream()
+                .sorted(Comparator.comparing((CarDailyStatsEntity stats) -> stats.getKey().getCarId())
+                        .thenComparing(stats -> stats.getKey().getStatDate()))
+                .map(stats -> new Object[] {stats.getKey().getCarId(), Date.valueOf(stats.getKey().getStatDate()),
+                        stats.getOwnerId(), stats.getRevenue(), stats.getBookedMinutes(), stats.getReservations()})
+                .toList();
+        counterRows.insertAllIfAbsent(INSERT_SQL, "car_id", rows);
+    }
+
+    /**
+     * Bloquea las filas de la tanda y las pisa con lo que suman las reservas: las
+     * confirmaciones commiteadas antes del lock están en la suma, las que esperan el lock
+     * suman después. Un día que aparece después de createMissing lo creó una confirmación
+     * (ya incremental, desde cero) y no se toca.
+     */
+    private int recompute(List<Long> carIds) {
+        List<CarDailyStatsEntity> locked = statsRepo.findAllForUpdate(carIds);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        Map<CarDailyStatsEntity.Key, CarDailyStatsEntity> rollups = aggregate(carIds);
+        for (CarDailyStatsEntity stats : locked) {
+            CarDailyStatsEntity fresh = rollups.get(stats.getKey());
+            if (fresh == null) {
+                // Sin reservas confirmadas ese día (se cancelaron): la fila queda en cero
+                stats.setRevenue(BigDecimal.ZERO);
+                stats.setBookedMinutes(0);
+                stats.setReservations(0);
+                continue;
+            }
+            stats.setOwnerId(fresh.getOwnerId());
+            stats.setRevenue(fresh.getRevenue());
+            stats.setBookedMinutes(fresh.getBookedMinutes());
+            stats.setReservations(fresh.getReservations());
+        }
+        return locked.size();
+    }
+
+    /**
+     * Rollups (auto, día) de las reservas CONFIRMED de los autos, vigentes y archivadas
+     */
+    private Map<CarDailyStatsEntity.Key, CarDailyStatsEntity> aggregate(List<Long> carIds) {
+        Map<CarDailyStatsEntity.Key, CarDailyStatsEntity> rollups = new HashMap<>();
+        List<ReservationRevenueView> bookings =
+                new ArrayList<>(reservationRepo.findRevenueByCarIds(carIds, ReservationStatusEnum.CONFIRMED));
+        bookings.addAll(archiveRepo.findRevenueByCarIds(carIds, ReservationStatusEnum.CONFIRMED));
+        for (ReservationRevenueView booking : bookings) {
+            splitByDay(booking.startDate(), booking.endDate(), booking.totalPrice(), (day, revenue, minutes, starts) ->
+                    rollups.computeIfAbsent(new CarDailyStatsEntity.Key(booking.carId(), day),
+                                    key -> CarDailyStatsEntity.empty(booking.carId(), day, booking.ownerId()))
+                            .apply(revenue, minutes, starts, 1));
+        }
+        return rollups;
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    @FunctionalInterface
+    private interface DaySlice {
+        void accept(LocalDate day, BigDecimal revenue, int minutes, int starts);
+    }
+
+    /**
+     * Parte [start, end) en tramos por día: minutos de cada día y su parte proporcional
+     * del precio (el último día se lleva el redondeo). La reserva cuenta en el día en que empieza.
+     */
+    private static void splitByDay(LocalDateTime start, LocalDateTime end, BigDecimal totalPrice, DaySlice slice) {
+        long totalMinutes = Duration.between(start, end).toMinutes();
+        if (totalMinutes <= 0) {
+            return;
+        }
+        BigDecimal price = totalPrice != null ? totalPrice : BigDecimal.ZERO;
+        BigDecimal assigned = BigDecimal.ZERO;
+        LocalDate day = start.toLocalDate();
+        LocalDateTime cursor = start;
+        while (cursor.isBefore(end)) {
+            LocalDateTime nextDay = day.plusDays(1).atStartOfDay();
+            LocalDateTime next = nextDay.isBefore(end) ? nextDay : end;
+            long minutes = Duration.between(cursor, next).toMinutes();
+            BigDecimal share = next.equals(end)
+                    ? price.subtract(assigned)
+                    : price.multiply(BigDecimal.valueOf(minutes))
+                           .divide(BigDecimal.valueOf(totalMinutes), 2, RoundingMode.HALF_EVEN);
+            assigned = assigned.add(share);
+            slice.accept(day, share, (int) minutes, cursor.equals(start) ? 1 : 0);
+            cursor = next;
+            day = day.plusDays(1);
+        }
+    }
+
+    /**
+     * Agrupa los días por mes (los 12 meses, aunque no tengan datos)
+     */
+    private static RevenueSeriesResponse series(Long id, int year, List<DailyStatsView> days, int cars) {
+        BigDecimal[] revenue = new BigDecimal[12];
+        Arrays.fill(revenue, BigDecimal.ZERO);
+        long[] minutes = new long[12];
+        long[] reservations = new long[12];
+        for (DailyStatsView day : days) {
+            int m = day.day().getMonthValue() - 1;
+            revenue[m] = revenue[m].add(day.revenue());
+            minutes[m] += day.bookedMinutes();
+            reservations[m] += day.reservations();
+        }
+        List<MonthRevenueStats> months = new ArrayList<>(12);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int m = 0; m < 12; m++) {
+            YearMonth month = YearMonth.of(year, m + 1);
+            long capacity = (long) month.lengthOfMonth() * MINUTES_PER_DAY * cars;
+            months.add(new MonthRevenueStats(month, revenue[m], reservations[m], hours(minutes[m]), percent(minutes[m], capacity)));
+            total = total.add(revenue[m]);
+        }
+        return new RevenueSeriesResponse(id, year, total, months);
+    }
+
+    private static double hours(long minutes) {
+        return Math.round(minutes * 100.0 / 60) / 100.0;
+    }
+
+    private static double percent(long minutes, long capacity) {
+        return capacity > 0 ? Math.round(minutes * 10_000.0 / capacity) / 100.0 : 0.0;
+    }
+
+    private void requireOwner(Long ownerId) {
+        if (!ownerRepo.existsById(ownerId)) {
+            throw new ResourceNotFoundException("Owner", ownerId);
+        }
+    }
+}
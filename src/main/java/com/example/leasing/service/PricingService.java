@@ -0,0 +1,184 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.dto.CarPriceView;
+import com.example.leasing.dto.QuoteResponse;
+import com.example.leasing.event.CarChangedEvent;
+import com.example.leasing.event.CarsImportedEvent;
+import com.example.leasing.exception.BusinessValidationException;
+import com.example.leasing.exception.ResourceNotFoundException;
+import com.example.leasing.pricing.PricingEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service de precios: cotizaciones y precio total de las reservas
+ *
+ * Cotiza con PricingEngine (centavos en long). Los precios por día de los autos se
+ * guardan en memoria en centavos, así las cotizaciones no consultan la base:
+ * - Al arrancar se cargan todos
+ * - Después se mantienen con los CarChangedEvent (solo tras el commit)
+ * - Un rebuild arma una tabla nueva y la publica entera (SwappableIndex): las
+ *   cotizaciones no dan 404 mientras se recarga
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PricingService {
+
+    public static final int MAX_QUOTE_BATCH = 5_000;
+
+    private final PricingEngine pricingEngine;
+    private final ICarRepo carRepo;
+    private final AvailabilityService availabilityService;
+    private final SwappableIndex<Map<Long, Long>> pricesMinor = new SwappableIndex<>(new ConcurrentHashMap<>());
+
+    // ==========================================
+    // PRECIO DE UNA RESERVA
+    // ==========================================
+
+    /**
+     * Precio total de una reserva en [start, end) con las reglas vigentes
+     * @throws BusinessValidationException si el auto no tiene precio por día
+     */
+    public BigDecimal totalPrice(BigDecimal pricePerDay, LocalDateTime start, LocalDateTime end) {
+        if (pricePerDay == null) {
+            throw new BusinessValidationException("El auto no tiene precio por día");
+        }
+        return PricingEngine.fromMinor(pricingEngine.quoteMinor(PricingEngine.toMinor(pricePerDay), start, end));
+    }
+
+    // ==========================================
+    // COTIZACIONES
+    // ==========================================
+
+    /**
+     * Cotización de un auto
+     * @throws ResourceNotFoundException si el auto no existe (o no tiene precio)
+     */
+    public QuoteResponse quote(Long carId, LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        Long price = pricesMinor.current().get(carId);
+        if (price == null) {
+            throw new ResourceNotFoundException("Car", carId);
+        }
+        PricingEngine.RangeQuote range = pricingEngine.prepare(from, to);
+        return toResponse(carId, from, to, range, range.priceMinor(price));
+    }
+
+    /**
+     * Cotización de varios autos para el mismo rango: el rango se prepara una sola vez
+     * y los precios se calculan sobre arrays. Los autos sin precio se omiten.
+     * @throws BusinessValidationException si el rango es inválido o hay demasiados autos
+     */
+    public List<QuoteResponse> quoteAll(List<Long> carIds, LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        if (carIds.size() > MAX_QUOTE_BATCH) {
+            throw new BusinessValidationException("Máximo " + MAX_QUOTE_BATCH + " autos por cotización");
+        }
+        Map<Long, Long> currentPrices = pricesMinor.current();
+        long[] ids = new long[carIds.size()];
+        long[] prices = new long[carIds.size()];
+        int count = 0;
+        for (Long carId : carIds) {
+            Long price = currentPrices.get(carId);
+            if (price != null) {
+                ids[count] = carId;
+                prices[count] = price;
+                count++;
+            }
+        }
+        PricingEngine.RangeQuote range = pricingEngine.prepare(from, to);
+        long[] totals = new long[count];
+        range.pricesMinor(prices, totals, count);
+
+        List<QuoteResponse> quotes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            quotes.add(toResponse(ids[i], from, to, range, totals[i]));
+        }
+        return quotes;
+    }
+
+    /**
+     * Autos disponibles en [from, to) con su cotización (disponibilidad y precios desde memoria)
+     */
+    public List<QuoteResponse> quoteAvailable(LocalDateTime from, LocalDateTime to) {
+        List<Long> available = availabilityService.findAvailableCarIds(from, to);
+        return quoteAll(available.size() > MAX_QUOTE_BATCH ? available.subList(0, MAX_QUOTE_BATCH) : available,
+                from, to);
+    }
+
+    // ==========================================
+    // MANTENIMIENTO DE LA TABLA DE PRECIOS
+    // ==========================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        int replayed = pricesMinor.rebuild(() -> {
+            Map<Long, Long> fresh = new ConcurrentHashMap<>();
+            for (CarPriceView price : carRepo.findAllPrices()) {
+                if (price.pricePerDay() != null) {
+                    fresh.put(price.carId(), PricingEngine.toMinor(price.pricePerDay()));
+                }
+            }
+            return fresh;
+        });
+        log.info("Tabla de precios cargada: {} autos, {} cambios durante la carga, en {} ms",
+                pricesMinor.current().size(), replayed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        if (event.deleted() || event.pricePerDay() == null) {
+            pricesMinor.apply(prices -> prices.remove(event.carId()));
+        } else {
+            long price = PricingEngine.toMinor(event.pricePerDay());
+            pricesMinor.apply(prices -> prices.put(event.carId(), price));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsImported(CarsImportedEvent event) {
+        Map<Long, Long> imported = new HashMap<>();
+        for (CarChangedEvent car : event.cars()) {
+            if (car.pricePerDay() != null) {
+                imported.put(car.carId(), PricingEngine.toMinor(car.pricePerDay()));
+            }
+        }
+        pricesMinor.apply(prices -> prices.putAll(imported));
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    private static QuoteResponse toResponse(long carId, LocalDateTime from, LocalDateTime to,
+                                            PricingEngine.RangeQuote range, long totalMinor) {
+        return new QuoteResponse(carId, from, to, range.billedDays(), range.billedHours(),
+                PricingEngine.fromMinor(totalMinor));
+    }
+
+    private void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new BusinessValidationException("Las fechas desde y hasta son obligatorias");
+        }
+        if (!from.isBefore(to)) {
+            throw new BusinessValidationException("La fecha desde debe ser anterior a la fecha hasta");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Repository.IUserRepo;
+import com.example.leasing.dto.UserPrincipal;
+import com.example.leasing.event.UserChangedEvent;
+import com.example.leasing.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolución de principals: email → (userId, rol, clientId, ownerId)
+ *
+ * Todo endpoint autenticado pasa por acá, así que:
+ * - Se resuelve con una sola query de proyección (IUserRepo.findPrincipalByEmail)
+ * - El resultado se cachea por email, con tamaño acotado y TTL corto
+ * - Cualquier cambio en el usuario (contraseña, rol, email, baja) invalida su entrada
+ *   vía UserChangedEvent, tras el commit. El evento trae el email nuevo: el viejo se
+ *   busca en emailsByUser (userId → email cacheado), sin recorrer el caché
+ */
+@Service
+public class PrincipalService {
+
+    private final IUserRepo userRepo;
+    private final Cache<String, UserPrincipal> principals;
+    // Se agrega al cargar una entrada; se quita cuando el caché la desaloja (tamaño o TTL,
+    // dentro de la misma operación) o cuando onUserChanged la invalida
+    private final Map<Long, String> emailsByUser = new ConcurrentHashMap<>();
+
+    public PrincipalService(IUserRepo userRepo,
+                            @Value("${leasing.auth.principal-cache.max-size:10000}") long maxSize,
+                            @Value("${leasing.auth.principal-cache.ttl:60s}") Duration ttl) {
+        this.userRepo = userRepo;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .evictionListener((String email, UserPrincipal principal, RemovalCause cause) -> {
+                    if (principal != null) {
+                        emailsByUser.remove(principal.userId(), email);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Resuelve el principal de un email (desde caché si está)
+     * @throws ResourceNotFoundException si no existe un usuario con ese email
+     */
+    public UserPrincipal resolve(String email) {
+        // No se cachean los "no encontrado": se lanza la excepción y la entrada queda vacía
+        UserPrincipal principal = principals.get(email, this::load);
+        if (principal == null) {
+            throw new ResourceNotFoundException("User con email " + email + " no encontrado");
+        }
+        return principal;
+    }
+
+    /**
+     * Quita un email del caché (por ejemplo, antes de un cambio hecho por fuera de JPA)
+     */
+    public void invalidate(String email) {
+        principals.invalidate(email);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        // Por ID además de por email: si cambió el email, la entrada vieja tiene otra clave.
+        // Primero se saca del mapa: una carga posterior lo vuelve a completar
+        String cachedEmail = emailsByUser.remove(event.userId());
+        principals.invalidate(event.email());
+        if (cachedEmail != null) {
+            principals.invalidate(cachedEmail);
+        }
+    }
+
+    private UserPrincipal load(String email) {
+        UserPrincipal principal = userRepo.findPrincipalByEmail(email).orElse(null);
+        if (principal != null) {
+            emailsByUser.put(principal.userId(), email);
+        }
+        return principal;
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.CarRatingSummaryEntity;
+import com.example.leasing.Repository.ICarRatingSummaryRepo;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.Repository.IReviewRepo;
+import com.example.leasing.dto.RatingAggregateView;
+import com.example.leasing.dto.RatingSummaryResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service del resumen de ratings por auto (car_rating_summaries)
+ *
+ * - ReviewService lo llama dentro de su misma transacción en cada alta, edición o baja
+ * - rebuildAll() lo recalcula por tandas de autos (job de reparación nocturno y al final
+ *   de la carga masiva); los resúmenes de data.sql se insertan en el mismo script
+ */
+@Slf4j
+@Service
+public class RatingSummaryService {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO car_rating_summaries (car_id, review_count, rating_sum, " +
+            "average_rating, stars_1, stars_2, stars_3, stars_4, stars_5) VALUES (?, 0, 0, 0, 0, 0, 0, 0, 0)";
+
+    private final ICarRatingSummaryRepo summaryRepo;
+    private final IReviewRepo reviewRepo;
+    private final ICarRepo carRepo;
+    private final CounterRows counterRows;
+    private final TransactionTemplate transactionTemplate;
+
+    public RatingSummaryService(ICarRatingSummaryRepo summaryRepo,
+                                IReviewRepo reviewRepo,
+                                ICarRepo carRepo,
+                                CounterRows counterRows,
+                                PlatformTransactionManager transactionManager) {
+        this.summaryRepo = summaryRepo;
+        this.reviewRepo = reviewRepo;
+        this.carRepo = carRepo;
+        this.counterRows = counterRows;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ==========================================
+    // CONSULTAS
+    // ==========================================
+
+    /**
+     * Rating de un auto (vacío si todavía no tiene reviews)
+     */
+    @Transactional(readOnly = true)
+    public RatingSummaryResponse getSummary(Long carId) {
+        return summaryRepo.findById(carId)
+                .map(RatingSummaryResponse::from)
+                .orElseGet(() -> RatingSummaryResponse.from(CarRatingSummaryEntity.empty(carId)));
+    }
+
+    // ==========================================
+    // ACTUALIZACIÓN INCREMENTAL
+    // ==========================================
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewAdded(Long carId, int rating) {
+        CarRatingSummaryEntity summary = lockOrCreate(carId);
+        summary.add(rating);
+        summaryRepo.save(summary);
+    }
+
+    /**
+     * Varias reviews nuevas del mismo auto (alta masiva): un solo lock y un solo UPDATE
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewsAdded(Long carId, List<Integer> ratings) {
+        CarRatingSummaryEntity summary = lockOrCreate(carId);
+        ratings.forEach(summary::add);
+        summaryRepo.save(summary);
+    }
+
+    /**
+     * @param rating puede ser null o estar fuera de 1-5 en filas viejas (columna nullable
+     *               de V1): esas reviews no cuentan en el resumen, no hay nada que restar
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewRemoved(Long carId, Integer rating) {
+        if (!counts(rating)) {
+            return;
+        }
+        CarRatingSummaryEntity summary = lockOrCreate(carId);
+        summary.remove(rating);
+        summaryRepo.save(summary);
+    }
+
+    /**
+     * @param oldRating null o fuera de 1-5 en filas viejas: la review no contaba, solo se suma la nueva
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewChanged(Long carId, Integer oldRating, Integer newRating) {
+        boolean removeOld = counts(oldRating);
+        boolean addNew = counts(newRating);
+        if ((!removeOld && !addNew) || (removeOld && addNew && oldRating.equals(newRating))) {
+            return;
+        }
+        CarRatingSummaryEntity summary = lockOrCreate(carId);
+        if (removeOld) {
+            summary.remove(oldRating);
+        }
+        if (addNew) {
+            summary.add(newRating);
+        }
+        summaryRepo.save(summary);
+    }
+
+    // Mismo criterio que el agregado de la reparación (r.rating BETWEEN 1 AND 5)
+    private static boolean counts(Integer rating) {
+        return rating != null && rating >= 1 && rating <= 5;
+    }
+
+    /**
+     * Toma el lock de la fila del resumen (o la crea si es la primera review del auto)
+     * existsById no bloquea: un FOR UPDATE sobre una fila que no existe toma un gap lock en
+     * MySQL, y dos primeras reviews del mismo auto se bloquearían entre sí al insertar
+     */
+    private CarRatingSummaryEntity lockOrCreate(Long carId) {
+        if (!summaryRepo.existsById(carId)) {
+            counterRows.insertIfAbsent(INSERT_SQL, "car_id", carId);
+        }
+        return summaryRepo.findForUpdate(carId)
+                .orElseThrow(() -> new IllegalStateException("Resumen de rating sin crear para el auto " + carId));
+    }
+
+    // ==========================================
+    // REPARACIÓN
+    // ==========================================
+
+    /**
+     * Recalcula los resúmenes desde la tabla reviews, por tandas de autos (job nocturno)
+     * Cada tanda es una transacción corta con los resúmenes bloqueados (FOR UPDATE), así
+     * que se serializa con las altas, ediciones y bajas de reviews: ningún delta se pierde
+     * @return cantidad de autos con resumen
+     */
+    @Scheduled(cron = "${leasing.ratings.repair-cron:0 30 3 * * *}")
+    public int rebuildAll() {
+        long start = System.nanoTime();
+        int summaries = 0;
+        long afterId = 0;
+        List<Long> carIds;
+        do {
+            carIds = carRepo.findIdsAfter(afterId, PageRequest.ofSize(REBUILD_BATCH_SIZE));
+            if (carIds.isEmpty()) {
+                break;
+            }
+            List<Long> batch = carIds;
+            transactionTemplate.executeWithoutResult(status -> createMissing(batch));
+            Integer rebuilt = transactionTemplate.execute(status -> recompute(batch));
+            summaries += rebuilt != null ? rebuilt : 0;
+            afterId = carIds.getLast();
+        } while (carIds.size() == REBUILD_BATCH_SIZE);
+        log.info("Resúmenes de rating reconstruidos: {} autos en {} ms",
+                summaries, (System.nanoTime() - start) / 1_000_000);
+        return summaries;
+    }
+
+    /**
+     * Crea los resúmenes que faltan de los autos de la tanda que tienen reviews
+     * (transacción aparte: en MySQL la lectura de recompute() tiene que empezar después del lock)
+     */
+    private void createMissing(List<Long> carIds) {
+        Set<Long> missing = new HashSet<>();
+        reviewRepo.aggregateRatingsByCarIds(carIds).forEach(view -> missing.add(view.carId()));
+        summaryRepo.findExistingIds(carIds).forEach(missing::remove);
+        missing.stream().sorted().forEach(carId -> counterRows.insertIfAbsent(INSERT_SQL, "car_id", carId));
+    }
+
+    /**
+     * Bloquea los resúmenes de la tanda y los pisa con el agregado de reviews: las reviews
+     * commiteadas antes del lock están en el agregado, las que esperan el lock suman después
+     */
+    private int recompute(List<Long> carIds) {
+        List<CarRatingSummaryEntity> locked = summaryRepo.findAllForUpdate(carIds);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        Map<Long, RatingAggregateView> aggregates = new HashMap<>();
+        reviewRepo.aggregateRatingsByCarIds(locked.stream().map(CarRatingSummaryEntity::getCarId).toList())
+                .forEach(view -> aggregates.put(view.carId(), view));
+        for (CarRatingSummaryEntity summary : locked) {
+            // Sin reviews (se borraron todas): el resumen queda en cero
+            copy(aggregates.getOrDefault(summary.getCarId(),
+                    new RatingAggregateView(summary.getCarId(), 0L, 0L, 0L, 0L, 0L, 0L, 0L)), summary);
+        }
+        return locked.size();
+    }
+
+    private static void copy(RatingAggregateView view, CarRatingSummaryEntity summary) {
+        summary.setReviewCount(view.reviewCount());
+        summary.setRatingSum(view.ratingSum());
+        summary.setAverageRating(view.reviewCount() > 0 ? (double) view.ratingSum() / view.reviewCount() : 0.0);
+        summary.setStars1(view.stars1());
+        summary.setStars2(view.stars2());
+        summary.setStars3(view.stars3());
+        summary.setStars4(view.stars4());
+        summary.setStars5(view.stars5());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.ReservationStatusEnum;
+import com.example.leasing.Repository.IReservationRepo;
+import com.example.leasing.dto.ArchiveRunReport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Archivo de reservas terminadas (reservations → reservations_archive)
+ *
+ * Una vez por día mueve las reservas CONFIRMED y CANCELED que terminaron hace más de
+ * leasing.reservations.archive.horizon, en lotes de batch-size:
+ * - SELECT ... FOR UPDATE de IDs, INSERT ... SELECT al archivo y DELETE, en la misma transacción
+ * - Cada lote es su propia transacción corta (igual que ReservationExpiryService)
+ * - Como máximo max-batches lotes por corrida; lo que quede sigue en la próxima
+ *
+ * Así reservations queda del tamaño del negocio activo y no de los años de historia.
+ * No publica eventos: archivar no cambia la ocupación (OccupancyService también carga
+ * las archivadas de su ventana al reconstruirse). Tampoco anota nada en el change feed:
+ * la reserva no cambió, solo se mudó de tabla.
+ */
+@Slf4j
+@Service
+public class ReservationArchiveService {
+
+    // PENDING no se archiva: ReservationExpiryService las pasa antes a CANCELED
+    private static final List<ReservationStatusEnum> ARCHIVABLE =
+            List.of(ReservationStatusEnum.CONFIRMED, ReservationStatusEnum.CANCELED);
+
+    private final IReservationRepo reservationRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration horizon;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter archivedCounter;
+    private final Timer runTimer;
+
+    public ReservationArchiveService(IReservationRepo reservationRepo,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${leasing.reservations.archive.horizon:90d}") Duration horizon,
+                                     @Value("${leasing.reservations.archive.batch-size:1000}") int batchSize,
+                                     @Value("${leasing.reservations.archive.max-batches:200}") int maxBatches) {
+        this.reservationRepo = reservationRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.archivedCounter = Counter.builder("leasing.reservations.archived")
+                .description("Reservas movidas a reservations_archive")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("leasing.reservations.archive.run")
+                .description("Duración de cada corrida de archivo de reservas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Corrida programada (por defecto de madrugada, después del job de ratings)
+     */
+    @Scheduled(cron = "${leasing.reservations.archive.cron:0 0 4 * * *}")
+    public void scheduledArchive() {
+        ArchiveRunReport report = archive(LocalDateTime.now());
+        log.info("Reservas archivadas: {} en {} lotes ({} ms)",
+                report.archived(), report.batches(), report.elapsedMillis());
+    }
+
+    /**
+     * Archiva las reservas CONFIRMED y CANCELED que terminaron antes de now - horizon
+     * @return cuántas movió, en cuántos lotes y cuánto tardó
+     */
+    public ArchiveRunReport archive(LocalDateTime now) {
+        long start = System.nanoTime();
+        LocalDateTime cutoff = now.minus(horizon);
+        int archived = 0;
+        int batches = 0;
+        for (ReservationStatusEnum status : ARCHIVABLE) {
+            while (batches < maxBatches) {
+                int moved = transactionTemplate.execute(tx -> archiveBatch(status, cutoff, now));
+                if (moved == 0) {
+                    break;
+                }
+                batches++;
+                archived += moved;
+                if (moved < batchSize) {
+                    break;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        archivedCounter.increment(archived);
+        runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        return new ArchiveRunReport(archived, batches, elapsed / 1_000_000);
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    private int archiveBatch(ReservationStatusEnum status, LocalDateTime cutoff, LocalDateTime archivedAt) {
+        List<Long> ids = reservationRepo.lockIdsByStatusEndedBefore(status, cutoff, PageRequest.ofSize(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        reservationRepo.copyToArchive(ids, archivedAt);
+        return reservationRepo.deleteByIds(ids);
+    }
+}
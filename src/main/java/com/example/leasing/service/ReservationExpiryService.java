@@ -0,0 +1,149 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.ChangeEntityTypeEnum;
+import com.example.leasing.Entity.ChangeOperationEnum;
+import com.example.leasing.Entity.ReservationStatusEnum;
+import com.example.leasing.Repository.IReservationRepo;
+import com.example.leasing.dto.ExpirySweepReport;
+import com.example.leasing.dto.ReservationResponse;
+import com.example.leasing.event.ReservationStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vencimiento de reservas PENDING abandonadas
+ *
+ * Cada leasing.reservations.expiry.interval cancela las PENDING creadas hace más de
+ * leasing.reservations.expiry.ttl, en lotes de batch-size:
+ * - SELECT de IDs por el índice (status, created_at, id), lock por PK de las que siguen
+ *   PENDING y UPDATE masivo por IDs
+ * - Cada lote es su propia transacción corta: los locks de fila duran un lote, no el barrido
+ * - Como máximo max-batches lotes por barrido; lo que quede sigue en el próximo
+ *
+ * Una PENDING ocupa su franja (existsOverlapping cuenta PENDING y CONFIRMED): vencerla
+ * la libera. Por eso publica un ReservationStatusChangedEvent PENDING → CANCELED por cada
+ * reserva del lote, dentro de su transacción: las suscripciones en vivo se enteran solo si
+ * el lote se commitea. El UPDATE masivo no pasa por los listeners JPA: los IDs del lote se
+ * anotan en el change feed a mano.
+ */
+@Slf4j
+@Service
+public class ReservationExpiryService {
+
+    private final IReservationRepo reservationRepo;
+    private final ChangeLogService changeLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter expiredCounter;
+    private final Timer sweepTimer;
+
+    public ReservationExpiryService(IReservationRepo reservationRepo,
+                                    ChangeLogService changeLogService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${leasing.reservations.expiry.ttl:30m}") Duration ttl,
+                                    @Value("${leasing.reservations.expiry.batch-size:500}") int batchSize,
+                                    @Value("${leasing.reservations.expiry.max-batches:20}") int maxBatches) {
+        this.reservationRepo = reservationRepo;
+        this.changeLogService = changeLogService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.expiredCounter = Counter.builder("leasing.reservations.expired")
+                .description("Reservas PENDING canceladas por vencimiento")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("leasing.reservations.expiry.sweep")
+                .description("Duración de cada barrido de reservas PENDING vencidas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Barrido programado a tasa fija (no se solapa consigo mismo)
+     */
+    @Scheduled(fixedRateString = "${leasing.reservations.expiry.interval:60s}",
+               initialDelayString = "${leasing.reservations.expiry.interval:60s}")
+    public void scheduledSweep() {
+        ExpirySweepReport report = sweep(LocalDateTime.now());
+        if (report.expired() > 0) {
+            log.info("Reservas PENDING vencidas: {} canceladas en {} lotes ({} ms)",
+                    report.expired(), report.batches(), report.elapsedMillis());
+        } else {
+            log.debug("Barrido de reservas PENDING vencidas sin cambios ({} ms)", report.elapsedMillis());
+        }
+    }
+
+    /**
+     * Cancela las PENDING creadas antes de now - ttl
+     * @return cuántas venció, en cuántos lotes y cuánto tardó
+     */
+    public ExpirySweepReport sweep(LocalDateTime now) {
+        long start = System.nanoTime();
+        LocalDateTime cutoff = now.minus(ttl);
+        int expired = 0;
+        int batches = 0;
+        while (batches < maxBatches) {
+            BatchResult batch = transactionTemplate.execute(status -> expireBatch(cutoff));
+            if (batch.selected() == 0) {
+                break;
+            }
+            batches++;
+            expired += batch.updated();
+            if (batch.selected() < batchSize) {
+                break;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        expiredCounter.increment(expired);
+        sweepTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        return new ExpirySweepReport(expired, batches, elapsed / 1_000_000);
+    }
+
+    // ==========================================
+    // HELPERS PRIVADOS
+    // ==========================================
+
+    private record BatchResult(int selected, int updated) {
+    }
+
+    private BatchResult expireBatch(LocalDateTime cutoff) {
+        List<Long> ids = reservationRepo.findIdsByStatusCreatedBefore(ReservationStatusEnum.PENDING, cutoff,
+                PageRequest.ofSize(batchSize));
+        if (ids.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+        // Las que siguen PENDING, bloqueadas hasta el commit: todas cambian con el UPDATE
+        List<ReservationResponse> expiring = reservationRepo.lockResponsesByIdsAndStatus(ids, ReservationStatusEnum.PENDING);
+        if (expiring.isEmpty()) {
+            return new BatchResult(ids.size(), 0);
+        }
+        List<Long> expiringIds = expiring.stream().map(ReservationResponse::id).toList();
+        int updated = reservationRepo.updateStatusByIds(expiringIds, ReservationStatusEnum.PENDING,
+                ReservationStatusEnum.CANCELED);
+        changeLogService.recordAll(ChangeEntityTypeEnum.RESERVATION, expiringIds, ChangeOperationEnum.UPSERT);
+        expiring.forEach(reservation -> eventPublisher.publishEvent(new ReservationStatusChangedEvent(
+                reservation.id(), reservation.carId(), reservation.clientId(), reservation.startDate(),
+                reservation.endDate(), reservation.totalPrice(), ReservationStatusEnum.PENDING,
+                ReservationStatusEnum.CANCELED)));
+        return new BatchResult(ids.size(), updated);
+    }
+}
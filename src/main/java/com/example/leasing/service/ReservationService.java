@@ -0,0 +1,162 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.ReservationEntity;
+import com.example.leasing.Entity.ReservationStatusEnum;
+import com.example.leasing.Repository.IReservationArchiveRepo;
+import com.example.leasing.Repository.IReservationRepo;
+import com.example.leasing.dto.CursorPage;
+import com.example.leasing.dto.KeysetCursor;
+import com.example.leasing.dto.ReservationResponse;
+import com.example.leasing.event.ReservationStatusChangedEvent;
+import com.example.leasing.exception.BusinessValidationException;
+import com.example.leasing.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Service para lógica de negocio de Reservation
+ *
+ * Todo cambio de estado pasa por acá y publica un ReservationStatusChangedEvent,
+ * que usan los índices en memoria (disponibilidad, etc.) para mantenerse al día.
+ *
+ * Los listados leen solo la tabla caliente; el histórico (reservations_archive, ver
+ * ReservationArchiveService) se suma únicamente si se pide con includeArchived.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReservationService {
+
+    private final IReservationRepo reservationRepo;
+    private final IReservationArchiveRepo archiveRepo;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // ==========================================
+    // CONSULTAS
+    // ==========================================
+
+    /**
+     * Busca una Reservation por ID
+     * @throws ResourceNotFoundException si no existe
+     */
+    @Transactional(readOnly = true)
+    public ReservationEntity findById(Long id) {
+        return reservationRepo.findById(id)
+                .orElseThrow(() -> archiveRepo.existsById(id)
+                        ? new BusinessValidationException("La reserva está archivada y no se puede modificar")
+                        : new ResourceNotFoundException("Reservation", id));
+    }
+
+    /**
+     * Detalle de una reserva para la API (proyección, una sola query)
+     * Si no está en la tabla caliente se busca en el archivo (por PK, igual de barato)
+     * @throws ResourceNotFoundException si no existe
+     */
+    @Transactional(readOnly = true)
+    public ReservationResponse getReservation(Long id) {
+        return reservationRepo.findResponseById(id)
+                .or(() -> archiveRepo.findResponseById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation", id));
+    }
+
+    /**
+     * Reservas de un auto paginadas por keyset, ordenadas por fecha de inicio
+     * @param includeArchived true para sumar las reservas archivadas
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationResponse> findByCarId(Long carId, String cursor, Integer size, boolean includeArchived) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+        List<ReservationResponse> rows = reservationRepo.findByCarIdAfter(carId,
+                KeysetCursor.dateAfter(after), KeysetCursor.idAfter(after), limit);
+        if (includeArchived) {
+            rows = merge(rows, archiveRepo.findByCarIdAfter(carId,
+                    KeysetCursor.dateAfter(after), KeysetCursor.idAfter(after), limit), pageSize + 1);
+        }
+        return byStartDate(rows, pageSize);
+    }
+
+    /**
+     * Reservas de un cliente paginadas por keyset, ordenadas por fecha de inicio
+     * @param includeArchived true para sumar las reservas archivadas
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationResponse> findByClientId(Long clientId, String cursor, Integer size, boolean includeArchived) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+        List<ReservationResponse> rows = reservationRepo.findByClientIdAfter(clientId,
+                KeysetCursor.dateAfter(after), KeysetCursor.idAfter(after), limit);
+        if (includeArchived) {
+            rows = merge(rows, archiveRepo.findByClientIdAfter(clientId,
+                    KeysetCursor.dateAfter(after), KeysetCursor.idAfter(after), limit), pageSize + 1);
+        }
+        return byStartDate(rows, pageSize);
+    }
+
+    /**
+     * Une dos páginas ya ordenadas por (startDate, id). Los IDs no se repiten entre tablas
+     * (una reserva está en una o en la otra), así el mismo cursor sirve para ambas.
+     */
+    private static List<ReservationResponse> merge(List<ReservationResponse> hot, List<ReservationResponse> archived,
+                                                   int limit) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        return Stream.concat(hot.stream(), archived.stream())
+                .sorted(Comparator.comparing(ReservationResponse::startDate).thenComparing(ReservationResponse::id))
+                .limit(limit)
+                .toList();
+    }
+
+    private static CursorPage<ReservationResponse> byStartDate(List<ReservationResponse> rows, int pageSize) {
+        return CursorPage.of(rows, pageSize, Function.identity(),
+                r -> KeysetCursor.encode(r.startDate(), r.id()));
+    }
+
+    // ==========================================
+    // CAMBIOS DE ESTADO
+    // ==========================================
+
+    /**
+     * Confirma una reserva PENDING
+     * @throws BusinessValidationException si la reserva no está PENDING
+     */
+    @Transactional
+    public ReservationResponse confirm(Long id) {
+        ReservationEntity reservation = findById(id);
+        if (reservation.getStatus() != ReservationStatusEnum.PENDING) {
+            throw new BusinessValidationException("Solo se pueden confirmar reservas PENDING");
+        }
+        return changeStatus(reservation, ReservationStatusEnum.CONFIRMED);
+    }
+
+    /**
+     * Cancela una reserva PENDING o CONFIRMED
+     * @throws BusinessValidationException si la reserva ya estaba cancelada
+     */
+    @Transactional
+    public ReservationResponse cancel(Long id) {
+        ReservationEntity reservation = findById(id);
+        if (reservation.getStatus() == ReservationStatusEnum.CANCELED) {
+            throw new BusinessValidationException("La reserva ya está cancelada");
+        }
+        return changeStatus(reservation, ReservationStatusEnum.CANCELED);
+    }
+
+    private ReservationResponse changeStatus(ReservationEntity reservation, ReservationStatusEnum newStatus) {
+        ReservationStatusEnum previous = reservation.getStatus();
+        reservation.setStatus(newStatus);
+        ReservationEntity saved = reservationRepo.save(reservation);
+        eventPublisher.publishEvent(ReservationStatusChangedEvent.of(saved, previous));
+        return ReservationResponse.from(saved);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.ReviewEntity;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.Repository.IClientRepo;
+import com.example.leasing.Repository.IReviewRepo;
+import com.example.leasing.dto.ReviewRequest;
+import com.example.leasing.dto.ReviewResponse;
+import com.example.leasing.exception.BusinessValidationException;
+import com.example.leasing.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Service para lógica de negocio de Review
+ *
+ * Cada alta, edición o baja actualiza en la misma transacción el resumen de rating
+ * del auto (RatingSummaryService).
+ */
+@Service
+@RequiredArgsConstructor
+public class ReviewService {
+
+    public static final int MAX_BULK_SIZE = 500;
+
+    private final IReviewRepo reviewRepo;
+    private final ICarRepo carRepo;
+    private final IClientRepo clientRepo;
+    private final RatingSummaryService ratingSummaryService;
+
+    // ==========================================
+    // CONSULTAS
+    // ==========================================
+
+    /**
+     * Busca una Review por ID
+     * @throws ResourceNotFoundException si no existe
+     */
+    @Transactional(readOnly = true)
+    public ReviewEntity findById(Long id) {
+        return reviewRepo.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Review", id));
+    }
+
+    /**
+     * Detalle de una review para la API (proyección, una sola query)
+     * @throws ResourceNotFoundException si no existe
+     */
+    @Transactional(readOnly = true)
+    public ReviewResponse getReview(Long id) {
+        return reviewRepo.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Review", id));
+    }
+
+    /**
+     * Reviews de un auto, las más nuevas primero
+     */
+    @Transactional(readOnly = true)
+    public List<ReviewResponse> findByCarId(Long carId) {
+        return reviewRepo.findResponsesByCarId(carId);
+    }
+
+    // ==========================================
+    // ESCRITURA
+    // ==========================================
+
+    /**
+     * Crea una review de un cliente sobre un auto
+     * @throws ResourceNotFoundException si el auto o el cliente no existen
+     * @throws BusinessValidationException si el rating es inválido
+     */
+    @Transactional
+    public ReviewResponse create(ReviewRequest request) {
+        validateRating(request.rating());
+        if (request.carId() == null || !carRepo.existsById(request.carId())) {
+            throw new ResourceNotFoundException("Car", request.carId());
+        }
+        if (request.clientId() == null || !clientRepo.existsById(request.clientId())) {
+            throw new ResourceNotFoundException("Client", request.clientId());
+        }
+
+        ReviewEntity review = ReviewEntity.builder()
+                .rating(request.rating())
+                .comment(request.comment())
+                .car(carRepo.getReferenceById(request.carId()))
+                .client(clientRepo.getReferenceById(request.clientId()))
+                .build();
+        ReviewEntity saved = reviewRepo.save(review);
+        ratingSummaryService.reviewAdded(request.carId(), saved.getRating());
+        return ReviewResponse.from(saved);
+    }
+
+    /**
+     * Alta masiva de reviews (todo o nada)
+     * - Autos y clientes se validan con una query cada uno, no una por review
+     * - Los inserts salen en batch (IDs por secuencia, hibernate.jdbc.batch_size)
+     * - Un solo UPDATE del resumen de rating por auto
+     * @throws BusinessValidationException si la lista está vacía, es muy grande o algún rating es inválido
+     * @throws ResourceNotFoundException si algún auto o cliente no existe
+     */
+    @Transactional
+    public List<ReviewResponse> createAll(List<ReviewRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BusinessValidationException("La lista de reviews está vacía");
+        }
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new BusinessValidationException("Máximo " + MAX_BULK_SIZE + " reviews por request");
+        }
+        requests.forEach(request -> validateRating(request.rating()));
+        requireExisting("Car", requests.stream().map(ReviewRequest::carId).toList(), carRepo::findExistingIds);
+        requireExisting("Client", requests.stream().map(ReviewRequest::clientId).toList(), clientRepo::findExistingIds);
+
+        List<ReviewEntity> reviews = requests.stream()
+                .map(request -> ReviewEntity.builder()
+                        .rating(request.rating())
+                        .comment(request.comment())
+                        .car(carRepo.getReferenceById(request.carId()))
+                        .client(clientRepo.getReferenceById(request.clientId()))
+                        .build())
+                .toList();
+        List<ReviewEntity> saved = reviewRepo.saveAll(reviews);
+
+        // Orden por carId: dos altas masivas en paralelo toman los locks en el mismo orden
+        Map<Long, List<Integer>> ratingsByCar = new TreeMap<>();
+        requests.forEach(request ->
+                ratingsByCar.computeIfAbsent(request.carId(), id -> new ArrayList<>()).add(request.rating()));
+        ratingsByCar.forEach(ratingSummaryService::reviewsAdded);
+        return saved.stream().map(ReviewResponse::from).toList();
+    }
+
+    /**
+     * Edita rating y/o comentario de una review (solo campos no nulos)
+     */
+    @Transactional
+    public ReviewResponse update(Long id, ReviewRequest request) {
+        ReviewEntity existing = findById(id);
+        // Integer: las filas viejas pueden tener rating NULL (no cuentan en el resumen)
+        Integer oldRating = existing.getRating();
+
+        if (request.rating() != null) {
+            validateRating(request.rating());
+            existing.setRating(request.rating());
+        }
+        if (request.comment() != null) {
+            existing.setComment(request.comment());
+        }
+
+        ReviewEntity saved = reviewRepo.save(existing);
+        ratingSummaryService.reviewChanged(existing.getCar().getId(), oldRating, saved.getRating());
+        return ReviewResponse.from(saved);
+    }
+
+    /**
+     * Elimina una review por ID
+     * @throws ResourceNotFoundException si no existe
+     */
+    @Transactional
+    public void deleteById(Long id) {
+        ReviewEntity existing = findById(id);
+        Long carId = existing.getCar().getId();
+        Integer rating = existing.getRating();
+        reviewRepo.delete(existing);
+        ratingSummaryService.reviewRemoved(carId, rating);
+    }
+
+    // ==========================================
+    // VALIDACIONES PRIVADAS
+    // ==========================================
+
+    /**
+     * Verifica que existan todos los IDs (nulos incluidos como inexistentes)
+     */
+    private static void requireExisting(String resource, List<Long> ids,
+                                        Function<Collection<Long>, List<Long>> finder) {
+        Set<Long> requested = new HashSet<>();
+        for (Long id : ids) {
+            if (id == null) {
+                throw new ResourceNotFoundException(resource, null);
+            }
+            requested.add(id);
+        }
+        requested.removeAll(finder.apply(requested));
+        if (!requested.isEmpty()) {
+            throw new ResourceNotFoundException(resource, requested.iterator().next());
+        }
+    }
+
+    private void validateRating(Integer rating) {
+        if (rating == null || rating < 1 || rating > 5) {
+            throw new BusinessValidationException("El rating debe estar entre 1 y 5");
+        }
+    }
+}
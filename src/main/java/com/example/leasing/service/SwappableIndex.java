@@ -0,0 +1,89 @@
+package com.example.leasing.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Estructura en memoria que se reconstruye desde la base sin dejar de atender
+ * (índice de disponibilidad, búsqueda, tabla de precios, calendario de ocupación)
+ *
+ * - Las lecturas usan current(): nunca ven una estructura vacía o a medio cargar
+ * - rebuild() arma una nueva aparte y la publica con un solo reemplazo (volatile)
+ * - Los cambios (eventos tras el commit) pasan por apply(): se aplican a la publicada y,
+ *   si hay un rebuild en curso, se guardan y se reaplican a la nueva antes de publicarla.
+ *   Tienen que ser idempotentes: reaplicar uno que ya estaba en la lectura no cambia nada.
+ */
+final class SwappableIndex<T> {
+
+    private final Lock changeLock = new ReentrantLock();
+    private final Lock rebuildLock = new ReentrantLock();
+    // Cambios aplicados mientras corre un rebuild (null si no hay ninguno)
+    private List<Consumer<T>> pendingChanges;
+    private volatile T current;
+
+    SwappableIndex(T initial) {
+        this.current = initial;
+    }
+
+    T current() {
+        return current;
+    }
+
+    /**
+     * Aplica un cambio a la estructura publicada y, si hay un rebuild en curso, lo guarda
+     * para aplicarlo también a la nueva
+     */
+    void apply(Consumer<T> change) {
+        changeLock.lock();
+        try {
+            change.accept(current);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    /**
+     * Arma una estructura nueva con builder (lee la base: tiene que empezar a leer después
+     * de esta llamada) y la publica con los cambios que llegaron mientras tanto.
+     * Un rebuild a la vez; si builder falla, la publicada queda como estaba.
+     * @return cantidad de cambios reaplicados
+     */
+    int rebuild(Supplier<T> builder) {
+        rebuildLock.lock();
+        try {
+            setPending(new ArrayList<>());
+            try {
+                T fresh = builder.get();
+                changeLock.lock();
+                try {
+                    int replayed = pendingChanges.size();
+                    pendingChanges.forEach(change -> change.accept(fresh));
+                    current = fresh;
+                    return replayed;
+                } finally {
+                    changeLock.unlock();
+                }
+            } finally {
+                setPending(null);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void setPending(List<Consumer<T>> changes) {
+        changeLock.lock();
+        try {
+            pendingChanges = changes;
+        } finally {
+            changeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.leasing.service;
+
+import com.example.leasing.dto.CarSearchHit;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria con trigramas (estilo pg_trgm)
+ *
+ * Estructura:
+ * - postings: palabra normalizada → (carId → campos donde aparece). Es un TreeMap,
+ *   así la búsqueda por prefijo es un subMap.
+ * - tokensByTrigram: trigrama → palabras del diccionario que lo contienen. Se indexan
+ *   las palabras (no los documentos), que son muchas menos que los autos: marcas,
+ *   modelos y colores se repiten en toda la flota.
+ *
+ * Cada palabra de la consulta se expande a palabras del diccionario por coincidencia
+ * exacta, prefijo, substring o similitud de trigramas (errores de tipeo), y cada auto
+ * suma la mejor coincidencia por palabra ponderada por campo (marca/modelo pesan más).
+ */
+@Component
+public class TrigramCarSearchIndex implements CarSearchIndex {
+
+    // Campos (bits de la máscara en postings)
+    private static final int BRAND = 1;
+    private static final int MODEL = 2;
+    private static final int COLOR = 4;
+    private static final int DESCRIPTION = 8;
+
+    // Calidad de la coincidencia por tipo
+    private static final double EXACT = 1.0;
+    private static final double PREFIX = 0.8;
+    private static final double SUBSTRING = 0.6;
+    private static final double FUZZY = 0.5;
+
+    // Similitud mínima (Jaccard de trigramas) para aceptar un error de tipeo
+    private static final double MIN_SIMILARITY = 0.3;
+    // Tope de palabras del diccionario que puede abrir un prefijo corto ("f")
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+    private static final int MAX_QUERY_TERMS = 8;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> tokensByTrigram = new HashMap<>();
+
+    /**
+     * Lo que se guarda de cada auto: campos para mostrar y sus palabras (para poder borrarlas)
+     */
+    private record Document(Long id, String brand, String model, String color, Map<String, Integer> tokens) {
+    }
+
+    // ==========================================
+    // ESCRITURA
+    // ==========================================
+
+    @Override
+    public void index(Long carId, String brand, String model, String color, String descripcion) {
+        Map<String, Integer> tokens = new HashMap<>();
+        addTokens(tokens, brand, BRAND);
+        addTokens(tokens, model, MODEL);
+        addTokens(tokens, color, COLOR);
+        addTokens(tokens, descripcion, DESCRIPTION);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(carId);
+            documents.put(carId, new Document(carId, brand, model, color, tokens));
+            tokens.forEach((token, mask) -> {
+                Map<Long, Integer> docs = postings.get(token);
+                if (docs == null) {
+                    docs = new HashMap<>();
+                    postings.put(token, docs);
+                    for (String trigram : trigrams(token)) {
+                        tokensByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(token);
+                    }
+                }
+                docs.put(carId, mask);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long carId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(carId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            tokensByTrigram.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public CarSearchIndex newEmpty() {
+        return new TrigramCarSearchIndex();
+    }
+
+    private void removeInternal(Long carId) {
+        Document document = documents.remove(carId);
+        if (document == null) {
+            return;
+        }
+        for (String token : document.tokens().keySet()) {
+            Map<Long, Integer> docs = postings.get(token);
+            if (docs == null) {
+                continue;
+            }
+            docs.remove(carId);
+            if (docs.isEmpty()) {
+                // La palabra ya no aparece en ningún auto: sale del diccionario
+                postings.remove(token);
+                for (String trigram : trigrams(token)) {
+                    Set<String> owners = tokensByTrigram.get(trigram);
+                    if (owners != null) {
+                        owners.remove(token);
+                        if (owners.isEmpty()) {
+                            tokensByTrigram.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // ==========================================
+    // BÚSQUEDA
+    // ==========================================
+
+    @Override
+    public List<CarSearchHit> search(String query, int limit) {
+        List<String> terms = tokenize(query).stream().distinct().limit(MAX_QUERY_TERMS).toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                Map<Long, Double> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Todas las palabras deben coincidir (AND)
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return topHits(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mejor puntaje de cada auto para una palabra de la consulta
+     */
+    private Map<Long, Double> scoreTerm(String term) {
+        Map<Long, Double> termScores = new HashMap<>();
+        expand(term).forEach((token, quality) ->
+                postings.get(token).forEach((carId, mask) ->
+                        termScores.merge(carId, quality * weight(mask), Math::max)));
+        return termScores;
+    }
+
+    /**
+     * Palabras del diccionario que coinciden con la palabra buscada, con su calidad
+     */
+    private Map<String, Double> expand(String term) {
+        Map<String, Double> matches = new HashMap<>();
+        if (postings.containsKey(term)) {
+            matches.put(term, EXACT);
+        }
+
+        int expanded = 0;
+        for (String token : postings.subMap(term, false, term + Character.MAX_VALUE, false).keySet()) {
+            if (++expanded > MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            matches.merge(token, PREFIX, Math::max);
+        }
+
+        // Con menos de 3 letras los trigramas no discriminan: solo exacta y prefijo
+        if (term.length() >= 3) {
+            Set<String> termTrigrams = trigrams(term);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String trigram : termTrigrams) {
+                Set<String> tokens = tokensByTrigram.get(trigram);
+                if (tokens != null) {
+                    for (String token : tokens) {
+                        shared.merge(token, 1, Integer::sum);
+                    }
+                }
+            }
+            shared.forEach((token, common) -> {
+                if (token.contains(term)) {
+                    matches.merge(token, SUBSTRING, Math::max);
+                } else {
+                    // Jaccard aproximado: un token de n letras tiene n + 1 trigramas con padding
+                    double similarity = common / (double) (termTrigrams.size() + token.length() + 1 - common);
+                    if (similarity >= MIN_SIMILARITY) {
+                        matches.merge(token, FUZZY * similarity, Math::max);
+                    }
+                }
+            });
+        }
+        return matches;
+    }
+
+    /**
+     * Top-K por puntaje (desempate por id) con un heap acotado
+     */
+    private List<CarSearchHit> topHits(Map<Long, Double> scores, int limit) {
+        Comparator<Map.Entry<Long, Double>> worstFirst = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(limit + 1, worstFirst);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<CarSearchHit> hits = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Map.Entry<Long, Double> entry = heap.poll();
+            Document document = documents.get(entry.getKey());
+            hits.add(new CarSearchHit(document.id(), document.brand(), document.model(),
+                    document.color(), entry.getValue()));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    // ==========================================
+    // TEXTO
+    // ==========================================
+
+    private static double weight(int mask) {
+        if ((mask & (BRAND | MODEL)) != 0) {
+            return 3.0;
+        }
+        if ((mask & COLOR) != 0) {
+            return 1.5;
+        }
+        return 1.0;
+    }
+
+    private static void addTokens(Map<String, Integer> tokens, String text, int field) {
+        for (String token : tokenize(text)) {
+            tokens.merge(token, field, (a, b) -> a | b);
+        }
+    }
+
+    /**
+     * Minúsculas, sin acentos, separado por cualquier caracter no alfanumérico
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_ALNUM.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Trigramas con padding ("  ford " → "  f", " fo", "for", "ord", "rd ")
+     */
+    static Set<String> trigrams(String token) {
+        String padded = "  " + token + " ";
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,7 @@
+-- Los IDs de data.sql son explícitos (las entidades usan secuencias, no IDENTITY):
+-- las secuencias arrancan después de los datos de ejemplo
+ALTER SEQUENCE owners_seq RESTART WITH 100;
+ALTER SEQUENCE cars_seq RESTART WITH 100;
+ALTER SEQUENCE clients_seq RESTART WITH 100;
+ALTER SEQUENCE reservations_seq RESTART WITH 100;
+ALTER SEQUENCE reviews_seq RESTART WITH 100;
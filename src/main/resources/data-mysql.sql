@@ -0,0 +1,8 @@
+-- Los IDs de data.sql son explícitos (las entidades usan secuencias, no IDENTITY):
+-- las secuencias arrancan después de los datos de ejemplo
+-- En MySQL cada secuencia es una tabla de una fila (ver db/migration/mysql/V1)
+UPDATE owners_seq SET next_val = 100 WHERE next_val < 100;
+UPDATE cars_seq SET next_val = 100 WHERE next_val < 100;
+UPDATE clients_seq SET next_val = 100 WHERE next_val < 100;
+UPDATE reservations_seq SET next_val = 100 WHERE next_val < 100;
+UPDATE reviews_seq SET next_val = 100 WHERE next_val < 100;
@@ -1,5 +1,6 @@
-INSERT INTO owners (first_name, last_name, descripcion, bank_account, photo_url)
+INSERT INTO owners (id, first_name, last_name, descripcion, bank_account, photo_url)
 VALUES (
+  1,
   'John',
   'Doe',
   'Owner of multiple Ford vehicles',
@@ -7,9 +8,10 @@ VALUES (
   'https://img.owner/john.png'
 );
 
-INSERT INTO cars (brand, model, color, descripcion, photo_url, price_per_day, status, owner_id)
+INSERT INTO cars (id, brand, model, color, descripcion, photo_url, price_per_day, status, owner_id)
 VALUES
 (
+  1,
   'Ford',
   'Focus',
   'Blue',
@@ -20,6 +22,7 @@ VALUES
   1
 ),
 (
+  2,
   'Ford',
   'Mustang',
   'Red',
@@ -30,13 +33,14 @@ VALUES
   1
 );
 
-INSERT INTO clients (first_name, last_name, phone)
+INSERT INTO clients (id, first_name, last_name, phone)
 VALUES
-('Alice', 'Smith', '111-222-333'),
-('Bob', 'Johnson', '222-333-444'),
-('Charlie', 'Brown', '333-444-555');
+(1, 'Alice', 'Smith', '111-222-333'),
+(2, 'Bob', 'Johnson', '222-333-444'),
+(3, 'Charlie', 'Brown', '333-444-555');
 
 INSERT INTO reservations (
+  id,
   created_at,
   start_date,
   end_date,
@@ -47,6 +51,7 @@ INSERT INTO reservations (
 )
 VALUES
 (
+  1,
   CURRENT_TIMESTAMP,
   '2026-01-10 10:00:00',
   '2026-01-12 10:00:00',
@@ -56,6 +61,7 @@ VALUES
   1
 ),
 (
+  2,
   CURRENT_TIMESTAMP,
   '2026-01-15 09:00:00',
   '2026-01-18 09:00:00',
@@ -65,6 +71,7 @@ VALUES
   2
 ),
 (
+  3,
   CURRENT_TIMESTAMP,
   '2026-01-20 12:00:00',
   '2026-01-22 12:00:00',
@@ -75,6 +82,7 @@ VALUES
 );
 
 INSERT INTO reviews (
+  id,
   comment,
   rating,
   created_at,
@@ -83,6 +91,7 @@ INSERT INTO reviews (
 )
 VALUES
 (
+  1,
   'Great car, very smooth ride!',
   5,
   CURRENT_TIMESTAMP,
@@ -90,6 +99,7 @@ VALUES
   1
 ),
 (
+  2,
   'Good value for the price.',
   4,
   CURRENT_TIMESTAMP,
@@ -97,9 +107,41 @@ VALUES
   2
 ),
 (
+  3,
   'Car was okay, but interior was not clean.',
   3,
   CURRENT_TIMESTAMP,
   1,
   3
-);
\ No newline at end of file
+);
+
+-- Resúmenes de rating de las reviews de arriba (el script no pasa por ReviewService)
+INSERT INTO car_rating_summaries (
+  car_id, review_count, rating_sum, average_rating,
+  stars_1, stars_2, stars_3, stars_4, stars_5
+)
+SELECT
+  car_id,
+  COUNT(*),
+  SUM(rating),
+  SUM(rating) * 1.0 / COUNT(*),
+  SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END),
+  SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END),
+  SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END),
+  SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END),
+  SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END)
+FROM reviews
+WHERE rating BETWEEN 1 AND 5
+GROUP BY car_id;
+
+-- Rollups diarios de las reservas CONFIRMED de arriba (el script no pasa por
+-- OwnerAnalyticsService): minutos de cada día y su parte del precio, el último día con el redondeo
+INSERT INTO car_daily_stats (car_id, stat_date, owner_id, revenue, booked_minutes, reservations)
+VALUES
+(1, '2026-01-10', 1, 26.25, 840, 1),
+(1, '2026-01-11', 1, 45.00, 1440, 0),
+(1, '2026-01-12', 1, 18.75, 600, 0),
+(1, '2026-01-15', 1, 28.12, 900, 1),
+(1, '2026-01-16', 1, 45.00, 1440, 0),
+(1, '2026-01-17', 1, 45.00, 1440, 0),
+(1, '2026-01-18', 1, 16.88, 540, 0);
@@ -0,0 +1,100 @@
+-- Esquema inicial: el mismo que generaba Hibernate con ddl-auto=create-drop
+-- Secuencias con incremento 50 = allocationSize de los @SequenceGenerator (pooled-lo)
+
+CREATE SEQUENCE owners_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE clients_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE cars_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE reservations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE reviews_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE owners (
+    id           BIGINT NOT NULL,
+    first_name   VARCHAR(255),
+    last_name    VARCHAR(255),
+    descripcion  VARCHAR(255),
+    photo_url    VARCHAR(255),
+    bank_account VARCHAR(255),
+    CONSTRAINT pk_owners PRIMARY KEY (id)
+);
+
+CREATE TABLE clients (
+    id         BIGINT NOT NULL,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    phone      VARCHAR(255),
+    CONSTRAINT pk_clients PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    id        BIGINT       NOT NULL,
+    email     VARCHAR(255) NOT NULL,
+    password  VARCHAR(255) NOT NULL,
+    role      VARCHAR(20)  NOT NULL CHECK (role IN ('OWNER', 'CLIENT', 'ADMIN')),
+    owner_id  BIGINT,
+    client_id BIGINT,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_owner UNIQUE (owner_id),
+    CONSTRAINT uk_users_client UNIQUE (client_id),
+    CONSTRAINT fk_users_owner FOREIGN KEY (owner_id) REFERENCES owners (id),
+    CONSTRAINT fk_users_client FOREIGN KEY (client_id) REFERENCES clients (id)
+);
+
+CREATE TABLE cars (
+    id            BIGINT NOT NULL,
+    brand         VARCHAR(255),
+    model         VARCHAR(255),
+    color         VARCHAR(255),
+    descripcion   VARCHAR(255),
+    price_per_day NUMERIC(38, 2),
+    photo_url     VARCHAR(255),
+    status        VARCHAR(20) CHECK (status IN ('ACTIVE', 'IN_MAINTENANCE', 'INACTIVE')),
+    version       BIGINT DEFAULT 0,
+    owner_id      BIGINT,
+    CONSTRAINT pk_cars PRIMARY KEY (id),
+    CONSTRAINT fk_cars_owner FOREIGN KEY (owner_id) REFERENCES owners (id)
+);
+
+CREATE TABLE reservations (
+    id          BIGINT NOT NULL,
+    start_date  TIMESTAMP(6),
+    end_date    TIMESTAMP(6),
+    total_price NUMERIC(38, 2),
+    created_at  TIMESTAMP(6),
+    status      VARCHAR(20) CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELED')),
+    version     BIGINT DEFAULT 0,
+    car_id      BIGINT,
+    client_id   BIGINT,
+    CONSTRAINT pk_reservations PRIMARY KEY (id),
+    CONSTRAINT fk_reservations_car FOREIGN KEY (car_id) REFERENCES cars (id),
+    CONSTRAINT fk_reservations_client FOREIGN KEY (client_id) REFERENCES clients (id)
+);
+
+CREATE TABLE reviews (
+    id         BIGINT NOT NULL,
+    rating     INTEGER,
+    comment    VARCHAR(255),
+    created_at TIMESTAMP(6),
+    car_id     BIGINT,
+    client_id  BIGINT,
+    CONSTRAINT pk_reviews PRIMARY KEY (id),
+    CONSTRAINT fk_reviews_car FOREIGN KEY (car_id) REFERENCES cars (id),
+    CONSTRAINT fk_reviews_client FOREIGN KEY (client_id) REFERENCES clients (id)
+);
+
+CREATE TABLE car_rating_summaries (
+    car_id         BIGINT           NOT NULL,
+    review_count   BIGINT           NOT NULL,
+    rating_sum     BIGINT           NOT NULL,
+    average_rating DOUBLE PRECISION NOT NULL,
+    stars_1        BIGINT           NOT NULL,
+    stars_2        BIGINT           NOT NULL,
+    stars_3        BIGINT           NOT NULL,
+    stars_4        BIGINT           NOT NULL,
+    stars_5        BIGINT           NOT NULL,
+    CONSTRAINT pk_car_rating_summaries PRIMARY KEY (car_id)
+);
+
+CREATE INDEX idx_rating_summary_average ON car_rating_summaries (average_rating, car_id);
+CREATE INDEX idx_rating_summary_count ON car_rating_summaries (review_count, car_id);
@@ -0,0 +1,3 @@
+-- Barrido de reservas PENDING vencidas (ReservationExpiryService):
+-- status = 'PENDING' AND created_at < ? ORDER BY created_at, id, sin recorrer la tabla
+CREATE INDEX idx_reservations_status_created ON reservations (status, created_at, id);
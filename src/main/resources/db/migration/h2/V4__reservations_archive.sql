@@ -0,0 +1,21 @@
+-- Archivo de reservas (ReservationArchiveService): CONFIRMED o CANCELED que terminaron
+-- antes del horizonte se mueven acá, así reservations solo crece con el negocio activo.
+-- Sin FKs: el histórico sobrevive a la baja del auto o del cliente.
+CREATE TABLE reservations_archive (
+    id          BIGINT NOT NULL,
+    start_date  TIMESTAMP(6),
+    end_date    TIMESTAMP(6),
+    total_price NUMERIC(38, 2),
+    created_at  TIMESTAMP(6),
+    status      VARCHAR(20) CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELED')),
+    car_id      BIGINT,
+    client_id   BIGINT,
+    archived_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_reservations_archive PRIMARY KEY (id)
+);
+
+-- Mismos recorridos por keyset que en reservations
+CREATE INDEX idx_reservations_archive_car_start ON reservations_archive (car_id, start_date, id);
+CREATE INDEX idx_reservations_archive_client_start ON reservations_archive (client_id, start_date, id);
+-- Carga del calendario de ocupación: status = 'CONFIRMED' AND end_date >= ?
+CREATE INDEX idx_reservations_archive_status_end ON reservations_archive (status, end_date, car_id, start_date);
@@ -0,0 +1,3 @@
+-- Versión optimista de clients: la actualización en lote de ClientService la compara
+-- (UPDATE ... WHERE id = ? AND version = ?) y la incrementa en cada cambio
+ALTER TABLE clients ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
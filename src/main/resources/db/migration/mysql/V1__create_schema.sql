@@ -0,0 +1,106 @@
+-- Esquema inicial: el mismo que genera Hibernate para MySQL
+-- MySQL no tiene secuencias: Hibernate las emula con una tabla de una fila (next_val)
+
+CREATE TABLE owners_seq (next_val BIGINT);
+INSERT INTO owners_seq VALUES (1);
+CREATE TABLE clients_seq (next_val BIGINT);
+INSERT INTO clients_seq VALUES (1);
+CREATE TABLE users_seq (next_val BIGINT);
+INSERT INTO users_seq VALUES (1);
+CREATE TABLE cars_seq (next_val BIGINT);
+INSERT INTO cars_seq VALUES (1);
+CREATE TABLE reservations_seq (next_val BIGINT);
+INSERT INTO reservations_seq VALUES (1);
+CREATE TABLE reviews_seq (next_val BIGINT);
+INSERT INTO reviews_seq VALUES (1);
+
+CREATE TABLE owners (
+    id           BIGINT NOT NULL,
+    first_name   VARCHAR(255),
+    last_name    VARCHAR(255),
+    descripcion  VARCHAR(255),
+    photo_url    VARCHAR(255),
+    bank_account VARCHAR(255),
+    CONSTRAINT pk_owners PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE clients (
+    id         BIGINT NOT NULL,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    phone      VARCHAR(255),
+    CONSTRAINT pk_clients PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE users (
+    id        BIGINT                            NOT NULL,
+    email     VARCHAR(255)                      NOT NULL,
+    password  VARCHAR(255)                      NOT NULL,
+    role      ENUM ('OWNER', 'CLIENT', 'ADMIN') NOT NULL,
+    owner_id  BIGINT,
+    client_id BIGINT,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_owner UNIQUE (owner_id),
+    CONSTRAINT uk_users_client UNIQUE (client_id),
+    CONSTRAINT fk_users_owner FOREIGN KEY (owner_id) REFERENCES owners (id),
+    CONSTRAINT fk_users_client FOREIGN KEY (client_id) REFERENCES clients (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE cars (
+    id            BIGINT NOT NULL,
+    brand         VARCHAR(255),
+    model         VARCHAR(255),
+    color         VARCHAR(255),
+    descripcion   VARCHAR(255),
+    price_per_day DECIMAL(38, 2),
+    photo_url     VARCHAR(255),
+    status        ENUM ('ACTIVE', 'IN_MAINTENANCE', 'INACTIVE'),
+    version       BIGINT DEFAULT 0,
+    owner_id      BIGINT,
+    CONSTRAINT pk_cars PRIMARY KEY (id),
+    CONSTRAINT fk_cars_owner FOREIGN KEY (owner_id) REFERENCES owners (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE reservations (
+    id          BIGINT NOT NULL,
+    start_date  DATETIME(6),
+    end_date    DATETIME(6),
+    total_price DECIMAL(38, 2),
+    created_at  DATETIME(6),
+    status      ENUM ('PENDING', 'CONFIRMED', 'CANCELED'),
+    version     BIGINT DEFAULT 0,
+    car_id      BIGINT,
+    client_id   BIGINT,
+    CONSTRAINT pk_reservations PRIMARY KEY (id),
+    CONSTRAINT fk_reservations_car FOREIGN KEY (car_id) REFERENCES cars (id),
+    CONSTRAINT fk_reservations_client FOREIGN KEY (client_id) REFERENCES clients (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE reviews (
+    id         BIGINT NOT NULL,
+    rating     INT,
+    comment    VARCHAR(255),
+    created_at DATETIME(6),
+    car_id     BIGINT,
+    client_id  BIGINT,
+    CONSTRAINT pk_reviews PRIMARY KEY (id),
+    CONSTRAINT fk_reviews_car FOREIGN KEY (car_id) REFERENCES cars (id),
+    CONSTRAINT fk_reviews_client FOREIGN KEY (client_id) REFERENCES clients (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE car_rating_summaries (
+    car_id         BIGINT NOT NULL,
+    review_count   BIGINT NOT NULL,
+    rating_sum     BIGINT NOT NULL,
+    average_rating DOUBLE NOT NULL,
+    stars_1        BIGINT NOT NULL,
+    stars_2        BIGINT NOT NULL,
+    stars_3        BIGINT NOT NULL,
+    stars_4        BIGINT NOT NULL,
+    stars_5        BIGINT NOT NULL,
+    CONSTRAINT pk_car_rating_summaries PRIMARY KEY (car_id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_rating_summary_average ON car_rating_summaries (average_rating, car_id);
+CREATE INDEX idx_rating_summary_count ON car_rating_summaries (review_count, car_id);
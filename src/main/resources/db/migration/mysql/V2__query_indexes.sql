@@ -0,0 +1,30 @@
+-- Índices para las consultas de ICarRepo, IReservationRepo e IReviewRepo
+-- Los que sirven a la paginación por keyset terminan en id, porque ordena por (clave, id):
+-- el índice resuelve filtro + orden + LIMIT sin ordenar en memoria.
+-- Las FKs reutilizan estos índices (empiezan por la columna de la FK).
+-- En InnoDB el id (PK) ya va implícito al final de cada índice secundario; se deja
+-- explícito para que el índice sea el mismo en H2 y MySQL.
+-- ReservationEntity/CarEntity/ReviewEntity los declaran también con @Index.
+
+-- cars: findByOwnerIdAfter / streamByOwnerId
+CREATE INDEX idx_cars_owner ON cars (owner_id, id);
+-- cars: findByStatusAfter, findAvailableCarsAfter, findAvailableCarIds
+CREATE INDEX idx_cars_status ON cars (status, id);
+-- cars: findByPriceRangeAfter, searchCarsAfter (orden por precio)
+CREATE INDEX idx_cars_price ON cars (price_per_day, id);
+-- cars: findByBrandAfter / streamByBrand
+CREATE INDEX idx_cars_brand ON cars (brand, id);
+
+-- reservations: existsOverlapping (car_id = ? AND status IN (...) AND end_date > ?)
+CREATE INDEX idx_reservations_car_status_end ON reservations (car_id, status, end_date, start_date);
+-- reservations: findByCarIdAfter / streamByCarId (orden start_date, id)
+CREATE INDEX idx_reservations_car_start ON reservations (car_id, start_date, id);
+-- reservations: findByClientIdAfter / streamByClientId
+CREATE INDEX idx_reservations_client_start ON reservations (client_id, start_date, id);
+-- reservations: findSlotsByStatus y el NOT IN de findCarsWithoutActiveReservations (cubriente)
+CREATE INDEX idx_reservations_status_end ON reservations (status, end_date, car_id, start_date);
+
+-- reviews: findResponsesByCarId (orden created_at DESC, id DESC)
+CREATE INDEX idx_reviews_car_created ON reviews (car_id, created_at, id);
+-- reviews: findByClientId
+CREATE INDEX idx_reviews_client ON reviews (client_id);
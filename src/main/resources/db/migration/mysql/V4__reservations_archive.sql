@@ -0,0 +1,22 @@
+-- Archivo de reservas (ReservationArchiveService): CONFIRMED o CANCELED que terminaron
+-- antes del horizonte se mueven acá, así reservations solo crece con el negocio activo.
+-- Sin FKs: el histórico sobrevive a la baja del auto o del cliente.
+-- Solo se inserta y se lee poco: páginas comprimidas (menos disco y buffer pool)
+CREATE TABLE reservations_archive (
+    id          BIGINT NOT NULL,
+    start_date  DATETIME(6),
+    end_date    DATETIME(6),
+    total_price DECIMAL(38, 2),
+    created_at  DATETIME(6),
+    status      ENUM ('PENDING', 'CONFIRMED', 'CANCELED'),
+    car_id      BIGINT,
+    client_id   BIGINT,
+    archived_at DATETIME(6) NOT NULL,
+    CONSTRAINT pk_reservations_archive PRIMARY KEY (id)
+) ENGINE = InnoDB ROW_FORMAT = COMPRESSED;
+
+-- Mismos recorridos por keyset que en reservations
+CREATE INDEX idx_reservations_archive_car_start ON reservations_archive (car_id, start_date, id);
+CREATE INDEX idx_reservations_archive_client_start ON reservations_archive (client_id, start_date, id);
+-- Carga del calendario de ocupación: status = 'CONFIRMED' AND end_date >= ?
+CREATE INDEX idx_reservations_archive_status_end ON reservations_archive (status, end_date, car_id, start_date);
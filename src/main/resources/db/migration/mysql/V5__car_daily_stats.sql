@@ -0,0 +1,16 @@
+-- Rollup diario por auto para las analíticas de owners (OwnerAnalyticsService):
+-- ingresos, minutos reservados y reservas iniciadas por día, de las reservas CONFIRMED.
+-- Se actualiza en la misma transacción que confirma o cancela; se puede recalcular completo.
+-- owner_id desnormalizado: el tablero de un owner no hace JOIN con cars
+CREATE TABLE car_daily_stats (
+    car_id         BIGINT NOT NULL,
+    stat_date      DATE NOT NULL,
+    owner_id       BIGINT,
+    revenue        DECIMAL(19, 2) NOT NULL,
+    booked_minutes INT NOT NULL,
+    reservations   INT NOT NULL,
+    CONSTRAINT pk_car_daily_stats PRIMARY KEY (car_id, stat_date)
+) ENGINE = InnoDB;
+
+-- Tablero de un owner: owner_id = ? AND stat_date BETWEEN ? AND ?
+CREATE INDEX idx_car_daily_stats_owner_date ON car_daily_stats (owner_id, stat_date, car_id);
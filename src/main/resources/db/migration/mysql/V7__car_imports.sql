@@ -0,0 +1,25 @@
+-- Importaciones masivas de autos (CarImportService)
+-- car_import_jobs guarda el avance: rows_processed es el checkpoint (última fila del
+-- archivo ya commiteada); una importación fallida sigue desde ahí.
+CREATE TABLE car_import_jobs (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    status         VARCHAR(20) NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED')),
+    format         VARCHAR(10) NOT NULL,
+    spool_file     VARCHAR(500) NOT NULL,
+    rows_processed BIGINT NOT NULL,
+    imported       BIGINT NOT NULL,
+    rejected       BIGINT NOT NULL,
+    error          VARCHAR(1000),
+    created_at     DATETIME(6) NOT NULL,
+    updated_at     DATETIME(6) NOT NULL,
+    CONSTRAINT pk_car_import_jobs PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Reporte de filas rechazadas: se escribe en la misma transacción que el lote
+CREATE TABLE car_import_rejections (
+    job_id     BIGINT NOT NULL,
+    source_row BIGINT NOT NULL,
+    reason     VARCHAR(500) NOT NULL,
+    CONSTRAINT pk_car_import_rejections PRIMARY KEY (job_id, source_row),
+    CONSTRAINT fk_car_import_rejections_job FOREIGN KEY (job_id) REFERENCES car_import_jobs (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,31 @@
+-- Change feed de autos, reservas y reviews (ChangeLogService)
+-- updated_at / change_seq: último cambio de cada fila, los escribe ChangeLogService al commit
+ALTER TABLE cars ADD COLUMN updated_at DATETIME(6), ADD COLUMN change_seq BIGINT;
+ALTER TABLE reservations ADD COLUMN updated_at DATETIME(6), ADD COLUMN change_seq BIGINT;
+ALTER TABLE reviews ADD COLUMN updated_at DATETIME(6), ADD COLUMN change_seq BIGINT;
+
+-- Un registro por entidad cambiada en cada transacción, escrito en esa misma transacción
+CREATE TABLE change_log (
+    seq         BIGINT      NOT NULL,
+    entity_type VARCHAR(20) NOT NULL CHECK (entity_type IN ('CAR', 'RESERVATION', 'REVIEW')),
+    entity_id   BIGINT      NOT NULL,
+    operation   VARCHAR(10) NOT NULL CHECK (operation IN ('UPSERT', 'DELETE')),
+    changed_at  DATETIME(6) NOT NULL,
+    CONSTRAINT pk_change_log PRIMARY KEY (seq)
+) ENGINE = InnoDB;
+
+-- Feed filtrado por tipo (?types=CAR)
+CREATE INDEX idx_change_log_type_seq ON change_log (entity_type, seq);
+
+-- Fila única: last_seq es el último número asignado. Cada transacción lo incrementa justo
+-- antes del commit y mantiene el lock de la fila hasta commitear, así los números se
+-- vuelven visibles en orden (nunca aparece el 11 antes que el 10).
+-- purged_seq: hasta dónde se borró el log por retención
+CREATE TABLE change_log_head (
+    id         INT    NOT NULL,
+    last_seq   BIGINT NOT NULL,
+    purged_seq BIGINT NOT NULL,
+    CONSTRAINT pk_change_log_head PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO change_log_head (id, last_seq, purged_seq) VALUES (1, 0, 0);
@@ -0,0 +1,249 @@
+package com.example.leasing.Repository;
+
+import com.example.leasing.Entity.CarStatusEnum;
+import com.example.leasing.Entity.ChangeEntityTypeEnum;
+import com.example.leasing.Entity.ReservationStatusEnum;
+import com.example.leasing.seed.BulkDataLoader;
+import com.example.leasing.seed.DatasetSpec;
+import com.example.leasing.seed.SyntheticDataGenerator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Planes de ejecución de las queries de repositorio (EXPLAIN de H2)
+ *
+ * Ejecuta cada método, toma el SQL que generó Hibernate de INFORMATION_SCHEMA.QUERY_STATISTICS
+ * y falla si el plan recorre completa (sin condición de índice) una tabla de más de
+ * FULL_SCAN_ROW_THRESHOLD filas: señal de que falta o no se usa un índice de db/migration.
+ *
+ * Quedan afuera las lecturas que recorren todo por diseño: findAll, los LIKE '%...%' (el
+ * buscador usa CarSearchService) y findCarsWithoutActiveReservations sin keyset.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+	private static final long FULL_SCAN_ROW_THRESHOLD = 100;
+	private static final Pageable PAGE = PageRequest.ofSize(21);
+	private static final LocalDateTime FIRST_DATE = LocalDateTime.of(2000, 1, 1, 0, 0);
+	private static final String EMAIL = SyntheticDataGenerator.clientEmail(1);
+
+	// FROM/JOIN "PUBLIC"."TABLA" "ALIAS" /* PUBLIC.INDICE: CONDICIÓN */ (sin condición = recorrido completo)
+	private static final Pattern TABLE_ACCESS = Pattern.compile(
+			"(?:FROM|JOIN)\\s+\"PUBLIC\"\\.\"(\\w+)\"(?:\\s+\"\\w+\")?\\s*/\\*\\s*PUBLIC\\.([\\w.]+)(:[^*]*)?\\*/");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BulkDataLoader bulkDataLoader;
+
+	@Autowired
+	private ICarRepo carRepo;
+
+	@Autowired
+	private IReservationRepo reservationRepo;
+
+	@Autowired
+	private IReservationArchiveRepo archiveRepo;
+
+	@Autowired
+	private IReviewRepo reviewRepo;
+
+	@Autowired
+	private IClientRepo clientRepo;
+
+	@Autowired
+	private IUserRepo userRepo;
+
+	@Autowired
+	private ICarRatingSummaryRepo ratingSummaryRepo;
+
+	@Autowired
+	private ICarDailyStatsRepo dailyStatsRepo;
+
+	@Autowired
+	private IOwnerRepo ownerRepo;
+
+	@Autowired
+	private ICarImportRejectionRepo importRejectionRepo;
+
+	@Autowired
+	private IChangeLogRepo changeLogRepo;
+
+	@BeforeAll
+	void setUp() {
+		// El contexto (y la base) se comparte con otros tests que cargan el mismo dataset
+		if (!userRepo.existsByEmail(EMAIL)) {
+			bulkDataLoader.load(DatasetSpec.small());
+		}
+	}
+
+	Stream<Arguments> repositoryQueries() {
+		LocalDateTime from = LocalDateTime.now().plusDays(1);
+		return Stream.of(
+				// Autos
+				query("ICarRepo.findExistingIds", () -> carRepo.findExistingIds(List.of(1L, 2L, 3L))),
+				query("ICarRepo.findAvailableCarIds", () -> carRepo.findAvailableCarIds()),
+				query("ICarRepo.findByBrandAfter", () -> carRepo.findByBrandAfter("Ford", 0, PAGE)),
+				query("ICarRepo.findByStatusAfter", () -> carRepo.findByStatusAfter(CarStatusEnum.ACTIVE, 0, PAGE)),
+				query("ICarRepo.findAvailableCarsAfter", () -> carRepo.findAvailableCarsAfter(0, PAGE)),
+				query("ICarRepo.findByPriceRangeAfter", () -> carRepo.findByPriceRangeAfter(
+						BigDecimal.valueOf(30), BigDecimal.valueOf(150), BigDecimal.ZERO, 0, PAGE)),
+				query("ICarRepo.findByOwnerIdAfter", () -> carRepo.findByOwnerIdAfter(1L, 0, PAGE)),
+				query("ICarRepo.findIdsByOwnerId", () -> carRepo.findIdsByOwnerId(1L)),
+				query("ICarRepo.findTopRatedCars", () -> carRepo.findTopRatedCars()),
+				query("ICarRepo.findTopRatedCarsAfter", () -> carRepo.findTopRatedCarsAfter(4.0, Double.MAX_VALUE, 0, PAGE)),
+				query("ICarRepo.findMostReviewedCarsAfter", () -> carRepo.findMostReviewedCarsAfter(4.0, Long.MAX_VALUE, 0, PAGE)),
+				query("ICarRepo.findCarsWithoutActiveReservationsAfter", () -> carRepo.findCarsWithoutActiveReservationsAfter(0, PAGE)),
+				query("ICarRepo.searchCarsAfter", () -> carRepo.searchCarsAfter(null, null,
+						BigDecimal.valueOf(30), BigDecimal.valueOf(150), CarStatusEnum.ACTIVE, BigDecimal.ZERO, 0, PAGE)),
+				// Reservas
+				query("IReservationRepo.existsOverlapping", () -> reservationRepo.existsOverlapping(1L, from, from.plusDays(3))),
+				query("IReservationRepo.findSlotsByStatus", () -> reservationRepo.findSlotsByStatus(ReservationStatusEnum.CONFIRMED)),
+				query("IReservationRepo.findSlotsOverlapping", () -> reservationRepo.findSlotsOverlapping(
+						1L, ReservationStatusEnum.CONFIRMED, from, from.plusDays(3))),
+				query("IReservationRepo.findResponseById", () -> reservationRepo.findResponseById(1L)),
+				query("IReservationRepo.findByCarId", () -> reservationRepo.findByCarId(1L)),
+				query("IReservationRepo.findByClientId", () -> reservationRepo.findByClientId(1L)),
+				query("IReservationRepo.findByCarIdAfter", () -> reservationRepo.findByCarIdAfter(1L, FIRST_DATE, 0, PAGE)),
+				query("IReservationRepo.findIdsByStatusCreatedBefore", () -> reservationRepo.findIdsByStatusCreatedBefore(
+						ReservationStatusEnum.PENDING, from, PAGE)),
+				query("IReservationRepo.findByClientIdAfter", () -> reservationRepo.findByClientIdAfter(1L, FIRST_DATE, 0, PAGE)),
+				// Archivo de reservas
+				query("IReservationArchiveRepo.findResponseById", () -> archiveRepo.findResponseById(1L)),
+				query("IReservationArchiveRepo.findSlotsByStatusEndingSince", () -> archiveRepo.findSlotsByStatusEndingSince(
+						ReservationStatusEnum.CONFIRMED, from)),
+				query("IReservationArchiveRepo.findByCarIdAfter", () -> archiveRepo.findByCarIdAfter(1L, FIRST_DATE, 0, PAGE)),
+				query("IReservationArchiveRepo.findByClientIdAfter", () -> archiveRepo.findByClientIdAfter(1L, FIRST_DATE, 0, PAGE)),
+				// Reviews
+				query("IReviewRepo.findResponseById", () -> reviewRepo.findResponseById(1L)),
+				query("IReviewRepo.findByCarId", () -> reviewRepo.findByCarId(1L)),
+				query("IReviewRepo.findByClientId", () -> reviewRepo.findByClientId(1L)),
+				query("IReviewRepo.findResponsesByCarId", () -> reviewRepo.findResponsesByCarId(1L)),
+				// Clientes / usuarios
+				query("IClientRepo.findResponseById", () -> clientRepo.findResponseById(1L)),
+				query("IClientRepo.findExistingIds", () -> clientRepo.findExistingIds(List.of(1L, 2L, 3L))),
+				query("IClientRepo.findResponsesByIds", () -> clientRepo.findResponsesByIds(List.of(1L, 2L, 3L))),
+				query("IUserRepo.findPrincipalByEmail", () -> userRepo.findPrincipalByEmail(EMAIL)),
+				query("IUserRepo.findClientResponseByEmail", () -> userRepo.findClientResponseByEmail(EMAIL)),
+				query("IUserRepo.findByEmailWithRelations", () -> userRepo.findByEmailWithRelations(EMAIL)),
+				query("ICarRatingSummaryRepo.findById", () -> ratingSummaryRepo.findById(1L)),
+				// Reparación de resúmenes de rating
+				query("ICarRepo.findIdsAfter", () -> carRepo.findIdsAfter(0, PAGE)),
+				query("IReviewRepo.aggregateRatingsByCarIds", () -> reviewRepo.aggregateRatingsByCarIds(List.of(1L, 2L, 3L))),
+				query("ICarRatingSummaryRepo.findExistingIds", () -> ratingSummaryRepo.findExistingIds(List.of(1L, 2L, 3L))),
+				// Analíticas
+				query("ICarRepo.findOwnerIdById", () -> carRepo.findOwnerIdById(1L)),
+				query("ICarDailyStatsRepo.sumByCarForOwner", () -> dailyStatsRepo.sumByCarForOwner(
+						1L, from.toLocalDate().withDayOfMonth(1), from.toLocalDate().withDayOfMonth(1).plusMonths(1))),
+				query("ICarDailyStatsRepo.sumByDayForOwner", () -> dailyStatsRepo.sumByDayForOwner(
+						1L, from.toLocalDate().withDayOfYear(1), from.toLocalDate().withDayOfYear(1).plusYears(1))),
+				query("ICarDailyStatsRepo.findDaysForCar", () -> dailyStatsRepo.findDaysForCar(
+						1L, from.toLocalDate().withDayOfYear(1), from.toLocalDate().withDayOfYear(1).plusYears(1))),
+				query("IReservationRepo.findRevenueByCarIds", () -> reservationRepo.findRevenueByCarIds(
+						List.of(1L, 2L, 3L), ReservationStatusEnum.CONFIRMED)),
+				query("IReservationArchiveRepo.findRevenueByCarIds", () -> archiveRepo.findRevenueByCarIds(
+						List.of(1L, 2L, 3L), ReservationStatusEnum.CONFIRMED)),
+				query("ICarDailyStatsRepo.findKeysByCarIds", () -> dailyStatsRepo.findKeysByCarIds(List.of(1L, 2L, 3L))),
+				// Importaciones
+				query("IOwnerRepo.findExistingIds", () -> ownerRepo.findExistingIds(List.of(1L, 2L, 3L))),
+				query("ICarImportRejectionRepo.findByJobAfter", () -> importRejectionRepo.findByJobAfter(1L, 0, PAGE)),
+				// Change feed
+				query("IChangeLogRepo.findAfter", () -> changeLogRepo.findAfter(0, PAGE)),
+				query("IChangeLogRepo.findAfterByTypes", () -> changeLogRepo.findAfterByTypes(
+						0, List.of(ChangeEntityTypeEnum.CAR), PAGE)),
+				query("IChangeLogRepo.findSeqsChangedBefore", () -> changeLogRepo.findSeqsChangedBefore(0, FIRST_DATE, PAGE)),
+				query("ICarRepo.findResponsesByIds", () -> carRepo.findResponsesByIds(List.of(1L, 2L, 3L))),
+				query("IReservationRepo.findResponsesByIds", () -> reservationRepo.findResponsesByIds(List.of(1L, 2L, 3L))),
+				query("IReviewRepo.findResponsesByIds", () -> reviewRepo.findResponsesByIds(List.of(1L, 2L, 3L)))
+		);
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("repositoryQueries")
+	void queryDoesNotScanLargeTables(String name, Runnable call) {
+		List<String> statements = captureStatements(call);
+		assertThat(statements).as("SQL ejecutado por %s", name).isNotEmpty();
+
+		for (String sql : statements) {
+			String plan = explain(sql);
+			Matcher access = TABLE_ACCESS.matcher(plan);
+			while (access.find()) {
+				if (access.group(3) != null) {
+					continue;
+				}
+				String table = access.group(1);
+				Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+				assertThat(rows)
+						.as("%s recorre completa la tabla %s (%d filas):%n%s", name, table, rows, plan)
+						.isLessThanOrEqualTo(FULL_SCAN_ROW_THRESHOLD);
+			}
+		}
+	}
+
+	// ==========================================
+	// HELPERS PRIVADOS
+	// ==========================================
+
+	private static Arguments query(String name, Runnable call) {
+		return Arguments.of(name, call);
+	}
+
+	/**
+	 * SELECTs que ejecuta la llamada (las estadísticas de H2 se reinician al desactivarlas)
+	 */
+	private List<String> captureStatements(Runnable call) {
+		jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+		jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+		try {
+			call.run();
+			return jdbcTemplate.queryForList("SELECT SQL_STATEMENT FROM INFORMATION_SCHEMA.QUERY_STATISTICS", String.class)
+					.stream()
+					.filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+					.filter(sql -> !sql.toUpperCase(Locale.ROOT).contains("INFORMATION_SCHEMA"))
+					.toList();
+		} finally {
+			jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+		}
+	}
+
+	/**
+	 * EXPLAIN del SQL con sus parámetros en NULL: H2 arma el plan al preparar, sin mirar valores
+	 */
+	private String explain(String sql) {
+		return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+			try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+				int parameters = statement.getParameterMetaData().getParameterCount();
+				for (int i = 1; i <= parameters; i++) {
+					statement.setObject(i, null);
+				}
+				try (ResultSet plan = statement.executeQuery()) {
+					plan.next();
+					return plan.getString(1);
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,31 @@
+package com.example.leasing.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Negociación de gzip de las exportaciones (valores q de Accept-Encoding)
+ */
+class ExportControllerTest {
+
+	@Test
+	void acceptsGzipWhenListedWithPositiveQuality() {
+		assertThat(ExportController.acceptsGzip("gzip")).isTrue();
+		assertThat(ExportController.acceptsGzip("GZIP, deflate")).isTrue();
+		assertThat(ExportController.acceptsGzip("br;q=1.0, gzip; q=0.8")).isTrue();
+		assertThat(ExportController.acceptsGzip("x-gzip")).isTrue();
+		assertThat(ExportController.acceptsGzip("*")).isTrue();
+	}
+
+	@Test
+	void rejectsGzipWithZeroQualityOrMissing() {
+		assertThat(ExportController.acceptsGzip(null)).isFalse();
+		assertThat(ExportController.acceptsGzip("deflate")).isFalse();
+		assertThat(ExportController.acceptsGzip("gzip;q=0")).isFalse();
+		assertThat(ExportController.acceptsGzip("gzip;q=0.000")).isFalse();
+		// Rechazado explícitamente aunque venga el comodín
+		assertThat(ExportController.acceptsGzip("*, gzip;q=0")).isFalse();
+		assertThat(ExportController.acceptsGzip("identity, *;q=0")).isFalse();
+	}
+}
@@ -0,0 +1,117 @@
+package com.example.leasing.controller;
+
+import com.example.leasing.Repository.IUserRepo;
+import com.example.leasing.seed.BulkDataLoader;
+import com.example.leasing.seed.DatasetSpec;
+import com.example.leasing.seed.SyntheticDataGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guardia contra N+1: cada endpoint de lectura tiene un presupuesto de sentencias SQL
+ * por request (contadas con las estadísticas de Hibernate).
+ *
+ * Corre sobre data.sql + un dataset sintético chico, así los listados tienen decenas
+ * de filas y un N+1 se nota enseguida.
+ *
+ * Las estadísticas son de todo el SessionFactory: los tests corren sin @Scheduled
+ * (leasing.scheduling.enabled=false en src/test/resources/config) para que ningún job
+ * sume sentencias en el medio.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlStatementBudgetTest {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private BulkDataLoader bulkDataLoader;
+
+	@Autowired
+	private IUserRepo userRepo;
+
+	private MockMvc mockMvc;
+	private Statistics statistics;
+
+	@BeforeAll
+	void setUp() {
+		// El contexto (y la base) se comparte con otros tests que cargan el mismo dataset
+		if (!userRepo.existsByEmail(SyntheticDataGenerator.clientEmail(1))) {
+			bulkDataLoader.load(DatasetSpec.small());
+		}
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@ParameterizedTest(name = "{0} <= {1} sentencias")
+	@CsvSource({
+			// Autos (IDs de data.sql)
+			"/api/cars/1,                               1",
+			"/api/cars?size=50,                         1",
+			"/api/cars/owner/1?size=50,                 1",
+			"/api/cars/top-rated?size=50,               1",
+			"/api/cars/top-rated?sort=count&size=50,    1",
+			// Clientes
+			"/api/clients,                              1",
+			"/api/clients/1,                            1",
+			"'/api/clients/batch?ids=3,1,2,999999',     1",
+			"/api/clients/by-email/client1@seed.leasing, 1",
+			// Reservas
+			"/api/reservations/1,                       1",
+			"/api/reservations/car/1?size=50,           1",
+			"/api/reservations/client/1?size=50,        1",
+			// Reviews
+			"/api/reviews/1,                            1",
+			"/api/reviews/car/1,                        1",
+			// Change feed: el log más una query IN por tipo de entidad
+			"/api/changes?after=0&size=100,             4"
+	})
+	void endpointStaysWithinStatementBudget(String url, long maxStatements) throws Exception {
+		statistics.clear();
+
+		mockMvc.perform(get(url)).andExpect(status().isOk());
+
+		assertThat(statistics.getPrepareStatementCount())
+				.as("Sentencias SQL de GET %s", url)
+				.isLessThanOrEqualTo(maxStatements);
+	}
+
+	// Exportaciones: un solo cursor por tabla, sin importar la cantidad de filas
+	@ParameterizedTest(name = "{0} <= {1} sentencias")
+	@CsvSource({
+			"/api/exports/cars?format=csv,                              1",
+			"/api/exports/reviews?format=ndjson,                        1",
+			"/api/exports/reservations?format=csv,                      1",
+			"/api/exports/reservations?format=ndjson&includeArchived=true, 2"
+	})
+	void exportUsesOneCursorPerTable(String url, long maxStatements) throws Exception {
+		statistics.clear();
+
+		mockMvc.perform(get(url).header("Accept-Encoding", "gzip"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Encoding", "gzip"));
+
+		assertThat(statistics.getPrepareStatementCount())
+				.as("Sentencias SQL de GET %s", url)
+				.isLessThanOrEqualTo(maxStatements);
+	}
+}
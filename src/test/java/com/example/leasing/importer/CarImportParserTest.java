@@ -0,0 +1,98 @@
+package com.example.leasing.importer;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parsers y validación de importaciones: bordes del CSV (comillas, saltos de línea dentro
+ * de un campo, CRLF, BOM, líneas en blanco) y filas mal formadas que no cortan la lectura
+ */
+class CarImportParserTest {
+
+	private final CarImportValidator validator = new CarImportValidator();
+
+	@Test
+	void csvHandlesQuotesNewlinesAndCrlf() throws IOException {
+		String csv = "\uFEFFBrand,model,pricePerDay,ownerId,descripcion\r\n"
+				+ "Ford,Fiesta,35.50,1,\"Chico, económico\"\r\n"
+				+ "\r\n"
+				+ "Fiat,\"Cronos \"\"Drive\"\"\",40,1,\"Dos\nlíneas\"\n"
+				+ "Renault,Kwid,30,1\n";
+
+		List<CarImportRow> rows = readAll(ImportFormat.CSV, csv);
+
+		assertThat(rows).extracting(CarImportRow::row).containsExactly(1L, 2L, 3L);
+		assertThat(rows.get(0).field("brand")).isEqualTo("Ford");
+		assertThat(rows.get(0).field("descripcion")).isEqualTo("Chico, económico");
+		assertThat(rows.get(1).field("model")).isEqualTo("Cronos \"Drive\"");
+		assertThat(rows.get(1).field("descripcion")).isEqualTo("Dos\nlíneas");
+		assertThat(rows.get(2).field("descripcion")).isNull();
+	}
+
+	@Test
+	void csvRowWithExtraColumnsIsRejectedAndReadingContinues() throws IOException {
+		String csv = "brand,model,pricePerDay,ownerId\n"
+				+ "Ford,Ka,20,1,sobra\n"
+				+ "Ford,Ka,20,1\n";
+
+		List<CarImportRow> rows = readAll(ImportFormat.CSV, csv);
+
+		assertThat(validator.validate(rows.get(0)).rejection()).contains("columnas");
+		assertThat(validator.validate(rows.get(1)).car()).isNotNull();
+	}
+
+	@Test
+	void ndjsonReadsPricesExactlyAndReportsInvalidLines() throws IOException {
+		String ndjson = "{\"brand\":\"Ford\",\"model\":\"Ka\",\"pricePerDay\":19.99,\"ownerId\":1}\n"
+				+ "{no es json}\n"
+				+ "\n"
+				+ "{\"brand\":\"Ford\",\"model\":\"Ka\",\"pricePerDay\":1.005,\"ownerId\":1}\n";
+
+		List<CarImportValidator.Result> results = readAll(ImportFormat.NDJSON, ndjson).stream()
+				.map(validator::validate)
+				.toList();
+
+		assertThat(results).extracting(CarImportValidator.Result::row).containsExactly(1L, 2L, 3L);
+		assertThat(results.get(0).car().pricePerDay()).isEqualByComparingTo("19.99");
+		assertThat(results.get(1).rejection()).startsWith("JSON inválido");
+		assertThat(results.get(2).rejection()).contains("dos decimales");
+	}
+
+	@Test
+	void validatorRejectsMissingAndInvalidFields() throws IOException {
+		String csv = "brand,model,pricePerDay,ownerId,status\n"
+				+ ",Ka,20,1,\n"
+				+ "Ford,Ka,-5,1,\n"
+				+ "Ford,Ka,20,,\n"
+				+ "Ford,Ka,20,1,ROTO\n"
+				+ "Ford,Ka,20,1,in_maintenance\n";
+
+		List<CarImportValidator.Result> results = readAll(ImportFormat.CSV, csv).stream()
+				.map(validator::validate)
+				.toList();
+
+		assertThat(results.get(0).rejection()).isEqualTo("La marca es obligatoria");
+		assertThat(results.get(1).rejection()).contains("mayor a 0");
+		assertThat(results.get(2).rejection()).isEqualTo("El owner es obligatorio");
+		assertThat(results.get(3).rejection()).isEqualTo("Estado inválido: ROTO");
+		assertThat(results.get(4).car().status().name()).isEqualTo("IN_MAINTENANCE");
+	}
+
+	private static List<CarImportRow> readAll(ImportFormat format, String content) throws IOException {
+		CarImportParser parser = format.parser(new BufferedReader(new StringReader(content)), JsonMapper.builder().build());
+		List<CarImportRow> rows = new ArrayList<>();
+		CarImportRow row;
+		while ((row = parser.next()) != null) {
+			rows.add(row);
+		}
+		return rows;
+	}
+}
@@ -0,0 +1,156 @@
+package com.example.leasing.pricing;
+
+import com.example.leasing.Entity.ReservationEntity;
+import com.example.leasing.service.BookingService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Propiedades del motor de precios sobre miles de casos al azar
+ *
+ * Cada propiedad genera sus casos con una semilla fija (reproducible); si falla, el
+ * mensaje incluye la semilla y el número de caso. Los casos cubren bordes a propósito:
+ * rangos de minutos, cruces de medianoche y de fin de año, precios con centavos impares
+ * y reglas que se combinan (recargos que se suman, descuentos escalonados, recargos negativos).
+ */
+class PricingEnginePropertyTest {
+
+	private static final int CASES = 10_000;
+	private static final long SEED = 20_260_118L;
+	private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+	@Test
+	void engineMatchesBigDecimalReference() {
+		Random random = new Random(SEED);
+		for (int i = 0; i < CASES; i++) {
+			BillingMode mode = random.nextBoolean() ? BillingMode.DAYS : BillingMode.HOURS;
+			List<PricingRule> rules = randomRules(random);
+			long priceMinor = randomPrice(random);
+			LocalDateTime start = randomStart(random);
+			LocalDateTime end = start.plusMinutes(randomMinutes(random));
+
+			long actual = new PricingEngine(mode, rules).quoteMinor(priceMinor, start, end);
+			BigDecimal expected = ReferencePricing.quote(PricingEngine.fromMinor(priceMinor), start, end, mode, rules);
+
+			assertThat(PricingEngine.fromMinor(actual))
+					.as("semilla %d, caso %d: %s %s [%s, %s) %s", SEED, i, mode, priceMinor, start, end, rules)
+					.isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void batchQuoteMatchesSingleQuotes() {
+		Random random = new Random(SEED + 1);
+		for (int i = 0; i < CASES / 100; i++) {
+			PricingEngine engine = new PricingEngine(BillingMode.HOURS, randomRules(random));
+			LocalDateTime start = randomStart(random);
+			LocalDateTime end = start.plusMinutes(1 + randomMinutes(random));
+			int count = 1 + random.nextInt(500);
+			long[] prices = new long[count];
+			for (int c = 0; c < count; c++) {
+				prices[c] = randomPrice(random);
+			}
+
+			long[] totals = new long[count];
+			engine.prepare(start, end).pricesMinor(prices, totals, count);
+
+			for (int c = 0; c < count; c++) {
+				assertThat(totals[c])
+						.as("semilla %d, caso %d, auto %d", SEED + 1, i, c)
+						.isEqualTo(engine.quoteMinor(prices[c], start, end));
+			}
+		}
+	}
+
+	@Test
+	void standardEngineMatchesLegacyPricePerDayTimesDays() {
+		Random random = new Random(SEED + 2);
+		PricingEngine engine = PricingEngine.standard();
+		for (int i = 0; i < CASES; i++) {
+			BigDecimal pricePerDay = PricingEngine.fromMinor(randomPrice(random));
+			LocalDateTime start = randomStart(random);
+			LocalDateTime end = start.plusMinutes(randomMinutes(random));
+			ReservationEntity reservation = ReservationEntity.builder().startDate(start).endDate(end).build();
+
+			BigDecimal legacy = BookingService.calculateTotalPrice(pricePerDay, reservation.getDaysReserved());
+			long actual = engine.quoteMinor(PricingEngine.toMinor(pricePerDay), start, end);
+
+			assertThat(PricingEngine.fromMinor(actual))
+					.as("semilla %d, caso %d: %s [%s, %s)", SEED + 2, i, pricePerDay, start, end)
+					.isEqualByComparingTo(legacy);
+		}
+	}
+
+	@Test
+	void divideHalfUpMatchesBigDecimalRounding() {
+		Random random = new Random(SEED + 3);
+		for (int i = 0; i < CASES; i++) {
+			long dividend = random.nextLong() >> random.nextInt(64);
+			long divisor = 1 + random.nextInt(240_000);
+			BigDecimal expected = BigDecimal.valueOf(dividend)
+					.divide(BigDecimal.valueOf(divisor), 0, java.math.RoundingMode.HALF_UP);
+
+			assertThat(PricingEngine.divideHalfUp(dividend, divisor))
+					.as("semilla %d, caso %d: %d / %d", SEED + 3, i, dividend, divisor)
+					.isEqualTo(expected.longValueExact());
+		}
+	}
+
+	// ==========================================
+	// GENERADORES
+	// ==========================================
+
+	// Hasta 100.000,00 por día, con bordes: 0, 1 centavo y precios "redondos"
+	private static long randomPrice(Random random) {
+		return switch (random.nextInt(10)) {
+			case 0 -> 0;
+			case 1 -> 1;
+			case 2 -> 100L * (1 + random.nextInt(1_000));
+			default -> random.nextLong(10_000_000L);
+		};
+	}
+
+	// Cualquier minuto de dos años (incluye cruces de fin de año y de fin de semana)
+	private static LocalDateTime randomStart(Random random) {
+		return EPOCH.plusMinutes(random.nextLong(2L * 366 * 24 * 60));
+	}
+
+	// Desde rangos vacíos y de pocos minutos hasta 120 días
+	private static long randomMinutes(Random random) {
+		return switch (random.nextInt(4)) {
+			case 0 -> random.nextInt(120);
+			case 1 -> 24L * 60 * random.nextInt(30);
+			default -> random.nextLong(120L * 24 * 60);
+		};
+	}
+
+	private static List<PricingRule> randomRules(Random random) {
+		List<PricingRule> rules = new ArrayList<>();
+		if (random.nextBoolean()) {
+			rules.add(new WeekendSurchargeRule(random.nextInt(5_001)));
+		}
+		if (random.nextBoolean()) {
+			MonthDay from = MonthDay.of(1 + random.nextInt(12), 1 + random.nextInt(28));
+			MonthDay to = MonthDay.of(1 + random.nextInt(12), 1 + random.nextInt(28));
+			rules.add(new SeasonSurchargeRule(from, to, random.nextInt(6_001) - 1_000));
+		}
+		if (random.nextBoolean()) {
+			Map<Long, Integer> tiers = new TreeMap<>();
+			for (int t = random.nextInt(4); t > 0; t--) {
+				tiers.put(1L + random.nextInt(60), random.nextInt(5_001));
+			}
+			rules.add(new LongStayDiscountRule(tiers));
+		}
+		return rules;
+	}
+}
@@ -0,0 +1,67 @@
+package com.example.leasing.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Referencia en BigDecimal de la especificación de precios (la cuenta "a mano")
+ *
+ * Recorre hora por hora (o día por día) y suma precio × horas × tarifa sin redondear,
+ * divide una sola vez al final y aplica el descuento. No comparte código con
+ * PricingEngine: sirve para verificar que el motor en long da exactamente lo mismo.
+ */
+final class ReferencePricing {
+
+	private static final BigDecimal BASIS_POINTS = BigDecimal.valueOf(10_000);
+	private static final BigDecimal WEIGHT_SCALE = BigDecimal.valueOf(24 * 10_000);
+
+	private ReferencePricing() {
+	}
+
+	static BigDecimal quote(BigDecimal pricePerDay, LocalDateTime start, LocalDateTime end,
+							BillingMode mode, List<PricingRule> rules) {
+		BigDecimal sum = BigDecimal.ZERO;
+		long billedHours = 0;
+		if (start.isBefore(end)) {
+			if (mode == BillingMode.DAYS) {
+				// Igual que ReservationEntity.getDaysReserved() antes del motor: Math.ceil sobre double
+				long hours = ChronoUnit.HOURS.between(start, end);
+				long days = (long) Math.ceil(hours / 24.0);
+				for (long i = 0; i < days; i++) {
+					sum = sum.add(pricePerDay.multiply(BigDecimal.valueOf(24)).multiply(rate(start.toLocalDate().plusDays(i), rules)));
+				}
+				billedHours = days * 24;
+			} else {
+				long minutes = ChronoUnit.MINUTES.between(start, end);
+				billedHours = (long) Math.ceil(minutes / 60.0);
+				for (long k = 0; k < billedHours; k++) {
+					sum = sum.add(pricePerDay.multiply(rate(start.plusHours(k).toLocalDate(), rules)));
+				}
+			}
+		}
+		BigDecimal base = sum.divide(WEIGHT_SCALE, 2, RoundingMode.HALF_UP);
+		long billedDays = (long) Math.ceil(billedHours / 24.0);
+		int discount = 0;
+		for (PricingRule rule : rules) {
+			discount = Math.max(discount, rule.discountBp(billedDays));
+		}
+		discount = Math.min(discount, 10_000);
+		if (discount == 0) {
+			return base;
+		}
+		return base.multiply(BASIS_POINTS.subtract(BigDecimal.valueOf(discount)))
+				.divide(BASIS_POINTS, 2, RoundingMode.HALF_UP);
+	}
+
+	private static BigDecimal rate(LocalDate date, List<PricingRule> rules) {
+		long rate = 10_000;
+		for (PricingRule rule : rules) {
+			rate += rule.surchargeBp(date);
+		}
+		return BigDecimal.valueOf(Math.max(rate, 0));
+	}
+}
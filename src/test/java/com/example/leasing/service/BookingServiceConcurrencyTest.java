@@ -0,0 +1,117 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.ReservationEntity;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.Repository.IClientRepo;
+import com.example.leasing.Repository.IReservationRepo;
+import com.example.leasing.dto.BookingRequest;
+import com.example.leasing.exception.UnavailableResourceException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de estrés del motor de reservas: muchos hilos reservando rangos al azar
+ * sobre pocos autos. Al final no puede haber dos reservas solapadas del mismo auto.
+ */
+@SpringBootTest
+class BookingServiceConcurrencyTest {
+
+	private static final int THREADS = 32;
+	private static final int ATTEMPTS_PER_THREAD = 25;
+	private static final int CARS = 4;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private ICarRepo carRepo;
+
+	@Autowired
+	private IClientRepo clientRepo;
+
+	@Autowired
+	private IReservationRepo reservationRepo;
+
+	@Test
+	void concurrentBookingsNeverOverlap() throws Exception {
+		List<Long> carIds = new ArrayList<>();
+		for (int i = 0; i < CARS; i++) {
+			carIds.add(carRepo.save(TestFixtures.car("Stress").model("Car " + i).build()).getId());
+		}
+		Long clientId = clientRepo.save(TestFixtures.client("Stress").build()).getId();
+		LocalDateTime base = LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.HOURS);
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger booked = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+
+		for (int t = 0; t < THREADS; t++) {
+			long seed = t;
+			futures.add(pool.submit(() -> {
+				Random random = new Random(seed);
+				start.await();
+				for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+					Long carId = carIds.get(random.nextInt(CARS));
+					LocalDateTime from = base.plusHours(random.nextInt(24 * 20));
+					LocalDateTime to = from.plusHours(1 + random.nextInt(72));
+					try {
+						bookingService.book(new BookingRequest(carId, clientId, from, to));
+						booked.incrementAndGet();
+					} catch (UnavailableResourceException ex) {
+						rejected.incrementAndGet();
+					}
+				}
+				return null;
+			}));
+		}
+
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(2, TimeUnit.MINUTES);
+		}
+		pool.shutdown();
+
+		assertThat(booked.get() + rejected.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD);
+		assertThat(booked.get()).isPositive();
+		assertThat(rejected.get()).isPositive();
+
+		int stored = 0;
+		for (Long carId : carIds) {
+			List<ReservationEntity> reservations = new ArrayList<>(reservationRepo.findByCarId(carId));
+			reservations.sort(Comparator.comparing(ReservationEntity::getStartDate));
+			stored += reservations.size();
+
+			for (int i = 1; i < reservations.size(); i++) {
+				ReservationEntity previous = reservations.get(i - 1);
+				ReservationEntity current = reservations.get(i);
+				assertThat(current.getStartDate())
+						.as("Reservas %d y %d del auto %d se solapan", previous.getId(), current.getId(), carId)
+						.isAfterOrEqualTo(previous.getEndDate());
+			}
+			for (ReservationEntity reservation : reservations) {
+				assertThat(reservation.getTotalPrice())
+						.isEqualByComparingTo(TestFixtures.PRICE_PER_DAY.multiply(BigDecimal.valueOf(reservation.getDaysReserved())));
+			}
+		}
+		assertThat(stored).isEqualTo(booked.get());
+	}
+}
@@ -0,0 +1,119 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.CarImportJobEntity;
+import com.example.leasing.Entity.CarImportStatusEnum;
+import com.example.leasing.Repository.ICarImportJobRepo;
+import com.example.leasing.dto.CarImportJobResponse;
+import com.example.leasing.dto.CursorPage;
+import com.example.leasing.dto.ImportRejectionResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Importación masiva de autos de punta a punta: varios lotes, rechazos por fila
+ * (incluido un owner inexistente) y retomar una importación desde su checkpoint
+ */
+@SpringBootTest
+class CarImportServiceTest {
+
+	private static final int ROWS = 12_050; // Tres lotes de leasing.imports.batch-size
+
+	@Autowired
+	private CarImportService carImportService;
+
+	@Autowired
+	private ICarImportJobRepo jobRepo;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void importsValidRowsAndReportsRejectionsPerRow() throws Exception {
+		String brand = "Import-" + UUID.randomUUID();
+		StringBuilder csv = new StringBuilder("brand,model,pricePerDay,ownerId,status\n");
+		for (int i = 1; i <= ROWS; i++) {
+			if (i % 1_000 == 0) {
+				csv.append(brand).append(",Sin precio,,1,\n");
+			} else if (i == 777) {
+				csv.append(brand).append(",Owner inexistente,10,999999999,\n");
+			} else {
+				csv.append(brand).append(",Modelo ").append(i).append(",").append(20 + i % 50).append(".50,1,ACTIVE\n");
+			}
+		}
+
+		CarImportJobResponse started = carImportService.start("csv",
+				new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+		CarImportJobResponse done = awaitFinished(started.id());
+
+		int rejected = ROWS / 1_000 + 1;
+		assertThat(done.status()).isEqualTo(CarImportStatusEnum.COMPLETED);
+		assertThat(done.rowsProcessed()).isEqualTo(ROWS);
+		assertThat(done.imported()).isEqualTo(ROWS - rejected);
+		assertThat(done.rejected()).isEqualTo(rejected);
+		assertThat(countCars(brand)).isEqualTo(ROWS - rejected);
+
+		CursorPage<ImportRejectionResponse> report = carImportService.getRejections(started.id(), null, 100);
+		assertThat(report.items()).hasSize(rejected);
+		assertThat(report.items().getFirst()).isEqualTo(new ImportRejectionResponse(777, "El owner 999999999 no existe"));
+		assertThat(report.items().get(1)).isEqualTo(new ImportRejectionResponse(1_000, "El precio por día es obligatorio"));
+	}
+
+	@Test
+	void resumeSkipsRowsUpToTheCheckpoint() throws Exception {
+		String brand = "Resume-" + UUID.randomUUID();
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 1; i <= 250; i++) {
+			ndjson.append("{\"brand\":\"").append(brand).append("\",\"model\":\"M").append(i)
+					.append("\",\"pricePerDay\":30,\"ownerId\":1}\n");
+		}
+		Path spool = Files.createTempFile("cars-resume-", ".ndjson");
+		Files.writeString(spool, ndjson);
+		// Como si se hubiera cortado después de commitear las primeras 120 filas
+		LocalDateTime now = LocalDateTime.now();
+		CarImportJobEntity failed = jobRepo.save(CarImportJobEntity.builder()
+				.status(CarImportStatusEnum.FAILED)
+				.format("NDJSON")
+				.spoolFile(spool.toString())
+				.rowsProcessed(120)
+				.imported(120)
+				.error("Interrumpida por un reinicio: se puede retomar")
+				.createdAt(now)
+				.updatedAt(now)
+				.build());
+
+		carImportService.resume(failed.getId());
+		CarImportJobResponse done = awaitFinished(failed.getId());
+
+		assertThat(done.status()).isEqualTo(CarImportStatusEnum.COMPLETED);
+		assertThat(done.rowsProcessed()).isEqualTo(250);
+		assertThat(done.imported()).isEqualTo(250);
+		assertThat(countCars(brand)).isEqualTo(130);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cars WHERE brand = ? AND model IN ('M1', 'M120')",
+				Integer.class, brand)).isZero();
+	}
+
+	private CarImportJobResponse awaitFinished(Long id) throws InterruptedException {
+		long deadline = System.nanoTime() + 30_000_000_000L;
+		CarImportJobResponse job = carImportService.getJob(id);
+		while (job.status() == CarImportStatusEnum.RUNNING && System.nanoTime() < deadline) {
+			Thread.sleep(50);
+			job = carImportService.getJob(id);
+		}
+		return job;
+	}
+
+	private int countCars(String brand) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cars WHERE brand = ?", Integer.class, brand);
+	}
+}
@@ -0,0 +1,134 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.CarEntity;
+import com.example.leasing.Entity.ChangeEntityTypeEnum;
+import com.example.leasing.Entity.ChangeOperationEnum;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.dto.CarResponse;
+import com.example.leasing.dto.ChangeFeedPage;
+import com.example.leasing.dto.ChangeResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Change feed de punta a punta: escrituras JPA commiteadas en orden, rollback sin
+ * registro, paginación y clientes atrasados más que la retención
+ * Filtra por CAR: las tareas programadas pueden anotar reservas en el medio
+ */
+@SpringBootTest
+class ChangeFeedServiceTest {
+
+	private static final Set<ChangeEntityTypeEnum> CARS = Set.of(ChangeEntityTypeEnum.CAR);
+
+	@Autowired
+	private ChangeFeedService changeFeedService;
+
+	@Autowired
+	private ChangeLogService changeLogService;
+
+	@Autowired
+	private ICarRepo carRepo;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void recordsCommittedWritesInOrderWithCurrentState() {
+		long start = changeFeedService.head().lastSeq();
+		CarEntity car = carRepo.save(newCar("Feed-Alta"));
+		car.setPricePerDay(new BigDecimal("75.00"));
+		carRepo.save(car);
+
+		ChangeFeedPage page = changeFeedService.getChanges(start, 100, CARS);
+		List<ChangeResponse> changes = changesOf(page, car.getId());
+		assertThat(changes).extracting(ChangeResponse::operation)
+				.containsExactly(ChangeOperationEnum.UPSERT, ChangeOperationEnum.UPSERT);
+		assertThat(changes.get(0).seq()).isLessThan(changes.get(1).seq());
+		// Cada cambio trae el estado actual, no el de ese momento
+		assertThat(changes).extracting(change -> ((CarResponse) change.data()).pricePerDay())
+				.containsOnly(new BigDecimal("75.00"));
+		assertThat(page.hasMore()).isFalse();
+		assertThat(page.next()).isGreaterThanOrEqualTo(changes.get(1).seq());
+
+		// La fila guarda su último cambio (y el caché de 2do nivel no quedó con el valor viejo)
+		CarEntity stored = carRepo.findById(car.getId()).orElseThrow();
+		assertThat(stored.getChangeSeq()).isEqualTo(changes.get(1).seq());
+		assertThat(stored.getUpdatedAt()).isEqualTo(changes.get(1).changedAt());
+
+		long beforeDelete = page.next();
+		carRepo.deleteById(car.getId());
+		List<ChangeResponse> deleted = changesOf(changeFeedService.getChanges(beforeDelete, 100, CARS), car.getId());
+		assertThat(deleted).singleElement().satisfies(change -> {
+			assertThat(change.operation()).isEqualTo(ChangeOperationEnum.DELETE);
+			assertThat(change.data()).isNull();
+		});
+	}
+
+	@Test
+	void rolledBackTransactionLeavesNoChange() {
+		long start = changeFeedService.head().lastSeq();
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			carRepo.saveAndFlush(newCar("Feed-Rollback"));
+			status.setRollbackOnly();
+		});
+
+		assertThat(changeFeedService.getChanges(start, 100, CARS).changes())
+				.noneMatch(change -> change.data() instanceof CarResponse car && car.brand().equals("Feed-Rollback"));
+	}
+
+	@Test
+	void pagesThroughChangesOfOneTransaction() {
+		long start = changeFeedService.head().lastSeq();
+		List<CarEntity> cars = carRepo.saveAll(IntStream.range(0, 5).mapToObj(i -> newCar("Feed-Lote")).toList());
+
+		List<Long> seen = new ArrayList<>();
+		long after = start;
+		ChangeFeedPage page;
+		do {
+			page = changeFeedService.getChanges(after, 2, CARS);
+			page.changes().forEach(change -> seen.add(change.id()));
+			assertThat(page.changes()).hasSizeLessThanOrEqualTo(2);
+			after = page.next();
+		} while (page.hasMore());
+
+		assertThat(seen).containsAll(cars.stream().map(CarEntity::getId).toList());
+		assertThat(after).isGreaterThanOrEqualTo(changeFeedService.head().lastSeq());
+	}
+
+	@Test
+	void clientBehindRetentionMustResync() {
+		carRepo.save(newCar("Feed-Retencion"));
+		changeLogService.purge(LocalDateTime.now().plusMinutes(1));
+
+		ChangeFeedPage stale = changeFeedService.getChanges(0, 100, null);
+		assertThat(stale.resyncRequired()).isTrue();
+		assertThat(stale.changes()).isEmpty();
+		assertThat(stale.next()).isGreaterThanOrEqualTo(changeFeedService.head().purgedSeq());
+
+		assertThat(changeFeedService.getChanges(stale.next(), 100, null).resyncRequired()).isFalse();
+	}
+
+	// ==========================================
+	// HELPERS PRIVADOS
+	// ==========================================
+
+	private static CarEntity newCar(String brand) {
+		return TestFixtures.car(brand).build();
+	}
+
+	private static List<ChangeResponse> changesOf(ChangeFeedPage page, Long carId) {
+		return page.changes().stream().filter(change -> change.id().equals(carId)).toList();
+	}
+}
@@ -0,0 +1,69 @@
+package com.example.leasing.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cola de una conexión SSE: coalescencia por clave, un solo envío en curso y corte con
+ * "resync" cuando el cliente no da abasto
+ * El emitter no está conectado a un request: guarda los envíos hasta que se inicializa
+ */
+class LiveSubscriptionTest {
+
+	@Test
+	void coalescesPendingEventsByKey() {
+		LiveSubscription subscription = newSubscription(10);
+
+		assertThat(subscription.offer(event("car:1", "rented"))).isTrue();
+		// Ya hay un drain programado: los siguientes solo se encolan
+		assertThat(subscription.offer(event("car:1", "active"))).isFalse();
+		assertThat(subscription.offer(event("car:2", "active"))).isFalse();
+		assertThat(subscription.offer(event("car:1", "deleted"))).isFalse();
+
+		assertThat(subscription.drain()).isEqualTo(2);
+		// Cola vacía: el próximo evento vuelve a pedir un drain
+		assertThat(subscription.offer(event("car:1", "active"))).isTrue();
+		assertThat(subscription.drain()).isEqualTo(1);
+	}
+
+	@Test
+	void slowClientOverflowsAndStopsReceiving() {
+		LiveSubscription subscription = newSubscription(3);
+
+		subscription.offer(event("car:1", "a"));
+		subscription.offer(event("car:2", "a"));
+		subscription.offer(event("car:3", "a"));
+		assertThat(subscription.isOverflowed()).isFalse();
+		subscription.offer(event("car:4", "a"));
+
+		assertThat(subscription.isOverflowed()).isTrue();
+		// Solo sale "resync" y la conexión se cierra
+		assertThat(subscription.drain()).isZero();
+		assertThat(subscription.offer(event("car:5", "a"))).isFalse();
+	}
+
+	@Test
+	void closedSubscriptionIgnoresEvents() {
+		LiveSubscription subscription = newSubscription(10);
+		subscription.close();
+
+		assertThat(subscription.offer(event("car:1", "a"))).isFalse();
+		assertThat(subscription.drain()).isZero();
+	}
+
+	// ==========================================
+	// HELPERS PRIVADOS
+	// ==========================================
+
+	private static LiveSubscription newSubscription(int maxPending) {
+		return new LiveSubscription(new SseEmitter(), Set.of(1L, 2L), Set.of(), maxPending);
+	}
+
+	private static LiveSubscription.LiveEvent event(String key, String data) {
+		return new LiveSubscription.LiveEvent(key, "car-status", data);
+	}
+}
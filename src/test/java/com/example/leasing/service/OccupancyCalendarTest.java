@@ -0,0 +1,105 @@
+package com.example.leasing.service;
+
+import com.example.leasing.dto.ReservationSlotView;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bitmaps del calendario de ocupación: máscaras de palabra, rangos que cruzan palabras
+ * de 64 horas y reservas que cruzan el cambio de año
+ */
+class OccupancyCalendarTest {
+
+	private static final Long CAR = 1L;
+
+	@Test
+	void roundsPartialHoursOutwards() {
+		OccupancyCalendar calendar = new OccupancyCalendar(2025, 2025);
+		calendar.occupy(CAR, at(2025, 3, 10, 10, 30), at(2025, 3, 10, 12, 15));
+
+		assertThat(calendar.bookedHours(CAR, LocalDate.of(2025, 3, 10))).isEqualTo(3);
+	}
+
+	@Test
+	void rangesCrossingWordBoundaries() {
+		OccupancyCalendar calendar = new OccupancyCalendar(2025, 2025);
+		// Horas 63 a 65 del año: última de la palabra 0 y primeras de la palabra 1
+		calendar.occupy(CAR, at(2025, 1, 3, 15, 0), at(2025, 1, 3, 18, 0));
+		assertThat(calendar.bookedHours(CAR, LocalDate.of(2025, 1, 3))).isEqualTo(3);
+
+		// Exactamente la palabra 1 (horas 64 a 127) y varias palabras completas más
+		OccupancyCalendar words = new OccupancyCalendar(2025, 2025);
+		words.occupy(CAR, at(2025, 1, 3, 16, 0), at(2025, 1, 6, 8, 0));
+		assertThat(words.bookedHours(CAR, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31))).isEqualTo(64);
+		assertThat(words.bookedHours(CAR, LocalDate.of(2025, 1, 3))).isEqualTo(8);
+		assertThat(words.bookedHours(CAR, LocalDate.of(2025, 1, 6))).isEqualTo(8);
+
+		words.occupy(CAR, at(2025, 1, 10, 0, 0), at(2025, 1, 20, 0, 0));
+		assertThat(words.bookedHours(CAR, LocalDate.of(2025, 1, 10), LocalDate.of(2025, 1, 20))).isEqualTo(240);
+	}
+
+	@Test
+	void freeClearsOnlyItsRangeAcrossWords() {
+		OccupancyCalendar calendar = new OccupancyCalendar(2025, 2025);
+		calendar.occupy(CAR, at(2025, 1, 1, 0, 0), at(2025, 1, 7, 0, 0));
+		calendar.free(CAR, at(2025, 1, 3, 12, 0), at(2025, 1, 4, 12, 0));
+
+		assertThat(calendar.bookedHours(CAR, LocalDate.of(2025, 1, 3))).isEqualTo(12);
+		assertThat(calendar.bookedHours(CAR, LocalDate.of(2025, 1, 4))).isEqualTo(12);
+		assertThat(calendar.bookedHours(CAR, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 7))).isEqualTo(6 * 24 - 24);
+
+		// Liberar todo descarta el bitmap del año
+		calendar.free(CAR, at(2025, 1, 1, 0, 0), at(2025, 1, 7, 0, 0));
+		assertThat(calendar.bitmapCount()).isZero();
+	}
+
+	@Test
+	void reservationSpanningNewYearSplitsIntoBothBitmaps() {
+		OccupancyCalendar calendar = new OccupancyCalendar(2025, 2026);
+		calendar.occupy(CAR, at(2025, 12, 31, 20, 0), at(2026, 1, 1, 5, 0));
+
+		assertThat(calendar.bookedHours(CAR, LocalDate.of(2025, 12, 31))).isEqualTo(4);
+		assertThat(calendar.bookedHours(CAR, LocalDate.of(2026, 1, 1))).isEqualTo(5);
+		assertThat(calendar.bookedHours(CAR, LocalDate.of(2025, 12, 31), LocalDate.of(2026, 1, 2))).isEqualTo(9);
+		assertThat(calendar.bitmapCount()).isEqualTo(2);
+	}
+
+	@Test
+	void lastHourOfLeapYearUsesLastWord() {
+		OccupancyCalendar calendar = new OccupancyCalendar(2024, 2024);
+		calendar.occupy(CAR, at(2024, 12, 31, 23, 0), at(2025, 1, 1, 3, 0));
+
+		assertThat(calendar.bookedHours(CAR, LocalDate.of(2024, 12, 31))).isEqualTo(1);
+		// 2025 está fuera de la ventana: esa parte se ignora
+		assertThat(calendar.covers(LocalDate.of(2025, 1, 1))).isFalse();
+		assertThat(calendar.bitmapCount()).isEqualTo(1);
+	}
+
+	@Test
+	void rebuildReplacesContentAndFindsFreeWindow() {
+		OccupancyCalendar calendar = new OccupancyCalendar(2025, 2025);
+		calendar.occupy(2L, at(2025, 5, 1, 0, 0), at(2025, 5, 2, 0, 0));
+		calendar.rebuild(List.of(
+				new ReservationSlotView(1L, CAR, at(2025, 6, 1, 9, 0), at(2025, 6, 3, 9, 0)),
+				new ReservationSlotView(2L, CAR, at(2025, 6, 5, 0, 0), at(2025, 6, 6, 0, 0))));
+
+		assertThat(calendar.bookedHours(2L, LocalDate.of(2025, 5, 1))).isZero();
+		assertThat(calendar.firstFreeWindow(CAR, LocalDate.of(2025, 6, 1), 2, calendar.endDay()))
+				.isEqualTo(LocalDate.of(2025, 6, 6));
+		assertThat(calendar.firstFreeWindow(CAR, LocalDate.of(2025, 6, 1), 1, calendar.endDay()))
+				.isEqualTo(LocalDate.of(2025, 6, 4));
+	}
+
+	// ==========================================
+	// HELPERS PRIVADOS
+	// ==========================================
+
+	private static LocalDateTime at(int year, int month, int day, int hour, int minute) {
+		return LocalDateTime.of(year, month, day, hour, minute);
+	}
+}
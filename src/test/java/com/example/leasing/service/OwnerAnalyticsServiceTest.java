@@ -0,0 +1,142 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.CarEntity;
+import com.example.leasing.Entity.ClientEntity;
+import com.example.leasing.Entity.ReservationEntity;
+import com.example.leasing.Entity.ReservationStatusEnum;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.Repository.IClientRepo;
+import com.example.leasing.Repository.IReservationRepo;
+import com.example.leasing.dto.MonthRevenueStats;
+import com.example.leasing.dto.RevenueSeriesResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rollups de analíticas: confirmaciones concurrentes del mismo auto y día, y el
+ * backfill por tandas
+ */
+@SpringBootTest
+class OwnerAnalyticsServiceTest {
+
+	private static final int YEAR = 2030;
+	private static final int THREADS = 6;
+
+	@Autowired
+	private OwnerAnalyticsService analyticsService;
+
+	@Autowired
+	private ReservationService reservationService;
+
+	@Autowired
+	private ICarRepo carRepo;
+
+	@Autowired
+	private IClientRepo clientRepo;
+
+	@Autowired
+	private IReservationRepo reservationRepo;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void concurrentConfirmationsOnTheSameDayAllCount() throws Exception {
+		CarEntity car = newCar();
+		ClientEntity client = newClient();
+		List<Long> ids = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			// Franjas de 2 horas sin solapar, todas el mismo día
+			LocalDateTime start = LocalDateTime.of(YEAR, 4, 1, 2 * t, 0);
+			ids.add(newReservation(car, client, start, start.plusHours(2), ReservationStatusEnum.PENDING).getId());
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (Long id : ids) {
+			futures.add(pool.submit(() -> {
+				start.await();
+				return reservationService.confirm(id);
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			// Ninguna falla por clave duplicada al crear la fila (auto, día)
+			future.get(1, TimeUnit.MINUTES);
+		}
+		pool.shutdown();
+
+		MonthRevenueStats april = month(car.getId(), 4);
+		assertThat(april.reservations()).isEqualTo(THREADS);
+		assertThat(april.revenue()).isEqualByComparingTo(BigDecimal.TEN.multiply(BigDecimal.valueOf(THREADS)));
+	}
+
+	@Test
+	void rebuildRepairsDriftedAndStaleRows() {
+		CarEntity car = newCar();
+		ClientEntity client = newClient();
+		// Guardada sin pasar por ReservationService: solo el backfill la suma
+		newReservation(car, client, LocalDateTime.of(YEAR, 3, 1, 10, 0), LocalDateTime.of(YEAR, 3, 3, 10, 0),
+				ReservationStatusEnum.CONFIRMED);
+		jdbcTemplate.update("INSERT INTO car_daily_stats (car_id, stat_date, owner_id, revenue, booked_minutes, reservations) " +
+				"VALUES (?, ?, NULL, 500, 60, 1)", car.getId(), Date.valueOf("2030-05-20"));
+
+		analyticsService.rebuildAll();
+
+		MonthRevenueStats march = month(car.getId(), 3);
+		assertThat(march.reservations()).isEqualTo(1);
+		assertThat(march.revenue()).isEqualByComparingTo("10.00");
+		assertThat(march.bookedHours()).isEqualTo(48.0);
+		// La fila sin reservas detrás queda en cero
+		assertThat(month(car.getId(), 5).revenue()).isEqualByComparingTo(BigDecimal.ZERO);
+
+		jdbcTemplate.update("UPDATE car_daily_stats SET revenue = 999 WHERE car_id = ?", car.getId());
+		analyticsService.rebuildAll();
+		assertThat(month(car.getId(), 3).revenue()).isEqualByComparingTo("10.00");
+	}
+
+	// ==========================================
+	// HELPERS PRIVADOS
+	// ==========================================
+
+	private MonthRevenueStats month(Long carId, int month) {
+		RevenueSeriesResponse series = analyticsService.getCarYear(carId, YEAR);
+		return series.months().get(month - 1);
+	}
+
+	private CarEntity newCar() {
+		return carRepo.save(TestFixtures.car("Analytics").build());
+	}
+
+	private ClientEntity newClient() {
+		return clientRepo.save(TestFixtures.client("Analytics").build());
+	}
+
+	private ReservationEntity newReservation(CarEntity car, ClientEntity client, LocalDateTime start,
+											 LocalDateTime end, ReservationStatusEnum status) {
+		return reservationRepo.save(ReservationEntity.builder()
+				.car(car)
+				.client(client)
+				.startDate(start)
+				.endDate(end)
+				.totalPrice(BigDecimal.TEN)
+				.status(status)
+				.build());
+	}
+}
@@ -0,0 +1,128 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.ReviewEntity;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.Repository.IClientRepo;
+import com.example.leasing.Repository.IReviewRepo;
+import com.example.leasing.dto.RatingSummaryResponse;
+import com.example.leasing.dto.ReviewRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Resumen de rating: altas concurrentes sobre un auto sin resumen todavía,
+ * reparación por tandas y reviews viejas sin rating
+ */
+@SpringBootTest
+class RatingSummaryServiceTest {
+
+	private static final int THREADS = 8;
+
+	@Autowired
+	private ReviewService reviewService;
+
+	@Autowired
+	private RatingSummaryService ratingSummaryService;
+
+	@Autowired
+	private ICarRepo carRepo;
+
+	@Autowired
+	private IClientRepo clientRepo;
+
+	@Autowired
+	private IReviewRepo reviewRepo;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void concurrentFirstReviewsOfACarAllCount() throws Exception {
+		Long carId = newCar();
+		Long clientId = newClient();
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			int rating = 1 + t % 5;
+			futures.add(pool.submit(() -> {
+				start.await();
+				return reviewService.create(new ReviewRequest(carId, clientId, rating, "Concurrente"));
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			// Ninguna falla por clave duplicada al crear la fila del resumen
+			future.get(1, TimeUnit.MINUTES);
+		}
+		pool.shutdown();
+
+		RatingSummaryResponse summary = ratingSummaryService.getSummary(carId);
+		assertThat(summary.reviewCount()).isEqualTo(THREADS);
+	}
+
+	@Test
+	void rebuildRepairsDriftedSummaries() {
+		Long carId = newCar();
+		Long clientId = newClient();
+		reviewService.create(new ReviewRequest(carId, clientId, 5, "Excelente"));
+		reviewService.create(new ReviewRequest(carId, clientId, 3, "Normal"));
+		jdbcTemplate.update("UPDATE car_rating_summaries SET review_count = 7, rating_sum = 1 WHERE car_id = ?", carId);
+
+		ratingSummaryService.rebuildAll();
+
+		RatingSummaryResponse summary = ratingSummaryService.getSummary(carId);
+		assertThat(summary.reviewCount()).isEqualTo(2);
+		assertThat(summary.averageRating()).isEqualTo(4.0);
+		assertThat(summary.histogram()).containsExactly(0, 0, 1, 0, 1);
+	}
+
+	@Test
+	void legacyReviewsWithoutRatingCanBeEditedAndDeleted() {
+		Long carId = newCar();
+		Long clientId = newClient();
+		// Filas anteriores a la validación: rating NULL (columna nullable en V1)
+		ReviewEntity rated = legacyReview(carId, clientId);
+		ReviewEntity deleted = legacyReview(carId, clientId);
+
+		reviewService.update(rated.getId(), new ReviewRequest(null, null, 4, null));
+		reviewService.deleteById(deleted.getId());
+
+		RatingSummaryResponse summary = ratingSummaryService.getSummary(carId);
+		assertThat(summary.reviewCount()).isEqualTo(1);
+		assertThat(summary.averageRating()).isEqualTo(4.0);
+	}
+
+	// ==========================================
+	// HELPERS PRIVADOS
+	// ==========================================
+
+	private Long newCar() {
+		return carRepo.save(TestFixtures.car("Rating").build()).getId();
+	}
+
+	private ReviewEntity legacyReview(Long carId, Long clientId) {
+		return reviewRepo.save(ReviewEntity.builder()
+				.comment("Sin rating")
+				.car(carRepo.findById(carId).orElseThrow())
+				.client(clientRepo.findById(clientId).orElseThrow())
+				.build());
+	}
+
+	private Long newClient() {
+		return clientRepo.save(TestFixtures.client("Rating").build()).getId();
+	}
+}
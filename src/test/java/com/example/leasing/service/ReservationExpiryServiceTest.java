@@ -0,0 +1,85 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.CarEntity;
+import com.example.leasing.Entity.ClientEntity;
+import com.example.leasing.Entity.ReservationEntity;
+import com.example.leasing.Entity.ReservationStatusEnum;
+import com.example.leasing.Repository.ICarRepo;
+import com.example.leasing.Repository.IClientRepo;
+import com.example.leasing.Repository.IReservationRepo;
+import com.example.leasing.event.ReservationStatusChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vencimiento de PENDING: cada reserva vencida publica su cambio de estado (libera la franja)
+ */
+@SpringBootTest
+@RecordApplicationEvents
+class ReservationExpiryServiceTest {
+
+	@Autowired
+	private ReservationExpiryService expiryService;
+
+	@Autowired
+	private ICarRepo carRepo;
+
+	@Autowired
+	private IClientRepo clientRepo;
+
+	@Autowired
+	private IReservationRepo reservationRepo;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ApplicationEvents events;
+
+	@Test
+	void expiredPendingReservationsPublishTheirCancellation() {
+		LocalDateTime now = LocalDateTime.now();
+		CarEntity car = carRepo.save(TestFixtures.car("Expiry").build());
+		ClientEntity client = clientRepo.save(TestFixtures.client("Expiry").build());
+		LocalDateTime start = now.plusDays(10).withNano(0);
+		ReservationEntity abandoned = reservationRepo.save(ReservationEntity.builder()
+				.car(car)
+				.client(client)
+				.startDate(start)
+				.endDate(start.plusDays(2))
+				.totalPrice(new BigDecimal("100.00"))
+				.status(ReservationStatusEnum.PENDING)
+				.build());
+		// created_at lo pone @PrePersist: se envejece después de guardarla
+		jdbcTemplate.update("UPDATE reservations SET created_at = ? WHERE id = ?", now.minusDays(1), abandoned.getId());
+
+		expiryService.sweep(now);
+
+		assertThat(reservationRepo.findById(abandoned.getId()).orElseThrow().getStatus())
+				.isEqualTo(ReservationStatusEnum.CANCELED);
+		List<ReservationStatusChangedEvent> published = events.stream(ReservationStatusChangedEvent.class)
+				.filter(event -> event.reservationId().equals(abandoned.getId()))
+				.toList();
+		assertThat(published).singleElement().satisfies(event -> {
+			assertThat(event.carId()).isEqualTo(car.getId());
+			assertThat(event.clientId()).isEqualTo(client.getId());
+			assertThat(event.startDate()).isEqualTo(start);
+			assertThat(event.previousStatus()).isEqualTo(ReservationStatusEnum.PENDING);
+			assertThat(event.newStatus()).isEqualTo(ReservationStatusEnum.CANCELED);
+			assertThat(event.heldSlot()).isTrue();
+			assertThat(event.holdsSlot()).isFalse();
+		});
+		// La franja vuelve a estar libre para reservar
+		assertThat(reservationRepo.existsOverlapping(car.getId(), start, start.plusDays(2))).isFalse();
+	}
+}
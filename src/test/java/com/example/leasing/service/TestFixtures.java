@@ -0,0 +1,37 @@
+package com.example.leasing.service;
+
+import com.example.leasing.Entity.CarEntity;
+import com.example.leasing.Entity.CarStatusEnum;
+import com.example.leasing.Entity.ClientEntity;
+
+import java.math.BigDecimal;
+
+/**
+ * Autos y clientes mínimos válidos para los tests de services (sin guardar)
+ * Cada test usa su propia marca / nombre para reconocer sus filas en la base compartida
+ */
+final class TestFixtures {
+
+	static final BigDecimal PRICE_PER_DAY = new BigDecimal("50.00");
+
+	private TestFixtures() {
+	}
+
+	/**
+	 * Auto ACTIVE a PRICE_PER_DAY por día; el builder permite pisar cualquier campo
+	 */
+	static CarEntity.CarEntityBuilder car(String brand) {
+		return CarEntity.builder()
+				.brand(brand)
+				.model("Modelo")
+				.pricePerDay(PRICE_PER_DAY)
+				.status(CarStatusEnum.ACTIVE);
+	}
+
+	static ClientEntity.ClientEntityBuilder client(String firstName) {
+		return ClientEntity.builder()
+				.firstName(firstName)
+				.lastName("Test")
+				.phone("000-000-000");
+	}
+}